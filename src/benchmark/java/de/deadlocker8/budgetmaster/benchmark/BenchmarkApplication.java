@@ -0,0 +1,49 @@
+package de.deadlocker8.budgetmaster.benchmark;
+
+import de.deadlocker8.budgetmaster.update.BudgetMasterUpdateService;
+import org.mockito.Mockito;
+import org.springframework.boot.Banner;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.SecurityAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+
+/**
+ * Services and repositories of BudgetMaster on top of an in-memory H2 database.
+ * Controllers, security and everything that needs the application folder (Main, settings.properties) are left out.
+ */
+@Configuration
+@EnableAutoConfiguration(exclude = SecurityAutoConfiguration.class)
+@ComponentScan(basePackages = "de.deadlocker8.budgetmaster", excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = {
+		"de\\.deadlocker8\\.budgetmaster\\.Main",
+		".*Controller",
+		".*Test.*",
+		"de\\.deadlocker8\\.budgetmaster\\.advices\\..*",
+		"de\\.deadlocker8\\.budgetmaster\\.authentication\\.Web.*",
+		"de\\.deadlocker8\\.budgetmaster\\.update\\..*",
+		"de\\.deadlocker8\\.budgetmaster\\.utils\\..*Configuration"
+}))
+public class BenchmarkApplication
+{
+	@Bean
+	public BudgetMasterUpdateService budgetMasterUpdateService()
+	{
+		return Mockito.mock(BudgetMasterUpdateService.class);
+	}
+
+	public static ConfigurableApplicationContext start(String databaseName)
+	{
+		return new SpringApplicationBuilder(BenchmarkApplication.class)
+				.web(false)
+				.bannerMode(Banner.Mode.OFF)
+				.run("--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+						"--spring.datasource.username=sa",
+						"--spring.datasource.password=",
+						"--logging.level.root=WARN",
+						"--logging.level.de.deadlocker8=WARN");
+	}
+}
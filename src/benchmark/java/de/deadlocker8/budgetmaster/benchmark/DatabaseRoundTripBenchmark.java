@@ -0,0 +1,95 @@
+package de.deadlocker8.budgetmaster.benchmark;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountRepository;
+import de.deadlocker8.budgetmaster.categories.CategoryRepository;
+import de.deadlocker8.budgetmaster.categories.CategoryType;
+import de.deadlocker8.budgetmaster.database.Database;
+import de.deadlocker8.budgetmaster.database.DatabaseParser;
+import de.deadlocker8.budgetmaster.database.DatabaseService;
+import de.deadlocker8.budgetmaster.database.accountmatches.AccountMatch;
+import de.deadlocker8.budgetmaster.database.accountmatches.AccountMatchList;
+import de.deadlocker8.budgetmaster.services.ImportService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class DatabaseRoundTripBenchmark
+{
+	@State(Scope.Benchmark)
+	public static class ExportState
+	{
+		public String json;
+
+		@Setup(Level.Trial)
+		public void setup(LedgerState state)
+		{
+			json = export(state);
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class ImportState
+	{
+		public Database database;
+		public AccountMatchList accountMatchList;
+
+		/**
+		 * Every import starts with an empty database, as it would after a reset in the settings.
+		 */
+		@Setup(Level.Invocation)
+		public void setup(LedgerState state, ExportState exportState)
+		{
+			state.transactionTemplate.execute(status -> {
+				state.getBean(DatabaseService.class).reset();
+				return null;
+			});
+			database = parse(state, exportState.json);
+
+			Account destination = state.getBean(AccountRepository.class).findByIsDefault(true);
+			List<AccountMatch> accountMatches = new ArrayList<>();
+			for(Account account : database.getAccounts())
+			{
+				AccountMatch accountMatch = new AccountMatch(account);
+				accountMatch.setAccountDestination(destination);
+				accountMatches.add(accountMatch);
+			}
+			accountMatchList = new AccountMatchList(accountMatches);
+		}
+	}
+
+	private static String export(LedgerState state)
+	{
+		return state.transactionTemplate.execute(status -> state.getBean(DatabaseService.class).getDatabaseAsJSON());
+	}
+
+	private static Database parse(LedgerState state, String json)
+	{
+		return new DatabaseParser(json, state.getBean(CategoryRepository.class).findByType(CategoryType.NONE)).parseDatabaseFromJSON();
+	}
+
+	@Benchmark
+	public String exportDatabase(LedgerState state)
+	{
+		return export(state);
+	}
+
+	@Benchmark
+	public Database parseDatabase(LedgerState state, ExportState exportState)
+	{
+		return parse(state, exportState.json);
+	}
+
+	@Benchmark
+	public void importDatabase(LedgerState state, ImportState importState)
+	{
+		state.getBean(ImportService.class).importDatabase(importState.database, importState.accountMatchList);
+	}
+}
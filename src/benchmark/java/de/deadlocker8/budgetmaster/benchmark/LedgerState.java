@@ -0,0 +1,200 @@
+package de.deadlocker8.budgetmaster.benchmark;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountRepository;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
+import de.deadlocker8.budgetmaster.categories.Category;
+import de.deadlocker8.budgetmaster.categories.CategoryRepository;
+import de.deadlocker8.budgetmaster.categories.CategoryType;
+import de.deadlocker8.budgetmaster.repeating.RepeatingOption;
+import de.deadlocker8.budgetmaster.repeating.RepeatingOptionRepository;
+import de.deadlocker8.budgetmaster.repeating.endoption.RepeatingEndNever;
+import de.deadlocker8.budgetmaster.repeating.modifier.RepeatingModifierMonths;
+import de.deadlocker8.budgetmaster.summary.MonthlySummaryService;
+import de.deadlocker8.budgetmaster.tags.Tag;
+import de.deadlocker8.budgetmaster.tags.TagRepository;
+import de.deadlocker8.budgetmaster.transactions.Transaction;
+import de.deadlocker8.budgetmaster.transactions.TransactionRepository;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * In-memory database filled with a synthetic ledger, shared by all invocations of a benchmark.
+ */
+@State(Scope.Benchmark)
+public class LedgerState
+{
+	private static final int BATCH_SIZE = 1000;
+
+	@Param({"10000"})
+	public int numberOfTransactions;
+
+	@Param({"100"})
+	public int numberOfRepeatingOptions;
+
+	public ConfigurableApplicationContext context;
+	public TransactionTemplate transactionTemplate;
+	public Account account;
+	public DateTime now;
+
+	private Random random;
+	private List<Account> accounts;
+	private List<Category> categories;
+	private List<Tag> tags;
+
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		context = BenchmarkApplication.start("ledger" + System.nanoTime());
+		transactionTemplate = new TransactionTemplate(getBean(PlatformTransactionManager.class));
+		now = DateTime.now();
+		random = new Random(42);
+
+		seed();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		context.close();
+	}
+
+	public <T> T getBean(Class<T> beanClass)
+	{
+		return context.getBean(beanClass);
+	}
+
+	private void seed()
+	{
+		AccountRepository accountRepository = getBean(AccountRepository.class);
+		account = accountRepository.findByIsDefault(true);
+		accounts = new ArrayList<>();
+		accounts.add(account);
+		for(int i = 1; i <= 3; i++)
+		{
+			accounts.add(accountRepository.save(new Account("Account " + i, AccountType.CUSTOM)));
+		}
+
+		CategoryRepository categoryRepository = getBean(CategoryRepository.class);
+		categories = new ArrayList<>();
+		categories.add(categoryRepository.findByType(CategoryType.NONE));
+		for(int i = 1; i <= 15; i++)
+		{
+			categories.add(categoryRepository.save(new Category("Category " + i, String.format("#%06X", random.nextInt(0xFFFFFF)), CategoryType.CUSTOM)));
+		}
+
+		TagRepository tagRepository = getBean(TagRepository.class);
+		tags = new ArrayList<>();
+		for(int i = 1; i <= 30; i++)
+		{
+			tags.add(tagRepository.save(new Tag("Tag " + i)));
+		}
+
+		int remainingTransactions = numberOfTransactions - seedRepeatingTransactions();
+		seedTransactions(remainingTransactions);
+
+		getBean(MonthlySummaryService.class).rebuild();
+	}
+
+	private int seedRepeatingTransactions()
+	{
+		RepeatingOptionRepository repeatingOptionRepository = getBean(RepeatingOptionRepository.class);
+		TransactionRepository transactionRepository = getBean(TransactionRepository.class);
+
+		int numberOfCreatedTransactions = 0;
+		for(int i = 0; i < numberOfRepeatingOptions; i++)
+		{
+			DateTime startDate = getRandomDate();
+			RepeatingOption repeatingOption = repeatingOptionRepository.save(new RepeatingOption(startDate, new RepeatingModifierMonths(1), new RepeatingEndNever()));
+			Transaction template = createRandomTransaction(startDate);
+
+			List<Transaction> transactions = new ArrayList<>();
+			for(DateTime date : repeatingOption.getRepeatingDates(now))
+			{
+				Transaction transaction = new Transaction(template);
+				transaction.setDate(date);
+				transaction.setRepeatingOption(repeatingOption);
+				transactions.add(transaction);
+			}
+			transactionRepository.save(transactions);
+			numberOfCreatedTransactions += transactions.size();
+		}
+
+		return numberOfCreatedTransactions;
+	}
+
+	private void seedTransactions(int count)
+	{
+		TransactionRepository transactionRepository = getBean(TransactionRepository.class);
+
+		List<Transaction> batch = new ArrayList<>();
+		for(int i = 0; i < count; i++)
+		{
+			batch.add(createRandomTransaction(getRandomDate()));
+			if(batch.size() == BATCH_SIZE)
+			{
+				transactionRepository.save(batch);
+				batch.clear();
+			}
+		}
+		transactionRepository.save(batch);
+	}
+
+	private Transaction createRandomTransaction(DateTime date)
+	{
+		Transaction transaction = new Transaction();
+		transaction.setName("Transaction " + random.nextInt(1000));
+		transaction.setDescription("");
+		transaction.setDate(date);
+		transaction.setAccount(accounts.get(random.nextInt(accounts.size())));
+		transaction.setCategory(categories.get(random.nextInt(categories.size())));
+
+		// mostly expenditures, some income and a few transfers
+		int amount = random.nextInt(20000) + 1;
+		int type = random.nextInt(100);
+		if(type < 5)
+		{
+			Account transferAccount = accounts.get(random.nextInt(accounts.size()));
+			if(!transferAccount.equals(transaction.getAccount()))
+			{
+				transaction.setTransferAccount(transferAccount);
+			}
+			transaction.setAmount(-amount);
+		}
+		else if(type < 25)
+		{
+			transaction.setAmount(amount * 5);
+		}
+		else
+		{
+			transaction.setAmount(-amount);
+		}
+
+		List<Tag> transactionTags = new ArrayList<>();
+		int numberOfTags = random.nextInt(3);
+		for(int i = 0; i < numberOfTags; i++)
+		{
+			Tag tag = tags.get(random.nextInt(tags.size()));
+			if(!transactionTags.contains(tag))
+			{
+				transactionTags.add(tag);
+			}
+		}
+		transaction.setTags(transactionTags);
+
+		return transaction;
+	}
+
+	private DateTime getRandomDate()
+	{
+		// evenly distributed over the last five years
+		return now.minusDays(random.nextInt(5 * 365)).withTimeAtStartOfDay();
+	}
+}
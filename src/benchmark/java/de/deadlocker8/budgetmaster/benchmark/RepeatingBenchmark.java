@@ -0,0 +1,27 @@
+package de.deadlocker8.budgetmaster.benchmark;
+
+import de.deadlocker8.budgetmaster.repeating.RepeatingTransactionUpdater;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RepeatingBenchmark
+{
+	/**
+	 * All repeating transactions already exist, so this measures the check that runs on every page load.
+	 */
+	@Benchmark
+	public void updateRepeatingTransactions(LedgerState state)
+	{
+		RepeatingTransactionUpdater updater = state.getBean(RepeatingTransactionUpdater.class);
+		state.transactionTemplate.execute(status -> {
+			updater.updateRepeatingTransactions(state.now);
+			return null;
+		});
+	}
+}
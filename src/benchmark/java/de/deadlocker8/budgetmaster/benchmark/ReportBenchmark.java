@@ -0,0 +1,73 @@
+package de.deadlocker8.budgetmaster.benchmark;
+
+import com.itextpdf.text.DocumentException;
+import de.deadlocker8.budgetmaster.categories.Category;
+import de.deadlocker8.budgetmaster.categories.CategoryRepository;
+import de.deadlocker8.budgetmaster.filter.FilterConfiguration;
+import de.deadlocker8.budgetmaster.reports.Budget;
+import de.deadlocker8.budgetmaster.reports.ReportConfiguration;
+import de.deadlocker8.budgetmaster.reports.ReportConfigurationBuilder;
+import de.deadlocker8.budgetmaster.reports.ReportGeneratorService;
+import de.deadlocker8.budgetmaster.reports.categoryBudget.CategoryBudget;
+import de.deadlocker8.budgetmaster.reports.categoryBudget.CategoryBudgetHandler;
+import de.deadlocker8.budgetmaster.reports.settings.ReportSettings;
+import de.deadlocker8.budgetmaster.reports.settings.ReportSettingsService;
+import de.deadlocker8.budgetmaster.services.HelpersService;
+import de.deadlocker8.budgetmaster.transactions.Transaction;
+import de.deadlocker8.budgetmaster.transactions.TransactionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ReportBenchmark
+{
+	@State(Scope.Benchmark)
+	public static class ReportState
+	{
+		public List<Transaction> transactions;
+		public List<Category> categories;
+		public ReportSettings reportSettings;
+
+		@Setup(Level.Trial)
+		public void setup(LedgerState state)
+		{
+			// loaded once with all lazy associations, the generation itself does not query the database
+			state.transactionTemplate.execute(status -> {
+				transactions = state.getBean(TransactionService.class).getTransactionsForMonthAndYear(state.account, state.now.getMonthOfYear(), state.now.getYear(), true, FilterConfiguration.createDefault());
+				transactions.forEach(transaction -> transaction.getTags().size());
+				categories = state.getBean(CategoryRepository.class).findAll();
+				reportSettings = state.getBean(ReportSettingsService.class).getReportSettings();
+				reportSettings.getColumns().size();
+				reportSettings.setDate(state.now);
+				return null;
+			});
+		}
+	}
+
+	@Benchmark
+	public List<CategoryBudget> getCategoryBudgets(ReportState reportState)
+	{
+		return CategoryBudgetHandler.getCategoryBudgets(reportState.transactions, reportState.categories);
+	}
+
+	@Benchmark
+	public byte[] generate(LedgerState state, ReportState reportState) throws DocumentException
+	{
+		Budget budget = state.getBean(HelpersService.class).getBudget(reportState.transactions, state.account);
+		ReportConfiguration reportConfiguration = new ReportConfigurationBuilder()
+				.setBudget(budget)
+				.setReportSettings(reportState.reportSettings)
+				.setTransactions(reportState.transactions)
+				.setAccountName(state.account.getName())
+				.setCategoryBudgets(CategoryBudgetHandler.getCategoryBudgets(reportState.transactions, reportState.categories))
+				.createReportConfiguration();
+
+		return state.getBean(ReportGeneratorService.class).generate(reportConfiguration);
+	}
+}
@@ -0,0 +1,36 @@
+package de.deadlocker8.budgetmaster.benchmark;
+
+import de.deadlocker8.budgetmaster.filter.FilterConfiguration;
+import de.deadlocker8.budgetmaster.services.HelpersService;
+import de.deadlocker8.budgetmaster.transactions.Transaction;
+import de.deadlocker8.budgetmaster.transactions.TransactionService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TransactionBenchmark
+{
+	@Benchmark
+	public List<Transaction> getTransactionsForMonthAndYear(LedgerState state)
+	{
+		return state.getBean(TransactionService.class).getTransactionsForMonthAndYear(state.account, state.now.getMonthOfYear(), state.now.getYear(), false, FilterConfiguration.createDefault());
+	}
+
+	@Benchmark
+	public List<Transaction> getTransactionsForMonthAndYearWithRest(LedgerState state)
+	{
+		return state.getBean(TransactionService.class).getTransactionsForMonthAndYear(state.account, state.now.getMonthOfYear(), state.now.getYear(), true, FilterConfiguration.createDefault());
+	}
+
+	@Benchmark
+	public int getAccountBudget(LedgerState state)
+	{
+		return state.getBean(HelpersService.class).getAccountBudget();
+	}
+}
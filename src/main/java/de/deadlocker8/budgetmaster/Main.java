@@ -1,5 +1,7 @@
 package de.deadlocker8.budgetmaster;
 
+import de.deadlocker8.budgetmaster.database.generator.LedgerGeneratorCommand;
+import de.deadlocker8.budgetmaster.startup.StartupTimer;
 import de.thecodelabs.utils.io.PathUtils;
 import de.thecodelabs.utils.util.Localization;
 import de.thecodelabs.utils.util.SystemUtils;
@@ -32,11 +34,12 @@ public class Main extends SpringBootServletInitializer implements ApplicationRun
 
 	static
 	{
+		// only loaded once, the user's language is loaded by the LocalizationService after the settings are available
+		StartupTimer.measure("default localization", Main::loadDefaultLocalization);
 		prepare(new String[0]);
 	}
 
-	@SuppressWarnings("ConstantConditions")
-	private static Path prepare(String[] args)
+	private static void loadDefaultLocalization()
 	{
 		Localization.setDelegate(new Localization.LocalizationDelegate()
 		{
@@ -59,7 +62,11 @@ public class Main extends SpringBootServletInitializer implements ApplicationRun
 			}
 		});
 		Localization.load();
+	}
 
+	@SuppressWarnings("ConstantConditions")
+	private static Path prepare(String[] args)
+	{
 		ProgramArgs.setArgs(Arrays.asList(args));
 
 		Path applicationSupportFolder = getApplicationSupportFolder();
@@ -113,6 +120,13 @@ public class Main extends SpringBootServletInitializer implements ApplicationRun
 	public static void main(String[] args)
 	{
 		Path applicationSupportFolder = prepare(args);
+
+		if(LedgerGeneratorCommand.isRequested(ProgramArgs.getArgs()))
+		{
+			LedgerGeneratorCommand.run(ProgramArgs.getArgs());
+			return;
+		}
+
 		Path logPath = applicationSupportFolder.resolve("error.log");
 
 		String loggingArgument = "--logging.file=" + logPath.toString();
@@ -1,6 +1,7 @@
 package de.deadlocker8.budgetmaster.accounts;
 
 import com.google.gson.annotations.Expose;
+import de.deadlocker8.budgetmaster.services.DataChangeListener;
 import de.deadlocker8.budgetmaster.transactions.Transaction;
 
 import javax.persistence.*;
@@ -10,6 +11,7 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
+@EntityListeners(DataChangeListener.class)
 public class Account
 {
 	@Id
@@ -17,6 +19,9 @@ public class Account
 	@Expose
 	private Integer ID;
 
+	@Version
+	private Integer version;
+
 	@NotNull
 	@Size(min = 1)
 	@Column(unique = true)
@@ -26,7 +31,6 @@ public class Account
 	@OneToMany(mappedBy = "account", fetch = FetchType.LAZY)
 	private List<Transaction> referringTransactions;
 
-	private Boolean isSelected = false;
 	private Boolean isDefault = false;
 
 	@Expose
@@ -37,7 +41,6 @@ public class Account
 	{
 		this.name = name;
 		this.type = type;
-		this.isSelected = false;
 		this.isDefault = false;
 	}
 
@@ -55,6 +58,16 @@ public class Account
 		this.ID = ID;
 	}
 
+	public Integer getVersion()
+	{
+		return version;
+	}
+
+	public void setVersion(Integer version)
+	{
+		this.version = version;
+	}
+
 	public String getName()
 	{
 		return name;
@@ -75,16 +88,6 @@ public class Account
 		this.referringTransactions = referringTransactions;
 	}
 
-	public Boolean isSelected()
-	{
-		return isSelected;
-	}
-
-	public void setSelected(Boolean selected)
-	{
-		isSelected = selected;
-	}
-
 	public Boolean isDefault()
 	{
 		return isDefault;
@@ -110,9 +113,9 @@ public class Account
 	{
 		return "Account{" +
 				"ID=" + ID +
+				", version=" + version +
 				", name='" + name + '\'' +
 				", referringTransactions=" + referringTransactions +
-				", isSelected=" + isSelected +
 				", isDefault=" + isDefault +
 				", type=" + type +
 				'}';
@@ -124,8 +127,7 @@ public class Account
 		if(this == o) return true;
 		if(o == null || getClass() != o.getClass()) return false;
 		Account account = (Account) o;
-		return isSelected == account.isSelected &&
-				isDefault == account.isDefault &&
+		return isDefault == account.isDefault &&
 				Objects.equals(ID, account.ID) &&
 				Objects.equals(name, account.name) &&
 				type == account.type;
@@ -134,6 +136,6 @@ public class Account
 	@Override
 	public int hashCode()
 	{
-		return Objects.hash(ID, name, isSelected, isDefault, type);
+		return Objects.hash(ID, name, isDefault, type);
 	}
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import de.deadlocker8.budgetmaster.controller.BaseController;
 import de.deadlocker8.budgetmaster.settings.SettingsService;
 import de.deadlocker8.budgetmaster.utils.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -11,6 +12,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.Objects;
 
 
 @Controller
@@ -142,6 +144,10 @@ public class AccountController extends BaseController
 			{
 				// edit existing account
 				Account existingAccount = accountRepository.findOne(account.getID());
+				if(existingAccount == null || !Objects.equals(existingAccount.getVersion(), account.getVersion()))
+				{
+					throw new ObjectOptimisticLockingFailureException(Account.class, account.getID());
+				}
 				existingAccount.setName(account.getName());
 				accountRepository.save(existingAccount);
 			}
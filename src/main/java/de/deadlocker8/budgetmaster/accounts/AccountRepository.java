@@ -1,6 +1,9 @@
 package de.deadlocker8.budgetmaster.accounts;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -13,7 +16,15 @@ public interface AccountRepository extends JpaRepository<Account, Integer>
 
 	List<Account> findAllByType(AccountType accountType);
 
-	Account findByIsSelected(boolean isSelected);
-
 	Account findByIsDefault(boolean isDefault);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE Account a SET a.isDefault = false WHERE a.isDefault = true AND a.ID <> ?1")
+	int unsetDefaultExcept(Integer ID);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE Account a SET a.isDefault = true WHERE a.ID = ?1")
+	int setDefault(Integer ID);
 }
\ No newline at end of file
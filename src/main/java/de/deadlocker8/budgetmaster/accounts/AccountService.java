@@ -2,6 +2,7 @@ package de.deadlocker8.budgetmaster.accounts;
 
 import de.deadlocker8.budgetmaster.authentication.User;
 import de.deadlocker8.budgetmaster.authentication.UserRepository;
+import de.deadlocker8.budgetmaster.services.DataVersionService;
 import de.deadlocker8.budgetmaster.services.Resetable;
 import de.deadlocker8.budgetmaster.transactions.TransactionService;
 import de.deadlocker8.budgetmaster.utils.Strings;
@@ -10,26 +11,37 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 public class AccountService implements Resetable
 {
+	public static final String SESSION_ATTRIBUTE_SELECTED_ACCOUNT = "selectedAccountID";
+	private static final String DEFAULT_USER_NAME = "Default";
+
 	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
 	private AccountRepository accountRepository;
 	private TransactionService transactionService;
 	private UserRepository userRepository;
+	private DataVersionService dataVersionService;
+
+	// last selection of the user, used for new sessions and outside of requests
+	private volatile Integer selectedAccountID;
+	private volatile Integer defaultAccountID;
 
 	@Autowired
-	public AccountService(AccountRepository accountRepository, TransactionService transactionService, UserRepository userRepository)
+	public AccountService(AccountRepository accountRepository, TransactionService transactionService, UserRepository userRepository, DataVersionService dataVersionService)
 	{
 		this.accountRepository = accountRepository;
 		this.transactionService = transactionService;
 		this.userRepository = userRepository;
-
-		createDefaults();
+		this.dataVersionService = dataVersionService;
 	}
 
 	public AccountRepository getRepository()
@@ -67,10 +79,20 @@ public class AccountService implements Resetable
 	@Override
 	public void deleteAll()
 	{
-		deselectAllAccounts();
-		User user = userRepository.findByName("Default");
-		user.setSelectedAccount(null);
-		userRepository.save(user);
+		User user = userRepository.findByName(DEFAULT_USER_NAME);
+		if(user != null)
+		{
+			user.setSelectedAccount(null);
+			userRepository.save(user);
+		}
+
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if(requestAttributes != null)
+		{
+			requestAttributes.removeAttribute(SESSION_ATTRIBUTE_SELECTED_ACCOUNT, RequestAttributes.SCOPE_SESSION);
+		}
+		selectedAccountID = null;
+		defaultAccountID = null;
 
 		accountRepository.deleteAll();
 	}
@@ -96,51 +118,99 @@ public class AccountService implements Resetable
 			Account account = accountRepository.findAllByType(AccountType.CUSTOM).get(0);
 			setAsDefaultAccount(account.getID());
 		}
-		setAsDefaultAccount(accountRepository.findByIsDefault(true).getID());
 	}
 
-	private void deselectAllAccounts()
+	/**
+	 * Returns the account selected in the current session.
+	 * New sessions and calls outside of a request start with the last selection of the user.
+	 * Falls back to the default account if nothing is selected or the selected account was deleted meanwhile.
+	 */
+	public Account getSelectedAccount()
 	{
-		List<Account> accounts = accountRepository.findAll();
-		for(Account currentAccount : accounts)
+		Integer ID = getSelectedAccountID();
+		Account selectedAccount = ID == null ? null : accountRepository.findOne(ID);
+		if(selectedAccount == null)
 		{
-			currentAccount.setSelected(false);
-			accountRepository.save(currentAccount);
+			selectedAccount = getDefaultAccount();
+			selectAccount(selectedAccount.getID());
 		}
+		return selectedAccount;
 	}
 
-	public void selectAccount(int ID)
+	private Integer getSelectedAccountID()
 	{
-		deselectAllAccounts();
-
-		Account accountToSelect = accountRepository.findOne(ID);
-		accountToSelect.setSelected(true);
-		accountRepository.save(accountToSelect);
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if(requestAttributes != null)
+		{
+			Object sessionAccountID = requestAttributes.getAttribute(SESSION_ATTRIBUTE_SELECTED_ACCOUNT, RequestAttributes.SCOPE_SESSION);
+			if(sessionAccountID != null)
+			{
+				return (Integer) sessionAccountID;
+			}
+		}
 
-		User user = userRepository.findByName("Default");
-		if(user != null)
+		Integer ID = selectedAccountID;
+		if(ID == null)
 		{
-			user.setSelectedAccount(accountToSelect);
-			userRepository.save(user);
+			User user = userRepository.findByName(DEFAULT_USER_NAME);
+			if(user != null && user.getSelectedAccount() != null)
+			{
+				ID = user.getSelectedAccount().getID();
+				selectedAccountID = ID;
+			}
 		}
+		return ID;
 	}
 
-	public void setAsDefaultAccount(int ID)
+	/**
+	 * Selects the given account for the current session and remembers it as last selection of the user.
+	 * Only the user is updated, accounts are not modified.
+	 */
+	public void selectAccount(int ID)
 	{
-		unsetDefaultForAllAccounts();
-
 		Account accountToSelect = accountRepository.findOne(ID);
-		accountToSelect.setDefault(true);
-		accountRepository.save(accountToSelect);
+		if(accountToSelect == null)
+		{
+			return;
+		}
+
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if(requestAttributes != null)
+		{
+			requestAttributes.setAttribute(SESSION_ATTRIBUTE_SELECTED_ACCOUNT, ID, RequestAttributes.SCOPE_SESSION);
+		}
+
+		if(!Objects.equals(selectedAccountID, ID))
+		{
+			selectedAccountID = ID;
+			userRepository.updateSelectedAccount(DEFAULT_USER_NAME, accountToSelect);
+		}
 	}
 
-	private void unsetDefaultForAllAccounts()
+	public Account getDefaultAccount()
 	{
-		List<Account> accounts = accountRepository.findAll();
-		for(Account currentAccount : accounts)
+		Integer ID = defaultAccountID;
+		Account defaultAccount = ID == null ? null : accountRepository.findOne(ID);
+		if(defaultAccount == null)
 		{
-			currentAccount.setDefault(false);
-			accountRepository.save(currentAccount);
+			defaultAccount = accountRepository.findByIsDefault(true);
+			defaultAccountID = defaultAccount == null ? null : defaultAccount.getID();
 		}
+		return defaultAccount;
+	}
+
+	/**
+	 * Marks the given account as default account.
+	 * Only the previous and the new default account are updated.
+	 */
+	@Transactional
+	public void setAsDefaultAccount(int ID)
+	{
+		accountRepository.unsetDefaultExcept(ID);
+		accountRepository.setDefault(ID);
+		defaultAccountID = ID;
+
+		// bulk updates are not reported by the entity listener
+		dataVersionService.allAccountsChanged();
 	}
 }
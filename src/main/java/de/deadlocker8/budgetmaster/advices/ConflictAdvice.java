@@ -0,0 +1,28 @@
+package de.deadlocker8.budgetmaster.advices;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@ControllerAdvice
+public class ConflictAdvice
+{
+	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+	/**
+	 * Answers with 409 if an entity was modified by someone else since it was loaded into the submitted form.
+	 * The error page is rendered by the error controller, so all other advices are applied to it.
+	 */
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public void handleConflict(HttpServletResponse response, OptimisticLockingFailureException e) throws IOException
+	{
+		LOGGER.debug("Rejected concurrent modification: " + e.getMessage());
+		response.sendError(HttpStatus.CONFLICT.value());
+	}
+}
@@ -1,9 +1,18 @@
 package de.deadlocker8.budgetmaster.authentication;
 
+import de.deadlocker8.budgetmaster.accounts.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 
 public interface UserRepository extends JpaRepository<User, Integer>
 {
 	User findByName(String name);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE User u SET u.selectedAccount = ?2 WHERE u.name = ?1")
+	int updateSelectedAccount(String name, Account selectedAccount);
 }
\ No newline at end of file
@@ -14,8 +14,17 @@ public class UserService
 	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
 	public static final String DEFAULT_PASSWORD = "BudgetMaster";
 
+	private UserRepository userRepository;
+	private AccountService accountService;
+
 	@Autowired
 	public UserService(UserRepository userRepository, AccountService accountService)
+	{
+		this.userRepository = userRepository;
+		this.accountService = accountService;
+	}
+
+	public void createDefaultUserIfNotExists()
 	{
 		if(ProgramArgs.getArgs().contains("--resetPassword"))
 		{
@@ -28,10 +37,9 @@ public class UserService
 			BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder();
 			String encryptedPassword = bCryptPasswordEncoder.encode(DEFAULT_PASSWORD);
 			User user = new User("Default", encryptedPassword);
+			user.setSelectedAccount(accountService.getSelectedAccount());
 			userRepository.save(user);
 			LOGGER.info("Created default user");
-
-			accountService.selectAccount(accountService.getRepository().findByIsSelected(true).getID());
 		}
 	}
-}
+}
\ No newline at end of file
@@ -44,6 +44,7 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter
 
 				.authorizeRequests()
 				.antMatchers("/css/**", "/js/**",  "/images/**", "/webjars/**").permitAll()
+				.antMatchers("/prometheus").access("hasIpAddress('127.0.0.1') or hasIpAddress('::1')")
 				.antMatchers("/**").authenticated()
 				.antMatchers("/login").permitAll()
 				.and()
@@ -1,6 +1,8 @@
 package de.deadlocker8.budgetmaster.categories;
 
 import com.google.gson.annotations.Expose;
+import de.deadlocker8.budgetmaster.filter.FilterObjectChangeListener;
+import de.deadlocker8.budgetmaster.services.DataChangeListener;
 import de.deadlocker8.budgetmaster.transactions.Transaction;
 import de.thecodelabs.utils.util.Color;
 import de.thecodelabs.utils.util.ColorUtilsNonJavaFX;
@@ -12,6 +14,7 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
+@EntityListeners({FilterObjectChangeListener.class, DataChangeListener.class})
 public class Category
 {
 	@Id
@@ -1,28 +1,27 @@
 package de.deadlocker8.budgetmaster.categories;
 
 import de.deadlocker8.budgetmaster.services.Resetable;
-import de.deadlocker8.budgetmaster.transactions.Transaction;
+import de.deadlocker8.budgetmaster.transactions.TransactionBulkEditService;
 import de.deadlocker8.budgetmaster.utils.Strings;
 import de.thecodelabs.utils.util.Localization;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-
-import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class CategoryService implements Resetable
 {
 	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
 	private CategoryRepository categoryRepository;
+	private TransactionBulkEditService transactionBulkEditService;
 
 	@Autowired
-	public CategoryService(CategoryRepository categoryRepository)
+	public CategoryService(CategoryRepository categoryRepository, TransactionBulkEditService transactionBulkEditService)
 	{
 		this.categoryRepository = categoryRepository;
-
-		createDefaults();
+		this.transactionBulkEditService = transactionBulkEditService;
 	}
 
 	public CategoryRepository getRepository()
@@ -30,17 +29,12 @@ public class CategoryService implements Resetable
 		return categoryRepository;
 	}
 
+	@Transactional
 	public void deleteCategory(int ID, Category newCategory)
 	{
 		Category categoryToDelete = categoryRepository.findOne(ID);
-		List<Transaction> referringTransactions = categoryToDelete.getReferringTransactions();
-		if(referringTransactions != null)
-		{
-			for(Transaction transaction : referringTransactions)
-			{
-				transaction.setCategory(newCategory);
-			}
-		}
+		int numberOfTransactions = transactionBulkEditService.reassignCategory(categoryToDelete, newCategory);
+		LOGGER.debug("Moved " + numberOfTransactions + " transactions to category " + newCategory.getName());
 
 		categoryRepository.delete(ID);
 	}
@@ -1,6 +1,7 @@
 package de.deadlocker8.budgetmaster.charts;
 
 import com.google.gson.annotations.Expose;
+import de.deadlocker8.budgetmaster.services.DataChangeListener;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -8,6 +9,7 @@ import javax.validation.constraints.Size;
 import java.util.Objects;
 
 @Entity
+@EntityListeners(DataChangeListener.class)
 public class Chart
 {
 	@Id
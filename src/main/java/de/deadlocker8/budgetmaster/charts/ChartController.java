@@ -1,50 +1,39 @@
 package de.deadlocker8.budgetmaster.charts;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializer;
 import de.deadlocker8.budgetmaster.controller.BaseController;
 import de.deadlocker8.budgetmaster.filter.FilterConfiguration;
 import de.deadlocker8.budgetmaster.filter.FilterHelpersService;
 import de.deadlocker8.budgetmaster.services.HelpersService;
 import de.deadlocker8.budgetmaster.settings.SettingsService;
-import de.deadlocker8.budgetmaster.transactions.Transaction;
-import de.deadlocker8.budgetmaster.transactions.TransactionService;
 import de.deadlocker8.budgetmaster.utils.ResourceNotFoundException;
-import org.joda.time.DateTime;
-import org.joda.time.format.ISODateTimeFormat;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 @Controller
+@Timed
 public class ChartController extends BaseController
 {
-	private static final Gson GSON = new GsonBuilder()
-			.excludeFieldsWithoutExposeAnnotation()
-			.setPrettyPrinting()
-			.registerTypeAdapter(DateTime.class, (JsonSerializer<DateTime>) (json, typeOfSrc, context) -> new JsonPrimitive(ISODateTimeFormat.date().print(json)))
-			.create();
-
 	private final ChartService chartService;
 	private final HelpersService helpers;
 	private final SettingsService settingsService;
 	private final FilterHelpersService filterHelpersService;
-	private final TransactionService transactionService;
+	private final ChartDataService chartDataService;
 
 	@Autowired
-	public ChartController(ChartService chartService, HelpersService helpers, SettingsService settingsService, FilterHelpersService filterHelpersService, TransactionService transactionService)
+	public ChartController(ChartService chartService, HelpersService helpers, SettingsService settingsService, FilterHelpersService filterHelpersService, ChartDataService chartDataService)
 	{
 		this.chartService = chartService;
 		this.helpers = helpers;
 		this.settingsService = settingsService;
 		this.filterHelpersService = filterHelpersService;
-		this.transactionService = transactionService;
+		this.chartDataService = chartDataService;
 	}
 
 	@RequestMapping("/charts")
@@ -52,9 +41,7 @@ public class ChartController extends BaseController
 	{
 		List<Chart> charts = chartService.getRepository().findAllByOrderByNameAsc();
 
-		FilterConfiguration defaultFilterConfiguration = FilterConfiguration.DEFAULT;
-		defaultFilterConfiguration.setFilterCategories(filterHelpersService.getFilterCategories());
-		defaultFilterConfiguration.setFilterTags(filterHelpersService.getFilterTags());
+		FilterConfiguration defaultFilterConfiguration = filterHelpersService.getDefaultFilterConfiguration();
 
 		ChartSettings defaultChartSettings = ChartSettings.getDefault(charts.get(0).getID(), defaultFilterConfiguration);
 
@@ -64,14 +51,24 @@ public class ChartController extends BaseController
 		return "charts/charts";
 	}
 
-	@PostMapping(value = "/charts")
-	public String showChart(Model model, @ModelAttribute("NewChartSettings") ChartSettings chartSettings)
+	@GetMapping(value = "/charts/show")
+	public String showChart(WebRequest request, Model model, @ModelAttribute("NewChartSettings") ChartSettings chartSettings)
 	{
+		if(chartSettings.getStartDate() == null || chartSettings.getEndDate() == null)
+		{
+			return "redirect:/charts";
+		}
+
 		chartSettings.setFilterConfiguration(filterHelpersService.updateCategoriesAndTags(chartSettings.getFilterConfiguration()));
+		if(helpers.checkPageNotModified(request, "chart", chartSettings.getChartID(), chartSettings.getStartDate().toString("yyyy-MM-dd"),
+				chartSettings.getEndDate().toString("yyyy-MM-dd"), chartSettings.getFilterConfiguration()))
+		{
+			return null;
+		}
+
 		Chart chart = chartService.getRepository().findOne(chartSettings.getChartID());
 
-		List<Transaction> transactions = transactionService.getTransactionsForAccount(helpers.getCurrentAccount(), chartSettings.getStartDate(), chartSettings.getEndDate(), chartSettings.getFilterConfiguration());
-		String transactionJson = GSON.toJson(transactions);
+		String transactionJson = chartDataService.getChartData(helpers.getCurrentAccount(), chartSettings.getStartDate(), chartSettings.getEndDate(), chartSettings.getFilterConfiguration());
 
 		model.addAttribute("chartSettings", chartSettings);
 		model.addAttribute("charts", chartService.getRepository().findAllByOrderByNameAsc());
@@ -0,0 +1,277 @@
+package de.deadlocker8.budgetmaster.charts;
+
+import com.google.gson.stream.JsonWriter;
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
+import de.deadlocker8.budgetmaster.categories.Category;
+import de.deadlocker8.budgetmaster.filter.FilterConfiguration;
+import de.deadlocker8.budgetmaster.services.DataChangedEvent;
+import de.deadlocker8.budgetmaster.services.DataVersionService;
+import de.deadlocker8.budgetmaster.tags.Tag;
+import de.deadlocker8.budgetmaster.transactions.Transaction;
+import de.deadlocker8.budgetmaster.transactions.TransactionService;
+import de.deadlocker8.budgetmaster.utils.Hashes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.joda.time.DateTime;
+import org.joda.time.Days;
+import org.joda.time.LocalDate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Serializes the transactions of a chart into a compact, columnar JSON.
+ * Every transaction is a position in parallel arrays, categories, accounts and tags are only referenced by ID and
+ * sent once in dictionaries. The result is cached per account, date range, filter and data version of the account.
+ * <p>
+ * Format:
+ * <pre>
+ * {
+ *   "IDs": [...], "dates": [days since 1970-01-01], "amounts": [...], "names": [...], "descriptions": [...],
+ *   "categoryIDs": [...], "accountIDs": [...], "transferAccountIDs": [... or null], "repeatingOptionIDs": [... or null],
+ *   "tagIDs": [[...]],
+ *   "categories": {"ID": {"ID", "name", "color", "type"}}, "accounts": {"ID": {"ID", "name", "type"}}, "tags": {"ID": {"ID", "name"}}
+ * }
+ * </pre>
+ */
+@Service
+public class ChartDataService
+{
+	private static final LocalDate EPOCH = new LocalDate(1970, 1, 1);
+
+	private final TransactionService transactionService;
+	private final DataVersionService dataVersionService;
+	private final int maxEntries;
+
+	// access order, so the first entry is always the least recently used one
+	private final LinkedHashMap<String, CachedChartData> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final Counter hitCounter;
+	private final Counter missCounter;
+
+	@Autowired
+	public ChartDataService(TransactionService transactionService, DataVersionService dataVersionService, MeterRegistry meterRegistry,
+							@Value("${chart.data.cache.maxEntries:20}") int maxEntries)
+	{
+		this.transactionService = transactionService;
+		this.dataVersionService = dataVersionService;
+		this.maxEntries = maxEntries;
+
+		this.hitCounter = meterRegistry.counter("budgetmaster.charts.data.cache", "result", "hit");
+		this.missCounter = meterRegistry.counter("budgetmaster.charts.data.cache", "result", "miss");
+		Gauge.builder("budgetmaster.charts.data.cache.size", this, ChartDataService::getNumberOfEntries).register(meterRegistry);
+	}
+
+	public String getChartData(Account account, DateTime startDate, DateTime endDate, FilterConfiguration filterConfiguration)
+	{
+		String key = Hashes.sha256(account.getID(), startDate.toString("yyyy-MM-dd"), endDate.toString("yyyy-MM-dd"), filterConfiguration, dataVersionService.getVersion(account));
+
+		synchronized(cache)
+		{
+			CachedChartData cachedChartData = cache.get(key);
+			if(cachedChartData != null)
+			{
+				hitCounter.increment();
+				return cachedChartData.json;
+			}
+		}
+		missCounter.increment();
+
+		// computed outside of the lock, concurrent requests for the same key only cost one additional computation
+		List<Transaction> transactions = transactionService.getTransactionsForAccount(account, startDate, endDate, filterConfiguration);
+		String json = encode(transactions);
+
+		Integer accountID = account.getType().equals(AccountType.ALL) ? null : account.getID();
+		synchronized(cache)
+		{
+			cache.put(key, new CachedChartData(accountID, json));
+			while(cache.size() > maxEntries)
+			{
+				cache.remove(cache.keySet().iterator().next());
+			}
+		}
+		return json;
+	}
+
+	@EventListener
+	public void onDataChanged(DataChangedEvent event)
+	{
+		// entries of changed accounts can not be requested anymore, because the data version is part of the key
+		synchronized(cache)
+		{
+			cache.values().removeIf(cachedChartData -> event.affects(cachedChartData.accountID));
+		}
+	}
+
+	public int getNumberOfEntries()
+	{
+		synchronized(cache)
+		{
+			return cache.size();
+		}
+	}
+
+	public static String encode(List<Transaction> transactions)
+	{
+		Map<Integer, Category> categories = new LinkedHashMap<>();
+		Map<Integer, Account> accounts = new LinkedHashMap<>();
+		Map<Integer, Tag> tags = new LinkedHashMap<>();
+
+		StringWriter stringWriter = new StringWriter();
+		try(JsonWriter writer = new JsonWriter(stringWriter))
+		{
+			writer.setSerializeNulls(true);
+			// the JSON is embedded into a script block of the charts page
+			writer.setHtmlSafe(true);
+			writer.beginObject();
+
+			writeColumn(writer, "IDs", transactions, Transaction::getID);
+			writer.name("dates").beginArray();
+			for(Transaction transaction : transactions)
+			{
+				writer.value(Days.daysBetween(EPOCH, transaction.getDate().toLocalDate()).getDays());
+			}
+			writer.endArray();
+			writeColumn(writer, "amounts", transactions, Transaction::getAmount);
+			writeColumn(writer, "names", transactions, Transaction::getName);
+			writeColumn(writer, "descriptions", transactions, Transaction::getDescription);
+
+			writer.name("categoryIDs").beginArray();
+			for(Transaction transaction : transactions)
+			{
+				writer.value(addToDictionary(categories, transaction.getCategory(), Category::getID));
+			}
+			writer.endArray();
+
+			writer.name("accountIDs").beginArray();
+			for(Transaction transaction : transactions)
+			{
+				writer.value(addToDictionary(accounts, transaction.getAccount(), Account::getID));
+			}
+			writer.endArray();
+
+			writer.name("transferAccountIDs").beginArray();
+			for(Transaction transaction : transactions)
+			{
+				writer.value(addToDictionary(accounts, transaction.getTransferAccount(), Account::getID));
+			}
+			writer.endArray();
+
+			writer.name("repeatingOptionIDs").beginArray();
+			for(Transaction transaction : transactions)
+			{
+				writer.value(transaction.getRepeatingOption() == null ? null : transaction.getRepeatingOption().getID());
+			}
+			writer.endArray();
+
+			writer.name("tagIDs").beginArray();
+			for(Transaction transaction : transactions)
+			{
+				writer.beginArray();
+				if(transaction.getTags() != null)
+				{
+					for(Tag tag : transaction.getTags())
+					{
+						writer.value(addToDictionary(tags, tag, Tag::getID));
+					}
+				}
+				writer.endArray();
+			}
+			writer.endArray();
+
+			writer.name("categories").beginObject();
+			for(Category category : categories.values())
+			{
+				writer.name(String.valueOf(category.getID())).beginObject();
+				writer.name("ID").value(category.getID());
+				writer.name("name").value(category.getName());
+				writer.name("color").value(category.getColor());
+				writer.name("type").value(category.getType() == null ? null : category.getType().name());
+				writer.endObject();
+			}
+			writer.endObject();
+
+			writer.name("accounts").beginObject();
+			for(Account account : accounts.values())
+			{
+				writer.name(String.valueOf(account.getID())).beginObject();
+				writer.name("ID").value(account.getID());
+				writer.name("name").value(account.getName());
+				writer.name("type").value(account.getType() == null ? null : account.getType().name());
+				writer.endObject();
+			}
+			writer.endObject();
+
+			writer.name("tags").beginObject();
+			for(Tag tag : tags.values())
+			{
+				writer.name(String.valueOf(tag.getID())).beginObject();
+				writer.name("ID").value(tag.getID());
+				writer.name("name").value(tag.getName());
+				writer.endObject();
+			}
+			writer.endObject();
+
+			writer.endObject();
+		}
+		catch(IOException e)
+		{
+			// a StringWriter does not throw
+			throw new UncheckedIOException(e);
+		}
+		return stringWriter.toString();
+	}
+
+	private static <T> Integer addToDictionary(Map<Integer, T> dictionary, T item, Function<T, Integer> getID)
+	{
+		if(item == null)
+		{
+			return null;
+		}
+
+		Integer ID = getID.apply(item);
+		dictionary.putIfAbsent(ID, item);
+		return ID;
+	}
+
+	private static void writeColumn(JsonWriter writer, String name, List<Transaction> transactions, Function<Transaction, Object> getter) throws IOException
+	{
+		writer.name(name).beginArray();
+		for(Transaction transaction : transactions)
+		{
+			Object value = getter.apply(transaction);
+			if(value instanceof Number)
+			{
+				writer.value((Number) value);
+			}
+			else
+			{
+				writer.value((String) value);
+			}
+		}
+		writer.endArray();
+	}
+
+	private static class CachedChartData
+	{
+		private final Integer accountID;
+		private final String json;
+
+		private CachedChartData(Integer accountID, String json)
+		{
+			this.accountID = accountID;
+			this.json = json;
+		}
+	}
+}
@@ -18,8 +18,6 @@ public class ChartService implements Resetable
 	public ChartService(ChartRepository categoryRepository)
 	{
 		this.chartRepository = categoryRepository;
-
-		createDefaults();
 	}
 
 	public ChartRepository getRepository()
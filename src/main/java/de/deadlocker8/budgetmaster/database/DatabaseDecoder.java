@@ -0,0 +1,55 @@
+package de.deadlocker8.budgetmaster.database;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Decoder for one database version.
+ * The sections of a database (the fields of the root object) are passed in the order they appear in the input,
+ * so every section is read exactly once from the streaming reader.
+ */
+public interface DatabaseDecoder
+{
+	/**
+	 * Reads the value of the section with the given name. Unknown sections must be skipped.
+	 */
+	void decodeSection(String name, JsonReader reader) throws IOException;
+
+	/**
+	 * Called after all sections were read.
+	 */
+	Database finish();
+
+	/**
+	 * Reads all sections of the root object.
+	 */
+	default Database decode(JsonReader reader) throws IOException
+	{
+		reader.beginObject();
+		while(reader.hasNext())
+		{
+			decodeSection(reader.nextName(), reader);
+		}
+		reader.endObject();
+
+		return finish();
+	}
+
+	/**
+	 * Reads an array element by element, so only a single element is held as a tree at once.
+	 */
+	static void readArray(JsonReader reader, Consumer<JsonElement> consumer) throws IOException
+	{
+		JsonParser parser = new JsonParser();
+		reader.beginArray();
+		while(reader.hasNext())
+		{
+			consumer.accept(parser.parse(reader));
+		}
+		reader.endArray();
+	}
+}
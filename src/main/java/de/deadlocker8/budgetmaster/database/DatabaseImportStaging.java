@@ -0,0 +1,156 @@
+package de.deadlocker8.budgetmaster.database;
+
+import de.deadlocker8.budgetmaster.categories.CategoryService;
+import de.deadlocker8.budgetmaster.categories.CategoryType;
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Staging area for uploaded databases.
+ * Uploads are streamed to a file and only a {@link DatabaseManifest} is kept in the session, so the parsed entities
+ * do not stay on the heap while the user matches the accounts. Abandoned uploads are deleted after a while
+ * (triggered by the {@link de.deadlocker8.budgetmaster.services.ImportJobService}, which knows the files that are still in use).
+ */
+@Service
+public class DatabaseImportStaging
+{
+	private static final String FILE_PREFIX = "import_";
+	private static final String FILE_SUFFIX = ".json";
+
+	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+	private final CategoryService categoryService;
+	private final Path stagingFolder;
+
+	@Value("${database.import.staging.maxAge:60}")
+	private long maxAgeInMinutes;
+
+	@Autowired
+	public DatabaseImportStaging(CategoryService categoryService)
+	{
+		this(categoryService, Paths.get(System.getProperty("java.io.tmpdir"), "budgetmaster-imports"));
+	}
+
+	public DatabaseImportStaging(CategoryService categoryService, Path stagingFolder)
+	{
+		this.categoryService = categoryService;
+		this.stagingFolder = stagingFolder;
+	}
+
+	/**
+	 * Writes the uploaded file to the staging folder and reads its manifest.
+	 * The staged file is deleted again if it is not a valid database.
+	 */
+	public DatabaseManifest stage(MultipartFile file) throws IOException
+	{
+		Files.createDirectories(stagingFolder);
+		Path stagedFile = Files.createTempFile(stagingFolder, FILE_PREFIX, FILE_SUFFIX);
+		try(InputStream inputStream = file.getInputStream())
+		{
+			Files.copy(inputStream, stagedFile, StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		try
+		{
+			DatabaseManifest manifest = createParser(stagedFile).parseManifest(stagedFile.getFileName().toString(), DateTime.now());
+			LOGGER.debug("Staged uploaded database: " + manifest);
+			return manifest;
+		}
+		catch(IOException | RuntimeException e)
+		{
+			Files.deleteIfExists(stagedFile);
+			throw e;
+		}
+	}
+
+	/**
+	 * Parses the staged database of the given manifest again.
+	 */
+	public Database load(DatabaseManifest manifest) throws IOException
+	{
+		return createParser(resolve(manifest)).parseDatabaseFromJSON();
+	}
+
+	public void discard(DatabaseManifest manifest)
+	{
+		if(manifest == null)
+		{
+			return;
+		}
+
+		try
+		{
+			Files.deleteIfExists(resolve(manifest));
+		}
+		catch(IOException e)
+		{
+			LOGGER.error("Could not delete staged database " + manifest.getFileName(), e);
+		}
+	}
+
+	public long getMaxAgeInMinutes()
+	{
+		return maxAgeInMinutes;
+	}
+
+	/**
+	 * Deletes staged databases that are older than the maximum age, except for the given files
+	 * (e.g. staged databases of import jobs that can still be resumed).
+	 */
+	public void deleteAbandonedFiles(Collection<String> usedFileNames)
+	{
+		if(!Files.isDirectory(stagingFolder))
+		{
+			return;
+		}
+
+		long maxAgeInMillis = TimeUnit.MINUTES.toMillis(maxAgeInMinutes);
+		try(DirectoryStream<Path> stagedFiles = Files.newDirectoryStream(stagingFolder, FILE_PREFIX + "*" + FILE_SUFFIX))
+		{
+			for(Path stagedFile : stagedFiles)
+			{
+				if(usedFileNames.contains(stagedFile.getFileName().toString()))
+				{
+					continue;
+				}
+
+				if(System.currentTimeMillis() - Files.getLastModifiedTime(stagedFile).toMillis() > maxAgeInMillis)
+				{
+					LOGGER.debug("Deleting abandoned staged database " + stagedFile.getFileName());
+					Files.deleteIfExists(stagedFile);
+				}
+			}
+		}
+		catch(IOException e)
+		{
+			LOGGER.error("Could not clean up staged databases", e);
+		}
+	}
+
+	private Path resolve(DatabaseManifest manifest)
+	{
+		// the manifest only stores the file name, so nothing outside of the staging folder can be referenced
+		return stagingFolder.resolve(Paths.get(manifest.getFileName()).getFileName());
+	}
+
+	private DatabaseParser createParser(Path stagedFile) throws IOException
+	{
+		return new DatabaseParser(Files.newBufferedReader(stagedFile, StandardCharsets.UTF_8), categoryService.getRepository().findByType(CategoryType.NONE));
+	}
+}
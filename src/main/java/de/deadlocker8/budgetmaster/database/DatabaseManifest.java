@@ -0,0 +1,73 @@
+package de.deadlocker8.budgetmaster.database;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import org.joda.time.DateTime;
+
+import java.util.List;
+
+/**
+ * Summary of an uploaded database that is kept in the session until the import is confirmed.
+ * The database itself stays in the staging file and is parsed again on import.
+ */
+public class DatabaseManifest
+{
+	private final String fileName;
+	private final DateTime uploadDate;
+	private final int version;
+	private final List<Account> accounts;
+	private final int numberOfCategories;
+	private final int numberOfTransactions;
+
+	public DatabaseManifest(String fileName, DateTime uploadDate, int version, List<Account> accounts, int numberOfCategories, int numberOfTransactions)
+	{
+		this.fileName = fileName;
+		this.uploadDate = uploadDate;
+		this.version = version;
+		this.accounts = accounts;
+		this.numberOfCategories = numberOfCategories;
+		this.numberOfTransactions = numberOfTransactions;
+	}
+
+	public String getFileName()
+	{
+		return fileName;
+	}
+
+	public DateTime getUploadDate()
+	{
+		return uploadDate;
+	}
+
+	public int getVersion()
+	{
+		return version;
+	}
+
+	public List<Account> getAccounts()
+	{
+		return accounts;
+	}
+
+	public int getNumberOfCategories()
+	{
+		return numberOfCategories;
+	}
+
+	public int getNumberOfTransactions()
+	{
+		return numberOfTransactions;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "DatabaseManifest{" +
+				"fileName='" + fileName + '\'' +
+				", uploadDate=" + uploadDate +
+				", version=" + version +
+				", accounts=" + accounts +
+				", numberOfCategories=" + numberOfCategories +
+				", numberOfTransactions=" + numberOfTransactions +
+				'}';
+	}
+}
@@ -1,54 +1,188 @@
 package de.deadlocker8.budgetmaster.database;
 
-import com.google.gson.JsonObject;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
 import de.deadlocker8.budgetmaster.database.legacy.LegacyParser;
 import de.deadlocker8.budgetmaster.categories.Category;
 import de.thecodelabs.utils.util.Localization;
+import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the header (TYPE and VERSION) of a database with a streaming reader and passes the remaining sections of
+ * the same input to the decoder for that version, so the input is only read once.
+ */
 public class DatabaseParser
 {
+	private static final Gson GSON = new Gson();
+
 	final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
-	private String jsonString;
+	private Reader reader;
 	private Category categoryNone;
+	private int version;
 
 	public DatabaseParser(String json, Category categoryNone)
 	{
-		this.jsonString = json;
+		this(new StringReader(json), categoryNone);
+	}
+
+	/**
+	 * @param reader is closed after parsing
+	 */
+	public DatabaseParser(Reader reader, Category categoryNone)
+	{
+		this.reader = reader;
 		this.categoryNone = categoryNone;
 	}
 
 	public Database parseDatabaseFromJSON() throws IllegalArgumentException
 	{
-		try
+		try(JsonReader jsonReader = new JsonReader(reader))
 		{
-			JsonObject root = new JsonParser().parse(jsonString).getAsJsonObject();
-			String type = root.get("TYPE").getAsString();
-			if(!type.equals(JSONIdentifier.BUDGETMASTER_DATABASE.toString()))
+			String type = null;
+			DatabaseDecoder decoder = null;
+			// only filled if the header is not at the beginning of the input
+			Map<String, JsonElement> sectionsBeforeHeader = new LinkedHashMap<>();
+
+			jsonReader.beginObject();
+			while(jsonReader.hasNext())
 			{
-				throw new IllegalArgumentException("JSON is not of type BUDGETMASTER_DATABASE");
+				String name = jsonReader.nextName();
+				if(name.equals("TYPE"))
+				{
+					type = jsonReader.nextString();
+					if(!type.equals(JSONIdentifier.BUDGETMASTER_DATABASE.toString()))
+					{
+						throw new IllegalArgumentException("JSON is not of type BUDGETMASTER_DATABASE");
+					}
+				}
+				else if(name.equals("VERSION"))
+				{
+					version = jsonReader.nextInt();
+					LOGGER.info("Parsing Budgetmaster database with version " + version);
+					decoder = createDecoder(version);
+
+					for(Map.Entry<String, JsonElement> section : sectionsBeforeHeader.entrySet())
+					{
+						decoder.decodeSection(section.getKey(), new JsonReader(new StringReader(section.getValue().toString())));
+					}
+					sectionsBeforeHeader.clear();
+				}
+				else if(decoder != null)
+				{
+					decoder.decodeSection(name, jsonReader);
+				}
+				else
+				{
+					sectionsBeforeHeader.put(name, new JsonParser().parse(jsonReader));
+				}
 			}
+			jsonReader.endObject();
 
-			int version = root.get("VERSION").getAsInt();
-			LOGGER.info("Parsing Budgetmaster database with version " + version);
+			if(type == null || decoder == null)
+			{
+				throw new IllegalArgumentException("JSON is missing TYPE or VERSION");
+			}
 
-			if(version == 2)
+			Database database = decoder.finish();
+			LOGGER.debug("Parsed database with " + database.getTransactions().size() + " transactions, " + database.getCategories().size() + " categories and " + database.getAccounts().size() + " accounts");
+			return database;
+		}
+		catch(Exception e)
+		{
+			e.printStackTrace();
+			throw new IllegalArgumentException(Localization.getString("error.database.import.invalid.json"));
+		}
+	}
+
+	/**
+	 * Reads only the header, the accounts and the number of categories and transactions of a database.
+	 * Categories and transactions are skipped without being decoded, so the entities of a large database are not created
+	 * before the import is confirmed. Their content is validated by {@link #parseDatabaseFromJSON()} during the import.
+	 */
+	public DatabaseManifest parseManifest(String fileName, DateTime uploadDate) throws IllegalArgumentException
+	{
+		try(JsonReader jsonReader = new JsonReader(reader))
+		{
+			String type = null;
+			Integer parsedVersion = null;
+			List<Account> accounts = new ArrayList<>();
+			Map<String, Integer> arraySizes = new HashMap<>();
+
+			jsonReader.beginObject();
+			while(jsonReader.hasNext())
+			{
+				String name = jsonReader.nextName();
+				switch(name)
+				{
+					case "TYPE":
+						type = jsonReader.nextString();
+						if(!type.equals(JSONIdentifier.BUDGETMASTER_DATABASE.toString()))
+						{
+							throw new IllegalArgumentException("JSON is not of type BUDGETMASTER_DATABASE");
+						}
+						break;
+					case "VERSION":
+						parsedVersion = jsonReader.nextInt();
+						break;
+					case "accounts":
+						DatabaseDecoder.readArray(jsonReader, currentAccount -> {
+							Account account = GSON.fromJson(currentAccount, Account.class);
+							Account summary = new Account(account.getName(), account.getType());
+							summary.setID(account.getID());
+							accounts.add(summary);
+						});
+						break;
+					case "categories":
+					case "transactions":
+					case "normalPayments":
+					case "repeatingPayments":
+						arraySizes.put(name, countArray(jsonReader));
+						break;
+					default:
+						jsonReader.skipValue();
+				}
+			}
+			jsonReader.endObject();
+
+			if(type == null || parsedVersion == null)
 			{
-				Database database = new LegacyParser(jsonString, categoryNone).parseDatabaseFromJSON();
-				LOGGER.debug("Parsed database with " + database.getTransactions().size() + " transactions, " + database.getCategories().size() + " categories and " + database.getAccounts().size() + " accounts");
-				return database;
+				throw new IllegalArgumentException("JSON is missing TYPE or VERSION");
 			}
+			version = parsedVersion;
 
-			if(version == 3)
+			int numberOfTransactions;
+			if(version == 2)
+			{
+				// legacy databases are imported into a single new account
+				accounts.clear();
+				accounts.add(new Account(LegacyParser.ACCOUNT_NAME, AccountType.CUSTOM));
+				numberOfTransactions = arraySizes.getOrDefault("normalPayments", 0) + arraySizes.getOrDefault("repeatingPayments", 0);
+			}
+			else if(version == 3)
+			{
+				numberOfTransactions = arraySizes.getOrDefault("transactions", 0);
+			}
+			else
 			{
-				Database database = new DatabaseParser_v3(jsonString).parseDatabaseFromJSON();
-				LOGGER.debug("Parsed database with " + database.getTransactions().size() + " transactions, " + database.getCategories().size() + " categories and " + database.getAccounts().size() + " accounts");
-				return database;
+				throw new IllegalArgumentException(Localization.getString("error.database.import.unknown.version"));
 			}
 
-			throw new IllegalArgumentException(Localization.getString("error.database.import.unknown.version"));
+			return new DatabaseManifest(fileName, uploadDate, version, accounts, arraySizes.getOrDefault("categories", 0), numberOfTransactions);
 		}
 		catch(Exception e)
 		{
@@ -56,4 +190,40 @@ public class DatabaseParser
 			throw new IllegalArgumentException(Localization.getString("error.database.import.invalid.json"));
 		}
 	}
-}
\ No newline at end of file
+
+	private int countArray(JsonReader jsonReader) throws IOException
+	{
+		int size = 0;
+		jsonReader.beginArray();
+		while(jsonReader.hasNext())
+		{
+			jsonReader.skipValue();
+			size++;
+		}
+		jsonReader.endArray();
+		return size;
+	}
+
+	private DatabaseDecoder createDecoder(int version)
+	{
+		if(version == 2)
+		{
+			return new LegacyParser(categoryNone);
+		}
+
+		if(version == 3)
+		{
+			return new DatabaseParser_v3();
+		}
+
+		throw new IllegalArgumentException(Localization.getString("error.database.import.unknown.version"));
+	}
+
+	/**
+	 * Returns the version of the last parsed database.
+	 */
+	public int getVersion()
+	{
+		return version;
+	}
+}
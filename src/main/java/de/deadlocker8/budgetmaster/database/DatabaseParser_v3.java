@@ -1,6 +1,7 @@
 package de.deadlocker8.budgetmaster.database;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
 import de.deadlocker8.budgetmaster.accounts.Account;
 import de.deadlocker8.budgetmaster.categories.Category;
 import de.deadlocker8.budgetmaster.tags.Tag;
@@ -14,95 +15,128 @@ import org.joda.time.format.DateTimeFormat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 
-public class DatabaseParser_v3
+public class DatabaseParser_v3 implements DatabaseDecoder
 {
+	private static final Gson GSON = new Gson();
+
 	final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
 	private String jsonString;
 	private List<Category> categories;
 	private List<Account> accounts;
+	private List<Transaction> transactions;
+	private JsonArray pendingTransactions;
 
 	public DatabaseParser_v3(String json)
 	{
 		this.jsonString = json;
 	}
 
-	public Database parseDatabaseFromJSON() throws IllegalArgumentException
+	/**
+	 * Creates a decoder for {@link DatabaseParser}, which passes the sections of an already opened reader.
+	 */
+	public DatabaseParser_v3()
 	{
-		JsonObject root = new JsonParser().parse(jsonString).getAsJsonObject();
-		categories = parseCategories(root);
-		accounts = parseAccounts(root);
-		List<Transaction> transactions = parseTransactions(root);
-
-		return new Database(categories, accounts, transactions);
 	}
 
-	private List<Category> parseCategories(JsonObject root)
+	public Database parseDatabaseFromJSON() throws IllegalArgumentException
 	{
-		List<Category> parsedCategories = new ArrayList<>();
-		JsonArray categories = root.get("categories").getAsJsonArray();
-		for(JsonElement currentCategory : categories)
+		try(JsonReader reader = new JsonReader(new StringReader(jsonString)))
 		{
-			Category parsedCategory = new Gson().fromJson(currentCategory, Category.class);
-			parsedCategories.add(parsedCategory);
+			return decode(reader);
+		}
+		catch(IOException e)
+		{
+			throw new IllegalArgumentException(e);
 		}
-
-		return parsedCategories;
 	}
 
-	private List<Account> parseAccounts(JsonObject root)
+	@Override
+	public void decodeSection(String name, JsonReader reader) throws IOException
 	{
-		List<Account> parsedAccounts = new ArrayList<>();
-		JsonArray accounts = root.get("accounts").getAsJsonArray();
-		for(JsonElement currentAccount : accounts)
+		switch(name)
 		{
-			parsedAccounts.add(new Gson().fromJson(currentAccount, Account.class));
+			case "categories":
+				categories = new ArrayList<>();
+				DatabaseDecoder.readArray(reader, currentCategory -> categories.add(GSON.fromJson(currentCategory, Category.class)));
+				break;
+			case "accounts":
+				accounts = new ArrayList<>();
+				DatabaseDecoder.readArray(reader, currentAccount -> accounts.add(GSON.fromJson(currentAccount, Account.class)));
+				break;
+			case "transactions":
+				transactions = new ArrayList<>();
+				if(categories != null && accounts != null)
+				{
+					DatabaseDecoder.readArray(reader, currentTransaction -> transactions.add(parseTransaction(currentTransaction.getAsJsonObject())));
+				}
+				else
+				{
+					// transactions reference categories and accounts, so they can only be decoded after both are known
+					pendingTransactions = new JsonParser().parse(reader).getAsJsonArray();
+				}
+				break;
+			default:
+				reader.skipValue();
 		}
-
-		return parsedAccounts;
 	}
 
-	private List<Transaction> parseTransactions(JsonObject root)
+	@Override
+	public Database finish()
 	{
-		List<Transaction> parsedTransactions = new ArrayList<>();
-		JsonArray transactions = root.get("transactions").getAsJsonArray();
-		for(JsonElement currentTransaction : transactions)
+		if(categories == null || accounts == null || transactions == null)
 		{
-			int amount = currentTransaction.getAsJsonObject().get("amount").getAsInt();
-			String name = currentTransaction.getAsJsonObject().get("name").getAsString();
-			String description = currentTransaction.getAsJsonObject().get("description").getAsString();
+			throw new IllegalArgumentException("Database is missing categories, accounts or transactions");
+		}
 
-			Transaction transaction = new Transaction();
-			transaction.setAmount(amount);
-			transaction.setName(name);
-			transaction.setDescription(description);
-			transaction.setTags(parseTags(currentTransaction.getAsJsonObject()));
+		if(pendingTransactions != null)
+		{
+			for(JsonElement currentTransaction : pendingTransactions)
+			{
+				transactions.add(parseTransaction(currentTransaction.getAsJsonObject()));
+			}
+			pendingTransactions = null;
+		}
 
-			int categoryID = currentTransaction.getAsJsonObject().get("category").getAsJsonObject().get("ID").getAsInt();
-			transaction.setCategory(getCategoryByID(categoryID));
+		return new Database(categories, accounts, transactions);
+	}
 
-			int accountID = currentTransaction.getAsJsonObject().get("account").getAsJsonObject().get("ID").getAsInt();
-			transaction.setAccount(getAccountByID(accountID));
+	private Transaction parseTransaction(JsonObject currentTransaction)
+	{
+		int amount = currentTransaction.get("amount").getAsInt();
+		String name = currentTransaction.get("name").getAsString();
+		String description = currentTransaction.get("description").getAsString();
 
-			JsonElement transferAccount = currentTransaction.getAsJsonObject().get("transferAccount");
-			if(transferAccount != null)
-			{
-				int transferAccountID = transferAccount.getAsJsonObject().get("ID").getAsInt();
-				transaction.setTransferAccount(getAccountByID(transferAccountID));
-			}
+		Transaction transaction = new Transaction();
+		transaction.setAmount(amount);
+		transaction.setName(name);
+		transaction.setDescription(description);
+		transaction.setTags(parseTags(currentTransaction));
 
-			String date = currentTransaction.getAsJsonObject().get("date").getAsString();
-			DateTime parsedDate = DateTime.parse(date, DateTimeFormat.forPattern("yyyy-MM-dd"));
-			transaction.setDate(parsedDate);
+		int categoryID = currentTransaction.get("category").getAsJsonObject().get("ID").getAsInt();
+		transaction.setCategory(getCategoryByID(categoryID));
 
-			transaction.setRepeatingOption(parseRepeatingOption(currentTransaction.getAsJsonObject(), parsedDate));
+		int accountID = currentTransaction.get("account").getAsJsonObject().get("ID").getAsInt();
+		transaction.setAccount(getAccountByID(accountID));
 
-			parsedTransactions.add(transaction);
+		JsonElement transferAccount = currentTransaction.get("transferAccount");
+		if(transferAccount != null)
+		{
+			int transferAccountID = transferAccount.getAsJsonObject().get("ID").getAsInt();
+			transaction.setTransferAccount(getAccountByID(transferAccountID));
 		}
 
-		return parsedTransactions;
+		String date = currentTransaction.get("date").getAsString();
+		DateTime parsedDate = DateTime.parse(date, DateTimeFormat.forPattern("yyyy-MM-dd"));
+		transaction.setDate(parsedDate);
+
+		transaction.setRepeatingOption(parseRepeatingOption(currentTransaction, parsedDate));
+
+		return transaction;
 	}
 
 	private RepeatingOption parseRepeatingOption(JsonObject transactiob, DateTime startDate)
@@ -153,7 +187,7 @@ public class DatabaseParser_v3
 		JsonArray tags = transaction.get("tags").getAsJsonArray();
 		for(JsonElement currentTag : tags)
 		{
-			parsedTags.add(new Gson().fromJson(currentTag, Tag.class));
+			parsedTags.add(GSON.fromJson(currentTag, Tag.class));
 		}
 
 		return parsedTags;
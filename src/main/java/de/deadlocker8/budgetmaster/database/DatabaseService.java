@@ -91,14 +91,19 @@ public class DatabaseService
 		Database database = new Database(categories, accounts, filteredTransactions);
 		LOGGER.debug("Created database JSON with " + database.getTransactions().size() + " transactions, " + database.getCategories().size() + " categories and " + database.getAccounts().size() + " accounts");
 
-		Gson gson = new GsonBuilder()
-				.excludeFieldsWithoutExposeAnnotation()
+		Gson gson = createGsonBuilder()
 				.setPrettyPrinting()
-				.registerTypeAdapter(DateTime.class, (JsonSerializer<DateTime>) (json, typeOfSrc, context) -> new JsonPrimitive(ISODateTimeFormat.date().print(json)))
 				.create();
 		return gson.toJson(database);
 	}
 
+	public static GsonBuilder createGsonBuilder()
+	{
+		return new GsonBuilder()
+				.excludeFieldsWithoutExposeAnnotation()
+				.registerTypeAdapter(DateTime.class, (JsonSerializer<DateTime>) (json, typeOfSrc, context) -> new JsonPrimitive(ISODateTimeFormat.date().print(json)));
+	}
+
 	private List<Transaction> filterRepeatingTransactions(List<Transaction> transactions)
 	{
 		List<Transaction> filteredTransactions = new ArrayList<>();
@@ -0,0 +1,157 @@
+package de.deadlocker8.budgetmaster.database.bankstatement;
+
+/**
+ * Describes where the values of a transaction are found in the rows of a CSV bank statement.
+ * Column indices start at 0, optional columns are disabled with -1.
+ */
+public class BankStatementColumnMapping
+{
+	private String separator = ";";
+	private String charset = "UTF-8";
+	private int numberOfHeaderLines = 1;
+	private int dateColumn = 0;
+	private String datePattern = "dd.MM.yyyy";
+	private int amountColumn = 1;
+	private String decimalSeparator = ",";
+	private int nameColumn = 2;
+	private int fallbackNameColumn = -1;
+	private int descriptionColumn = -1;
+
+	public BankStatementColumnMapping()
+	{
+	}
+
+	/**
+	 * Mapping for the "CSV-CAMT" export of German banks (e.g. Sparkasse).
+	 */
+	public static BankStatementColumnMapping createCamt()
+	{
+		BankStatementColumnMapping mapping = new BankStatementColumnMapping();
+		mapping.setCharset("ISO-8859-1");
+		mapping.setDateColumn(1);
+		mapping.setDatePattern("dd.MM.yy");
+		mapping.setAmountColumn(14);
+		mapping.setNameColumn(11);
+		// "Buchungstext" is used for bank charges without a payee
+		mapping.setFallbackNameColumn(3);
+		mapping.setDescriptionColumn(4);
+		return mapping;
+	}
+
+	public String getSeparator()
+	{
+		return separator;
+	}
+
+	public void setSeparator(String separator)
+	{
+		this.separator = separator;
+	}
+
+	public String getCharset()
+	{
+		return charset;
+	}
+
+	public void setCharset(String charset)
+	{
+		this.charset = charset;
+	}
+
+	public int getNumberOfHeaderLines()
+	{
+		return numberOfHeaderLines;
+	}
+
+	public void setNumberOfHeaderLines(int numberOfHeaderLines)
+	{
+		this.numberOfHeaderLines = numberOfHeaderLines;
+	}
+
+	public int getDateColumn()
+	{
+		return dateColumn;
+	}
+
+	public void setDateColumn(int dateColumn)
+	{
+		this.dateColumn = dateColumn;
+	}
+
+	public String getDatePattern()
+	{
+		return datePattern;
+	}
+
+	public void setDatePattern(String datePattern)
+	{
+		this.datePattern = datePattern;
+	}
+
+	public int getAmountColumn()
+	{
+		return amountColumn;
+	}
+
+	public void setAmountColumn(int amountColumn)
+	{
+		this.amountColumn = amountColumn;
+	}
+
+	public String getDecimalSeparator()
+	{
+		return decimalSeparator;
+	}
+
+	public void setDecimalSeparator(String decimalSeparator)
+	{
+		this.decimalSeparator = decimalSeparator;
+	}
+
+	public int getNameColumn()
+	{
+		return nameColumn;
+	}
+
+	public void setNameColumn(int nameColumn)
+	{
+		this.nameColumn = nameColumn;
+	}
+
+	public int getFallbackNameColumn()
+	{
+		return fallbackNameColumn;
+	}
+
+	public void setFallbackNameColumn(int fallbackNameColumn)
+	{
+		this.fallbackNameColumn = fallbackNameColumn;
+	}
+
+	public int getDescriptionColumn()
+	{
+		return descriptionColumn;
+	}
+
+	public void setDescriptionColumn(int descriptionColumn)
+	{
+		this.descriptionColumn = descriptionColumn;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "BankStatementColumnMapping{" +
+				"separator='" + separator + '\'' +
+				", charset='" + charset + '\'' +
+				", numberOfHeaderLines=" + numberOfHeaderLines +
+				", dateColumn=" + dateColumn +
+				", datePattern='" + datePattern + '\'' +
+				", amountColumn=" + amountColumn +
+				", decimalSeparator='" + decimalSeparator + '\'' +
+				", nameColumn=" + nameColumn +
+				", fallbackNameColumn=" + fallbackNameColumn +
+				", descriptionColumn=" + descriptionColumn +
+				'}';
+	}
+}
@@ -0,0 +1,74 @@
+package de.deadlocker8.budgetmaster.database.bankstatement;
+
+import com.google.gson.JsonObject;
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountService;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
+import de.deadlocker8.budgetmaster.controller.BaseController;
+import de.thecodelabs.utils.util.Localization;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+
+@Controller
+@Timed
+public class BankStatementImportController extends BaseController
+{
+	private final BankStatementImportService bankStatementImportService;
+	private final AccountService accountService;
+
+	@Autowired
+	public BankStatementImportController(BankStatementImportService bankStatementImportService, AccountService accountService)
+	{
+		this.bankStatementImportService = bankStatementImportService;
+		this.accountService = accountService;
+	}
+
+	/**
+	 * Imports the uploaded CSV bank statement into the given account.
+	 * The columns are described by the request parameters (see {@link BankStatementColumnMapping}) or by the CSV-CAMT preset.
+	 */
+	@PostMapping(value = "/settings/database/import/statement", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+	@ResponseBody
+	public String importStatement(@RequestParam("file") MultipartFile file, @RequestParam("accountID") Integer accountID,
+								  @RequestParam(value = "camt", defaultValue = "false") boolean isCamt,
+								  @ModelAttribute("BankStatementColumnMapping") BankStatementColumnMapping mapping)
+	{
+		JsonObject json = new JsonObject();
+		Account account = accountService.getRepository().findOne(accountID);
+		if(account == null || account.getType() != AccountType.CUSTOM)
+		{
+			json.addProperty("errorMessage", Localization.getString("error.database.import.statement.account"));
+			return json.toString();
+		}
+
+		if(isCamt)
+		{
+			mapping = BankStatementColumnMapping.createCamt();
+		}
+
+		try(InputStream inputStream = file.getInputStream())
+		{
+			BankStatementImportResult result = bankStatementImportService.importStatement(inputStream, mapping, account);
+			json.addProperty("numberOfRows", result.getNumberOfRows());
+			json.addProperty("numberOfImportedTransactions", result.getNumberOfImportedTransactions());
+			json.addProperty("numberOfDuplicates", result.getNumberOfDuplicates());
+		}
+		catch(IOException | IllegalArgumentException e)
+		{
+			LOGGER.error("Could not import bank statement", e);
+			json.addProperty("errorMessage", e.getMessage());
+		}
+		return json.toString();
+	}
+}
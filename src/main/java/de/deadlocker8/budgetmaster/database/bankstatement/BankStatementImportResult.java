@@ -0,0 +1,37 @@
+package de.deadlocker8.budgetmaster.database.bankstatement;
+
+public class BankStatementImportResult
+{
+	private final int numberOfRows;
+	private final int numberOfImportedTransactions;
+
+	public BankStatementImportResult(int numberOfRows, int numberOfImportedTransactions)
+	{
+		this.numberOfRows = numberOfRows;
+		this.numberOfImportedTransactions = numberOfImportedTransactions;
+	}
+
+	public int getNumberOfRows()
+	{
+		return numberOfRows;
+	}
+
+	public int getNumberOfImportedTransactions()
+	{
+		return numberOfImportedTransactions;
+	}
+
+	public int getNumberOfDuplicates()
+	{
+		return numberOfRows - numberOfImportedTransactions;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "BankStatementImportResult{" +
+				"numberOfRows=" + numberOfRows +
+				", numberOfImportedTransactions=" + numberOfImportedTransactions +
+				'}';
+	}
+}
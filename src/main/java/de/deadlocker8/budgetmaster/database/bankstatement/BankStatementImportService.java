@@ -0,0 +1,168 @@
+package de.deadlocker8.budgetmaster.database.bankstatement;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.categories.Category;
+import de.deadlocker8.budgetmaster.categories.CategoryRepository;
+import de.deadlocker8.budgetmaster.categories.CategoryType;
+import de.deadlocker8.budgetmaster.services.ImportService;
+import de.deadlocker8.budgetmaster.summary.MonthlySummaryService;
+import de.deadlocker8.budgetmaster.transactions.Transaction;
+import de.deadlocker8.budgetmaster.transactions.TransactionFingerprintService;
+import de.deadlocker8.budgetmaster.transactions.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports the rows of a CSV bank statement into an account.
+ * Rows are read and committed in batches of {@link ImportService#BATCH_SIZE}, so statements of any size can be imported.
+ * <p>
+ * Rows that were already imported are detected by the fingerprint of the transaction (see {@link Transaction#createFingerprint})
+ * and skipped. If the account contains n transactions with the same fingerprint, the first n rows with this fingerprint
+ * are skipped, so identical transactions on the same day (e.g. two tickets) are still imported once each.
+ * Importing the same statement again (e.g. after a failed import) therefore only adds the missing rows.
+ */
+@Service
+public class BankStatementImportService
+{
+	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+	private final ImportService importService;
+	private final TransactionRepository transactionRepository;
+	private final CategoryRepository categoryRepository;
+	private final MonthlySummaryService monthlySummaryService;
+	private final TransactionFingerprintService transactionFingerprintService;
+
+	@Autowired
+	public BankStatementImportService(ImportService importService, TransactionRepository transactionRepository, CategoryRepository categoryRepository, MonthlySummaryService monthlySummaryService, TransactionFingerprintService transactionFingerprintService)
+	{
+		this.importService = importService;
+		this.transactionRepository = transactionRepository;
+		this.categoryRepository = categoryRepository;
+		this.monthlySummaryService = monthlySummaryService;
+		this.transactionFingerprintService = transactionFingerprintService;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if a row does not match the column mapping (previous batches are kept)
+	 */
+	public BankStatementImportResult importStatement(InputStream inputStream, BankStatementColumnMapping mapping, Account account) throws IOException
+	{
+		LOGGER.debug("Importing bank statement into account " + account.getName() + " with " + mapping);
+		Category category = categoryRepository.findByType(CategoryType.NONE);
+
+		// transactions without fingerprint would not be detected as duplicates
+		transactionFingerprintService.updateMissingFingerprints(account);
+
+		// number of existing transactions per fingerprint that have not been matched by a row yet
+		Map<String, Integer> unmatchedTransactionsByFingerprint = new HashMap<>();
+		int numberOfRows = 0;
+		int numberOfImportedTransactions = 0;
+		try(BankStatementReader reader = new BankStatementReader(new InputStreamReader(inputStream, Charset.forName(mapping.getCharset())), mapping))
+		{
+			List<BankStatementRow> rows = new ArrayList<>();
+			BankStatementRow row;
+			do
+			{
+				row = reader.readRow();
+				if(row != null)
+				{
+					rows.add(row);
+				}
+
+				if(rows.size() == ImportService.BATCH_SIZE || (row == null && !rows.isEmpty()))
+				{
+					numberOfRows += rows.size();
+					numberOfImportedTransactions += importBatch(rows, account, category, unmatchedTransactionsByFingerprint);
+					rows.clear();
+					LOGGER.debug("Imported " + numberOfImportedTransactions + "/" + numberOfRows + " rows of bank statement");
+				}
+			}
+			while(row != null);
+		}
+		finally
+		{
+			if(numberOfImportedTransactions > 0)
+			{
+				monthlySummaryService.rebuild();
+			}
+		}
+
+		BankStatementImportResult result = new BankStatementImportResult(numberOfRows, numberOfImportedTransactions);
+		LOGGER.debug("Importing bank statement DONE: " + result);
+		return result;
+	}
+
+	private int importBatch(List<BankStatementRow> rows, Account account, Category category, Map<String, Integer> unmatchedTransactionsByFingerprint)
+	{
+		List<String> fingerprints = new ArrayList<>();
+		Set<String> unknownFingerprints = new LinkedHashSet<>();
+		for(BankStatementRow row : rows)
+		{
+			String fingerprint = Transaction.createFingerprint(row.getDate(), row.getAmount(), row.getName());
+			fingerprints.add(fingerprint);
+			if(!unmatchedTransactionsByFingerprint.containsKey(fingerprint))
+			{
+				unknownFingerprints.add(fingerprint);
+			}
+		}
+
+		// fingerprints are only counted when they occur for the first time, before this import created any transaction with it
+		if(!unknownFingerprints.isEmpty())
+		{
+			for(String fingerprint : unknownFingerprints)
+			{
+				unmatchedTransactionsByFingerprint.put(fingerprint, 0);
+			}
+			for(Object[] count : transactionRepository.countByAccountAndFingerprints(account, unknownFingerprints))
+			{
+				unmatchedTransactionsByFingerprint.put((String) count[0], ((Long) count[1]).intValue());
+			}
+		}
+
+		List<Transaction> batch = new ArrayList<>();
+		for(int i = 0; i < rows.size(); i++)
+		{
+			String fingerprint = fingerprints.get(i);
+			int numberOfUnmatchedTransactions = unmatchedTransactionsByFingerprint.get(fingerprint);
+			if(numberOfUnmatchedTransactions > 0)
+			{
+				unmatchedTransactionsByFingerprint.put(fingerprint, numberOfUnmatchedTransactions - 1);
+				continue;
+			}
+
+			batch.add(createTransaction(rows.get(i), account, category));
+		}
+
+		if(!batch.isEmpty())
+		{
+			importService.saveBatch(batch);
+		}
+		return batch.size();
+	}
+
+	private Transaction createTransaction(BankStatementRow row, Account account, Category category)
+	{
+		Transaction transaction = new Transaction();
+		transaction.setDate(row.getDate());
+		transaction.setAmount(row.getAmount());
+		transaction.setName(row.getName());
+		transaction.setDescription(row.getDescription());
+		transaction.setAccount(account);
+		transaction.setCategory(category);
+		transaction.setTags(new ArrayList<>());
+		return transaction;
+	}
+}
@@ -0,0 +1,216 @@
+package de.deadlocker8.budgetmaster.database.bankstatement;
+
+import de.thecodelabs.utils.util.Localization;
+import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the rows of a CSV bank statement one after another, so the statement is never held in memory as a whole.
+ * Fields may be quoted with double quotes (containing separators, line breaks and escaped quotes).
+ */
+public class BankStatementReader implements Closeable
+{
+	private static final int MAX_TEXT_LENGTH = 255;
+
+	private final BufferedReader reader;
+	private final BankStatementColumnMapping mapping;
+	private final char separator;
+	private final char decimalSeparator;
+	private final DateTimeFormatter dateFormatter;
+
+	private int lineNumber = 0;
+	private int recordLineNumber;
+
+	public BankStatementReader(Reader reader, BankStatementColumnMapping mapping)
+	{
+		this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+		this.mapping = mapping;
+		this.separator = mapping.getSeparator().charAt(0);
+		this.decimalSeparator = mapping.getDecimalSeparator().charAt(0);
+		this.dateFormatter = DateTimeFormat.forPattern(mapping.getDatePattern());
+	}
+
+	/**
+	 * Returns the next row or null if the end of the statement is reached. Header lines and empty lines are skipped.
+	 *
+	 * @throws IllegalArgumentException if the row does not match the column mapping
+	 */
+	public BankStatementRow readRow() throws IOException
+	{
+		List<String> fields;
+		while((fields = readRecord()) != null)
+		{
+			if(recordLineNumber <= mapping.getNumberOfHeaderLines() || isEmpty(fields))
+			{
+				continue;
+			}
+
+			try
+			{
+				return createRow(fields);
+			}
+			catch(RuntimeException e)
+			{
+				throw new IllegalArgumentException(Localization.getString("error.database.import.statement.row", recordLineNumber), e);
+			}
+		}
+		return null;
+	}
+
+	private BankStatementRow createRow(List<String> fields)
+	{
+		DateTime date = dateFormatter.parseDateTime(getField(fields, mapping.getDateColumn()));
+		int amount = parseAmount(getField(fields, mapping.getAmountColumn()));
+
+		String name = getField(fields, mapping.getNameColumn());
+		if(name.isEmpty() && mapping.getFallbackNameColumn() >= 0)
+		{
+			name = getField(fields, mapping.getFallbackNameColumn());
+		}
+		if(name.isEmpty())
+		{
+			throw new IllegalArgumentException("Missing name");
+		}
+
+		String description = mapping.getDescriptionColumn() >= 0 ? getField(fields, mapping.getDescriptionColumn()) : "";
+		return new BankStatementRow(recordLineNumber, date, amount, truncate(name), truncate(description));
+	}
+
+	private String getField(List<String> fields, int column)
+	{
+		if(column < 0 || column >= fields.size())
+		{
+			throw new IllegalArgumentException("Missing column " + column);
+		}
+		return fields.get(column).trim();
+	}
+
+	/**
+	 * Converts amounts like "-1.234,56", "1234.5" or "12,00-" to cents.
+	 * All characters except digits, signs and the decimal separator (e.g. grouping separators or currencies) are ignored.
+	 */
+	private int parseAmount(String value)
+	{
+		StringBuilder number = new StringBuilder();
+		boolean isNegative = false;
+		for(char c : value.toCharArray())
+		{
+			if(Character.isDigit(c))
+			{
+				number.append(c);
+			}
+			else if(c == decimalSeparator)
+			{
+				number.append('.');
+			}
+			else if(c == '-')
+			{
+				isNegative = true;
+			}
+		}
+
+		BigDecimal amount = new BigDecimal(number.toString()).movePointRight(2).setScale(0, RoundingMode.HALF_UP);
+		return isNegative ? -amount.intValueExact() : amount.intValueExact();
+	}
+
+	private List<String> readRecord() throws IOException
+	{
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean isQuoted = false;
+		boolean hasContent = false;
+		recordLineNumber = lineNumber + 1;
+
+		int character;
+		while((character = reader.read()) != -1)
+		{
+			char c = (char) character;
+			if(lineNumber == 0 && !hasContent && c == '\uFEFF')
+			{
+				// byte order mark
+				continue;
+			}
+			hasContent = true;
+
+			if(isQuoted)
+			{
+				if(c == '"')
+				{
+					reader.mark(1);
+					if(reader.read() == '"')
+					{
+						field.append('"');
+					}
+					else
+					{
+						reader.reset();
+						isQuoted = false;
+					}
+				}
+				else
+				{
+					if(c == '\n')
+					{
+						lineNumber++;
+					}
+					field.append(c);
+				}
+			}
+			else if(c == '"')
+			{
+				isQuoted = true;
+			}
+			else if(c == separator)
+			{
+				fields.add(field.toString());
+				field.setLength(0);
+			}
+			else if(c == '\n')
+			{
+				lineNumber++;
+				fields.add(field.toString());
+				return fields;
+			}
+			else if(c != '\r')
+			{
+				field.append(c);
+			}
+		}
+
+		if(!hasContent)
+		{
+			return null;
+		}
+
+		// last line without line break
+		lineNumber++;
+		fields.add(field.toString());
+		return fields;
+	}
+
+	private boolean isEmpty(List<String> fields)
+	{
+		return fields.stream().allMatch(field -> field.trim().isEmpty());
+	}
+
+	private String truncate(String text)
+	{
+		return text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		reader.close();
+	}
+}
@@ -0,0 +1,58 @@
+package de.deadlocker8.budgetmaster.database.bankstatement;
+
+import org.joda.time.DateTime;
+
+public class BankStatementRow
+{
+	private final int lineNumber;
+	private final DateTime date;
+	private final int amount;
+	private final String name;
+	private final String description;
+
+	public BankStatementRow(int lineNumber, DateTime date, int amount, String name, String description)
+	{
+		this.lineNumber = lineNumber;
+		this.date = date;
+		this.amount = amount;
+		this.name = name;
+		this.description = description;
+	}
+
+	public int getLineNumber()
+	{
+		return lineNumber;
+	}
+
+	public DateTime getDate()
+	{
+		return date;
+	}
+
+	public int getAmount()
+	{
+		return amount;
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public String getDescription()
+	{
+		return description;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "BankStatementRow{" +
+				"lineNumber=" + lineNumber +
+				", date=" + date +
+				", amount=" + amount +
+				", name='" + name + '\'' +
+				", description='" + description + '\'' +
+				'}';
+	}
+}
@@ -0,0 +1,308 @@
+package de.deadlocker8.budgetmaster.database.generator;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
+import de.deadlocker8.budgetmaster.categories.Category;
+import de.deadlocker8.budgetmaster.categories.CategoryType;
+import de.deadlocker8.budgetmaster.database.Database;
+import de.deadlocker8.budgetmaster.database.DatabaseService;
+import de.deadlocker8.budgetmaster.database.JSONIdentifier;
+import de.deadlocker8.budgetmaster.repeating.RepeatingOption;
+import de.deadlocker8.budgetmaster.repeating.endoption.RepeatingEnd;
+import de.deadlocker8.budgetmaster.repeating.endoption.RepeatingEndAfterXTimes;
+import de.deadlocker8.budgetmaster.repeating.endoption.RepeatingEndDate;
+import de.deadlocker8.budgetmaster.repeating.endoption.RepeatingEndNever;
+import de.deadlocker8.budgetmaster.repeating.modifier.RepeatingModifier;
+import de.deadlocker8.budgetmaster.repeating.modifier.RepeatingModifierDays;
+import de.deadlocker8.budgetmaster.repeating.modifier.RepeatingModifierMonths;
+import de.deadlocker8.budgetmaster.repeating.modifier.RepeatingModifierYears;
+import de.deadlocker8.budgetmaster.tags.Tag;
+import de.deadlocker8.budgetmaster.transactions.Transaction;
+import de.deadlocker8.budgetmaster.utils.Strings;
+import de.thecodelabs.utils.util.Localization;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeConstants;
+import org.joda.time.Days;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Generates a synthetic ledger for load and scale tests.
+ * The same settings (including the seed) always produce the same ledger.
+ */
+public class LedgerGenerator
+{
+	private static final String[] EXPENDITURE_NAMES = {"Supermarket", "Bakery", "Gas Station", "Pharmacy", "Restaurant", "Cinema", "Online Shop", "Hardware Store", "Book Store", "Coffee"};
+	private static final String[] INCOME_NAMES = {"Refund", "Bonus", "Gift", "Sale", "Interest"};
+	private static final String[] COLORS = {"#F44336", "#E91E63", "#9C27B0", "#3F51B5", "#2196F3", "#009688", "#4CAF50", "#CDDC39", "#FF9800", "#795548"};
+
+	private final LedgerGeneratorSettings settings;
+	private Random random;
+	private List<Category> categories;
+	private List<Category> customCategories;
+	private List<Account> accounts;
+	private List<Tag> tags;
+	private int numberOfDays;
+	private int nextTransactionID;
+
+	public LedgerGenerator(LedgerGeneratorSettings settings)
+	{
+		this.settings = settings;
+	}
+
+	public Database generateDatabase()
+	{
+		init();
+
+		List<Transaction> transactions = new ArrayList<>();
+		generateTransactions(transactions::add);
+		return new Database(categories, accounts, transactions);
+	}
+
+	/**
+	 * Writes the ledger as JSON database (version 3) without keeping the transactions in memory.
+	 */
+	public void writeJSON(Writer writer) throws IOException
+	{
+		init();
+
+		Gson gson = DatabaseService.createGsonBuilder().create();
+		JsonWriter jsonWriter = new JsonWriter(writer);
+		jsonWriter.beginObject();
+		jsonWriter.name("TYPE").value(JSONIdentifier.BUDGETMASTER_DATABASE.toString());
+		jsonWriter.name("VERSION").value(3);
+
+		jsonWriter.name("categories").beginArray();
+		for(Category category : categories)
+		{
+			gson.toJson(category, Category.class, jsonWriter);
+		}
+		jsonWriter.endArray();
+
+		jsonWriter.name("accounts").beginArray();
+		for(Account account : accounts)
+		{
+			gson.toJson(account, Account.class, jsonWriter);
+		}
+		jsonWriter.endArray();
+
+		jsonWriter.name("transactions").beginArray();
+		generateTransactions(transaction -> gson.toJson(transaction, Transaction.class, jsonWriter));
+		jsonWriter.endArray();
+
+		jsonWriter.endObject();
+		jsonWriter.flush();
+	}
+
+	private void init()
+	{
+		random = new Random(settings.getSeed());
+		numberOfDays = Days.daysBetween(settings.getStartDate(), settings.getEndDate()).getDays();
+		nextTransactionID = 1;
+
+		categories = new ArrayList<>();
+		Category categoryNone = new Category(Localization.getString(Strings.CATEGORY_NONE), "#FFFFFF", CategoryType.NONE);
+		categoryNone.setID(1);
+		categories.add(categoryNone);
+		Category categoryRest = new Category(Localization.getString(Strings.CATEGORY_REST), "#FFFF00", CategoryType.REST);
+		categoryRest.setID(2);
+		categories.add(categoryRest);
+
+		customCategories = new ArrayList<>();
+		for(int i = 1; i <= settings.getNumberOfCategories(); i++)
+		{
+			Category category = new Category("Category " + i, COLORS[i % COLORS.length], CategoryType.CUSTOM);
+			category.setID(categories.size() + 1);
+			categories.add(category);
+			customCategories.add(category);
+		}
+
+		accounts = new ArrayList<>();
+		for(int i = 1; i <= settings.getNumberOfAccounts(); i++)
+		{
+			Account account = new Account("Account " + i, AccountType.CUSTOM);
+			account.setID(i);
+			accounts.add(account);
+		}
+
+		tags = new ArrayList<>();
+		for(int i = 1; i <= settings.getNumberOfTags(); i++)
+		{
+			Tag tag = new Tag("Tag " + i);
+			tag.setID(i);
+			tags.add(tag);
+		}
+	}
+
+	private void generateTransactions(Consumer<Transaction> consumer)
+	{
+		// a repeating option is stored with its first transaction only, all others are created by the RepeatingTransactionUpdater
+		int numberOfRepeatingOptions = Math.min(settings.getNumberOfRepeatingOptions(), settings.getNumberOfTransactions());
+		for(int i = 0; i < numberOfRepeatingOptions; i++)
+		{
+			consumer.accept(createRepeatingTransaction());
+		}
+
+		for(int i = numberOfRepeatingOptions; i < settings.getNumberOfTransactions(); i++)
+		{
+			consumer.accept(createTransaction());
+		}
+	}
+
+	private Transaction createTransaction()
+	{
+		Transaction transaction = createBaseTransaction(getRandomDate());
+
+		int type = random.nextInt(100);
+		if(type < settings.getTransferPercentage() && accounts.size() > 1)
+		{
+			transaction.setName("Transfer");
+			transaction.setTransferAccount(getRandomAccountExcept(transaction.getAccount()));
+			transaction.setAmount(-getRandomAmount(10000));
+		}
+		else if(type < settings.getTransferPercentage() + 10)
+		{
+			transaction.setName(INCOME_NAMES[random.nextInt(INCOME_NAMES.length)]);
+			transaction.setAmount(getRandomAmount(20000));
+		}
+		else
+		{
+			transaction.setName(EXPENDITURE_NAMES[random.nextInt(EXPENDITURE_NAMES.length)]);
+			transaction.setAmount(-getRandomAmount(2500));
+		}
+
+		return transaction;
+	}
+
+	private Transaction createRepeatingTransaction()
+	{
+		RepeatingModifier modifier;
+		Transaction transaction;
+
+		// typical fixed costs and salaries
+		int type = random.nextInt(10);
+		if(type < 2)
+		{
+			transaction = createBaseTransaction(getRandomDate().withDayOfMonth(1));
+			transaction.setName("Salary");
+			transaction.setAmount(getRandomAmount(300000));
+			modifier = new RepeatingModifierMonths(1);
+		}
+		else if(type < 6)
+		{
+			transaction = createBaseTransaction(getRandomDate().withDayOfMonth(1 + random.nextInt(28)));
+			transaction.setName("Monthly Payment");
+			transaction.setAmount(-getRandomAmount(80000));
+			modifier = new RepeatingModifierMonths(1);
+		}
+		else if(type < 9)
+		{
+			transaction = createBaseTransaction(getRandomDate());
+			transaction.setName("Weekly Payment");
+			transaction.setAmount(-getRandomAmount(5000));
+			modifier = new RepeatingModifierDays(7);
+		}
+		else
+		{
+			transaction = createBaseTransaction(getRandomDate());
+			transaction.setName("Insurance");
+			transaction.setAmount(-getRandomAmount(60000));
+			modifier = new RepeatingModifierYears(1);
+		}
+
+		RepeatingEnd endOption;
+		int endType = random.nextInt(100);
+		if(endType < 60)
+		{
+			endOption = new RepeatingEndNever();
+		}
+		else if(endType < 85)
+		{
+			endOption = new RepeatingEndAfterXTimes(1 + random.nextInt(24));
+		}
+		else
+		{
+			endOption = new RepeatingEndDate(transaction.getDate().plusDays(random.nextInt(numberOfDays + 1)));
+		}
+
+		transaction.setRepeatingOption(new RepeatingOption(transaction.getDate(), modifier, endOption));
+		return transaction;
+	}
+
+	private Transaction createBaseTransaction(DateTime date)
+	{
+		Transaction transaction = new Transaction();
+		transaction.setID(nextTransactionID++);
+		transaction.setDate(date);
+		transaction.setDescription("");
+		transaction.setAccount(accounts.get(random.nextInt(accounts.size())));
+		transaction.setCategory(getRandomCategory());
+		transaction.setTags(getRandomTags());
+		return transaction;
+	}
+
+	private DateTime getRandomDate()
+	{
+		DateTime date = settings.getStartDate().plusDays(random.nextInt(numberOfDays + 1));
+
+		// fewer transactions on sundays
+		if(date.getDayOfWeek() == DateTimeConstants.SUNDAY && random.nextInt(10) < 7)
+		{
+			date = settings.getStartDate().plusDays(random.nextInt(numberOfDays + 1));
+		}
+		return date;
+	}
+
+	private int getRandomAmount(int typicalAmount)
+	{
+		// most amounts are close to the typical amount, a few are considerably higher
+		double factor = Math.exp(random.nextGaussian() * 0.6);
+		return Math.max(1, (int)(typicalAmount * factor));
+	}
+
+	private Category getRandomCategory()
+	{
+		if(customCategories.isEmpty() || random.nextInt(10) == 0)
+		{
+			return categories.get(0);
+		}
+		return customCategories.get(random.nextInt(customCategories.size()));
+	}
+
+	private Account getRandomAccountExcept(Account account)
+	{
+		Account transferAccount = account;
+		while(transferAccount.equals(account))
+		{
+			transferAccount = accounts.get(random.nextInt(accounts.size()));
+		}
+		return transferAccount;
+	}
+
+	private List<Tag> getRandomTags()
+	{
+		List<Tag> transactionTags = new ArrayList<>();
+		if(tags.isEmpty())
+		{
+			return transactionTags;
+		}
+
+		int numberOfTags = random.nextInt(4) == 0 ? 1 + random.nextInt(2) : 0;
+		for(int i = 0; i < numberOfTags; i++)
+		{
+			Tag tag = tags.get(random.nextInt(tags.size()));
+			if(!transactionTags.contains(tag))
+			{
+				transactionTags.add(tag);
+			}
+		}
+		return transactionTags;
+	}
+}
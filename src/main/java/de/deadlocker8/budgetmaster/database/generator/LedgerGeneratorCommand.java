@@ -0,0 +1,98 @@
+package de.deadlocker8.budgetmaster.database.generator;
+
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Command line mode of BudgetMaster that writes a synthetic ledger instead of starting the server.
+ * <br>
+ * Usage: --generateLedger [--output=ledger.json] [--transactions=10000] [--accounts=3] [--categories=15] [--tags=30]
+ * [--repeatingOptions=50] [--transferPercentage=5] [--years=5] [--seed=42]
+ */
+public class LedgerGeneratorCommand
+{
+	public static final String ARGUMENT = "--generateLedger";
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(LedgerGeneratorCommand.class);
+
+	private LedgerGeneratorCommand()
+	{
+	}
+
+	public static boolean isRequested(List<String> args)
+	{
+		return args.contains(ARGUMENT);
+	}
+
+	public static void run(List<String> args)
+	{
+		DateTime endDate = DateTime.now().withTimeAtStartOfDay();
+		LedgerGeneratorSettings settings = new LedgerGeneratorSettingsBuilder()
+				.setNumberOfTransactions(getIntValue(args, "transactions", 10000))
+				.setNumberOfAccounts(getIntValue(args, "accounts", 3))
+				.setNumberOfCategories(getIntValue(args, "categories", 15))
+				.setNumberOfTags(getIntValue(args, "tags", 30))
+				.setNumberOfRepeatingOptions(getIntValue(args, "repeatingOptions", 50))
+				.setTransferPercentage(getIntValue(args, "transferPercentage", 5))
+				.setStartDate(endDate.minusYears(getIntValue(args, "years", 5)))
+				.setEndDate(endDate)
+				.setSeed(getIntValue(args, "seed", 42))
+				.createLedgerGeneratorSettings();
+
+		Path outputPath = Paths.get(getValue(args, "output", "ledger.json"));
+		LOGGER.info("Generating ledger " + settings + " to " + outputPath.toAbsolutePath());
+
+		long startTime = System.currentTimeMillis();
+		try(Writer writer = Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8))
+		{
+			new LedgerGenerator(settings).writeJSON(writer);
+		}
+		catch(IOException e)
+		{
+			LOGGER.error("Error while writing ledger", e);
+			return;
+		}
+
+		LOGGER.info("Generated ledger in " + (System.currentTimeMillis() - startTime) + "ms");
+	}
+
+	private static String getValue(List<String> args, String name, String defaultValue)
+	{
+		String prefix = "--" + name + "=";
+		for(String argument : args)
+		{
+			if(argument.startsWith(prefix))
+			{
+				return argument.substring(prefix.length());
+			}
+		}
+		return defaultValue;
+	}
+
+	private static int getIntValue(List<String> args, String name, int defaultValue)
+	{
+		String value = getValue(args, name, null);
+		if(value == null)
+		{
+			return defaultValue;
+		}
+
+		try
+		{
+			return Integer.parseInt(value);
+		}
+		catch(NumberFormatException e)
+		{
+			throw new IllegalArgumentException("Invalid value for --" + name + ": " + value);
+		}
+	}
+}
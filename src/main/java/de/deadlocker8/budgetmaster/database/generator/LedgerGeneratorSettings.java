@@ -0,0 +1,90 @@
+package de.deadlocker8.budgetmaster.database.generator;
+
+import org.joda.time.DateTime;
+
+public class LedgerGeneratorSettings
+{
+	private int numberOfAccounts;
+	private int numberOfCategories;
+	private int numberOfTags;
+	private int numberOfTransactions;
+	private int numberOfRepeatingOptions;
+	private int transferPercentage;
+	private DateTime startDate;
+	private DateTime endDate;
+	private long seed;
+
+	public LedgerGeneratorSettings(int numberOfAccounts, int numberOfCategories, int numberOfTags, int numberOfTransactions, int numberOfRepeatingOptions, int transferPercentage, DateTime startDate, DateTime endDate, long seed)
+	{
+		this.numberOfAccounts = numberOfAccounts;
+		this.numberOfCategories = numberOfCategories;
+		this.numberOfTags = numberOfTags;
+		this.numberOfTransactions = numberOfTransactions;
+		this.numberOfRepeatingOptions = numberOfRepeatingOptions;
+		this.transferPercentage = transferPercentage;
+		this.startDate = startDate;
+		this.endDate = endDate;
+		this.seed = seed;
+	}
+
+	public int getNumberOfAccounts()
+	{
+		return numberOfAccounts;
+	}
+
+	public int getNumberOfCategories()
+	{
+		return numberOfCategories;
+	}
+
+	public int getNumberOfTags()
+	{
+		return numberOfTags;
+	}
+
+	public int getNumberOfTransactions()
+	{
+		return numberOfTransactions;
+	}
+
+	public int getNumberOfRepeatingOptions()
+	{
+		return numberOfRepeatingOptions;
+	}
+
+	public int getTransferPercentage()
+	{
+		return transferPercentage;
+	}
+
+	public DateTime getStartDate()
+	{
+		return startDate;
+	}
+
+	public DateTime getEndDate()
+	{
+		return endDate;
+	}
+
+	public long getSeed()
+	{
+		return seed;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "LedgerGeneratorSettings{" +
+				"numberOfAccounts=" + numberOfAccounts +
+				", numberOfCategories=" + numberOfCategories +
+				", numberOfTags=" + numberOfTags +
+				", numberOfTransactions=" + numberOfTransactions +
+				", numberOfRepeatingOptions=" + numberOfRepeatingOptions +
+				", transferPercentage=" + transferPercentage +
+				", startDate=" + startDate +
+				", endDate=" + endDate +
+				", seed=" + seed +
+				'}';
+	}
+}
@@ -0,0 +1,85 @@
+package de.deadlocker8.budgetmaster.database.generator;
+
+import org.joda.time.DateTime;
+
+public class LedgerGeneratorSettingsBuilder
+{
+	private int numberOfAccounts = 3;
+	private int numberOfCategories = 15;
+	private int numberOfTags = 30;
+	private int numberOfTransactions = 10000;
+	private int numberOfRepeatingOptions = 50;
+	private int transferPercentage = 5;
+	private DateTime endDate = DateTime.now().withTimeAtStartOfDay();
+	private DateTime startDate = endDate.minusYears(5);
+	private long seed = 42;
+
+	public LedgerGeneratorSettingsBuilder setNumberOfAccounts(int numberOfAccounts)
+	{
+		this.numberOfAccounts = numberOfAccounts;
+		return this;
+	}
+
+	public LedgerGeneratorSettingsBuilder setNumberOfCategories(int numberOfCategories)
+	{
+		this.numberOfCategories = numberOfCategories;
+		return this;
+	}
+
+	public LedgerGeneratorSettingsBuilder setNumberOfTags(int numberOfTags)
+	{
+		this.numberOfTags = numberOfTags;
+		return this;
+	}
+
+	public LedgerGeneratorSettingsBuilder setNumberOfTransactions(int numberOfTransactions)
+	{
+		this.numberOfTransactions = numberOfTransactions;
+		return this;
+	}
+
+	public LedgerGeneratorSettingsBuilder setNumberOfRepeatingOptions(int numberOfRepeatingOptions)
+	{
+		this.numberOfRepeatingOptions = numberOfRepeatingOptions;
+		return this;
+	}
+
+	public LedgerGeneratorSettingsBuilder setTransferPercentage(int transferPercentage)
+	{
+		this.transferPercentage = transferPercentage;
+		return this;
+	}
+
+	public LedgerGeneratorSettingsBuilder setStartDate(DateTime startDate)
+	{
+		this.startDate = startDate;
+		return this;
+	}
+
+	public LedgerGeneratorSettingsBuilder setEndDate(DateTime endDate)
+	{
+		this.endDate = endDate;
+		return this;
+	}
+
+	public LedgerGeneratorSettingsBuilder setSeed(long seed)
+	{
+		this.seed = seed;
+		return this;
+	}
+
+	public LedgerGeneratorSettings createLedgerGeneratorSettings()
+	{
+		if(numberOfAccounts < 1)
+		{
+			throw new IllegalArgumentException("At least one account is required");
+		}
+
+		if(!endDate.isAfter(startDate))
+		{
+			throw new IllegalArgumentException("End date must be after start date");
+		}
+
+		return new LedgerGeneratorSettings(numberOfAccounts, numberOfCategories, numberOfTags, numberOfTransactions, numberOfRepeatingOptions, transferPercentage, startDate, endDate, seed);
+	}
+}
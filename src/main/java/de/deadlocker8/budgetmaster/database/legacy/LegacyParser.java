@@ -4,7 +4,9 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
 import de.deadlocker8.budgetmaster.database.Database;
+import de.deadlocker8.budgetmaster.database.DatabaseDecoder;
 import de.deadlocker8.budgetmaster.accounts.Account;
 import de.deadlocker8.budgetmaster.accounts.AccountType;
 import de.deadlocker8.budgetmaster.categories.Category;
@@ -18,14 +20,18 @@ import de.deadlocker8.budgetmaster.repeating.modifier.RepeatingModifierMonths;
 import org.joda.time.DateTime;
 import org.joda.time.format.DateTimeFormat;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 @SuppressWarnings("deprecation")
-public class LegacyParser
+public class LegacyParser implements DatabaseDecoder
 {
+	public static final String ACCOUNT_NAME = "LEGACY_IMPORT";
+
 	private final String DATE_FORMAT = "yyyy-MM-dd";
 
 	private Account account;
@@ -35,151 +41,238 @@ public class LegacyParser
 	private List<TagMatch> tagMatches;
 	private Category categoryNone;
 
+	private JsonArray pendingTagMatches;
+	private JsonArray pendingNormalPayments;
+	private JsonArray pendingRepeatingPayments;
+	private List<Transaction> normalTransactions;
+	private List<Transaction> repeatingTransactions;
+
 	public LegacyParser(String json, Category categoryNone)
 	{
 		this.jsonString = json;
-		this.account = new Account("LEGACY_IMPORT", AccountType.CUSTOM);
+		this.account = new Account(ACCOUNT_NAME, AccountType.CUSTOM);
 		this.categoryNone = categoryNone;
 	}
 
-	public Database parseDatabaseFromJSON()
+	/**
+	 * Creates a decoder for {@link de.deadlocker8.budgetmaster.database.DatabaseParser}, which passes the sections of an already opened reader.
+	 */
+	public LegacyParser(Category categoryNone)
 	{
-		JsonObject root = new JsonParser().parse(jsonString).getAsJsonObject();
-		categories = new ArrayList<>(parseCategories(root));
-		tags = parseTags(root);
-		tagMatches = parseTagMatches(root);
-		List<Transaction> transactions = parsePayments(root);
-
-		List<Account> accounts = new ArrayList<>();
-		accounts.add(account);
-
-		return new Database(categories, accounts, transactions);
+		this(null, categoryNone);
 	}
 
-	private Set<Category> parseCategories(JsonObject root)
+	public Database parseDatabaseFromJSON()
 	{
-		Set<Category> parsedCategories = new HashSet<>();
-		JsonArray categories = root.get("categories").getAsJsonArray();
-		for(JsonElement currentCategory : categories)
+		try(JsonReader reader = new JsonReader(new StringReader(jsonString)))
 		{
-			int ID = currentCategory.getAsJsonObject().get("ID").getAsInt();
-			String name = currentCategory.getAsJsonObject().get("name").getAsString();
-			String color = currentCategory.getAsJsonObject().get("color").getAsString();
-
-			if(name.equals("NONE") || name.equals("Übertrag")|| name.equals("Rest"))
-			{
-				continue;
-			}
-
-			Category category = new Category(name, color, CategoryType.CUSTOM);
-			category.setID(ID);
-			parsedCategories.add(category);
+			return decode(reader);
 		}
+		catch(IOException e)
+		{
+			throw new IllegalArgumentException(e);
+		}
+	}
 
-		return parsedCategories;
+	@Override
+	public void decodeSection(String name, JsonReader reader) throws IOException
+	{
+		// payments reference categories and tags, which are stored after the payments in legacy databases,
+		// therefore sections are only buffered if their dependencies have not been read yet
+		switch(name)
+		{
+			case "categories":
+				Set<Category> parsedCategories = new HashSet<>();
+				DatabaseDecoder.readArray(reader, currentCategory -> {
+					Category category = parseCategory(currentCategory.getAsJsonObject());
+					if(category != null)
+					{
+						parsedCategories.add(category);
+					}
+				});
+				categories = new ArrayList<>(parsedCategories);
+				break;
+			case "tags":
+				tags = new ArrayList<>();
+				DatabaseDecoder.readArray(reader, currentTag -> tags.add(parseTag(currentTag.getAsJsonObject())));
+				break;
+			case "tagMatches":
+				if(tags != null)
+				{
+					tagMatches = new ArrayList<>();
+					DatabaseDecoder.readArray(reader, currentTagMatch -> tagMatches.add(parseTagMatch(currentTagMatch.getAsJsonObject())));
+				}
+				else
+				{
+					pendingTagMatches = readPendingArray(reader);
+				}
+				break;
+			case "normalPayments":
+				if(isReadyForPayments())
+				{
+					normalTransactions = new ArrayList<>();
+					DatabaseDecoder.readArray(reader, currentPayment -> normalTransactions.add(parseNormalPayment(currentPayment.getAsJsonObject())));
+				}
+				else
+				{
+					pendingNormalPayments = readPendingArray(reader);
+				}
+				break;
+			case "repeatingPayments":
+				if(isReadyForPayments())
+				{
+					repeatingTransactions = new ArrayList<>();
+					DatabaseDecoder.readArray(reader, currentPayment -> repeatingTransactions.add(parseRepeatingPayment(currentPayment.getAsJsonObject())));
+				}
+				else
+				{
+					pendingRepeatingPayments = readPendingArray(reader);
+				}
+				break;
+			default:
+				reader.skipValue();
+		}
 	}
 
-	private List<Tag> parseTags(JsonObject root)
+	@Override
+	public Database finish()
 	{
-		List<Tag> parsedTags = new ArrayList<>();
-		JsonArray tags = root.get("tags").getAsJsonArray();
-		for(JsonElement currentTag : tags)
+		if(categories == null || tags == null)
 		{
-			int ID = currentTag.getAsJsonObject().get("ID").getAsInt();
-			String name = currentTag.getAsJsonObject().get("name").getAsString();
+			throw new IllegalArgumentException("Database is missing categories or tags");
+		}
 
-			parsedTags.add(new Tag(ID, name));
+		if(pendingTagMatches != null)
+		{
+			tagMatches = new ArrayList<>();
+			for(JsonElement currentTagMatch : pendingTagMatches)
+			{
+				tagMatches.add(parseTagMatch(currentTagMatch.getAsJsonObject()));
+			}
 		}
 
-		return parsedTags;
-	}
+		if(pendingNormalPayments != null)
+		{
+			normalTransactions = new ArrayList<>();
+			for(JsonElement currentPayment : pendingNormalPayments)
+			{
+				normalTransactions.add(parseNormalPayment(currentPayment.getAsJsonObject()));
+			}
+		}
 
-	private List<TagMatch> parseTagMatches(JsonObject root)
-	{
-		List<TagMatch> parsedTagMatches = new ArrayList<>();
-		JsonArray tagMatches = root.get("tagMatches").getAsJsonArray();
-		for(JsonElement currentTagMatch : tagMatches)
+		if(pendingRepeatingPayments != null)
 		{
-			int tagID = currentTagMatch.getAsJsonObject().get("tagID").getAsInt();
-			int paymentID = currentTagMatch.getAsJsonObject().get("paymentID").getAsInt();
-			int repeatingPaymentID = currentTagMatch.getAsJsonObject().get("repeatingPaymentID").getAsInt();
+			repeatingTransactions = new ArrayList<>();
+			for(JsonElement currentPayment : pendingRepeatingPayments)
+			{
+				repeatingTransactions.add(parseRepeatingPayment(currentPayment.getAsJsonObject()));
+			}
+		}
 
-			parsedTagMatches.add(new TagMatch(getTagByID(tagID).getName(), paymentID, repeatingPaymentID));
+		if(tagMatches == null || normalTransactions == null || repeatingTransactions == null)
+		{
+			throw new IllegalArgumentException("Database is missing tag matches or payments");
 		}
 
-		return parsedTagMatches;
-	}
+		List<Transaction> transactions = new ArrayList<>(normalTransactions);
+		transactions.addAll(repeatingTransactions);
 
-	private List<Transaction> parsePayments(JsonObject root)
-	{
-		List<Transaction> parsedTransactions = new ArrayList<>();
-		parsedTransactions.addAll(parseNormalPayments(root));
-		parsedTransactions.addAll(parseRepeatingPayments(root));
+		List<Account> accounts = new ArrayList<>();
+		accounts.add(account);
 
-		return parsedTransactions;
+		return new Database(categories, accounts, transactions);
 	}
 
-	private List<Transaction> parseNormalPayments(JsonObject root)
+	private boolean isReadyForPayments()
 	{
-		List<Transaction> parsedTransactions = new ArrayList<>();
-		JsonArray payments = root.get("normalPayments").getAsJsonArray();
-		for(JsonElement currentPayment : payments)
-		{
-			int ID = currentPayment.getAsJsonObject().get("ID").getAsInt();
-			int amount = currentPayment.getAsJsonObject().get("amount").getAsInt();
-			String date = currentPayment.getAsJsonObject().get("date").getAsString();
-			int categoryID = currentPayment.getAsJsonObject().get("categoryID").getAsInt();
-			String name = currentPayment.getAsJsonObject().get("name").getAsString();
-			String description = currentPayment.getAsJsonObject().get("description").getAsString();
+		return categories != null && tagMatches != null;
+	}
 
-			Transaction transaction = new Transaction();
-			transaction.setAmount(amount);
-			transaction.setName(name);
-			transaction.setDescription(description);
-			transaction.setCategory(getCategoryByID(categoryID));
-			transaction.setAccount(account);
-			transaction.setRepeatingOption(null);
-			transaction.setTags(getTagsByPaymentID(ID));
+	private JsonArray readPendingArray(JsonReader reader)
+	{
+		return new JsonParser().parse(reader).getAsJsonArray();
+	}
 
-			DateTime parsedDate = DateTime.parse(date, DateTimeFormat.forPattern(DATE_FORMAT));
-			transaction.setDate(parsedDate);
+	private Category parseCategory(JsonObject currentCategory)
+	{
+		int ID = currentCategory.get("ID").getAsInt();
+		String name = currentCategory.get("name").getAsString();
+		String color = currentCategory.get("color").getAsString();
 
-			parsedTransactions.add(transaction);
+		if(name.equals("NONE") || name.equals("Übertrag")|| name.equals("Rest"))
+		{
+			return null;
 		}
 
-		return parsedTransactions;
+		Category category = new Category(name, color, CategoryType.CUSTOM);
+		category.setID(ID);
+		return category;
 	}
 
-	private List<Transaction> parseRepeatingPayments(JsonObject root)
+	private Tag parseTag(JsonObject currentTag)
 	{
-		List<Transaction> parsedTransactions = new ArrayList<>();
-		JsonArray payments = root.get("repeatingPayments").getAsJsonArray();
-		for(JsonElement currentPayment : payments)
-		{
-			int ID = currentPayment.getAsJsonObject().get("ID").getAsInt();
-			int amount = currentPayment.getAsJsonObject().get("amount").getAsInt();
-			String date = currentPayment.getAsJsonObject().get("date").getAsString();
-			int categoryID = currentPayment.getAsJsonObject().get("categoryID").getAsInt();
-			String name = currentPayment.getAsJsonObject().get("name").getAsString();
-			String description = currentPayment.getAsJsonObject().get("description").getAsString();
+		int ID = currentTag.get("ID").getAsInt();
+		String name = currentTag.get("name").getAsString();
 
-			Transaction transaction = new Transaction();
-			transaction.setAmount(amount);
-			transaction.setName(name);
-			transaction.setDescription(description);
-			transaction.setCategory(getCategoryByID(categoryID));
-			transaction.setTags(getTagsByPaymentID(ID));
-			transaction.setAccount(account);
+		return new Tag(ID, name);
+	}
 
-			DateTime parsedDate = DateTime.parse(date, DateTimeFormat.forPattern(DATE_FORMAT));
-			transaction.setDate(parsedDate);
+	private TagMatch parseTagMatch(JsonObject currentTagMatch)
+	{
+		int tagID = currentTagMatch.get("tagID").getAsInt();
+		int paymentID = currentTagMatch.get("paymentID").getAsInt();
+		int repeatingPaymentID = currentTagMatch.get("repeatingPaymentID").getAsInt();
 
-			transaction.setRepeatingOption(parseRepeatingOption(currentPayment.getAsJsonObject(), parsedDate));
+		return new TagMatch(getTagByID(tagID).getName(), paymentID, repeatingPaymentID);
+	}
 
-			parsedTransactions.add(transaction);
-		}
+	private Transaction parseNormalPayment(JsonObject currentPayment)
+	{
+		int ID = currentPayment.get("ID").getAsInt();
+		int amount = currentPayment.get("amount").getAsInt();
+		String date = currentPayment.get("date").getAsString();
+		int categoryID = currentPayment.get("categoryID").getAsInt();
+		String name = currentPayment.get("name").getAsString();
+		String description = currentPayment.get("description").getAsString();
+
+		Transaction transaction = new Transaction();
+		transaction.setAmount(amount);
+		transaction.setName(name);
+		transaction.setDescription(description);
+		transaction.setCategory(getCategoryByID(categoryID));
+		transaction.setAccount(account);
+		transaction.setRepeatingOption(null);
+		transaction.setTags(getTagsByPaymentID(ID));
+
+		DateTime parsedDate = DateTime.parse(date, DateTimeFormat.forPattern(DATE_FORMAT));
+		transaction.setDate(parsedDate);
+
+		return transaction;
+	}
 
-		return parsedTransactions;
+	private Transaction parseRepeatingPayment(JsonObject currentPayment)
+	{
+		int ID = currentPayment.get("ID").getAsInt();
+		int amount = currentPayment.get("amount").getAsInt();
+		String date = currentPayment.get("date").getAsString();
+		int categoryID = currentPayment.get("categoryID").getAsInt();
+		String name = currentPayment.get("name").getAsString();
+		String description = currentPayment.get("description").getAsString();
+
+		Transaction transaction = new Transaction();
+		transaction.setAmount(amount);
+		transaction.setName(name);
+		transaction.setDescription(description);
+		transaction.setCategory(getCategoryByID(categoryID));
+		transaction.setTags(getTagsByPaymentID(ID));
+		transaction.setAccount(account);
+
+		DateTime parsedDate = DateTime.parse(date, DateTimeFormat.forPattern(DATE_FORMAT));
+		transaction.setDate(parsedDate);
+
+		transaction.setRepeatingOption(parseRepeatingOption(currentPayment, parsedDate));
+
+		return transaction;
 	}
 
 	private RepeatingOption parseRepeatingOption(JsonObject repeatingPayment, DateTime startDate)
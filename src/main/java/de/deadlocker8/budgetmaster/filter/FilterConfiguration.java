@@ -14,12 +14,19 @@ public class FilterConfiguration
 	private List<FilterObject> filterTags;
 	private String name;
 
-	public static final FilterConfiguration DEFAULT = new FilterConfiguration(true, true, true, true, true, null, null, "");
-
 	public FilterConfiguration()
 	{
 	}
 
+	/**
+	 * Returns a new configuration that includes everything.
+	 * Categories and tags are not set, which is equivalent to all of them being included.
+	 */
+	public static FilterConfiguration createDefault()
+	{
+		return new FilterConfiguration(true, true, true, true, true, null, null, "");
+	}
+
 	public FilterConfiguration(boolean includeIncome, boolean includeExpenditure, boolean includeTransfer, boolean includeNotRepeating, boolean includeRepeating, List<FilterObject> filterCategories, List<FilterObject> filterTags, String name)
 	{
 		this.includeIncome = includeIncome;
@@ -157,54 +164,17 @@ public class FilterConfiguration
 
 	public boolean isActive()
 	{
-		FilterConfiguration defaultConfiguration = FilterConfiguration.DEFAULT;
-		if(defaultConfiguration.isIncludeIncome() != isIncludeIncome())
-		{
-			return true;
-		}
-
-		if(defaultConfiguration.isIncludeExpenditure() != isIncludeExpenditure())
-		{
-			return true;
-		}
-
-		if(defaultConfiguration.isIncludeTransfer() != isIncludeTransfer())
-		{
-			return true;
-		}
-
-		if(defaultConfiguration.isIncludeNotRepeating() != isIncludeNotRepeating())
-		{
-			return true;
-		}
-
-		if(defaultConfiguration.isIncludeRepeating() != isIncludeRepeating())
+		if(!isIncludeIncome() || !isIncludeExpenditure() || !isIncludeTransfer() || !isIncludeNotRepeating() || !isIncludeRepeating())
 		{
 			return true;
 		}
 
-		for(FilterObject filterCategory : filterCategories)
-		{
-			if(!filterCategory.isInclude())
-			{
-				return true;
-			}
-		}
-
-		for(FilterObject filterTag : filterTags)
-		{
-			if(!filterTag.isInclude())
-			{
-				return true;
-			}
-		}
-
-		if(!defaultConfiguration.getName().equals(name))
+		if(getIncludedCategoryIDs() != null || getIncludedTagIDs() != null)
 		{
 			return true;
 		}
 
-		return false;
+		return name != null && !name.isEmpty();
 	}
 
 	@Override
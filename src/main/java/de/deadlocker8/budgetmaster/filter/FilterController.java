@@ -7,7 +7,8 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
-import org.springframework.web.context.request.WebRequest;
+
+import javax.servlet.http.HttpServletRequest;
 
 
 @Controller
@@ -22,19 +23,16 @@ public class FilterController extends BaseController
 	}
 
 	@PostMapping(value = "/filter/apply")
-	public String post(WebRequest request, @ModelAttribute("NewFilterConfiguration") FilterConfiguration filterConfiguration)
+	public String post(HttpServletRequest request, @ModelAttribute("NewFilterConfiguration") FilterConfiguration filterConfiguration)
 	{
-		request.setAttribute("filterConfiguration", filterConfiguration, WebRequest.SCOPE_SESSION);
+		filterHelpers.setFilterSelection(request, FilterSelection.fromConfiguration(filterConfiguration));
 		return "redirect:" + request.getHeader("Referer");
 	}
 
 	@RequestMapping("/filter/reset")
-	public String reset(WebRequest request)
+	public String reset(HttpServletRequest request)
 	{
-		FilterConfiguration filterConfiguration = FilterConfiguration.DEFAULT;
-		filterConfiguration.setFilterCategories(filterHelpers.getFilterCategories());
-		filterConfiguration.setFilterTags(filterHelpers.getFilterTags());
-		request.setAttribute("filterConfiguration", filterConfiguration, WebRequest.SCOPE_SESSION);
+		filterHelpers.setFilterSelection(request, FilterSelection.DEFAULT);
 		return "redirect:" + request.getHeader("Referer");
 	}
 }
\ No newline at end of file
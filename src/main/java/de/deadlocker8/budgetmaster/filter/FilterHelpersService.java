@@ -10,55 +10,73 @@ import org.springframework.stereotype.Service;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Service
 public class FilterHelpersService
 {
+	public static final String SESSION_ATTRIBUTE = "filterSelection";
+
 	@Autowired
 	private CategoryService categoryService;
 
 	@Autowired
 	private TagService tagService;
 
+	private volatile FilterObjects cachedFilterObjects;
+
 	public FilterConfiguration getFilterConfiguration(HttpServletRequest request)
 	{
-		Object sessionFilterConfiguration = request.getSession().getAttribute("filterConfiguration");
-		if(sessionFilterConfiguration == null)
+		return getFilterObjects().createConfiguration(getFilterSelection(request));
+	}
+
+	public FilterSelection getFilterSelection(HttpServletRequest request)
+	{
+		Object sessionFilterSelection = request.getSession().getAttribute(SESSION_ATTRIBUTE);
+		if(sessionFilterSelection == null)
 		{
-			FilterConfiguration filterConfiguration = FilterConfiguration.DEFAULT;
-			filterConfiguration.setFilterCategories(getFilterCategories());
-			filterConfiguration.setFilterTags(getFilterTags());
-			return filterConfiguration;
+			return FilterSelection.DEFAULT;
 		}
-		return updateCategoriesAndTags((FilterConfiguration) sessionFilterConfiguration);
+		return (FilterSelection) sessionFilterSelection;
+	}
+
+	public void setFilterSelection(HttpServletRequest request, FilterSelection filterSelection)
+	{
+		request.getSession().setAttribute(SESSION_ATTRIBUTE, filterSelection);
+	}
+
+	/**
+	 * Returns a new configuration that includes all current categories and tags.
+	 */
+	public FilterConfiguration getDefaultFilterConfiguration()
+	{
+		return getFilterObjects().createConfiguration(FilterSelection.DEFAULT);
 	}
 
+	/**
+	 * Returns a new configuration with the current categories and tags.
+	 * Include flags of categories and tags already known by the given configuration are kept, new ones are included.
+	 */
 	public FilterConfiguration updateCategoriesAndTags(FilterConfiguration filterConfiguration)
 	{
-		filterConfiguration.setFilterCategories(updateObjects(filterConfiguration.getFilterCategories(), getFilterCategories()));
-		filterConfiguration.setFilterTags(updateObjects(filterConfiguration.getFilterTags(), getFilterTags()));
-		return filterConfiguration;
+		return getFilterObjects().createConfiguration(FilterSelection.fromConfiguration(filterConfiguration));
 	}
 
-	private List<FilterObject> updateObjects(List<FilterObject> oldObjects, List<FilterObject> newObjects)
+	private FilterObjects getFilterObjects()
 	{
-		for(FilterObject newObject : newObjects)
+		// read the version before loading, so changes during loading lead to another reload next time
+		long version = FilterObjectChangeListener.getVersion();
+		FilterObjects filterObjects = cachedFilterObjects;
+		if(filterObjects == null || filterObjects.version != version)
 		{
-			for(FilterObject existingObject : oldObjects)
-			{
-				if(existingObject.getID().equals(newObject.getID()))
-				{
-					newObject.setInclude(existingObject.isInclude());
-					break;
-				}
-			}
+			filterObjects = new FilterObjects(version, loadFilterCategories(), loadFilterTags());
+			cachedFilterObjects = filterObjects;
 		}
-
-		return newObjects;
+		return filterObjects;
 	}
 
-	public List<FilterObject> getFilterCategories()
+	private List<FilterObject> loadFilterCategories()
 	{
 		List<Category> categories = categoryService.getRepository().findAllByOrderByNameAsc();
 		List<FilterObject> filterCategories = new ArrayList<>();
@@ -70,18 +88,40 @@ public class FilterHelpersService
 			}
 		}
 
-		return filterCategories;
+		return Collections.unmodifiableList(filterCategories);
 	}
 
-	public List<FilterObject> getFilterTags()
+	private List<FilterObject> loadFilterTags()
 	{
-		List<Tag> tags = tagService.getRepository().findAllByOrderByNameAsc();
+		List<Tag> tags = tagService.getAllTagsAsc();
 		List<FilterObject> filterTags = new ArrayList<>();
 		for(Tag tag : tags)
 		{
 			filterTags.add(new FilterObject(tag.getID(), tag.getName(), true));
 		}
 
-		return filterTags;
+		return Collections.unmodifiableList(filterTags);
+	}
+
+	/**
+	 * Categories and tags that can be selected in a filter (shared between all requests and never modified).
+	 */
+	private static class FilterObjects
+	{
+		private final long version;
+		private final List<FilterObject> categories;
+		private final List<FilterObject> tags;
+
+		private FilterObjects(long version, List<FilterObject> categories, List<FilterObject> tags)
+		{
+			this.version = version;
+			this.categories = categories;
+			this.tags = tags;
+		}
+
+		private FilterConfiguration createConfiguration(FilterSelection filterSelection)
+		{
+			return filterSelection.toConfiguration(categories, tags);
+		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package de.deadlocker8.budgetmaster.filter;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entity listener for categories and tags (the objects a filter consists of).
+ * Every change increases a version, so cached filter objects are rebuilt regardless of the service or repository that
+ * caused the change.
+ */
+public class FilterObjectChangeListener
+{
+	private static final AtomicLong VERSION = new AtomicLong();
+
+	public static long getVersion()
+	{
+		return VERSION.get();
+	}
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	public void onChange(Object entity)
+	{
+		VERSION.incrementAndGet();
+
+		// filter objects loaded by another request before the commit would still contain the old state
+		if(TransactionSynchronizationManager.isSynchronizationActive())
+		{
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+			{
+				@Override
+				public void afterCompletion(int status)
+				{
+					VERSION.incrementAndGet();
+				}
+			});
+		}
+	}
+}
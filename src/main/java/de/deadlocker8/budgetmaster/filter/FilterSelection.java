@@ -0,0 +1,147 @@
+package de.deadlocker8.budgetmaster.filter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Immutable filter of a session.
+ * Only the IDs of excluded categories and tags are stored, therefore categories and tags created later on are included
+ * automatically and deleted ones are simply ignored.
+ */
+public final class FilterSelection implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	public static final FilterSelection DEFAULT = new FilterSelection(true, true, true, true, true, new BitSet(), new BitSet(), "");
+
+	private final boolean includeIncome;
+	private final boolean includeExpenditure;
+	private final boolean includeTransfer;
+	private final boolean includeNotRepeating;
+	private final boolean includeRepeating;
+	private final BitSet excludedCategoryIDs;
+	private final BitSet excludedTagIDs;
+	private final String name;
+
+	private FilterSelection(boolean includeIncome, boolean includeExpenditure, boolean includeTransfer, boolean includeNotRepeating, boolean includeRepeating, BitSet excludedCategoryIDs, BitSet excludedTagIDs, String name)
+	{
+		this.includeIncome = includeIncome;
+		this.includeExpenditure = includeExpenditure;
+		this.includeTransfer = includeTransfer;
+		this.includeNotRepeating = includeNotRepeating;
+		this.includeRepeating = includeRepeating;
+		this.excludedCategoryIDs = excludedCategoryIDs;
+		this.excludedTagIDs = excludedTagIDs;
+		this.name = name;
+	}
+
+	public static FilterSelection fromConfiguration(FilterConfiguration filterConfiguration)
+	{
+		String name = filterConfiguration.getName() == null ? "" : filterConfiguration.getName();
+		return new FilterSelection(filterConfiguration.isIncludeIncome(),
+				filterConfiguration.isIncludeExpenditure(),
+				filterConfiguration.isIncludeTransfer(),
+				filterConfiguration.isIncludeNotRepeating(),
+				filterConfiguration.isIncludeRepeating(),
+				getExcludedIDs(filterConfiguration.getFilterCategories()),
+				getExcludedIDs(filterConfiguration.getFilterTags()),
+				name);
+	}
+
+	/**
+	 * Creates a new configuration for the given categories and tags with the include flags of this selection.
+	 * The passed objects are not modified.
+	 */
+	public FilterConfiguration toConfiguration(List<FilterObject> categories, List<FilterObject> tags)
+	{
+		return new FilterConfiguration(includeIncome, includeExpenditure, includeTransfer, includeNotRepeating, includeRepeating,
+				applyExcludedIDs(categories, excludedCategoryIDs),
+				applyExcludedIDs(tags, excludedTagIDs),
+				name);
+	}
+
+	private static BitSet getExcludedIDs(List<FilterObject> objects)
+	{
+		BitSet excludedIDs = new BitSet();
+		if(objects == null)
+		{
+			return excludedIDs;
+		}
+
+		for(FilterObject filterObject : objects)
+		{
+			if(!filterObject.isInclude() && filterObject.getID() != null)
+			{
+				excludedIDs.set(filterObject.getID());
+			}
+		}
+		return excludedIDs;
+	}
+
+	private static List<FilterObject> applyExcludedIDs(List<FilterObject> objects, BitSet excludedIDs)
+	{
+		List<FilterObject> result = new ArrayList<>(objects.size());
+		for(FilterObject filterObject : objects)
+		{
+			result.add(new FilterObject(filterObject.getID(), filterObject.getName(), !excludedIDs.get(filterObject.getID())));
+		}
+		return result;
+	}
+
+	public boolean isIncludeIncome()
+	{
+		return includeIncome;
+	}
+
+	public boolean isIncludeExpenditure()
+	{
+		return includeExpenditure;
+	}
+
+	public boolean isIncludeTransfer()
+	{
+		return includeTransfer;
+	}
+
+	public boolean isIncludeNotRepeating()
+	{
+		return includeNotRepeating;
+	}
+
+	public boolean isIncludeRepeating()
+	{
+		return includeRepeating;
+	}
+
+	public boolean isCategoryExcluded(int ID)
+	{
+		return excludedCategoryIDs.get(ID);
+	}
+
+	public boolean isTagExcluded(int ID)
+	{
+		return excludedTagIDs.get(ID);
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "FilterSelection{" +
+				"includeIncome=" + includeIncome +
+				", includeExpenditure=" + includeExpenditure +
+				", includeTransfer=" + includeTransfer +
+				", includeNotRepeating=" + includeNotRepeating +
+				", includeRepeating=" + includeRepeating +
+				", excludedCategoryIDs=" + excludedCategoryIDs +
+				", excludedTagIDs=" + excludedTagIDs +
+				", name='" + name + '\'' +
+				'}';
+	}
+}
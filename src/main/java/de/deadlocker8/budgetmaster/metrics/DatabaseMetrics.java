@@ -0,0 +1,123 @@
+package de.deadlocker8.budgetmaster.metrics;
+
+import de.deadlocker8.budgetmaster.repeating.RepeatingOptionRepository;
+import de.deadlocker8.budgetmaster.transactions.TransactionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class DatabaseMetrics implements MeterBinder
+{
+	private static final String H2_URL_PREFIX = "jdbc:h2:";
+	private static final String[] H2_FILE_EXTENSIONS = {".mv.db", ".h2.db"};
+
+	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+	private final TransactionRepository transactionRepository;
+	private final RepeatingOptionRepository repeatingOptionRepository;
+	private final DataSource dataSource;
+
+	@Autowired
+	public DatabaseMetrics(TransactionRepository transactionRepository, RepeatingOptionRepository repeatingOptionRepository, DataSource dataSource)
+	{
+		this.transactionRepository = transactionRepository;
+		this.repeatingOptionRepository = repeatingOptionRepository;
+		this.dataSource = dataSource;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry)
+	{
+		Gauge.builder("budgetmaster.transactions", transactionRepository, TransactionRepository::count)
+				.description("Number of transactions")
+				.register(registry);
+
+		Gauge.builder("budgetmaster.repeating.options", repeatingOptionRepository, RepeatingOptionRepository::count)
+				.description("Number of repeating options")
+				.register(registry);
+
+		List<Path> databaseFiles = getDatabaseFiles();
+		if(!databaseFiles.isEmpty())
+		{
+			Gauge.builder("budgetmaster.database.size", databaseFiles, DatabaseMetrics::getFileSize)
+					.description("Size of the embedded database file")
+					.baseUnit("bytes")
+					.register(registry);
+		}
+	}
+
+	/**
+	 * Returns the possible files of the embedded H2 database or an empty list for in-memory and external databases.
+	 */
+	private List<Path> getDatabaseFiles()
+	{
+		List<Path> files = new ArrayList<>();
+
+		String url;
+		try(Connection connection = dataSource.getConnection())
+		{
+			url = connection.getMetaData().getURL();
+		}
+		catch(SQLException e)
+		{
+			LOGGER.error("Could not determine database url", e);
+			return files;
+		}
+
+		if(url == null || !url.startsWith(H2_URL_PREFIX))
+		{
+			return files;
+		}
+
+		String databasePath = url.substring(H2_URL_PREFIX.length()).split(";")[0];
+		if(databasePath.startsWith("file:"))
+		{
+			databasePath = databasePath.substring("file:".length());
+		}
+		if(databasePath.startsWith("mem:") || databasePath.startsWith("tcp:") || databasePath.startsWith("ssl:"))
+		{
+			return files;
+		}
+
+		for(String extension : H2_FILE_EXTENSIONS)
+		{
+			files.add(Paths.get(databasePath + extension));
+		}
+		return files;
+	}
+
+	private static double getFileSize(List<Path> files)
+	{
+		long size = 0;
+		for(Path file : files)
+		{
+			try
+			{
+				if(Files.exists(file))
+				{
+					size += Files.size(file);
+				}
+			}
+			catch(IOException e)
+			{
+				return Double.NaN;
+			}
+		}
+		return size;
+	}
+}
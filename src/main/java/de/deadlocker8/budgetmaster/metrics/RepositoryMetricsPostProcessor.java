@@ -0,0 +1,106 @@
+package de.deadlocker8.budgetmaster.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures count and duration of all calls to the Spring Data repositories of BudgetMaster.
+ * The meter registry is resolved on the first call, because bean post processors are created before all other beans.
+ */
+@Component
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor, BeanFactoryAware
+{
+	public static final String METRIC_NAME = "budgetmaster.repository.invocations";
+
+	private BeanFactory beanFactory;
+	private volatile MeterRegistry meterRegistry;
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException
+	{
+		this.beanFactory = beanFactory;
+	}
+
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException
+	{
+		return bean;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException
+	{
+		// repositories are already proxies created by Spring Data, so the interceptor is simply added in front of the existing ones
+		if(bean instanceof Repository && bean instanceof Advised)
+		{
+			((Advised) bean).addAdvice(0, new RepositoryMetricsInterceptor(getRepositoryName((Advised) bean, beanName)));
+		}
+		return bean;
+	}
+
+	private String getRepositoryName(Advised repository, String beanName)
+	{
+		for(Class<?> proxiedInterface : repository.getProxiedInterfaces())
+		{
+			if(Repository.class.isAssignableFrom(proxiedInterface) && proxiedInterface.getName().startsWith("de.deadlocker8"))
+			{
+				return proxiedInterface.getSimpleName();
+			}
+		}
+		return beanName;
+	}
+
+	private MeterRegistry getMeterRegistry()
+	{
+		if(meterRegistry == null)
+		{
+			meterRegistry = beanFactory.getBean(MeterRegistry.class);
+		}
+		return meterRegistry;
+	}
+
+	private class RepositoryMetricsInterceptor implements MethodInterceptor
+	{
+		private final String repositoryName;
+
+		private RepositoryMetricsInterceptor(String repositoryName)
+		{
+			this.repositoryName = repositoryName;
+		}
+
+		@Override
+		public Object invoke(MethodInvocation invocation) throws Throwable
+		{
+			long startTime = System.nanoTime();
+			String exception = "none";
+			try
+			{
+				return invocation.proceed();
+			}
+			catch(Throwable throwable)
+			{
+				exception = throwable.getClass().getSimpleName();
+				throw throwable;
+			}
+			finally
+			{
+				Timer timer = getMeterRegistry().timer(METRIC_NAME,
+						"repository", repositoryName,
+						"method", invocation.getMethod().getName(),
+						"exception", exception);
+				timer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+			}
+		}
+	}
+}
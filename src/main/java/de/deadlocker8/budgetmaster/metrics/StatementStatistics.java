@@ -0,0 +1,121 @@
+package de.deadlocker8.budgetmaster.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Number and duration of all SQL statements executed by the current thread while handling a single request.
+ */
+public class StatementStatistics
+{
+	private static final ThreadLocal<StatementStatistics> CURRENT = new ThreadLocal<>();
+
+	private int statementCount;
+	private long totalTimeMillis;
+	private final Map<String, StatementEntry> entries;
+
+	private StatementStatistics()
+	{
+		this.statementCount = 0;
+		this.totalTimeMillis = 0;
+		this.entries = new LinkedHashMap<>();
+	}
+
+	public static StatementStatistics start()
+	{
+		StatementStatistics statistics = new StatementStatistics();
+		CURRENT.set(statistics);
+		return statistics;
+	}
+
+	/**
+	 * Returns the statistics of the current thread or null if no request is being measured.
+	 */
+	public static StatementStatistics getCurrent()
+	{
+		return CURRENT.get();
+	}
+
+	public static void stop()
+	{
+		CURRENT.remove();
+	}
+
+	public void record(String sql, int numberOfExecutions, long timeMillis)
+	{
+		statementCount += numberOfExecutions;
+		totalTimeMillis += timeMillis;
+
+		StatementEntry entry = entries.computeIfAbsent(sql, StatementEntry::new);
+		entry.count += numberOfExecutions;
+		entry.totalTimeMillis += timeMillis;
+	}
+
+	public int getStatementCount()
+	{
+		return statementCount;
+	}
+
+	public long getTotalTimeMillis()
+	{
+		return totalTimeMillis;
+	}
+
+	/**
+	 * Returns the statements with the highest total time (ties are ordered by number of executions).
+	 */
+	public List<StatementEntry> getTopStatements(int limit)
+	{
+		List<StatementEntry> sortedEntries = new ArrayList<>(entries.values());
+		sortedEntries.sort(Comparator.comparingLong(StatementEntry::getTotalTimeMillis)
+				.thenComparingInt(StatementEntry::getCount)
+				.reversed());
+		return sortedEntries.subList(0, Math.min(limit, sortedEntries.size()));
+	}
+
+	@Override
+	public String toString()
+	{
+		return "StatementStatistics{" +
+				"statementCount=" + statementCount +
+				", totalTimeMillis=" + totalTimeMillis +
+				", distinctStatements=" + entries.size() +
+				'}';
+	}
+
+	public static class StatementEntry
+	{
+		private final String sql;
+		private int count;
+		private long totalTimeMillis;
+
+		private StatementEntry(String sql)
+		{
+			this.sql = sql;
+		}
+
+		public String getSql()
+		{
+			return sql;
+		}
+
+		public int getCount()
+		{
+			return count;
+		}
+
+		public long getTotalTimeMillis()
+		{
+			return totalTimeMillis;
+		}
+
+		@Override
+		public String toString()
+		{
+			return count + "x " + totalTimeMillis + "ms: " + sql;
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package de.deadlocker8.budgetmaster.metrics;
+
+import de.deadlocker8.budgetmaster.RunMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the SQL statements and the total database time of each request.
+ * Requests exceeding one of the thresholds are logged together with their most expensive statements.
+ * In debug mode the numbers are additionally sent as response headers (see {@link StatisticsResponseWrapper}).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatementStatisticsFilter extends OncePerRequestFilter
+{
+	public static final String HEADER_STATEMENT_COUNT = "X-SQL-Statement-Count";
+	public static final String HEADER_STATEMENT_TIME = "X-SQL-Statement-Time";
+
+	private static final int NUMBER_OF_TOP_STATEMENTS = 5;
+
+	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+	@Value("${database.statistics.slowRequest.statements:50}")
+	private int statementThreshold;
+
+	// in milliseconds
+	@Value("${database.statistics.slowRequest.time:500}")
+	private long timeThreshold;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException
+	{
+		StatementStatistics statistics = StatementStatistics.start();
+		try
+		{
+			if(RunMode.currentRunMode.equals(RunMode.DEBUG))
+			{
+				StatisticsResponseWrapper responseWrapper = new StatisticsResponseWrapper(response, statistics);
+				filterChain.doFilter(request, responseWrapper);
+				responseWrapper.finish();
+			}
+			else
+			{
+				filterChain.doFilter(request, response);
+			}
+		}
+		finally
+		{
+			StatementStatistics.stop();
+			logIfSlow(request, statistics);
+		}
+	}
+
+	private void logIfSlow(HttpServletRequest request, StatementStatistics statistics)
+	{
+		if(statistics.getStatementCount() <= statementThreshold && statistics.getTotalTimeMillis() <= timeThreshold)
+		{
+			return;
+		}
+
+		StringBuilder message = new StringBuilder();
+		message.append("Slow request ").append(request.getMethod()).append(" ").append(request.getRequestURI());
+		message.append(": ").append(statistics.getStatementCount()).append(" statements in ").append(statistics.getTotalTimeMillis()).append("ms");
+		for(StatementStatistics.StatementEntry entry : statistics.getTopStatements(NUMBER_OF_TOP_STATEMENTS))
+		{
+			message.append(System.lineSeparator()).append("\t").append(entry);
+		}
+		LOGGER.warn(message.toString());
+	}
+
+	/**
+	 * Headers can't be added to a committed response, therefore HTML and JSON bodies are buffered until all statements are known.
+	 * Other responses (e.g. reports and exports) are streamed, their headers contain the statements executed before the body is written.
+	 */
+	private static class StatisticsResponseWrapper extends HttpServletResponseWrapper
+	{
+		private final StatementStatistics statistics;
+		private ContentCachingResponseWrapper cachingWrapper;
+		private boolean areHeadersAdded = false;
+
+		StatisticsResponseWrapper(HttpServletResponse response, StatementStatistics statistics)
+		{
+			super(response);
+			this.statistics = statistics;
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException
+		{
+			if(isBuffered())
+			{
+				return cachingWrapper.getOutputStream();
+			}
+
+			addHeaders();
+			return super.getOutputStream();
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException
+		{
+			if(isBuffered())
+			{
+				return cachingWrapper.getWriter();
+			}
+
+			addHeaders();
+			return super.getWriter();
+		}
+
+		@Override
+		public void flushBuffer() throws IOException
+		{
+			// a buffered body is only written by finish()
+			if(cachingWrapper == null)
+			{
+				addHeaders();
+				super.flushBuffer();
+			}
+		}
+
+		void finish() throws IOException
+		{
+			addHeaders();
+			if(cachingWrapper != null)
+			{
+				cachingWrapper.copyBodyToResponse();
+			}
+		}
+
+		private boolean isBuffered()
+		{
+			if(cachingWrapper != null)
+			{
+				return true;
+			}
+
+			String contentType = getContentType();
+			if(contentType == null || getHeader(HttpHeaders.CONTENT_DISPOSITION) != null)
+			{
+				return false;
+			}
+
+			MediaType mediaType = MediaType.parseMediaType(contentType);
+			if(mediaType.isCompatibleWith(MediaType.TEXT_HTML) || mediaType.isCompatibleWith(MediaType.APPLICATION_JSON))
+			{
+				cachingWrapper = new ContentCachingResponseWrapper((HttpServletResponse) getResponse());
+				return true;
+			}
+			return false;
+		}
+
+		private void addHeaders()
+		{
+			if(areHeadersAdded || isCommitted())
+			{
+				return;
+			}
+
+			setHeader(HEADER_STATEMENT_COUNT, String.valueOf(statistics.getStatementCount()));
+			setHeader(HEADER_STATEMENT_TIME, String.valueOf(statistics.getTotalTimeMillis()));
+			areHeadersAdded = true;
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package de.deadlocker8.budgetmaster.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Adds every statement executed through the proxied data source to the statistics of the current request.
+ */
+public class StatementStatisticsListener implements QueryExecutionListener
+{
+	@Override
+	public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList)
+	{
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList)
+	{
+		StatementStatistics statistics = StatementStatistics.getCurrent();
+		if(statistics == null)
+		{
+			return;
+		}
+
+		String sql = queryInfoList.stream().map(QueryInfo::getQuery).distinct().collect(Collectors.joining("; "));
+		int numberOfExecutions = executionInfo.isBatch() ? Math.max(1, executionInfo.getBatchSize()) : 1;
+		statistics.record(sql, numberOfExecutions, executionInfo.getElapsedTime());
+	}
+}
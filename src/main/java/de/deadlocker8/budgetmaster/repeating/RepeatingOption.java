@@ -1,6 +1,7 @@
 package de.deadlocker8.budgetmaster.repeating;
 
 import com.google.gson.annotations.Expose;
+import de.deadlocker8.budgetmaster.services.DataChangeListener;
 import de.deadlocker8.budgetmaster.transactions.Transaction;
 import de.deadlocker8.budgetmaster.repeating.endoption.RepeatingEnd;
 import de.deadlocker8.budgetmaster.repeating.modifier.RepeatingModifier;
@@ -13,6 +14,7 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
+@EntityListeners(DataChangeListener.class)
 public class RepeatingOption
 {
 	@Id
@@ -20,6 +22,9 @@ public class RepeatingOption
 	@Expose
 	private Integer ID;
 
+	@Version
+	private Integer version;
+
 	@DateTimeFormat(pattern = "dd.MM.yyyy")
 	@Expose
 	private DateTime startDate;
@@ -54,6 +59,16 @@ public class RepeatingOption
 		this.ID = ID;
 	}
 
+	public Integer getVersion()
+	{
+		return version;
+	}
+
+	public void setVersion(Integer version)
+	{
+		this.version = version;
+	}
+
 	public DateTime getStartDate()
 	{
 		return startDate;
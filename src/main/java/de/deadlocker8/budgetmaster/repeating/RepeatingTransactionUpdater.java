@@ -2,6 +2,8 @@ package de.deadlocker8.budgetmaster.repeating;
 
 import de.deadlocker8.budgetmaster.transactions.Transaction;
 import de.deadlocker8.budgetmaster.transactions.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.joda.time.DateTime;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -13,15 +15,22 @@ public class RepeatingTransactionUpdater
 {
 	private final TransactionService transactionService;
 	private final RepeatingOptionRepository repeatingOptionRepository;
+	private final Timer updateTimer;
 
 	@Autowired
-	public RepeatingTransactionUpdater(TransactionService transactionService, RepeatingOptionRepository repeatingOptionRepository)
+	public RepeatingTransactionUpdater(TransactionService transactionService, RepeatingOptionRepository repeatingOptionRepository, MeterRegistry meterRegistry)
 	{
 		this.transactionService = transactionService;
 		this.repeatingOptionRepository = repeatingOptionRepository;
+		this.updateTimer = meterRegistry.timer("budgetmaster.repeating.update");
 	}
 
 	public void updateRepeatingTransactions(DateTime now)
+	{
+		updateTimer.record(() -> createMissingTransactions(now));
+	}
+
+	private void createMissingTransactions(DateTime now)
 	{
 		List<RepeatingOption> repeatingOptions = repeatingOptionRepository.findAllByOrderByStartDateAsc();
 		for(RepeatingOption option : repeatingOptions)
@@ -35,7 +44,7 @@ public class RepeatingTransactionUpdater
 					Transaction newTransaction = new Transaction(transactions.get(0));
 					newTransaction.setID(null);
 					newTransaction.setDate(currentDate);
-					transactionService.getRepository().save(newTransaction);
+					transactionService.saveTransaction(newTransaction);
 				}
 			}
 		}
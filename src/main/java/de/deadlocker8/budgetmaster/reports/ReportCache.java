@@ -0,0 +1,265 @@
+package de.deadlocker8.budgetmaster.reports;
+
+import de.deadlocker8.budgetmaster.services.DataChangedEvent;
+import de.deadlocker8.budgetmaster.utils.Hashes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Disk cache for generated reports.
+ * Reports are stored under the hash of everything that influences their content, so a cached report is never outdated
+ * and identical requests share one file. The least recently used reports are deleted as soon as the size limit is exceeded.
+ * Reports of accounts whose data changed can not be requested anymore and are deleted right away.
+ */
+@Service
+public class ReportCache
+{
+	private static final String FILE_PREFIX = "report_";
+	private static final String FILE_SUFFIX = ".pdf";
+	private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+	private final Path cacheFolder;
+	private final long maxSizeInBytes;
+
+	// access order, so the first entry is always the least recently used one
+	private final LinkedHashMap<String, CachedReport> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long size;
+
+	private final Counter hitCounter;
+	private final Counter missCounter;
+
+	@Autowired
+	public ReportCache(@Value("${report.cache.maxSize:50}") long maxSizeInMegabytes, MeterRegistry meterRegistry)
+	{
+		this(Paths.get(System.getProperty("java.io.tmpdir"), "budgetmaster-reports"), maxSizeInMegabytes * 1024 * 1024, meterRegistry);
+	}
+
+	public ReportCache(Path cacheFolder, long maxSizeInBytes, MeterRegistry meterRegistry)
+	{
+		this.cacheFolder = cacheFolder;
+		this.maxSizeInBytes = maxSizeInBytes;
+		this.hitCounter = meterRegistry.counter("budgetmaster.report.cache", "result", "hit");
+		this.missCounter = meterRegistry.counter("budgetmaster.report.cache", "result", "miss");
+		Gauge.builder("budgetmaster.report.cache.size", this, ReportCache::getSize).register(meterRegistry);
+
+		// the index is only kept in memory, so files of a previous run can not be served anymore
+		deleteAllFiles();
+	}
+
+	/**
+	 * Creates a cache key from all values that influence the content of a report.
+	 */
+	public static String createKey(Object... parts)
+	{
+		return Hashes.sha256(parts);
+	}
+
+	public static boolean isValidKey(String key)
+	{
+		return key != null && KEY_PATTERN.matcher(key).matches();
+	}
+
+	/**
+	 * Returns the cached report for the given key or null if there is none.
+	 * Marks the report as recently used.
+	 */
+	public synchronized CachedReport get(String key)
+	{
+		CachedReport cachedReport = entries.get(key);
+		if(cachedReport == null)
+		{
+			missCounter.increment();
+			return null;
+		}
+
+		hitCounter.increment();
+		return cachedReport;
+	}
+
+	public synchronized boolean contains(String key)
+	{
+		return entries.containsKey(key);
+	}
+
+	/**
+	 * @param accountID the ID of the report's account or null for the account that contains all accounts
+	 */
+	public CachedReport put(String key, Integer accountID, String fileName, byte[] data) throws IOException
+	{
+		if(!isValidKey(key))
+		{
+			throw new IllegalArgumentException("Invalid report cache key: " + key);
+		}
+
+		// written outside of the lock and moved afterwards, so readers never see incomplete files
+		Files.createDirectories(cacheFolder);
+		Path temporaryFile = Files.createTempFile(cacheFolder, "tmp_", FILE_SUFFIX);
+		Files.write(temporaryFile, data);
+
+		synchronized(this)
+		{
+			Path file = cacheFolder.resolve(FILE_PREFIX + key + FILE_SUFFIX);
+			Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+
+			CachedReport cachedReport = new CachedReport(key, accountID, fileName, file, data.length);
+			CachedReport previous = entries.put(key, cachedReport);
+			if(previous != null)
+			{
+				size -= previous.getSize();
+			}
+			size += cachedReport.getSize();
+
+			evict(key);
+			return cachedReport;
+		}
+	}
+
+	@EventListener
+	public synchronized void onDataChanged(DataChangedEvent event)
+	{
+		Iterator<Map.Entry<String, CachedReport>> iterator = entries.entrySet().iterator();
+		while(iterator.hasNext())
+		{
+			CachedReport cachedReport = iterator.next().getValue();
+			if(event.affects(cachedReport.getAccountID()))
+			{
+				iterator.remove();
+				delete(cachedReport);
+			}
+		}
+	}
+
+	public synchronized long getSize()
+	{
+		return size;
+	}
+
+	public synchronized int getNumberOfReports()
+	{
+		return entries.size();
+	}
+
+	private void evict(String keyToKeep)
+	{
+		Iterator<Map.Entry<String, CachedReport>> iterator = entries.entrySet().iterator();
+		while(size > maxSizeInBytes && iterator.hasNext())
+		{
+			CachedReport cachedReport = iterator.next().getValue();
+			if(cachedReport.getKey().equals(keyToKeep))
+			{
+				continue;
+			}
+
+			iterator.remove();
+			delete(cachedReport);
+		}
+	}
+
+	private void delete(CachedReport cachedReport)
+	{
+		size -= cachedReport.getSize();
+		try
+		{
+			Files.deleteIfExists(cachedReport.getFile());
+			LOGGER.debug("Evicted cached report " + cachedReport.getKey());
+		}
+		catch(IOException e)
+		{
+			LOGGER.error("Could not delete cached report " + cachedReport.getFile(), e);
+		}
+	}
+
+	private void deleteAllFiles()
+	{
+		if(!Files.isDirectory(cacheFolder))
+		{
+			return;
+		}
+
+		try(DirectoryStream<Path> files = Files.newDirectoryStream(cacheFolder, "*" + FILE_SUFFIX))
+		{
+			for(Path file : files)
+			{
+				Files.deleteIfExists(file);
+			}
+		}
+		catch(IOException e)
+		{
+			LOGGER.error("Could not clean up report cache", e);
+		}
+	}
+
+	public static class CachedReport
+	{
+		private final String key;
+		private final Integer accountID;
+		private final String fileName;
+		private final Path file;
+		private final long size;
+
+		CachedReport(String key, Integer accountID, String fileName, Path file, long size)
+		{
+			this.key = key;
+			this.accountID = accountID;
+			this.fileName = fileName;
+			this.file = file;
+			this.size = size;
+		}
+
+		public String getKey()
+		{
+			return key;
+		}
+
+		public Integer getAccountID()
+		{
+			return accountID;
+		}
+
+		public String getFileName()
+		{
+			return fileName;
+		}
+
+		public Path getFile()
+		{
+			return file;
+		}
+
+		public long getSize()
+		{
+			return size;
+		}
+
+		@Override
+		public String toString()
+		{
+			return "CachedReport{" +
+					"key='" + key + '\'' +
+					", accountID=" + accountID +
+					", fileName='" + fileName + '\'' +
+					", size=" + size +
+					'}';
+		}
+	}
+}
@@ -1,52 +1,50 @@
 package de.deadlocker8.budgetmaster.reports;
 
-import com.itextpdf.text.DocumentException;
+import com.google.gson.JsonObject;
 import de.deadlocker8.budgetmaster.accounts.Account;
-import de.deadlocker8.budgetmaster.accounts.AccountType;
-import de.deadlocker8.budgetmaster.categories.CategoryService;
 import de.deadlocker8.budgetmaster.controller.BaseController;
 import de.deadlocker8.budgetmaster.filter.FilterConfiguration;
 import de.deadlocker8.budgetmaster.filter.FilterHelpersService;
-import de.deadlocker8.budgetmaster.reports.categoryBudget.CategoryBudgetHandler;
 import de.deadlocker8.budgetmaster.reports.settings.ReportSettings;
 import de.deadlocker8.budgetmaster.reports.settings.ReportSettingsService;
 import de.deadlocker8.budgetmaster.services.HelpersService;
 import de.deadlocker8.budgetmaster.settings.SettingsService;
-import de.deadlocker8.budgetmaster.transactions.Transaction;
-import de.deadlocker8.budgetmaster.transactions.TransactionService;
+import de.deadlocker8.budgetmaster.utils.ResourceNotFoundException;
 import de.thecodelabs.utils.util.Localization;
+import io.micrometer.core.annotation.Timed;
 import org.joda.time.DateTime;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
-import java.io.IOException;
-import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 
 @Controller
+@Timed
 public class ReportController extends BaseController
 {
 	private final SettingsService settingsService;
 	private final ReportSettingsService reportSettingsService;
-	private final ReportGeneratorService reportGeneratorService;
-	private final TransactionService transactionService;
-	private final CategoryService categoryService;
+	private final ReportJobService reportJobService;
 	private final HelpersService helpers;
 	private final FilterHelpersService filterHelpers;
 
 	@Autowired
-	public ReportController(SettingsService settingsService, ReportSettingsService reportSettingsService, ReportGeneratorService reportGeneratorService, TransactionService transactionService, CategoryService categoryService, HelpersService helpers, FilterHelpersService filterHelpers)
+	public ReportController(SettingsService settingsService, ReportSettingsService reportSettingsService, ReportJobService reportJobService, HelpersService helpers, FilterHelpersService filterHelpers)
 	{
 		this.settingsService = settingsService;
 		this.reportSettingsService = reportSettingsService;
-		this.reportGeneratorService = reportGeneratorService;
-		this.transactionService = transactionService;
-		this.categoryService = categoryService;
+		this.reportJobService = reportJobService;
 		this.helpers = helpers;
 		this.filterHelpers = filterHelpers;
 	}
@@ -63,64 +61,75 @@ public class ReportController extends BaseController
 		return "reports/reports";
 	}
 
-	@PostMapping(value = "/reports/generate")
-	public void post(HttpServletRequest request, HttpServletResponse response,
-					 @ModelAttribute("NewReportSettings") ReportSettings reportSettings)
+	@PostMapping(value = "/reports/generate", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+	@ResponseBody
+	public String post(HttpServletRequest request, @ModelAttribute("NewReportSettings") ReportSettings reportSettings)
 	{
 		//save new report settings
 		reportSettings.getColumns().forEach(column -> column.setReferringSettings(reportSettings));
 		reportSettingsService.getRepository().save(reportSettings);
 
-		//prepare generation
 		Account account = helpers.getCurrentAccount();
-		String accountName = account.getName();
-		if(account.getType().equals(AccountType.ALL))
-		{
-			accountName = Localization.getString("account.all");
-		}
-
 		FilterConfiguration filterConfiguration = filterHelpers.getFilterConfiguration(request);
-		List<Transaction> transactions = transactionService.getTransactionsForMonthAndYear(account, reportSettings.getDate().getMonthOfYear(), reportSettings.getDate().getYear(), settingsService.getSettings().isRestActivated(), filterConfiguration);
-		Budget budget = helpers.getBudget(transactions, account);
-
-		ReportConfiguration reportConfiguration = new ReportConfigurationBuilder()
-				.setBudget(budget)
-				.setReportSettings(reportSettings)
-				.setTransactions(transactions)
-				.setAccountName(accountName)
-				.setCategoryBudgets(CategoryBudgetHandler.getCategoryBudgets(transactions, categoryService.getRepository().findAll()))
-				.createReportConfiguration();
-
-		String month = reportSettings.getDate().toString("MM");
-		String year = reportSettings.getDate().toString("YYYY");
-
-		LOGGER.debug("Exporting month report (month: " + year + "_" + month + ", account: " + accountName + ")...");
 
-		//generate PDF
 		try
 		{
-			byte[] dataBytes = reportGeneratorService.generate(reportConfiguration);
-			String fileName = Localization.getString("report.initial.filename", year, month, accountName);
-			response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+			return toJson(reportJobService.submit(reportSettings, account, filterConfiguration));
+		}
+		catch(RejectedExecutionException e)
+		{
+			LOGGER.debug("Rejected report generation, too many reports are already waiting");
+			JsonObject json = new JsonObject();
+			json.addProperty("status", ReportJob.Status.FAILED.name());
+			json.addProperty("errorMessage", Localization.getString("error.report.busy"));
+			return json.toString();
+		}
+	}
 
-			response.setContentType("application/pdf; charset=UTF-8");
-			response.setContentLength(dataBytes.length);
-			response.setCharacterEncoding("UTF-8");
+	@GetMapping(value = "/reports/jobs/{ID}", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+	@ResponseBody
+	public String getJob(@PathVariable("ID") String ID)
+	{
+		ReportJob job = reportJobService.getJob(ID);
+		if(job == null)
+		{
+			throw new ResourceNotFoundException();
+		}
+		return toJson(job);
+	}
 
-			try(ServletOutputStream out = response.getOutputStream())
-			{
-				out.write(dataBytes);
-				out.flush();
-				LOGGER.debug("Exporting month report DONE");
-			}
-			catch(IOException e)
-			{
-				e.printStackTrace();
-			}
+	@GetMapping("/reports/{ID}/download")
+	public ResponseEntity<Resource> download(WebRequest request, @PathVariable("ID") String ID)
+	{
+		ReportCache.CachedReport report = reportJobService.getReport(ID);
+		if(report == null)
+		{
+			throw new ResourceNotFoundException();
 		}
-		catch(DocumentException e)
+
+		// the ID is the hash of everything the report consists of, so it is a strong validator
+		String eTag = "\"" + report.getKey() + "\"";
+		if(request.checkNotModified(eTag))
 		{
-			e.printStackTrace();
+			return null;
 		}
+
+		LOGGER.debug("Serving cached report " + report);
+		return ResponseEntity.ok()
+				.eTag(eTag)
+				.cacheControl(CacheControl.noCache().cachePrivate())
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + report.getFileName() + "\"")
+				.contentType(MediaType.APPLICATION_PDF)
+				.contentLength(report.getSize())
+				.body(new FileSystemResource(report.getFile().toFile()));
+	}
+
+	private String toJson(ReportJob job)
+	{
+		JsonObject json = new JsonObject();
+		json.addProperty("ID", job.getID());
+		json.addProperty("status", job.getStatus().name());
+		json.addProperty("errorMessage", job.getErrorMessage());
+		return json.toString();
 	}
 }
\ No newline at end of file
@@ -11,11 +11,14 @@ import de.deadlocker8.budgetmaster.services.HelpersService;
 import de.deadlocker8.budgetmaster.utils.Strings;
 import de.thecodelabs.utils.util.Color;
 import de.thecodelabs.utils.util.Localization;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,10 +29,13 @@ public class ReportGeneratorService
 
 	private final String FONT = Fonts.OPEN_SANS;
 
+	private final Timer generateTimer;
+
 	@Autowired
-	public ReportGeneratorService(HelpersService helpersService)
+	public ReportGeneratorService(HelpersService helpersService, MeterRegistry meterRegistry)
 	{
 		this.helpersService = helpersService;
+		this.generateTimer = meterRegistry.timer("budgetmaster.report.generate");
 	}
 
 	private Chapter generateHeader(ReportConfiguration reportConfiguration)
@@ -134,6 +140,19 @@ public class ReportGeneratorService
 	}
 
 	public byte[] generate(ReportConfiguration reportConfiguration) throws DocumentException
+	{
+		long startTime = System.nanoTime();
+		try
+		{
+			return generateDocument(reportConfiguration);
+		}
+		finally
+		{
+			generateTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private byte[] generateDocument(ReportConfiguration reportConfiguration) throws DocumentException
 	{
 		Document document = new Document();
 		ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
@@ -0,0 +1,72 @@
+package de.deadlocker8.budgetmaster.reports;
+
+/**
+ * Generation of a report that runs in the background.
+ * The ID is the key of the report in the {@link ReportCache}, so identical requests share one job.
+ */
+public class ReportJob
+{
+	public enum Status
+	{
+		QUEUED, RUNNING, FAILED, DONE
+	}
+
+	private final String ID;
+	private final String fileName;
+
+	private volatile Status status;
+	private volatile String errorMessage;
+
+	public ReportJob(String ID, String fileName, Status status)
+	{
+		this.ID = ID;
+		this.fileName = fileName;
+		this.status = status;
+	}
+
+	public String getID()
+	{
+		return ID;
+	}
+
+	public String getFileName()
+	{
+		return fileName;
+	}
+
+	public Status getStatus()
+	{
+		return status;
+	}
+
+	void setStatus(Status status)
+	{
+		this.status = status;
+	}
+
+	public String getErrorMessage()
+	{
+		return errorMessage;
+	}
+
+	void setErrorMessage(String errorMessage)
+	{
+		this.errorMessage = errorMessage;
+	}
+
+	public boolean isFinished()
+	{
+		return status == Status.FAILED || status == Status.DONE;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "ReportJob{" +
+				"ID='" + ID + '\'' +
+				", fileName='" + fileName + '\'' +
+				", status=" + status +
+				", errorMessage='" + errorMessage + '\'' +
+				'}';
+	}
+}
@@ -0,0 +1,249 @@
+package de.deadlocker8.budgetmaster.reports;
+
+import com.itextpdf.text.DocumentException;
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
+import de.deadlocker8.budgetmaster.categories.CategoryService;
+import de.deadlocker8.budgetmaster.filter.FilterConfiguration;
+import de.deadlocker8.budgetmaster.reports.categoryBudget.CategoryBudgetHandler;
+import de.deadlocker8.budgetmaster.reports.columns.ReportColumn;
+import de.deadlocker8.budgetmaster.reports.settings.ReportSettings;
+import de.deadlocker8.budgetmaster.services.DataVersionService;
+import de.deadlocker8.budgetmaster.services.HelpersService;
+import de.deadlocker8.budgetmaster.settings.Settings;
+import de.deadlocker8.budgetmaster.settings.SettingsService;
+import de.deadlocker8.budgetmaster.summary.MonthlySummaryService;
+import de.deadlocker8.budgetmaster.transactions.Transaction;
+import de.deadlocker8.budgetmaster.transactions.TransactionService;
+import de.thecodelabs.utils.util.Localization;
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Generates reports in the background and stores them in the {@link ReportCache}.
+ * Requests for a report that is already cached or currently generated do not start another generation.
+ */
+@Service
+public class ReportJobService
+{
+	private static final int MAX_QUEUED_JOBS = 20;
+
+	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+	private final ReportGeneratorService reportGeneratorService;
+	private final ReportCache reportCache;
+	private final TransactionService transactionService;
+	private final CategoryService categoryService;
+	private final HelpersService helpers;
+	private final MonthlySummaryService monthlySummaryService;
+	private final SettingsService settingsService;
+	private final DataVersionService dataVersionService;
+	private final TransactionTemplate transactionTemplate;
+
+	private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+	private final ThreadPoolExecutor executor;
+
+	@Autowired
+	public ReportJobService(ReportGeneratorService reportGeneratorService, ReportCache reportCache, TransactionService transactionService,
+							CategoryService categoryService, HelpersService helpers, MonthlySummaryService monthlySummaryService,
+							SettingsService settingsService, DataVersionService dataVersionService, PlatformTransactionManager transactionManager, @Value("${report.generation.threads:2}") int numberOfThreads)
+	{
+		this.reportGeneratorService = reportGeneratorService;
+		this.reportCache = reportCache;
+		this.transactionService = transactionService;
+		this.categoryService = categoryService;
+		this.helpers = helpers;
+		this.monthlySummaryService = monthlySummaryService;
+		this.settingsService = settingsService;
+		this.dataVersionService = dataVersionService;
+
+		// the generation runs outside of a request, so lazy relations like the tags of a transaction need their own session
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+
+		AtomicInteger threadCounter = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(numberOfThreads, numberOfThreads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_JOBS), runnable -> {
+			Thread thread = new Thread(runnable, "report-job-" + threadCounter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Returns a finished job if the report is already cached, otherwise the job that generates it.
+	 *
+	 * @throws RejectedExecutionException if too many reports are already waiting
+	 */
+	public ReportJob submit(ReportSettings reportSettings, Account account, FilterConfiguration filterConfiguration)
+	{
+		Settings settings = settingsService.getSettings();
+		boolean isRestActivated = settings.isRestActivated();
+
+		String accountName = account.getName();
+		if(account.getType().equals(AccountType.ALL))
+		{
+			accountName = Localization.getString("account.all");
+		}
+
+		DateTime date = reportSettings.getDate();
+		String fileName = Localization.getString("report.initial.filename", date.toString("YYYY"), date.toString("MM"), accountName);
+
+		// the footer of a report contains the day of its generation
+		String key = ReportCache.createKey(getReportSettingsKey(reportSettings), filterConfiguration, account.getID(), accountName,
+				isRestActivated, settings.getLanguage(), settings.getCurrency(), DateTime.now().toString("yyyy-MM-dd"), dataVersionService.getVersion(account));
+
+		ReportCache.CachedReport cachedReport = reportCache.get(key);
+		if(cachedReport != null)
+		{
+			return new ReportJob(key, cachedReport.getFileName(), ReportJob.Status.DONE);
+		}
+
+		final String finalAccountName = accountName;
+		ReportJob job = new ReportJob(key, fileName, ReportJob.Status.QUEUED);
+		ReportJob existingJob = jobs.putIfAbsent(key, job);
+		if(existingJob != null)
+		{
+			if(existingJob.getStatus() != ReportJob.Status.FAILED || !jobs.replace(key, existingJob, job))
+			{
+				return jobs.getOrDefault(key, existingJob);
+			}
+		}
+
+		try
+		{
+			executor.execute(() -> run(job, reportSettings, account, finalAccountName, filterConfiguration, isRestActivated));
+		}
+		catch(RejectedExecutionException e)
+		{
+			jobs.remove(key, job);
+			throw e;
+		}
+
+		LOGGER.debug("Submitted " + job);
+		return job;
+	}
+
+	/**
+	 * Returns the job with the given ID or null if there is neither a job nor a cached report for it.
+	 * Finished jobs are only kept until their status was requested once.
+	 */
+	public ReportJob getJob(String ID)
+	{
+		ReportJob job = jobs.get(ID);
+		if(job != null)
+		{
+			if(job.getStatus() == ReportJob.Status.FAILED)
+			{
+				jobs.remove(ID, job);
+			}
+			return job;
+		}
+
+		if(!reportCache.contains(ID))
+		{
+			return null;
+		}
+		return new ReportJob(ID, null, ReportJob.Status.DONE);
+	}
+
+	public ReportCache.CachedReport getReport(String ID)
+	{
+		if(!ReportCache.isValidKey(ID))
+		{
+			return null;
+		}
+		return reportCache.get(ID);
+	}
+
+	private void run(ReportJob job, ReportSettings reportSettings, Account account, String accountName, FilterConfiguration filterConfiguration, boolean isRestActivated)
+	{
+		job.setStatus(ReportJob.Status.RUNNING);
+		try
+		{
+			byte[] dataBytes = transactionTemplate.execute(status -> generate(reportSettings, account, accountName, filterConfiguration, isRestActivated));
+			Integer accountID = account.getType().equals(AccountType.ALL) ? null : account.getID();
+			reportCache.put(job.getID(), accountID, job.getFileName(), dataBytes);
+
+			job.setStatus(ReportJob.Status.DONE);
+			// the status of finished reports is determined by the cache from now on
+			jobs.remove(job.getID(), job);
+		}
+		catch(Exception e)
+		{
+			LOGGER.error("Report job " + job.getID() + " failed", e);
+			job.setErrorMessage(e.getMessage());
+			job.setStatus(ReportJob.Status.FAILED);
+		}
+	}
+
+	private byte[] generate(ReportSettings reportSettings, Account account, String accountName, FilterConfiguration filterConfiguration, boolean isRestActivated)
+	{
+		int reportMonth = reportSettings.getDate().getMonthOfYear();
+		int reportYear = reportSettings.getDate().getYear();
+		List<Transaction> transactions = transactionService.getTransactionsForMonthAndYear(account, reportMonth, reportYear, isRestActivated, filterConfiguration);
+
+		Budget budget;
+		if(filterConfiguration.isActive())
+		{
+			budget = helpers.getBudget(transactions, account);
+		}
+		else
+		{
+			budget = monthlySummaryService.getBudget(account, reportMonth, reportYear, isRestActivated);
+		}
+
+		ReportConfiguration reportConfiguration = new ReportConfigurationBuilder()
+				.setBudget(budget)
+				.setReportSettings(reportSettings)
+				.setTransactions(transactions)
+				.setAccountName(accountName)
+				.setCategoryBudgets(CategoryBudgetHandler.getCategoryBudgets(transactions, categoryService.getRepository().findAll()))
+				.createReportConfiguration();
+
+		LOGGER.debug("Exporting month report (month: " + reportYear + "_" + reportMonth + ", account: " + accountName + ")...");
+		try
+		{
+			return reportGeneratorService.generate(reportConfiguration);
+		}
+		catch(DocumentException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String getReportSettingsKey(ReportSettings reportSettings)
+	{
+		String columns = reportSettings.getColumnsSortedAndFiltered().stream()
+				.map(ReportColumn::getKey)
+				.collect(Collectors.joining(","));
+
+		return reportSettings.getDate().toString("yyyy-MM") +
+				";" + reportSettings.isIncludeBudget() +
+				";" + reportSettings.isSplitTables() +
+				";" + reportSettings.isIncludeCategoryBudgets() +
+				";" + columns;
+	}
+
+	@PreDestroy
+	public void shutdown()
+	{
+		executor.shutdownNow();
+	}
+}
@@ -20,7 +20,6 @@ public class ReportSettingsService
 	{
 		this.reportSettingsRepository = reportSettingsRepository;
 		this.reportColumnService = reportColumnService;
-		createDefaultReportSettingsIfNotExists();
 	}
 
 	public ReportSettingsRepository getRepository()
@@ -28,7 +27,7 @@ public class ReportSettingsService
 		return reportSettingsRepository;
 	}
 
-	private void createDefaultReportSettingsIfNotExists()
+	public void createDefaultReportSettingsIfNotExists()
 	{
 		if(reportSettingsRepository.findOne(0) == null)
 		{
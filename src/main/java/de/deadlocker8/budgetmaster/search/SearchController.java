@@ -5,6 +5,7 @@ import de.deadlocker8.budgetmaster.settings.SettingsService;
 import de.deadlocker8.budgetmaster.transactions.Transaction;
 import de.deadlocker8.budgetmaster.transactions.TransactionSearchSpecifications;
 import de.deadlocker8.budgetmaster.transactions.TransactionService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
 
 
 @Controller
+@Timed
 public class SearchController extends BaseController
 {
 	private final TransactionService transactionService;
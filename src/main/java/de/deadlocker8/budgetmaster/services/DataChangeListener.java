@@ -0,0 +1,63 @@
+package de.deadlocker8.budgetmaster.services;
+
+import de.deadlocker8.budgetmaster.summary.MonthlySummary;
+import de.deadlocker8.budgetmaster.transactions.Transaction;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity listener for all entities whose content ends up in pages, charts or reports.
+ * Reports every change to the {@link DataVersionService}, regardless of the service or repository that caused it.
+ * Entity listeners are not managed by Spring, so the service registers itself on startup.
+ */
+public class DataChangeListener
+{
+	private static volatile DataVersionService dataVersionService;
+
+	static void setDataVersionService(DataVersionService dataVersionService)
+	{
+		DataChangeListener.dataVersionService = dataVersionService;
+	}
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	public void onChange(Object entity)
+	{
+		DataVersionService service = dataVersionService;
+		if(service == null)
+		{
+			return;
+		}
+
+		if(entity instanceof Transaction)
+		{
+			Transaction transaction = (Transaction) entity;
+			List<Integer> accountIDs = new ArrayList<>();
+			if(transaction.getAccount() != null)
+			{
+				accountIDs.add(transaction.getAccount().getID());
+			}
+			if(transaction.getTransferAccount() != null)
+			{
+				accountIDs.add(transaction.getTransferAccount().getID());
+			}
+			service.accountsChanged(accountIDs);
+		}
+		else if(entity instanceof MonthlySummary && ((MonthlySummary) entity).getAccount() != null)
+		{
+			List<Integer> accountIDs = new ArrayList<>();
+			accountIDs.add(((MonthlySummary) entity).getAccount().getID());
+			service.accountsChanged(accountIDs);
+		}
+		else
+		{
+			// accounts are listed on every page, categories, tags and settings are shared by all accounts
+			service.allAccountsChanged();
+		}
+	}
+}
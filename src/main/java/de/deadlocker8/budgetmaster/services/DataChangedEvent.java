@@ -0,0 +1,61 @@
+package de.deadlocker8.budgetmaster.services;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Published by the {@link DataVersionService} after a database transaction that changed data was committed.
+ * Contains all accounts that were changed by this transaction.
+ */
+public class DataChangedEvent
+{
+	private final Set<Integer> accountIDs;
+	private final boolean allAccounts;
+	private final long version;
+
+	public DataChangedEvent(Set<Integer> accountIDs, boolean allAccounts, long version)
+	{
+		this.accountIDs = Collections.unmodifiableSet(new HashSet<>(accountIDs));
+		this.allAccounts = allAccounts;
+		this.version = version;
+	}
+
+	public Set<Integer> getAccountIDs()
+	{
+		return accountIDs;
+	}
+
+	/**
+	 * True if data that is shared by all accounts (e.g. categories, tags or settings) was changed.
+	 */
+	public boolean isAllAccounts()
+	{
+		return allAccounts;
+	}
+
+	public long getVersion()
+	{
+		return version;
+	}
+
+	/**
+	 * Checks whether the data of the given account was changed.
+	 *
+	 * @param accountID the account ID or null for the account that contains all accounts
+	 */
+	public boolean affects(Integer accountID)
+	{
+		return allAccounts || accountID == null || accountIDs.contains(accountID);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "DataChangedEvent{" +
+				"accountIDs=" + accountIDs +
+				", allAccounts=" + allAccounts +
+				", version=" + version +
+				'}';
+	}
+}
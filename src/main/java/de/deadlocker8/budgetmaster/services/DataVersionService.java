@@ -0,0 +1,164 @@
+package de.deadlocker8.budgetmaster.services;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a data version per account that increases with every change of the account's data.
+ * Cached results and ETags that contain the version of an account are outdated as soon as the version changes.
+ * <p>
+ * Changes of entities are reported by the {@link DataChangeListener}. Changes that bypass the entity lifecycle
+ * (e.g. bulk updates) have to be reported explicitly. After the database transaction was committed, a
+ * {@link DataChangedEvent} is published for all changes of that transaction.
+ */
+@Service
+public class DataVersionService
+{
+	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	// starts at the startup time, so versions of a previous run are never reused
+	private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis());
+	private final AtomicLong sharedVersion = new AtomicLong(sequence.get());
+	private final Map<Integer, Long> accountVersions = new ConcurrentHashMap<>();
+
+	@Autowired
+	public DataVersionService(ApplicationEventPublisher eventPublisher)
+	{
+		this.eventPublisher = eventPublisher;
+	}
+
+	@PostConstruct
+	public void registerListener()
+	{
+		DataChangeListener.setDataVersionService(this);
+	}
+
+	@PreDestroy
+	public void unregisterListener()
+	{
+		DataChangeListener.setDataVersionService(null);
+	}
+
+	/**
+	 * Returns the data version of the given account.
+	 * The version of the account that contains all accounts changes with every change.
+	 */
+	public long getVersion(Account account)
+	{
+		if(account.getType().equals(AccountType.ALL))
+		{
+			return sequence.get();
+		}
+		return Math.max(sharedVersion.get(), accountVersions.getOrDefault(account.getID(), 0L));
+	}
+
+	/**
+	 * Reports a change of the data of the given accounts.
+	 */
+	public void accountsChanged(Collection<Integer> accountIDs)
+	{
+		record(new Change(accountIDs, false));
+	}
+
+	/**
+	 * Reports a change of data that is shared by all accounts.
+	 */
+	public void allAccountsChanged()
+	{
+		record(new Change(Collections.emptySet(), true));
+	}
+
+	private void record(Change change)
+	{
+		increase(change);
+
+		if(!TransactionSynchronizationManager.isSynchronizationActive())
+		{
+			publish(change);
+			return;
+		}
+
+		// all changes of a database transaction are published together after the commit
+		Change pendingChange = (Change) TransactionSynchronizationManager.getResource(this);
+		if(pendingChange == null)
+		{
+			Change newPendingChange = new Change(Collections.emptySet(), false);
+			TransactionSynchronizationManager.bindResource(this, newPendingChange);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+			{
+				@Override
+				public void afterCompletion(int status)
+				{
+					TransactionSynchronizationManager.unbindResourceIfPossible(DataVersionService.this);
+
+					// results computed by another request before the commit would still contain the old state
+					increase(newPendingChange);
+					if(status == TransactionSynchronization.STATUS_COMMITTED)
+					{
+						publish(newPendingChange);
+					}
+				}
+			});
+			pendingChange = newPendingChange;
+		}
+		pendingChange.add(change);
+	}
+
+	private void increase(Change change)
+	{
+		long version = sequence.incrementAndGet();
+		if(change.allAccounts)
+		{
+			sharedVersion.accumulateAndGet(version, Math::max);
+		}
+		for(Integer accountID : change.accountIDs)
+		{
+			accountVersions.merge(accountID, version, Math::max);
+		}
+	}
+
+	private void publish(Change change)
+	{
+		DataChangedEvent event = new DataChangedEvent(change.accountIDs, change.allAccounts, sequence.get());
+		LOGGER.debug("Publishing " + event);
+		eventPublisher.publishEvent(event);
+	}
+
+	private static class Change
+	{
+		private final Set<Integer> accountIDs;
+		private boolean allAccounts;
+
+		private Change(Collection<Integer> accountIDs, boolean allAccounts)
+		{
+			this.accountIDs = new HashSet<>(accountIDs);
+			this.allAccounts = allAccounts;
+		}
+
+		private void add(Change change)
+		{
+			accountIDs.addAll(change.accountIDs);
+			allAccounts |= change.allAccounts;
+		}
+	}
+}
@@ -1,7 +1,6 @@
 package de.deadlocker8.budgetmaster.services;
 
 import de.deadlocker8.budgetmaster.accounts.Account;
-import de.deadlocker8.budgetmaster.accounts.AccountRepository;
 import de.deadlocker8.budgetmaster.accounts.AccountService;
 import de.deadlocker8.budgetmaster.accounts.AccountType;
 import de.deadlocker8.budgetmaster.categories.Category;
@@ -14,18 +13,23 @@ import de.deadlocker8.budgetmaster.reports.Budget;
 import de.deadlocker8.budgetmaster.settings.Settings;
 import de.deadlocker8.budgetmaster.settings.SettingsRepository;
 import de.deadlocker8.budgetmaster.settings.SettingsService;
-import de.deadlocker8.budgetmaster.tags.Tag;
-import de.deadlocker8.budgetmaster.tags.TagRepository;
+import de.deadlocker8.budgetmaster.summary.MonthlySummaryService;
+import de.deadlocker8.budgetmaster.tags.TagService;
 import de.deadlocker8.budgetmaster.transactions.Transaction;
 import de.deadlocker8.budgetmaster.transactions.TransactionService;
 import de.deadlocker8.budgetmaster.update.BudgetMasterUpdateService;
 import de.deadlocker8.budgetmaster.utils.Colors;
+import de.deadlocker8.budgetmaster.utils.Hashes;
 import de.deadlocker8.budgetmaster.utils.LanguageType;
 import de.thecodelabs.utils.util.ColorUtilsNonJavaFX;
 import org.joda.time.DateTime;
 import org.joda.time.format.DateTimeFormat;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.UnsupportedEncodingException;
 import java.math.RoundingMode;
@@ -45,10 +49,7 @@ public class HelpersService
 	private SettingsService settingsService;
 
 	@Autowired
-	private TagRepository tagRepository;
-
-	@Autowired
-	private AccountRepository accountRepository;
+	private TagService tagService;
 
 	@Autowired
 	private AccountService accountService;
@@ -59,9 +60,15 @@ public class HelpersService
 	@Autowired
 	private CategoryRepository categoryRepository;
 
+	@Autowired
+	private MonthlySummaryService monthlySummaryService;
+
 	@Autowired
 	private BudgetMasterUpdateService budgetMasterUpdateService;
 
+	@Autowired
+	private DataVersionService dataVersionService;
+
 	public String getCurrencyString(int amount)
 	{
 		return getCurrencyString(amount / 100.0);
@@ -137,9 +144,9 @@ public class HelpersService
 		return categoryColors;
 	}
 
-	public List<Tag> getAllTags()
+	public List<String> getTopTags()
 	{
-		return tagRepository.findAllByOrderByNameAsc();
+		return tagService.getSuggestions("", TagService.DEFAULT_NUMBER_OF_SUGGESTIONS);
 	}
 
 	public List<Account> getAllAccounts()
@@ -149,16 +156,7 @@ public class HelpersService
 
 	public Account getCurrentAccount()
 	{
-		Account selectedAccount = accountRepository.findByIsSelected(true);
-
-		// select random account if no account is selected
-		if(selectedAccount == null)
-		{
-			selectedAccount = accountRepository.findByIsDefault(true);
-			accountService.selectAccount(selectedAccount.getID());
-		}
-
-		return selectedAccount;
+		return accountService.getSelectedAccount();
 	}
 
 	public Account getCurrentAccountOrDefault()
@@ -166,7 +164,7 @@ public class HelpersService
 		Account selectedAccount = getCurrentAccount();
 		if(selectedAccount.getType().equals(AccountType.ALL))
 		{
-			return accountService.getRepository().findByIsDefault(true);
+			return accountService.getDefaultAccount();
 		}
 		return selectedAccount;
 	}
@@ -215,9 +213,13 @@ public class HelpersService
 	public int getAccountBudget()
 	{
 		Account currentAccount = getCurrentAccount();
-		List<Transaction> transactions = transactionService.getTransactionsForAccountUntilDate(currentAccount, getCurrentDate(), FilterConfiguration.DEFAULT);
+		DateTime currentDate = getCurrentDate();
+
+		// all previous months are taken from the monthly summaries, only the current month is summed up
+		int sum = monthlySummaryService.getClosingBalanceBefore(currentAccount, currentDate.getYear(), currentDate.getMonthOfYear());
 
-		int sum = 0;
+		DateTime startOfMonth = currentDate.withDayOfMonth(1).withTimeAtStartOfDay();
+		List<Transaction> transactions = transactionService.getTransactionsForAccount(currentAccount, startOfMonth, currentDate, FilterConfiguration.createDefault());
 		for(Transaction transaction : transactions)
 		{
 			sum += getAmount(transaction, currentAccount);
@@ -267,6 +269,27 @@ public class HelpersService
 		 }
 	}
 
+	/**
+	 * Sets the ETag of a page of the current account and checks it against the If-None-Match header of the request.
+	 * Besides the given parts, the ETag covers the data version of the current account, the navbar and the session
+	 * (forms contain the CSRF token of the session).
+	 *
+	 * @return true if the page did not change and the request was already answered with 304
+	 */
+	public boolean checkPageNotModified(WebRequest request, Object... parts)
+	{
+		Account currentAccount = getCurrentAccount();
+		String eTag = "\"" + Hashes.sha256(request.getSessionId(), currentAccount.getID(), dataVersionService.getVersion(currentAccount),
+				getCurrentDate().toString("yyyy-MM-dd"), isUpdateAvailable(), Hashes.sha256(parts)) + "\"";
+
+		if(request instanceof ServletWebRequest && ((ServletWebRequest) request).getResponse() != null)
+		{
+			// the page may be stored by the browser, but has to be revalidated every time
+			((ServletWebRequest) request).getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+		}
+		return request.checkNotModified(eTag);
+	}
+
 	public String getAvailableVersionString()
 	{
 		return budgetMasterUpdateService.getAvailableVersionString();
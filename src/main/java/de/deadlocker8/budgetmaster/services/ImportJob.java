@@ -0,0 +1,151 @@
+package de.deadlocker8.budgetmaster.services;
+
+import de.deadlocker8.budgetmaster.database.DatabaseManifest;
+import de.deadlocker8.budgetmaster.database.accountmatches.AccountMatchList;
+
+/**
+ * Import of a staged database that runs in the background.
+ * The number of committed transactions is the checkpoint from which a cancelled or failed job is resumed.
+ */
+public class ImportJob implements ImportProgressListener
+{
+	public enum Status
+	{
+		QUEUED, RUNNING, CANCELLED, FAILED, DONE
+	}
+
+	private final String ID;
+	private final DatabaseManifest manifest;
+	private final AccountMatchList accountMatchList;
+
+	private volatile Status status = Status.QUEUED;
+	private volatile String phase;
+	private volatile int numberOfImportedTransactions;
+	private volatile int numberOfTransactions;
+	private volatile boolean cancelRequested;
+	private volatile String errorMessage;
+	private volatile long finishTime;
+
+	public ImportJob(String ID, DatabaseManifest manifest, AccountMatchList accountMatchList)
+	{
+		this.ID = ID;
+		this.manifest = manifest;
+		this.accountMatchList = accountMatchList;
+		this.numberOfTransactions = manifest.getNumberOfTransactions();
+	}
+
+	public String getID()
+	{
+		return ID;
+	}
+
+	public DatabaseManifest getManifest()
+	{
+		return manifest;
+	}
+
+	public AccountMatchList getAccountMatchList()
+	{
+		return accountMatchList;
+	}
+
+	public Status getStatus()
+	{
+		return status;
+	}
+
+	void setStatus(Status status)
+	{
+		this.status = status;
+		if(isFinished())
+		{
+			this.finishTime = System.currentTimeMillis();
+		}
+	}
+
+	/**
+	 * Returns the time (in milliseconds) when the job was finished for the last time.
+	 */
+	public long getFinishTime()
+	{
+		return finishTime;
+	}
+
+	public String getPhase()
+	{
+		return phase;
+	}
+
+	@Override
+	public int getNumberOfImportedTransactions()
+	{
+		return numberOfImportedTransactions;
+	}
+
+	public int getNumberOfTransactions()
+	{
+		return numberOfTransactions;
+	}
+
+	public String getErrorMessage()
+	{
+		return errorMessage;
+	}
+
+	void setErrorMessage(String errorMessage)
+	{
+		this.errorMessage = errorMessage;
+	}
+
+	public boolean isFinished()
+	{
+		return status == Status.CANCELLED || status == Status.FAILED || status == Status.DONE;
+	}
+
+	public boolean isResumable()
+	{
+		return status == Status.CANCELLED || status == Status.FAILED;
+	}
+
+	void requestCancel()
+	{
+		cancelRequested = true;
+	}
+
+	void resetCancel()
+	{
+		cancelRequested = false;
+	}
+
+	@Override
+	public void phaseStarted(String phase)
+	{
+		this.phase = phase;
+	}
+
+	@Override
+	public void transactionsImported(int numberOfImportedTransactions, int numberOfTransactions)
+	{
+		this.numberOfImportedTransactions = numberOfImportedTransactions;
+		this.numberOfTransactions = numberOfTransactions;
+	}
+
+	@Override
+	public boolean isCancelled()
+	{
+		return cancelRequested;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "ImportJob{" +
+				"ID='" + ID + '\'' +
+				", status=" + status +
+				", phase='" + phase + '\'' +
+				", numberOfImportedTransactions=" + numberOfImportedTransactions +
+				", numberOfTransactions=" + numberOfTransactions +
+				", cancelRequested=" + cancelRequested +
+				'}';
+	}
+}
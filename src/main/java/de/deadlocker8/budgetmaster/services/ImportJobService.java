@@ -0,0 +1,206 @@
+package de.deadlocker8.budgetmaster.services;
+
+import de.deadlocker8.budgetmaster.database.Database;
+import de.deadlocker8.budgetmaster.database.DatabaseImportStaging;
+import de.deadlocker8.budgetmaster.database.DatabaseManifest;
+import de.deadlocker8.budgetmaster.database.accountmatches.AccountMatchList;
+import de.deadlocker8.budgetmaster.summary.MonthlySummaryService;
+import de.thecodelabs.utils.util.Localization;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Runs imports of staged databases in the background.
+ * Jobs are executed one after another, because they share the {@link ImportService} and write to the same tables.
+ * Cancelled and failed jobs keep their staged database, so they can be resumed until they are removed as abandoned.
+ */
+@Service
+public class ImportJobService
+{
+	private static final int MAX_QUEUED_JOBS = 4;
+
+	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+	private final ImportService importService;
+	private final DatabaseImportStaging databaseImportStaging;
+	private final MonthlySummaryService monthlySummaryService;
+
+	private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+	private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_JOBS), runnable -> {
+		Thread thread = new Thread(runnable, "import-job");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	@Autowired
+	public ImportJobService(ImportService importService, DatabaseImportStaging databaseImportStaging, MonthlySummaryService monthlySummaryService)
+	{
+		this.importService = importService;
+		this.databaseImportStaging = databaseImportStaging;
+		this.monthlySummaryService = monthlySummaryService;
+	}
+
+	/**
+	 * @throws RejectedExecutionException if too many imports are already waiting
+	 */
+	public ImportJob submit(DatabaseManifest manifest, AccountMatchList accountMatchList)
+	{
+		// finished jobs are only kept until the next import, so their final status can still be requested
+		jobs.values().removeIf(job -> job.getStatus() == ImportJob.Status.DONE);
+
+		ImportJob job = new ImportJob(UUID.randomUUID().toString(), manifest, accountMatchList);
+		jobs.put(job.getID(), job);
+		try
+		{
+			executor.execute(() -> run(job));
+		}
+		catch(RejectedExecutionException e)
+		{
+			jobs.remove(job.getID());
+			throw e;
+		}
+
+		LOGGER.debug("Submitted " + job);
+		return job;
+	}
+
+	public ImportJob getJob(String ID)
+	{
+		return jobs.get(ID);
+	}
+
+	/**
+	 * Stops the job after the current batch. Already committed transactions are kept, so the job can be resumed.
+	 */
+	public void cancel(ImportJob job)
+	{
+		if(!job.isFinished())
+		{
+			job.requestCancel();
+		}
+	}
+
+	/**
+	 * Continues a cancelled or failed job after its last committed batch.
+	 * If too many imports are already waiting, the job stays cancelled and gets an error message.
+	 */
+	public void resume(ImportJob job)
+	{
+		// synchronized with the removal of abandoned jobs, which also deletes the staged database
+		synchronized(job)
+		{
+			if(!job.isResumable() || jobs.get(job.getID()) != job)
+			{
+				return;
+			}
+
+			job.resetCancel();
+			job.setErrorMessage(null);
+			job.setStatus(ImportJob.Status.QUEUED);
+		}
+
+		try
+		{
+			executor.execute(() -> run(job));
+		}
+		catch(RejectedExecutionException e)
+		{
+			job.setStatus(ImportJob.Status.CANCELLED);
+			job.setErrorMessage(Localization.getString("error.database.import.busy"));
+			return;
+		}
+		LOGGER.debug("Resuming " + job);
+	}
+
+	/**
+	 * Removes jobs that were finished longer than the maximum age of staged databases ago and deletes their staged database.
+	 * Afterwards all other abandoned staged databases are deleted, except for the ones of the remaining jobs.
+	 */
+	@Scheduled(fixedRate = 15*60*1000)
+	public void removeAbandonedJobs()
+	{
+		long maxAgeInMillis = TimeUnit.MINUTES.toMillis(databaseImportStaging.getMaxAgeInMinutes());
+		for(ImportJob job : jobs.values())
+		{
+			synchronized(job)
+			{
+				if(job.isFinished() && System.currentTimeMillis() - job.getFinishTime() > maxAgeInMillis)
+				{
+					jobs.remove(job.getID());
+					databaseImportStaging.discard(job.getManifest());
+					LOGGER.debug("Removed abandoned " + job);
+				}
+			}
+		}
+
+		Set<String> usedFileNames = jobs.values().stream()
+				.map(job -> job.getManifest().getFileName())
+				.collect(Collectors.toSet());
+		databaseImportStaging.deleteAbandonedFiles(usedFileNames);
+	}
+
+	private void run(ImportJob job)
+	{
+		if(job.isCancelled())
+		{
+			job.setStatus(ImportJob.Status.CANCELLED);
+			return;
+		}
+
+		job.setStatus(ImportJob.Status.RUNNING);
+		int numberOfImportedTransactionsBefore = job.getNumberOfImportedTransactions();
+		try
+		{
+			Database database = databaseImportStaging.load(job.getManifest());
+			importService.importDatabase(database, job.getAccountMatchList(), job);
+
+			if(job.getNumberOfImportedTransactions() < job.getNumberOfTransactions())
+			{
+				job.setStatus(ImportJob.Status.CANCELLED);
+			}
+			else
+			{
+				job.setStatus(ImportJob.Status.DONE);
+				databaseImportStaging.discard(job.getManifest());
+			}
+		}
+		catch(Exception e)
+		{
+			LOGGER.error("Import job " + job.getID() + " failed", e);
+			job.setErrorMessage(e.getMessage());
+			job.setStatus(ImportJob.Status.FAILED);
+		}
+		finally
+		{
+			if(job.getNumberOfImportedTransactions() != numberOfImportedTransactionsBefore)
+			{
+				monthlySummaryService.rebuild();
+			}
+			LOGGER.debug("Finished run of " + job);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown()
+	{
+		for(ImportJob job : jobs.values())
+		{
+			cancel(job);
+		}
+		executor.shutdown();
+	}
+}
@@ -0,0 +1,50 @@
+package de.deadlocker8.budgetmaster.services;
+
+/**
+ * Receives the progress of an import and decides where the import starts and whether it is cancelled.
+ */
+public interface ImportProgressListener
+{
+	ImportProgressListener NONE = new ImportProgressListener()
+	{
+		@Override
+		public void phaseStarted(String phase)
+		{
+		}
+
+		@Override
+		public int getNumberOfImportedTransactions()
+		{
+			return 0;
+		}
+
+		@Override
+		public void transactionsImported(int numberOfImportedTransactions, int numberOfTransactions)
+		{
+		}
+
+		@Override
+		public boolean isCancelled()
+		{
+			return false;
+		}
+	};
+
+	void phaseStarted(String phase);
+
+	/**
+	 * Returns the number of transactions that were already committed by a previous run of the same import.
+	 * These transactions are skipped.
+	 */
+	int getNumberOfImportedTransactions();
+
+	/**
+	 * Called after each committed batch of transactions.
+	 */
+	void transactionsImported(int numberOfImportedTransactions, int numberOfTransactions);
+
+	/**
+	 * Checked before each batch of transactions.
+	 */
+	boolean isCancelled();
+}
@@ -9,8 +9,9 @@ import de.deadlocker8.budgetmaster.categories.CategoryType;
 import de.deadlocker8.budgetmaster.tags.Tag;
 import de.deadlocker8.budgetmaster.transactions.Transaction;
 import de.deadlocker8.budgetmaster.categories.CategoryRepository;
-import de.deadlocker8.budgetmaster.tags.TagRepository;
+import de.deadlocker8.budgetmaster.tags.TagService;
 import de.deadlocker8.budgetmaster.transactions.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,38 +19,60 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 public class ImportService
 {
+	public static final int BATCH_SIZE = 100;
+
 	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
 	@Autowired
 	private CategoryRepository categoryRepository;
 	@Autowired
 	private TransactionRepository transactionRepository;
 	@Autowired
-	private TagRepository tagRepository;
+	private TagService tagService;
+
+	private final MeterRegistry meterRegistry;
 
 	private Database database;
 
 	@Autowired
-	public ImportService(CategoryRepository categoryRepository, TransactionRepository transactionRepository, TagRepository tagRepository)
+	public ImportService(CategoryRepository categoryRepository, TransactionRepository transactionRepository, TagService tagService, MeterRegistry meterRegistry)
 	{
 		this.categoryRepository = categoryRepository;
 		this.transactionRepository = transactionRepository;
-		this.tagRepository = tagRepository;
+		this.tagService = tagService;
+		this.meterRegistry = meterRegistry;
 	}
 
 	public void importDatabase(Database database, AccountMatchList accountMatchList)
+	{
+		importDatabase(database, accountMatchList, ImportProgressListener.NONE);
+	}
+
+	/**
+	 * Transactions are committed in batches of {@link #BATCH_SIZE}.
+	 * If the listener reports already imported transactions (e.g. from a cancelled or failed run of the same database),
+	 * categories and accounts are matched again, but these transactions are skipped.
+	 */
+	public void importDatabase(Database database, AccountMatchList accountMatchList, ImportProgressListener listener)
 	{
 		this.database = database;
 		LOGGER.debug("Importing database...");
-		importCategories();
-		importAccounts(accountMatchList);
-		importTransactions();
+		recordPhase("categories", listener, this::importCategories);
+		recordPhase("accounts", listener, () -> importAccounts(accountMatchList));
+		recordPhase("transactions", listener, () -> importTransactions(listener));
 		LOGGER.debug("Importing database DONE");
 	}
 
+	private void recordPhase(String phase, ImportProgressListener listener, Runnable runnable)
+	{
+		listener.phaseStarted(phase);
+		meterRegistry.timer("budgetmaster.import", "phase", phase).record(runnable);
+	}
+
 	public Database getDatabase()
 	{
 		return database;
@@ -184,37 +207,52 @@ public class ImportService
 		return updatedTransactions;
 	}
 
-	private void importTransactions()
+	private void importTransactions(ImportProgressListener listener)
 	{
 		List<Transaction> transactions = database.getTransactions();
-		LOGGER.debug("Importing " + transactions.size() + " transactions...");
-		for(int i = 0; i < transactions.size(); i++)
+		int startIndex = Math.min(listener.getNumberOfImportedTransactions(), transactions.size());
+		LOGGER.debug("Importing " + (transactions.size() - startIndex) + " transactions (skipping " + startIndex + " already imported)...");
+
+		List<Transaction> batch = new ArrayList<>();
+		for(int i = startIndex; i < transactions.size(); i++)
 		{
+			if(batch.isEmpty() && listener.isCancelled())
+			{
+				LOGGER.debug("Importing transactions CANCELLED after " + i + "/" + transactions.size());
+				return;
+			}
+
 			Transaction transaction = transactions.get(i);
 			LOGGER.debug("Importing transaction " + (i + 1) + "/" + transactions.size() + " (name: " + transaction.getName() + ", date: " + transaction.getDate() + ")");
-			updateTagsForTransaction(transaction);
-			transaction.setID(null);
-			transactionRepository.save(transaction);
+			batch.add(transaction);
+
+			if(batch.size() == BATCH_SIZE || i == transactions.size() - 1)
+			{
+				saveBatch(batch);
+				batch.clear();
+				listener.transactionsImported(i + 1, transactions.size());
+			}
 		}
 		LOGGER.debug("Importing transactions DONE");
 	}
 
-	private void updateTagsForTransaction(Transaction transaction)
+	/**
+	 * Saves the given transactions as new transactions. Their tags are resolved by name.
+	 * The batch is committed in its own transaction.
+	 */
+	public void saveBatch(List<Transaction> batch)
 	{
-		List<Tag> tags = transaction.getTags();
-		for(int i = 0; i < tags.size(); i++)
+		for(Transaction transaction : batch)
 		{
-			Tag currentTag = tags.get(i);
-			Tag existingTag = tagRepository.findByName(currentTag.getName());
-			if(existingTag == null)
-			{
-				tagRepository.save(new Tag(currentTag.getName()));
-				tags.set(i, tagRepository.findByName(currentTag.getName()));
-			}
-			else
-			{
-				tags.set(i, existingTag);
-			}
+			updateTagsForTransaction(transaction);
+			transaction.setID(null);
 		}
+		transactionRepository.save(batch);
+	}
+
+	private void updateTagsForTransaction(Transaction transaction)
+	{
+		List<String> names = transaction.getTags().stream().map(Tag::getName).collect(Collectors.toList());
+		transaction.setTags(tagService.resolveTags(names));
 	}
 }
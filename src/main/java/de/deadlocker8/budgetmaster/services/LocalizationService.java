@@ -18,7 +18,10 @@ public class LocalizationService implements  Localization.LocalizationDelegate
 	public LocalizationService(SettingsService settingsService)
 	{
 		this.settingsService = settingsService;
+	}
 
+	public void load()
+	{
 		Localization.setDelegate(this);
 		Localization.load();
 	}
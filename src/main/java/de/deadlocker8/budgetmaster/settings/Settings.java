@@ -1,17 +1,25 @@
 package de.deadlocker8.budgetmaster.settings;
 
+import de.deadlocker8.budgetmaster.services.DataChangeListener;
 import de.deadlocker8.budgetmaster.utils.LanguageType;
 import org.joda.time.DateTime;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.Id;
+import javax.persistence.Version;
 
 @Entity
+@EntityListeners(DataChangeListener.class)
 public class Settings
 {
 	@Id
 	private int ID;
+
+	@Version
+	private Integer version;
+
 	private String currency;
 	private LanguageType language;
 	private boolean restActivated;
@@ -48,6 +56,16 @@ public class Settings
 		return ID;
 	}
 
+	public Integer getVersion()
+	{
+		return version;
+	}
+
+	public void setVersion(Integer version)
+	{
+		this.version = version;
+	}
+
 	public String getCurrency()
 	{
 		return currency;
@@ -142,6 +160,7 @@ public class Settings
 	{
 		return "Settings{" +
 				"ID=" + ID +
+				", version=" + version +
 				", currency='" + currency + '\'' +
 				", language=" + language +
 				", restActivated=" + restActivated +
@@ -1,19 +1,20 @@
 package de.deadlocker8.budgetmaster.settings;
 
+import com.google.gson.JsonObject;
 import de.deadlocker8.budgetmaster.Build;
 import de.deadlocker8.budgetmaster.accounts.AccountService;
 import de.deadlocker8.budgetmaster.authentication.User;
 import de.deadlocker8.budgetmaster.authentication.UserRepository;
-import de.deadlocker8.budgetmaster.categories.CategoryService;
-import de.deadlocker8.budgetmaster.categories.CategoryType;
 import de.deadlocker8.budgetmaster.controller.BaseController;
-import de.deadlocker8.budgetmaster.database.Database;
-import de.deadlocker8.budgetmaster.database.DatabaseParser;
+import de.deadlocker8.budgetmaster.database.DatabaseImportStaging;
+import de.deadlocker8.budgetmaster.database.DatabaseManifest;
 import de.deadlocker8.budgetmaster.database.DatabaseService;
 import de.deadlocker8.budgetmaster.database.accountmatches.AccountMatchList;
-import de.deadlocker8.budgetmaster.services.ImportService;
+import de.deadlocker8.budgetmaster.services.ImportJob;
+import de.deadlocker8.budgetmaster.services.ImportJobService;
 import de.deadlocker8.budgetmaster.update.BudgetMasterUpdateService;
 import de.deadlocker8.budgetmaster.utils.LanguageType;
+import de.deadlocker8.budgetmaster.utils.ResourceNotFoundException;
 import de.deadlocker8.budgetmaster.utils.Strings;
 import de.thecodelabs.utils.util.Localization;
 import de.thecodelabs.utils.util.RandomUtils;
@@ -22,13 +23,13 @@ import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
@@ -37,33 +38,36 @@ import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 
 @Controller
 public class SettingsController extends BaseController
 {
 	private final SettingsRepository settingsRepository;
+	private final SettingsService settingsService;
 	private final UserRepository userRepository;
 	private final DatabaseService databaseService;
 	private final AccountService accountService;
-	private final CategoryService categoryService;
-	private final ImportService importService;
+	private final DatabaseImportStaging databaseImportStaging;
+	private final ImportJobService importJobService;
 	private final BudgetMasterUpdateService budgetMasterUpdateService;
 	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
 	private final List<Integer> SEARCH_RESULTS_PER_PAGE_OPTIONS = Arrays.asList(10, 20, 25, 30, 50, 100);
+	private static final String DATABASE_MANIFEST_ATTRIBUTE = "databaseManifest";
 
 	@Autowired
-	public SettingsController(SettingsRepository settingsRepository, UserRepository userRepository, DatabaseService databaseService, AccountService accountService, CategoryService categoryService, ImportService importService, BudgetMasterUpdateService budgetMasterUpdateService)
+	public SettingsController(SettingsRepository settingsRepository, SettingsService settingsService, UserRepository userRepository, DatabaseService databaseService, AccountService accountService, DatabaseImportStaging databaseImportStaging, ImportJobService importJobService, BudgetMasterUpdateService budgetMasterUpdateService)
 	{
 		this.settingsRepository = settingsRepository;
+		this.settingsService = settingsService;
 		this.userRepository = userRepository;
 		this.databaseService = databaseService;
 		this.accountService = accountService;
-		this.categoryService = categoryService;
-		this.importService = importService;
+		this.databaseImportStaging = databaseImportStaging;
+		this.importJobService = importJobService;
 		this.budgetMasterUpdateService = budgetMasterUpdateService;
 	}
 
@@ -72,7 +76,7 @@ public class SettingsController extends BaseController
 	{
 		model.addAttribute("settings", settingsRepository.findOne(0));
 		model.addAttribute("searchResultsPerPageOptions", SEARCH_RESULTS_PER_PAGE_OPTIONS);
-		request.removeAttribute("database", WebRequest.SCOPE_SESSION);
+		discardStagedDatabase(request);
 		return "settings/settings";
 	}
 
@@ -104,6 +108,9 @@ public class SettingsController extends BaseController
 		}
 		else
 		{
+			// fails without any change if the settings were modified in the meantime
+			settingsService.updateSettings(settings);
+
 			if(!password.equals("•••••"))
 			{
 				BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder();
@@ -113,9 +120,6 @@ public class SettingsController extends BaseController
 				userRepository.save(user);
 			}
 
-			settingsRepository.delete(0);
-			settingsRepository.save(settings);
-
 			Localization.load();
 		}
 
@@ -228,11 +232,10 @@ public class SettingsController extends BaseController
 
 		try
 		{
-			String jsonString = new String(file.getBytes(), Charset.forName("UTF-8"));
-			DatabaseParser importer = new DatabaseParser(jsonString, categoryService.getRepository().findByType(CategoryType.NONE));
-			Database database = importer.parseDatabaseFromJSON();
+			discardStagedDatabase(request);
+			DatabaseManifest manifest = databaseImportStaging.stage(file);
 
-			request.setAttribute("database", database, WebRequest.SCOPE_SESSION);
+			request.setAttribute(DATABASE_MANIFEST_ATTRIBUTE, manifest, WebRequest.SCOPE_SESSION);
 			return "redirect:/settings/database/accountMatcher";
 		}
 		catch(Exception e)
@@ -249,7 +252,13 @@ public class SettingsController extends BaseController
 	@RequestMapping("/settings/database/accountMatcher")
 	public String openAccountMatcher(WebRequest request, Model model)
 	{
-		model.addAttribute("database", request.getAttribute("database", WebRequest.SCOPE_SESSION));
+		Object manifest = request.getAttribute(DATABASE_MANIFEST_ATTRIBUTE, WebRequest.SCOPE_SESSION);
+		if(manifest == null)
+		{
+			return "redirect:/settings/database/requestImport";
+		}
+
+		model.addAttribute("database", manifest);
 		model.addAttribute("availableAccounts", accountService.getAllAccountsAsc());
 		model.addAttribute("settings", settingsRepository.findOne(0));
 		return "settings/import";
@@ -258,13 +267,83 @@ public class SettingsController extends BaseController
 	@RequestMapping("/settings/database/import")
 	public String importDatabase(WebRequest request, @ModelAttribute("Import") AccountMatchList accountMatchList, Model model)
 	{
-		importService.importDatabase((Database) request.getAttribute("database", WebRequest.SCOPE_SESSION), accountMatchList);
-		request.removeAttribute("database", RequestAttributes.SCOPE_SESSION);
+		DatabaseManifest manifest = (DatabaseManifest) request.getAttribute(DATABASE_MANIFEST_ATTRIBUTE, WebRequest.SCOPE_SESSION);
+		if(manifest == null)
+		{
+			return "redirect:/settings/database/requestImport";
+		}
+
+		// the staged database is owned by the import job from now on
+		request.removeAttribute(DATABASE_MANIFEST_ATTRIBUTE, WebRequest.SCOPE_SESSION);
+		try
+		{
+			model.addAttribute("importJob", importJobService.submit(manifest, accountMatchList));
+		}
+		catch(RejectedExecutionException e)
+		{
+			databaseImportStaging.discard(manifest);
+			model.addAttribute("errorImportDatabase", Localization.getString("error.database.import.busy"));
+		}
+
 		model.addAttribute("settings", settingsRepository.findOne(0));
 		model.addAttribute("searchResultsPerPageOptions", SEARCH_RESULTS_PER_PAGE_OPTIONS);
 		return "settings/settings";
 	}
 
+	@GetMapping(value = "/settings/database/import/jobs/{ID}", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+	@ResponseBody
+	public String getImportJob(@PathVariable("ID") String ID)
+	{
+		return toJson(getImportJobOrThrow(ID));
+	}
+
+	@PostMapping(value = "/settings/database/import/jobs/{ID}/cancel", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+	@ResponseBody
+	public String cancelImportJob(@PathVariable("ID") String ID)
+	{
+		ImportJob job = getImportJobOrThrow(ID);
+		importJobService.cancel(job);
+		return toJson(job);
+	}
+
+	@PostMapping(value = "/settings/database/import/jobs/{ID}/resume", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+	@ResponseBody
+	public String resumeImportJob(@PathVariable("ID") String ID)
+	{
+		ImportJob job = getImportJobOrThrow(ID);
+		importJobService.resume(job);
+		return toJson(job);
+	}
+
+	private ImportJob getImportJobOrThrow(String ID)
+	{
+		ImportJob job = importJobService.getJob(ID);
+		if(job == null)
+		{
+			throw new ResourceNotFoundException();
+		}
+		return job;
+	}
+
+	private String toJson(ImportJob job)
+	{
+		JsonObject json = new JsonObject();
+		json.addProperty("ID", job.getID());
+		json.addProperty("status", job.getStatus().name());
+		json.addProperty("phase", job.getPhase());
+		json.addProperty("numberOfImportedTransactions", job.getNumberOfImportedTransactions());
+		json.addProperty("numberOfTransactions", job.getNumberOfTransactions());
+		json.addProperty("resumable", job.isResumable());
+		json.addProperty("errorMessage", job.getErrorMessage());
+		return json.toString();
+	}
+
+	private void discardStagedDatabase(WebRequest request)
+	{
+		databaseImportStaging.discard((DatabaseManifest) request.getAttribute(DATABASE_MANIFEST_ATTRIBUTE, WebRequest.SCOPE_SESSION));
+		request.removeAttribute(DATABASE_MANIFEST_ATTRIBUTE, WebRequest.SCOPE_SESSION);
+	}
+
 	@RequestMapping("/updateSearch")
 	public String updateSearch()
 	{
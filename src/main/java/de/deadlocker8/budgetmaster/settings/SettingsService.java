@@ -4,7 +4,11 @@ import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Objects;
 
 @Service
 public class SettingsService
@@ -16,33 +20,16 @@ public class SettingsService
 	public SettingsService(SettingsRepository settingsRepository)
 	{
 		this.settingsRepository = settingsRepository;
-		createDefaultSettingsIfNotExists();
 	}
 
-	private void createDefaultSettingsIfNotExists()
+	public void createDefaultSettingsIfNotExists()
 	{
+		// settings of older databases are completed by the schema migration
 		if(settingsRepository.findOne(0) == null)
 		{
 			settingsRepository.save(Settings.getDefault());
 			LOGGER.debug("Created default settings");
 		}
-
-		Settings defaultSettings = Settings.getDefault();
-		Settings settings = settingsRepository.findOne(0);
-		if(settings.getBackupReminderActivated() == null)
-		{
-			settings.setBackupReminderActivated(defaultSettings.getBackupReminderActivated());
-		}
-		if(settings.getLastBackupReminderDate() == null)
-		{
-			settings.setLastBackupReminderDate(defaultSettings.getLastBackupReminderDate());
-		}
-		if(settings.getSearchItemsPerPage() == null)
-		{
-			settings.setSearchItemsPerPage(defaultSettings.getSearchItemsPerPage());
-		}
-		settingsRepository.delete(0);
-		settingsRepository.save(settings);
 	}
 
 	public Settings getSettings()
@@ -50,11 +37,27 @@ public class SettingsService
 		return settingsRepository.findOne(0);
 	}
 
+	/**
+	 * Replaces the stored settings with the given ones in a single update.
+	 *
+	 * @throws ObjectOptimisticLockingFailureException if the settings were modified since the given state was loaded
+	 */
+	@Transactional
+	public Settings updateSettings(Settings settings)
+	{
+		Settings existingSettings = getSettings();
+		if(existingSettings == null || !Objects.equals(existingSettings.getVersion(), settings.getVersion()))
+		{
+			throw new ObjectOptimisticLockingFailureException(Settings.class, settings.getID());
+		}
+		return settingsRepository.save(settings);
+	}
+
+	@Transactional
 	public void updateLastBackupReminderDate()
 	{
 		Settings settings = getSettings();
 		settings.setLastBackupReminderDate(DateTime.now());
-		settingsRepository.delete(0);
 		settingsRepository.save(settings);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package de.deadlocker8.budgetmaster.startup;
+
+import de.deadlocker8.budgetmaster.authentication.UserService;
+import de.deadlocker8.budgetmaster.reports.settings.ReportSettingsService;
+import de.deadlocker8.budgetmaster.services.LocalizationService;
+import de.deadlocker8.budgetmaster.services.Resetable;
+import de.deadlocker8.budgetmaster.settings.SettingsService;
+import de.deadlocker8.budgetmaster.summary.MonthlySummaryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Creates the default data once all beans are available and before the web server accepts requests.
+ * Services must not query the database in their constructors, otherwise the context refresh is slowed down.
+ */
+@Service
+public class StartupService
+{
+	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+	private final SettingsService settingsService;
+	private final LocalizationService localizationService;
+	private final ReportSettingsService reportSettingsService;
+	private final List<Resetable> resetables;
+	private final UserService userService;
+	private final MonthlySummaryService monthlySummaryService;
+
+	private boolean isInitialized = false;
+
+	@Autowired
+	public StartupService(SettingsService settingsService, LocalizationService localizationService, ReportSettingsService reportSettingsService, List<Resetable> resetables, UserService userService, MonthlySummaryService monthlySummaryService)
+	{
+		this.settingsService = settingsService;
+		this.localizationService = localizationService;
+		this.reportSettingsService = reportSettingsService;
+		this.resetables = resetables;
+		this.userService = userService;
+		this.monthlySummaryService = monthlySummaryService;
+	}
+
+	@EventListener
+	public synchronized void onContextRefreshed(ContextRefreshedEvent event)
+	{
+		if(isInitialized)
+		{
+			return;
+		}
+		isInitialized = true;
+
+		StartupTimer.record("context refresh", event.getApplicationContext().getStartupDate());
+
+		long startTime = System.currentTimeMillis();
+
+		// the localization depends on the language stored in the settings
+		StartupTimer.measure("default settings", settingsService::createDefaultSettingsIfNotExists);
+		StartupTimer.measure("localization", localizationService::load);
+
+		// independent tables, may be filled in parallel
+		Map<String, Runnable> defaults = new LinkedHashMap<>();
+		for(Resetable resetable : resetables)
+		{
+			defaults.put(ClassUtils.getUserClass(resetable).getSimpleName(), resetable::createDefaults);
+		}
+		defaults.put(ReportSettingsService.class.getSimpleName(), reportSettingsService::createDefaultReportSettingsIfNotExists);
+		runParallel(defaults);
+
+		// the default user references the selected account
+		StartupTimer.measure("default user", userService::createDefaultUserIfNotExists);
+		StartupTimer.measure("monthly summaries", monthlySummaryService::rebuildIfMissing);
+
+		StartupTimer.record("default data", startTime);
+	}
+
+	private void runParallel(Map<String, Runnable> tasks)
+	{
+		int numberOfThreads = Math.max(1, Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()));
+		ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+		try
+		{
+			List<Future<?>> futures = new ArrayList<>();
+			for(Map.Entry<String, Runnable> task : tasks.entrySet())
+			{
+				futures.add(executor.submit(() -> StartupTimer.measure(task.getKey(), task.getValue())));
+			}
+
+			for(Future<?> future : futures)
+			{
+				future.get();
+			}
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Creating default data was interrupted", e);
+		}
+		catch(ExecutionException e)
+		{
+			throw new IllegalStateException("Error while creating default data", e.getCause());
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void logStartupTimes()
+	{
+		LOGGER.info("Startup times: " + StartupTimer.getReport());
+	}
+}
@@ -0,0 +1,44 @@
+package de.deadlocker8.budgetmaster.startup;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the duration of each startup phase.
+ * Phases before the Spring context exists are recorded too, therefore this is not a bean.
+ */
+public class StartupTimer
+{
+	private static final List<String> phases = Collections.synchronizedList(new ArrayList<>());
+
+	private StartupTimer()
+	{
+	}
+
+	public static void measure(String phase, Runnable runnable)
+	{
+		long startTime = System.currentTimeMillis();
+		runnable.run();
+		record(phase, startTime);
+	}
+
+	public static void record(String phase, long startTime)
+	{
+		phases.add(phase + "=" + (System.currentTimeMillis() - startTime) + "ms");
+	}
+
+	public static long getMillisSinceJvmStart()
+	{
+		return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+	}
+
+	public static String getReport()
+	{
+		synchronized(phases)
+		{
+			return String.join(", ", phases) + ", total since JVM start=" + getMillisSinceJvmStart() + "ms";
+		}
+	}
+}
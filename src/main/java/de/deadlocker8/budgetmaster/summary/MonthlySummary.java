@@ -0,0 +1,179 @@
+package de.deadlocker8.budgetmaster.summary;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.services.DataChangeListener;
+
+import javax.persistence.*;
+import java.util.Objects;
+
+@Entity
+@EntityListeners(DataChangeListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "summary_year", "summary_month"}))
+public class MonthlySummary
+{
+	@Id
+	@GeneratedValue(strategy = GenerationType.AUTO)
+	private Integer ID;
+
+	@ManyToOne
+	private Account account;
+
+	@Column(name = "summary_year")
+	private int year;
+
+	@Column(name = "summary_month")
+	private int month;
+
+	private int incomeSum;
+	private int expenditureSum;
+	private int transferInSum;
+	private int transferOutSum;
+
+	// account balance at the end of this month (includes all previous months)
+	private int closingBalance;
+
+	public MonthlySummary(Account account, int year, int month)
+	{
+		this.account = account;
+		this.year = year;
+		this.month = month;
+	}
+
+	public MonthlySummary()
+	{
+	}
+
+	public Integer getID()
+	{
+		return ID;
+	}
+
+	public void setID(Integer ID)
+	{
+		this.ID = ID;
+	}
+
+	public Account getAccount()
+	{
+		return account;
+	}
+
+	public void setAccount(Account account)
+	{
+		this.account = account;
+	}
+
+	public int getYear()
+	{
+		return year;
+	}
+
+	public void setYear(int year)
+	{
+		this.year = year;
+	}
+
+	public int getMonth()
+	{
+		return month;
+	}
+
+	public void setMonth(int month)
+	{
+		this.month = month;
+	}
+
+	public int getIncomeSum()
+	{
+		return incomeSum;
+	}
+
+	public void setIncomeSum(int incomeSum)
+	{
+		this.incomeSum = incomeSum;
+	}
+
+	public int getExpenditureSum()
+	{
+		return expenditureSum;
+	}
+
+	public void setExpenditureSum(int expenditureSum)
+	{
+		this.expenditureSum = expenditureSum;
+	}
+
+	public int getTransferInSum()
+	{
+		return transferInSum;
+	}
+
+	public void setTransferInSum(int transferInSum)
+	{
+		this.transferInSum = transferInSum;
+	}
+
+	public int getTransferOutSum()
+	{
+		return transferOutSum;
+	}
+
+	public void setTransferOutSum(int transferOutSum)
+	{
+		this.transferOutSum = transferOutSum;
+	}
+
+	public int getClosingBalance()
+	{
+		return closingBalance;
+	}
+
+	public void setClosingBalance(int closingBalance)
+	{
+		this.closingBalance = closingBalance;
+	}
+
+	public int getMonthlyDelta()
+	{
+		return incomeSum + expenditureSum + transferInSum + transferOutSum;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "MonthlySummary{" +
+				"ID=" + ID +
+				", account=Account[ID=" + account.getID() + ", name=" + account.getName() + "]" +
+				", year=" + year +
+				", month=" + month +
+				", incomeSum=" + incomeSum +
+				", expenditureSum=" + expenditureSum +
+				", transferInSum=" + transferInSum +
+				", transferOutSum=" + transferOutSum +
+				", closingBalance=" + closingBalance +
+				'}';
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		if(this == o) return true;
+		if(o == null || getClass() != o.getClass()) return false;
+		MonthlySummary that = (MonthlySummary) o;
+		return year == that.year &&
+				month == that.month &&
+				incomeSum == that.incomeSum &&
+				expenditureSum == that.expenditureSum &&
+				transferInSum == that.transferInSum &&
+				transferOutSum == that.transferOutSum &&
+				closingBalance == that.closingBalance &&
+				Objects.equals(ID, that.ID) &&
+				Objects.equals(account, that.account);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return Objects.hash(ID, account, year, month, incomeSum, expenditureSum, transferInSum, transferOutSum, closingBalance);
+	}
+}
@@ -0,0 +1,29 @@
+package de.deadlocker8.budgetmaster.summary;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+
+public interface MonthlySummaryRepository extends JpaRepository<MonthlySummary, Integer>
+{
+	MonthlySummary findByAccountAndYearAndMonth(Account account, int year, int month);
+
+	List<MonthlySummary> findAllByYearAndMonth(int year, int month);
+
+	List<MonthlySummary> findAllByAccount(Account account);
+
+	@Query("SELECT s FROM MonthlySummary s WHERE s.account = ?1 AND (s.year > ?2 OR (s.year = ?2 AND s.month >= ?3)) ORDER BY s.year ASC, s.month ASC")
+	List<MonthlySummary> findAllFromMonth(Account account, int year, int month);
+
+	@Query("SELECT s FROM MonthlySummary s WHERE s.account = ?1 AND (s.year < ?2 OR (s.year = ?2 AND s.month < ?3)) ORDER BY s.year DESC, s.month DESC")
+	List<MonthlySummary> findLatestBeforeMonth(Account account, int year, int month, Pageable pageable);
+
+	@Query("SELECT SUM(s.closingBalance) FROM MonthlySummary s WHERE (s.year < ?1 OR (s.year = ?1 AND s.month < ?2)) AND NOT EXISTS " +
+			"(SELECT later FROM MonthlySummary later WHERE later.account = s.account AND (later.year < ?1 OR (later.year = ?1 AND later.month < ?2)) " +
+			"AND (later.year > s.year OR (later.year = s.year AND later.month > s.month)))")
+	Long sumLatestClosingBalancesBeforeMonth(int year, int month);
+}
@@ -0,0 +1,275 @@
+package de.deadlocker8.budgetmaster.summary;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
+import de.deadlocker8.budgetmaster.reports.Budget;
+import de.deadlocker8.budgetmaster.transactions.Transaction;
+import de.deadlocker8.budgetmaster.transactions.TransactionRepository;
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Maintains the precomputed income, expenditure and transfer sums per account and month.
+ * Every write to a transaction has to be reported via {@link #addTransaction(Transaction)} and {@link #removeTransaction(Transaction)}.
+ */
+@Service
+public class MonthlySummaryService
+{
+	private static final int REBUILD_BATCH_SIZE = 1000;
+
+	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+	private MonthlySummaryRepository monthlySummaryRepository;
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	public MonthlySummaryService(MonthlySummaryRepository monthlySummaryRepository, TransactionRepository transactionRepository)
+	{
+		this.monthlySummaryRepository = monthlySummaryRepository;
+		this.transactionRepository = transactionRepository;
+	}
+
+	public MonthlySummaryRepository getRepository()
+	{
+		return monthlySummaryRepository;
+	}
+
+	@Transactional
+	public void addTransaction(Transaction transaction)
+	{
+		applyTransaction(transaction, 1);
+	}
+
+	@Transactional
+	public void removeTransaction(Transaction transaction)
+	{
+		applyTransaction(transaction, -1);
+	}
+
+	private void applyTransaction(Transaction transaction, int sign)
+	{
+		if(transaction.getAccount() == null || transaction.getDate() == null || transaction.getAmount() == null)
+		{
+			return;
+		}
+
+		int year = transaction.getDate().getYear();
+		int month = transaction.getDate().getMonthOfYear();
+
+		applyAmount(transaction.getAccount(), year, month, transaction.getAmount(), transaction.isTransfer(), sign);
+
+		if(transaction.isTransfer())
+		{
+			// the destination account receives the inverted amount
+			applyAmount(transaction.getTransferAccount(), year, month, -transaction.getAmount(), true, sign);
+		}
+	}
+
+	private void applyAmount(Account account, int year, int month, int amount, boolean isTransfer, int sign)
+	{
+		MonthlySummary summary = getOrCreateSummary(account, year, month);
+		addToSums(summary, amount, isTransfer, sign);
+		monthlySummaryRepository.save(summary);
+
+		int delta = sign * amount;
+
+		// closing balances of this and all following months are shifted by the same delta
+		List<MonthlySummary> followingSummaries = monthlySummaryRepository.findAllFromMonth(account, year, month);
+		for(MonthlySummary followingSummary : followingSummaries)
+		{
+			followingSummary.setClosingBalance(followingSummary.getClosingBalance() + delta);
+		}
+		monthlySummaryRepository.save(followingSummaries);
+	}
+
+	private MonthlySummary getOrCreateSummary(Account account, int year, int month)
+	{
+		MonthlySummary summary = monthlySummaryRepository.findByAccountAndYearAndMonth(account, year, month);
+		if(summary != null)
+		{
+			return summary;
+		}
+
+		summary = new MonthlySummary(account, year, month);
+		summary.setClosingBalance(getClosingBalanceBefore(account, year, month));
+		return monthlySummaryRepository.save(summary);
+	}
+
+	/**
+	 * Returns the balance of the account at the end of the month before the given month.
+	 * The balance of all accounts is the sum of the balances of every account, as transfers cancel each other out.
+	 */
+	public int getClosingBalanceBefore(Account account, int year, int month)
+	{
+		if(account.getType().equals(AccountType.ALL))
+		{
+			Long closingBalance = monthlySummaryRepository.sumLatestClosingBalancesBeforeMonth(year, month);
+			if(closingBalance == null)
+			{
+				return 0;
+			}
+			return closingBalance.intValue();
+		}
+
+		List<MonthlySummary> previousSummaries = monthlySummaryRepository.findLatestBeforeMonth(account, year, month, new PageRequest(0, 1));
+		if(previousSummaries.isEmpty())
+		{
+			return 0;
+		}
+		return previousSummaries.get(0).getClosingBalance();
+	}
+
+	public Budget getBudget(Account account, int month, int year, boolean isRestActivated)
+	{
+		int incomeSum = 0;
+		int expenditureSum = 0;
+
+		// All accounts: transfers are excluded and there is no rest
+		if(account.getType().equals(AccountType.ALL))
+		{
+			for(MonthlySummary summary : monthlySummaryRepository.findAllByYearAndMonth(year, month))
+			{
+				incomeSum += summary.getIncomeSum();
+				expenditureSum += summary.getExpenditureSum();
+			}
+			return new Budget(incomeSum, expenditureSum);
+		}
+
+		MonthlySummary summary = monthlySummaryRepository.findByAccountAndYearAndMonth(account, year, month);
+		if(summary != null)
+		{
+			incomeSum += summary.getIncomeSum() + summary.getTransferInSum();
+			expenditureSum += summary.getExpenditureSum() + summary.getTransferOutSum();
+		}
+
+		if(isRestActivated)
+		{
+			int rest = getClosingBalanceBefore(account, year, month);
+			if(rest > 0)
+			{
+				incomeSum += rest;
+			}
+			else
+			{
+				expenditureSum += rest;
+			}
+		}
+
+		return new Budget(incomeSum, expenditureSum);
+	}
+
+	@Transactional
+	public void deleteAllForAccount(Account account)
+	{
+		monthlySummaryRepository.delete(monthlySummaryRepository.findAllByAccount(account));
+	}
+
+	@Transactional
+	public void deleteAll()
+	{
+		monthlySummaryRepository.deleteAllInBatch();
+	}
+
+	/**
+	 * Recalculates all summaries from scratch by reading every transaction once.
+	 * Only the columns needed for the sums are loaded, in batches of {@link #REBUILD_BATCH_SIZE}.
+	 */
+	@Transactional
+	public void rebuild()
+	{
+		LOGGER.debug("Rebuilding monthly summaries...");
+		monthlySummaryRepository.deleteAllInBatch();
+
+		Map<Integer, TreeMap<Integer, MonthlySummary>> summariesByAccount = new HashMap<>();
+		int numberOfTransactions = 0;
+		Integer lastID = 0;
+		List<Object[]> rows;
+		do
+		{
+			rows = transactionRepository.findSummaryRowsAfterID(lastID, new PageRequest(0, REBUILD_BATCH_SIZE));
+			for(Object[] row : rows)
+			{
+				Account account = (Account) row[1];
+				Account transferAccount = (Account) row[2];
+				DateTime date = (DateTime) row[3];
+				int amount = (Integer) row[4];
+				int year = date.getYear();
+				int month = date.getMonthOfYear();
+
+				boolean isTransfer = transferAccount != null;
+				accumulate(summariesByAccount, account, year, month, amount, isTransfer);
+				if(isTransfer)
+				{
+					accumulate(summariesByAccount, transferAccount, year, month, -amount, true);
+				}
+				lastID = (Integer) row[0];
+			}
+			numberOfTransactions += rows.size();
+		}
+		while(rows.size() == REBUILD_BATCH_SIZE);
+
+		List<MonthlySummary> summaries = new ArrayList<>();
+		for(TreeMap<Integer, MonthlySummary> accountSummaries : summariesByAccount.values())
+		{
+			int closingBalance = 0;
+			for(MonthlySummary summary : accountSummaries.values())
+			{
+				closingBalance += summary.getMonthlyDelta();
+				summary.setClosingBalance(closingBalance);
+				summaries.add(summary);
+			}
+		}
+
+		monthlySummaryRepository.save(summaries);
+		LOGGER.debug("Rebuilt " + summaries.size() + " monthly summaries from " + numberOfTransactions + " transactions");
+	}
+
+	private void accumulate(Map<Integer, TreeMap<Integer, MonthlySummary>> summariesByAccount, Account account, int year, int month, int amount, boolean isTransfer)
+	{
+		TreeMap<Integer, MonthlySummary> accountSummaries = summariesByAccount.computeIfAbsent(account.getID(), key -> new TreeMap<>());
+		MonthlySummary summary = accountSummaries.computeIfAbsent(year * 12 + month, key -> new MonthlySummary(account, year, month));
+		addToSums(summary, amount, isTransfer, 1);
+	}
+
+	private void addToSums(MonthlySummary summary, int amount, boolean isTransfer, int sign)
+	{
+		// the sign of the original amount decides the bucket, so that removing a transaction hits the same sum
+		int delta = sign * amount;
+		if(isTransfer)
+		{
+			if(amount > 0)
+			{
+				summary.setTransferInSum(summary.getTransferInSum() + delta);
+			}
+			else
+			{
+				summary.setTransferOutSum(summary.getTransferOutSum() + delta);
+			}
+		}
+		else
+		{
+			if(amount > 0)
+			{
+				summary.setIncomeSum(summary.getIncomeSum() + delta);
+			}
+			else
+			{
+				summary.setExpenditureSum(summary.getExpenditureSum() + delta);
+			}
+		}
+	}
+
+	public void rebuildIfMissing()
+	{
+		if(monthlySummaryRepository.count() == 0 && transactionRepository.count() > 0)
+		{
+			rebuild();
+		}
+	}
+}
@@ -1,15 +1,19 @@
 package de.deadlocker8.budgetmaster.tags;
 
 import com.google.gson.annotations.Expose;
+import de.deadlocker8.budgetmaster.filter.FilterObjectChangeListener;
+import de.deadlocker8.budgetmaster.services.DataChangeListener;
 import de.deadlocker8.budgetmaster.transactions.Transaction;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 
 @Entity
+@EntityListeners({FilterObjectChangeListener.class, DataChangeListener.class})
 public class Tag
 {
 	@Id
@@ -23,6 +27,10 @@ public class Tag
 	@Expose
 	private String name;
 
+	// lower case name without surrounding whitespace, used to find tags regardless of their spelling
+	@Column(unique=true)
+	private String normalizedName;
+
 	@ManyToMany(mappedBy = "tags", fetch = FetchType.LAZY)
 	private List<Transaction> referringTransactions;
 
@@ -32,7 +40,16 @@ public class Tag
 
 	public Tag(String name)
 	{
-		this.name = name;
+		setName(name);
+	}
+
+	public static String normalize(String name)
+	{
+		if(name == null)
+		{
+			return null;
+		}
+		return name.trim().toLowerCase(Locale.ROOT);
 	}
 
 	public Integer getID()
@@ -53,6 +70,12 @@ public class Tag
 	public void setName(String name)
 	{
 		this.name = name;
+		this.normalizedName = normalize(name);
+	}
+
+	public String getNormalizedName()
+	{
+		return normalizedName;
 	}
 
 	public List<Transaction> getReferringTransactions()
@@ -0,0 +1,35 @@
+package de.deadlocker8.budgetmaster.tags;
+
+import com.google.gson.Gson;
+import de.deadlocker8.budgetmaster.controller.BaseController;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+@Controller
+public class TagController extends BaseController
+{
+	private static final int MAX_NUMBER_OF_SUGGESTIONS = 50;
+
+	private static final Gson GSON = new Gson();
+
+	private final TagService tagService;
+
+	@Autowired
+	public TagController(TagService tagService)
+	{
+		this.tagService = tagService;
+	}
+
+	@GetMapping(value = "/tags/autocomplete", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+	@ResponseBody
+	public String autocomplete(@RequestParam(value = "prefix", required = false, defaultValue = "") String prefix,
+							   @RequestParam(value = "limit", required = false, defaultValue = "" + TagService.DEFAULT_NUMBER_OF_SUGGESTIONS) int limit)
+	{
+		int numberOfSuggestions = Math.max(1, Math.min(limit, MAX_NUMBER_OF_SUGGESTIONS));
+		return GSON.toJson(tagService.getSuggestions(prefix, numberOfSuggestions));
+	}
+}
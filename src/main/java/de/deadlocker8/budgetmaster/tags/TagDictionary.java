@@ -0,0 +1,102 @@
+package de.deadlocker8.budgetmaster.tags;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory copy of all tags (normalized name -> ID and ID -> name).
+ * Loaded with a single query on first access and afterwards only updated by the TagService.
+ * All returned tags are detached copies.
+ */
+public class TagDictionary
+{
+	private final TagRepository tagRepository;
+
+	private Map<String, Integer> idsByNormalizedName;
+	private Map<Integer, String> namesByID;
+
+	public TagDictionary(TagRepository tagRepository)
+	{
+		this.tagRepository = tagRepository;
+	}
+
+	public synchronized Tag getByName(String name)
+	{
+		ensureLoaded();
+		Integer ID = idsByNormalizedName.get(Tag.normalize(name));
+		if(ID == null)
+		{
+			return null;
+		}
+		return createTag(ID);
+	}
+
+	public synchronized Tag getByID(Integer ID)
+	{
+		ensureLoaded();
+		if(!namesByID.containsKey(ID))
+		{
+			return null;
+		}
+		return createTag(ID);
+	}
+
+	public synchronized List<Tag> getAllTagsAsc()
+	{
+		ensureLoaded();
+		List<Tag> tags = new ArrayList<>();
+		for(Integer ID : namesByID.keySet())
+		{
+			tags.add(createTag(ID));
+		}
+		tags.sort(Comparator.comparing(Tag::getName));
+		return tags;
+	}
+
+	public synchronized void put(Tag tag)
+	{
+		if(namesByID == null)
+		{
+			// will be contained after loading anyway
+			return;
+		}
+
+		idsByNormalizedName.put(tag.getNormalizedName(), tag.getID());
+		namesByID.put(tag.getID(), tag.getName());
+	}
+
+	/**
+	 * Discards all tags. The dictionary is reloaded on the next access.
+	 */
+	public synchronized void invalidate()
+	{
+		idsByNormalizedName = null;
+		namesByID = null;
+	}
+
+	private void ensureLoaded()
+	{
+		if(namesByID != null)
+		{
+			return;
+		}
+
+		idsByNormalizedName = new HashMap<>();
+		namesByID = new HashMap<>();
+		for(Tag tag : tagRepository.findAll())
+		{
+			idsByNormalizedName.put(tag.getNormalizedName(), tag.getID());
+			namesByID.put(tag.getID(), tag.getName());
+		}
+	}
+
+	private Tag createTag(Integer ID)
+	{
+		Tag tag = new Tag(namesByID.get(ID));
+		tag.setID(ID);
+		return tag;
+	}
+}
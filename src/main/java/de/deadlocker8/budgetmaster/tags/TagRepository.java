@@ -1,7 +1,9 @@
 package de.deadlocker8.budgetmaster.tags;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 
@@ -9,5 +11,14 @@ public interface TagRepository extends JpaRepository<Tag, Integer>
 {
 	Tag findByName(String name);
 
+	List<Tag> findAllByNormalizedNameIn(Collection<String> normalizedNames);
+
 	List<Tag> findAllByOrderByNameAsc();
+
+	@Query("SELECT t FROM Tag t WHERE t.referringTransactions IS EMPTY")
+	List<Tag> findAllUnused();
+
+	// tag ID and number of transactions using the tag (unused tags are omitted)
+	@Query("SELECT tag.ID, COUNT(transaction) FROM Transaction transaction JOIN transaction.tags tag GROUP BY tag.ID")
+	List<Object[]> countUsages();
 }
\ No newline at end of file
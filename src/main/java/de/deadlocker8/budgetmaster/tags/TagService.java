@@ -5,17 +5,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
 
 @Service
 public class TagService implements Resetable
 {
+	public static final int DEFAULT_NUMBER_OF_SUGGESTIONS = 10;
+
 	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
 	private TagRepository tagRepository;
+	private final TagDictionary tagDictionary;
+
+	// rebuilt on demand after tags were added or deleted (usage counts are refreshed at least by each run of the TagScheduler)
+	private volatile TagSuggestionIndex suggestionIndex;
 
 	@Autowired
 	public TagService(TagRepository tagRepository)
 	{
 		this.tagRepository = tagRepository;
+		this.tagDictionary = new TagDictionary(tagRepository);
 	}
 
 	public TagRepository getRepository()
@@ -23,10 +35,156 @@ public class TagService implements Resetable
 		return tagRepository;
 	}
 
+	public List<Tag> getAllTagsAsc()
+	{
+		return tagDictionary.getAllTagsAsc();
+	}
+
+	public Tag getTagByName(String name)
+	{
+		return tagDictionary.getByName(name);
+	}
+
+	/**
+	 * Returns the names of the most used tags starting with the given prefix.
+	 */
+	public List<String> getSuggestions(String prefix, int limit)
+	{
+		TagSuggestionIndex index = suggestionIndex;
+		if(index == null)
+		{
+			index = buildSuggestionIndex();
+			suggestionIndex = index;
+		}
+		return index.getSuggestions(prefix, limit);
+	}
+
+	private TagSuggestionIndex buildSuggestionIndex()
+	{
+		Map<Integer, Long> usagesByTagID = new HashMap<>();
+		for(Object[] row : tagRepository.countUsages())
+		{
+			usagesByTagID.put((Integer) row[0], (Long) row[1]);
+		}
+
+		TagSuggestionIndex index = new TagSuggestionIndex(tagDictionary.getAllTagsAsc(), usagesByTagID);
+		LOGGER.debug("Built tag suggestion index with " + index.size() + " tags");
+		return index;
+	}
+
+	/**
+	 * Returns the tags for the given names in the same order.
+	 * Names are compared case-insensitive and without surrounding whitespace, duplicates are only included once.
+	 * Tags known by the dictionary are resolved without any query, all others are loaded with a single query
+	 * and the missing ones are created together.
+	 */
+	@Transactional
+	public List<Tag> resolveTags(Collection<String> names)
+	{
+		Map<String, String> namesByNormalizedName = new LinkedHashMap<>();
+		for(String name : names)
+		{
+			namesByNormalizedName.putIfAbsent(Tag.normalize(name), name);
+		}
+
+		Map<String, Tag> tagsByNormalizedName = new HashMap<>();
+		List<String> unknownNormalizedNames = new ArrayList<>();
+		for(String normalizedName : namesByNormalizedName.keySet())
+		{
+			Tag tag = tagDictionary.getByName(normalizedName);
+			if(tag == null)
+			{
+				unknownNormalizedNames.add(normalizedName);
+			}
+			else
+			{
+				tagsByNormalizedName.put(normalizedName, tag);
+			}
+		}
+
+		if(!unknownNormalizedNames.isEmpty())
+		{
+			List<Tag> newTags = new ArrayList<>(tagRepository.findAllByNormalizedNameIn(unknownNormalizedNames));
+			for(Tag tag : newTags)
+			{
+				tagsByNormalizedName.put(tag.getNormalizedName(), tag);
+			}
+
+			List<Tag> missingTags = new ArrayList<>();
+			for(String normalizedName : unknownNormalizedNames)
+			{
+				if(!tagsByNormalizedName.containsKey(normalizedName))
+				{
+					missingTags.add(new Tag(namesByNormalizedName.get(normalizedName).trim()));
+				}
+			}
+
+			if(!missingTags.isEmpty())
+			{
+				LOGGER.debug("Creating " + missingTags.size() + " new tags");
+				for(Tag tag : tagRepository.save(missingTags))
+				{
+					tagsByNormalizedName.put(tag.getNormalizedName(), tag);
+					newTags.add(tag);
+				}
+			}
+
+			// the dictionary must not contain tags that are lost on rollback
+			afterCommit(() -> {
+				newTags.forEach(tagDictionary::put);
+				suggestionIndex = null;
+			});
+		}
+
+		List<Tag> tags = new ArrayList<>();
+		for(String normalizedName : namesByNormalizedName.keySet())
+		{
+			tags.add(tagsByNormalizedName.get(normalizedName));
+		}
+		return tags;
+	}
+
+	public void deleteUnusedTags()
+	{
+		// refreshes the usage counts of the suggestions periodically
+		suggestionIndex = null;
+
+		List<Tag> unusedTags = tagRepository.findAllUnused();
+		if(unusedTags.isEmpty())
+		{
+			return;
+		}
+
+		LOGGER.debug("Deleting " + unusedTags.size() + " unused tags");
+		tagRepository.delete(unusedTags);
+		tagDictionary.invalidate();
+		suggestionIndex = null;
+	}
+
+	private void afterCommit(Runnable runnable)
+	{
+		if(!TransactionSynchronizationManager.isSynchronizationActive())
+		{
+			runnable.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+		{
+			@Override
+			public void afterCommit()
+			{
+				runnable.run();
+			}
+		});
+	}
+
 	@Override
 	public void deleteAll()
 	{
 		tagRepository.deleteAll();
+		tagDictionary.invalidate();
+		suggestionIndex = null;
 	}
 
 	@Override
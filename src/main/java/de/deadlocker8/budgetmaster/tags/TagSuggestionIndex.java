@@ -0,0 +1,113 @@
+package de.deadlocker8.budgetmaster.tags;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable prefix index over all tag names.
+ * Tags are kept in an array sorted by normalized name, so all tags with a given prefix form a contiguous range
+ * that is found with a binary search. Matches are ranked by the number of transactions using the tag.
+ */
+public class TagSuggestionIndex
+{
+	private static final Comparator<Entry> BY_USAGE = Comparator.comparingLong((Entry entry) -> entry.usages).reversed()
+			.thenComparing(entry -> entry.normalizedName);
+
+	private final Entry[] entriesByName;
+	private final Entry[] entriesByUsage;
+
+	/**
+	 * @param tags          all tags
+	 * @param usagesByTagID number of transactions per tag ID (tags without entry are unused)
+	 */
+	public TagSuggestionIndex(List<Tag> tags, Map<Integer, Long> usagesByTagID)
+	{
+		entriesByName = new Entry[tags.size()];
+		for(int i = 0; i < tags.size(); i++)
+		{
+			Tag tag = tags.get(i);
+			entriesByName[i] = new Entry(tag.getName(), Tag.normalize(tag.getName()), usagesByTagID.getOrDefault(tag.getID(), 0L));
+		}
+		Arrays.sort(entriesByName, Comparator.comparing(entry -> entry.normalizedName));
+
+		entriesByUsage = entriesByName.clone();
+		Arrays.sort(entriesByUsage, BY_USAGE);
+	}
+
+	/**
+	 * Returns the names of the most used tags starting with the given prefix (case-insensitive).
+	 * An empty prefix returns the most used tags overall.
+	 */
+	public List<String> getSuggestions(String prefix, int limit)
+	{
+		String normalizedPrefix = prefix == null ? "" : Tag.normalize(prefix);
+		if(normalizedPrefix.isEmpty())
+		{
+			return getNames(Arrays.asList(entriesByUsage), limit);
+		}
+
+		List<Entry> matches = new ArrayList<>();
+		for(int i = findFirstIndex(normalizedPrefix); i < entriesByName.length; i++)
+		{
+			if(!entriesByName[i].normalizedName.startsWith(normalizedPrefix))
+			{
+				break;
+			}
+			matches.add(entriesByName[i]);
+		}
+
+		matches.sort(BY_USAGE);
+		return getNames(matches, limit);
+	}
+
+	public int size()
+	{
+		return entriesByName.length;
+	}
+
+	private int findFirstIndex(String normalizedPrefix)
+	{
+		int low = 0;
+		int high = entriesByName.length;
+		while(low < high)
+		{
+			int middle = (low + high) >>> 1;
+			if(entriesByName[middle].normalizedName.compareTo(normalizedPrefix) < 0)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private List<String> getNames(List<Entry> entries, int limit)
+	{
+		List<String> names = new ArrayList<>();
+		for(int i = 0; i < Math.min(limit, entries.size()); i++)
+		{
+			names.add(entries.get(i).name);
+		}
+		return names;
+	}
+
+	private static class Entry
+	{
+		private final String name;
+		private final String normalizedName;
+		private final long usages;
+
+		private Entry(String name, String normalizedName, long usages)
+		{
+			this.name = name;
+			this.normalizedName = normalizedName;
+			this.usages = usages;
+		}
+	}
+}
@@ -11,5 +11,6 @@ public class Tag_
 {
 	public static volatile SingularAttribute<Tag, Integer> ID;
 	public static volatile SingularAttribute<Tag, String> name;
+	public static volatile SingularAttribute<Tag, String> normalizedName;
 	public static volatile ListAttribute<Tag, Transaction> referringTransactions;
 }
@@ -5,21 +5,28 @@ import de.deadlocker8.budgetmaster.tags.Tag;
 import de.deadlocker8.budgetmaster.accounts.Account;
 import de.deadlocker8.budgetmaster.categories.Category;
 import de.deadlocker8.budgetmaster.repeating.RepeatingOption;
+import de.deadlocker8.budgetmaster.services.DataChangeListener;
 import org.joda.time.DateTime;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.util.DigestUtils;
 
 import javax.persistence.*;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 
 @Entity
+@EntityListeners(DataChangeListener.class)
 public class Transaction
 {
 	@Id
 	@GeneratedValue(strategy = GenerationType.AUTO)
 	@Expose
 	private Integer ID;
+	@Version
+	private Integer version;
 	@Expose
 	private Integer amount;
 
@@ -58,6 +65,9 @@ public class Transaction
 	@Expose
 	private Account transferAccount;
 
+	// not exported, it is recalculated whenever the transaction is saved
+	private String fingerprint;
+
 	public Transaction()
 	{
 	}
@@ -86,6 +96,16 @@ public class Transaction
 		this.ID = ID;
 	}
 
+	public Integer getVersion()
+	{
+		return version;
+	}
+
+	public void setVersion(Integer version)
+	{
+		this.version = version;
+	}
+
 	public Integer getAmount()
 	{
 		return amount;
@@ -191,11 +211,36 @@ public class Transaction
 		return date.isAfter(DateTime.now());
 	}
 
+	public String getFingerprint()
+	{
+		return fingerprint;
+	}
+
+	@PrePersist
+	@PreUpdate
+	public void updateFingerprint()
+	{
+		this.fingerprint = createFingerprint(date, amount, name);
+	}
+
+	/**
+	 * Returns a hash of the day, the amount and the name (case-insensitive and with collapsed whitespace).
+	 * Together with the account it identifies transactions that were already imported from a bank statement.
+	 */
+	public static String createFingerprint(DateTime date, Integer amount, String name)
+	{
+		String day = date == null ? "" : date.toString("yyyy-MM-dd");
+		String normalizedName = name == null ? "" : name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+		String content = day + "|" + (amount == null ? "" : amount) + "|" + normalizedName;
+		return DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8));
+	}
+
 	@Override
 	public String toString()
 	{
 		String value = "Transaction{" +
 				"ID=" + ID +
+				", version=" + version +
 				", amount=" + amount +
 				", date=" + date +
 				", account=Account[ID=" + account.getID() + ", name=" + account.getName() + "]" +
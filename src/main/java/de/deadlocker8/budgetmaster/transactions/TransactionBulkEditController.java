@@ -0,0 +1,133 @@
+package de.deadlocker8.budgetmaster.transactions;
+
+import com.google.gson.JsonObject;
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountService;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
+import de.deadlocker8.budgetmaster.categories.Category;
+import de.deadlocker8.budgetmaster.categories.CategoryService;
+import de.deadlocker8.budgetmaster.categories.CategoryType;
+import de.deadlocker8.budgetmaster.controller.BaseController;
+import de.deadlocker8.budgetmaster.filter.FilterHelpersService;
+import de.deadlocker8.budgetmaster.search.Search;
+import de.deadlocker8.budgetmaster.services.HelpersService;
+import de.thecodelabs.utils.util.Localization;
+import io.micrometer.core.annotation.Timed;
+import org.joda.time.DateTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.CookieValue;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+
+@Controller
+@Timed
+public class TransactionBulkEditController extends BaseController
+{
+	private final TransactionService transactionService;
+	private final TransactionBulkEditService transactionBulkEditService;
+	private final HelpersService helpers;
+	private final FilterHelpersService filterHelpers;
+	private final CategoryService categoryService;
+	private final AccountService accountService;
+
+	@Autowired
+	public TransactionBulkEditController(TransactionService transactionService, TransactionBulkEditService transactionBulkEditService, HelpersService helpers, FilterHelpersService filterHelpers,
+										 CategoryService categoryService, AccountService accountService)
+	{
+		this.transactionService = transactionService;
+		this.transactionBulkEditService = transactionBulkEditService;
+		this.helpers = helpers;
+		this.filterHelpers = filterHelpers;
+		this.categoryService = categoryService;
+		this.accountService = accountService;
+	}
+
+	/**
+	 * Applies the change set to all transactions currently shown on the transactions page (selected account, month and filter).
+	 */
+	@PostMapping(value = "/transactions/bulkEdit", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+	@ResponseBody
+	public String bulkEditTransactions(HttpServletRequest request, @CookieValue("currentDate") String cookieDate,
+									   @ModelAttribute("TransactionChangeSet") TransactionChangeSet changeSet)
+	{
+		DateTime date = helpers.getDateTimeFromCookie(cookieDate);
+		List<Integer> IDs = transactionService.getTransactionIDsForMonthAndYear(helpers.getCurrentAccount(), date.getMonthOfYear(), date.getYear(), filterHelpers.getFilterConfiguration(request));
+		return apply(IDs, changeSet);
+	}
+
+	/**
+	 * Applies the change set to all results of the given search (all pages).
+	 */
+	@PostMapping(value = "/search/bulkEdit", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+	@ResponseBody
+	public String bulkEditSearchResults(Search search, @ModelAttribute("TransactionChangeSet") TransactionChangeSet changeSet)
+	{
+		if(search.isEmptySearch())
+		{
+			search = Search.DEFAULT;
+		}
+
+		return apply(transactionBulkEditService.findIDs(search), changeSet);
+	}
+
+	private String apply(List<Integer> IDs, TransactionChangeSet changeSet)
+	{
+		JsonObject json = new JsonObject();
+		if(!loadEntities(changeSet) || !isValid(changeSet))
+		{
+			json.addProperty("errorMessage", Localization.getString("error.transactions.bulkEdit.invalid"));
+			return json.toString();
+		}
+
+		int numberOfChangedTransactions = transactionBulkEditService.apply(IDs, changeSet);
+		json.addProperty("numberOfTransactions", IDs.size());
+		json.addProperty("numberOfChangedTransactions", numberOfChangedTransactions);
+		return json.toString();
+	}
+
+	/**
+	 * Replaces the bound category and account, which only carry the submitted fields, with the stored entities.
+	 *
+	 * @return false if one of them does not exist
+	 */
+	private boolean loadEntities(TransactionChangeSet changeSet)
+	{
+		if(changeSet.getCategory() != null)
+		{
+			Category category = changeSet.getCategory().getID() == null ? null : categoryService.getRepository().findOne(changeSet.getCategory().getID());
+			if(category == null)
+			{
+				return false;
+			}
+			changeSet.setCategory(category);
+		}
+
+		if(changeSet.getAccount() != null)
+		{
+			Account account = changeSet.getAccount().getID() == null ? null : accountService.getRepository().findOne(changeSet.getAccount().getID());
+			if(account == null)
+			{
+				return false;
+			}
+			changeSet.setAccount(account);
+		}
+		return true;
+	}
+
+	private boolean isValid(TransactionChangeSet changeSet)
+	{
+		// the rest is calculated and "all accounts" is only a view
+		if(changeSet.getCategory() != null && changeSet.getCategory().getType() == CategoryType.REST)
+		{
+			return false;
+		}
+		return changeSet.getAccount() == null || changeSet.getAccount().getType() == AccountType.CUSTOM;
+	}
+}
@@ -0,0 +1,253 @@
+package de.deadlocker8.budgetmaster.transactions;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.categories.Category;
+import de.deadlocker8.budgetmaster.search.Search;
+import de.deadlocker8.budgetmaster.services.DataVersionService;
+import de.deadlocker8.budgetmaster.summary.MonthlySummaryService;
+import de.deadlocker8.budgetmaster.tags.Tag;
+import de.deadlocker8.budgetmaster.tags.TagService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Changes many transactions at once with set-based statements instead of loading and saving every single transaction.
+ * The IDs are processed in chunks to limit the number of bound parameters per statement.
+ * <p>
+ * Bulk statements bypass the entity lifecycle, therefore changed accounts are reported to the {@link DataVersionService}
+ * explicitly and the persistence context is cleared afterwards. Every changed transaction gets a new version, so forms
+ * that were opened before are rejected on save.
+ */
+@Service
+public class TransactionBulkEditService
+{
+	private static final int CHUNK_SIZE = 500;
+
+	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+	private final TagService tagService;
+	private final MonthlySummaryService monthlySummaryService;
+	private final DataVersionService dataVersionService;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	public TransactionBulkEditService(TagService tagService, MonthlySummaryService monthlySummaryService, DataVersionService dataVersionService)
+	{
+		this.tagService = tagService;
+		this.monthlySummaryService = monthlySummaryService;
+		this.dataVersionService = dataVersionService;
+	}
+
+	public TransactionBulkEditService(EntityManager entityManager, TagService tagService, MonthlySummaryService monthlySummaryService, DataVersionService dataVersionService)
+	{
+		this(tagService, monthlySummaryService, dataVersionService);
+		this.entityManager = entityManager;
+	}
+
+	/**
+	 * Returns the IDs of all transactions matching the given search, without loading any entity.
+	 */
+	public List<Integer> findIDs(Search search)
+	{
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Integer> query = builder.createQuery(Integer.class);
+		Root<Transaction> root = query.from(Transaction.class);
+		query.select(root.get(Transaction_.ID)).where(TransactionSearchSpecifications.withDynamicQuery(search).toPredicate(root, query, builder));
+
+		// the join of the tags returns a transaction once per matching tag
+		return new ArrayList<>(new LinkedHashSet<>(entityManager.createQuery(query).getResultList()));
+	}
+
+	/**
+	 * Applies the change set to all transactions with the given IDs.
+	 * Transfers are not moved to their own destination account, they are skipped if the change set contains that account.
+	 *
+	 * @return the number of changed transactions
+	 */
+	@Transactional
+	public int apply(Collection<Integer> transactionIDs, TransactionChangeSet changeSet)
+	{
+		if(transactionIDs.isEmpty() || changeSet.isEmpty())
+		{
+			return 0;
+		}
+
+		List<Tag> addedTags = new ArrayList<>();
+		if(changeSet.getAddedTags() != null && !changeSet.getAddedTags().isEmpty())
+		{
+			addedTags = tagService.resolveTags(changeSet.getAddedTags());
+		}
+
+		List<Integer> removedTagIDs = new ArrayList<>();
+		if(changeSet.getRemovedTags() != null && !changeSet.getRemovedTags().isEmpty())
+		{
+			List<String> normalizedNames = changeSet.getRemovedTags().stream().map(Tag::normalize).collect(Collectors.toList());
+			removedTagIDs = tagService.getRepository().findAllByNormalizedNameIn(normalizedNames).stream().map(Tag::getID).collect(Collectors.toList());
+		}
+
+		// pending changes (including new tags) have to be written before the bulk statements, because the persistence context is cleared afterwards
+		entityManager.flush();
+
+		Set<Integer> changedAccountIDs = new HashSet<>();
+		if(changeSet.getAccount() != null)
+		{
+			changedAccountIDs.add(changeSet.getAccount().getID());
+		}
+
+		int numberOfChangedTransactions = 0;
+		List<Integer> IDs = new ArrayList<>(transactionIDs);
+		for(int start = 0; start < IDs.size(); start += CHUNK_SIZE)
+		{
+			List<Integer> chunk = new ArrayList<>(IDs.subList(start, Math.min(start + CHUNK_SIZE, IDs.size())));
+			if(changeSet.getAccount() != null)
+			{
+				chunk.removeAll(findTransfersTo(chunk, changeSet.getAccount()));
+				if(chunk.isEmpty())
+				{
+					continue;
+				}
+			}
+
+			changedAccountIDs.addAll(findAccountIDs(chunk));
+			numberOfChangedTransactions += updateTransactions(chunk, changeSet);
+			for(Tag tag : addedTags)
+			{
+				addTag(chunk, tag);
+			}
+			if(!removedTagIDs.isEmpty())
+			{
+				removeTags(chunk, removedTagIDs);
+			}
+		}
+
+		entityManager.clear();
+
+		if(changeSet.getAccount() != null)
+		{
+			// the sums of the previous accounts and the new account have changed
+			monthlySummaryService.rebuild();
+		}
+
+		dataVersionService.accountsChanged(changedAccountIDs);
+		LOGGER.debug("Applied " + changeSet + " to " + numberOfChangedTransactions + " transactions");
+		return numberOfChangedTransactions;
+	}
+
+	/**
+	 * Moves all transactions of the given category to the new category.
+	 *
+	 * @return the number of changed transactions
+	 */
+	@Transactional
+	public int reassignCategory(Category category, Category newCategory)
+	{
+		entityManager.flush();
+		int numberOfChangedTransactions = entityManager.createQuery("UPDATE Transaction t SET t.category = :newCategory, t.version = t.version + 1 WHERE t.category = :category")
+				.setParameter("newCategory", newCategory)
+				.setParameter("category", category)
+				.executeUpdate();
+		entityManager.clear();
+
+		// transactions of any account may have been changed
+		dataVersionService.allAccountsChanged();
+		return numberOfChangedTransactions;
+	}
+
+	private List<Integer> findTransfersTo(List<Integer> IDs, Account account)
+	{
+		return entityManager.createQuery("SELECT t.ID FROM Transaction t WHERE t.ID IN :IDs AND t.transferAccount = :account", Integer.class)
+				.setParameter("IDs", IDs)
+				.setParameter("account", account)
+				.getResultList();
+	}
+
+	private Set<Integer> findAccountIDs(List<Integer> IDs)
+	{
+		List<Object[]> rows = entityManager.createQuery("SELECT DISTINCT account.ID, transferAccount.ID FROM Transaction t JOIN t.account account LEFT JOIN t.transferAccount transferAccount WHERE t.ID IN :IDs", Object[].class)
+				.setParameter("IDs", IDs)
+				.getResultList();
+
+		Set<Integer> accountIDs = new HashSet<>();
+		for(Object[] row : rows)
+		{
+			accountIDs.add((Integer) row[0]);
+			if(row[1] != null)
+			{
+				accountIDs.add((Integer) row[1]);
+			}
+		}
+		return accountIDs;
+	}
+
+	private int updateTransactions(List<Integer> IDs, TransactionChangeSet changeSet)
+	{
+		List<String> assignments = new ArrayList<>();
+		assignments.add("t.version = t.version + 1");
+		if(changeSet.getCategory() != null)
+		{
+			assignments.add("t.category = :category");
+		}
+		if(changeSet.getAccount() != null)
+		{
+			assignments.add("t.account = :account");
+		}
+		if(changeSet.getDescription() != null)
+		{
+			assignments.add("t.description = :description");
+		}
+
+		Query query = entityManager.createQuery("UPDATE Transaction t SET " + String.join(", ", assignments) + " WHERE t.ID IN :IDs");
+		query.setParameter("IDs", IDs);
+		if(changeSet.getCategory() != null)
+		{
+			query.setParameter("category", changeSet.getCategory());
+		}
+		if(changeSet.getAccount() != null)
+		{
+			query.setParameter("account", changeSet.getAccount());
+		}
+		if(changeSet.getDescription() != null)
+		{
+			query.setParameter("description", changeSet.getDescription());
+		}
+		return query.executeUpdate();
+	}
+
+	private void addTag(List<Integer> IDs, Tag tag)
+	{
+		// JPQL can not insert into the join table
+		entityManager.createNativeQuery("INSERT INTO transaction_tags (transaction_id, tags_id) " +
+				"SELECT t.id, :tagID FROM transaction t WHERE t.id IN (:IDs) " +
+				"AND NOT EXISTS (SELECT 1 FROM transaction_tags existing WHERE existing.transaction_id = t.id AND existing.tags_id = :tagID)")
+				.setParameter("tagID", tag.getID())
+				.setParameter("IDs", IDs)
+				.executeUpdate();
+	}
+
+	private void removeTags(List<Integer> IDs, List<Integer> tagIDs)
+	{
+		entityManager.createNativeQuery("DELETE FROM transaction_tags WHERE transaction_id IN (:IDs) AND tags_id IN (:tagIDs)")
+				.setParameter("IDs", IDs)
+				.setParameter("tagIDs", tagIDs)
+				.executeUpdate();
+	}
+}
@@ -0,0 +1,96 @@
+package de.deadlocker8.budgetmaster.transactions;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.categories.Category;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Changes that are applied to many transactions at once.
+ * Values that are not set (null or empty lists) are not changed.
+ */
+public class TransactionChangeSet
+{
+	private Category category;
+	private Account account;
+	private String description;
+	private List<String> addedTags = new ArrayList<>();
+	private List<String> removedTags = new ArrayList<>();
+
+	public TransactionChangeSet()
+	{
+	}
+
+	public Category getCategory()
+	{
+		return category;
+	}
+
+	public void setCategory(Category category)
+	{
+		this.category = category;
+	}
+
+	public Account getAccount()
+	{
+		return account;
+	}
+
+	public void setAccount(Account account)
+	{
+		this.account = account;
+	}
+
+	public String getDescription()
+	{
+		return description;
+	}
+
+	public void setDescription(String description)
+	{
+		this.description = description;
+	}
+
+	public List<String> getAddedTags()
+	{
+		return addedTags;
+	}
+
+	public void setAddedTags(List<String> addedTags)
+	{
+		this.addedTags = addedTags;
+	}
+
+	public List<String> getRemovedTags()
+	{
+		return removedTags;
+	}
+
+	public void setRemovedTags(List<String> removedTags)
+	{
+		this.removedTags = removedTags;
+	}
+
+	public boolean isEmpty()
+	{
+		return category == null && account == null && description == null && isEmpty(addedTags) && isEmpty(removedTags);
+	}
+
+	private static boolean isEmpty(List<String> tags)
+	{
+		return tags == null || tags.isEmpty();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "TransactionChangeSet{" +
+				"category=" + category +
+				", account=" + account +
+				", description='" + description + '\'' +
+				", addedTags=" + addedTags +
+				", removedTags=" + removedTags +
+				'}';
+	}
+}
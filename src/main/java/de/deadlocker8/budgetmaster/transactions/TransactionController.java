@@ -12,12 +12,14 @@ import de.deadlocker8.budgetmaster.repeating.RepeatingTransactionUpdater;
 import de.deadlocker8.budgetmaster.repeating.endoption.*;
 import de.deadlocker8.budgetmaster.repeating.modifier.RepeatingModifier;
 import de.deadlocker8.budgetmaster.repeating.modifier.RepeatingModifierType;
+import de.deadlocker8.budgetmaster.reports.Budget;
 import de.deadlocker8.budgetmaster.services.HelpersService;
 import de.deadlocker8.budgetmaster.settings.SettingsService;
+import de.deadlocker8.budgetmaster.summary.MonthlySummaryService;
 import de.deadlocker8.budgetmaster.tags.Tag;
-import de.deadlocker8.budgetmaster.tags.TagRepository;
 import de.deadlocker8.budgetmaster.tags.TagService;
 import de.deadlocker8.budgetmaster.utils.ResourceNotFoundException;
+import io.micrometer.core.annotation.Timed;
 import org.joda.time.DateTime;
 import org.joda.time.format.DateTimeFormat;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,13 +28,15 @@ import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletRequest;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 
 @Controller
+@Timed
 public class TransactionController extends BaseController
 {
 	private final TransactionService transactionService;
@@ -43,9 +47,10 @@ public class TransactionController extends BaseController
 	private final RepeatingTransactionUpdater repeatingTransactionUpdater;
 	private final HelpersService helpers;
 	private final FilterHelpersService filterHelpers;
+	private final MonthlySummaryService monthlySummaryService;
 
 	@Autowired
-	public TransactionController(TransactionService transactionService, CategoryService categoryService, AccountService accountService, SettingsService settingsService, TagService tagService, RepeatingTransactionUpdater repeatingTransactionUpdater, HelpersService helpers, FilterHelpersService filterHelpers)
+	public TransactionController(TransactionService transactionService, CategoryService categoryService, AccountService accountService, SettingsService settingsService, TagService tagService, RepeatingTransactionUpdater repeatingTransactionUpdater, HelpersService helpers, FilterHelpersService filterHelpers, MonthlySummaryService monthlySummaryService)
 	{
 		this.transactionService = transactionService;
 		this.categoryService = categoryService;
@@ -55,15 +60,22 @@ public class TransactionController extends BaseController
 		this.repeatingTransactionUpdater = repeatingTransactionUpdater;
 		this.helpers = helpers;
 		this.filterHelpers = filterHelpers;
+		this.monthlySummaryService = monthlySummaryService;
 	}
 
 	@RequestMapping("/transactions")
-	public String transactions(HttpServletRequest request, Model model, @CookieValue(value = "currentDate", required = false) String cookieDate)
+	public String transactions(HttpServletRequest request, WebRequest webRequest, Model model, @CookieValue(value = "currentDate", required = false) String cookieDate)
 	{
 		DateTime date = helpers.getDateTimeFromCookie(cookieDate);
 		repeatingTransactionUpdater.updateRepeatingTransactions(date.dayOfMonth().withMaximumValue());
 
-		prepareModelTransactions(filterHelpers.getFilterConfiguration(request), model, date);
+		FilterConfiguration filterConfiguration = filterHelpers.getFilterConfiguration(request);
+		if(helpers.checkPageNotModified(webRequest, "transactions", date.toString("yyyy-MM"), filterConfiguration))
+		{
+			return null;
+		}
+
+		prepareModelTransactions(filterConfiguration, model, date);
 
 		return "transactions/transactions";
 	}
@@ -85,12 +97,24 @@ public class TransactionController extends BaseController
 
 	private void prepareModelTransactions(FilterConfiguration filterConfiguration, Model model, DateTime date)
 	{
-		List<Transaction> transactions = transactionService.getTransactionsForMonthAndYear(helpers.getCurrentAccount(), date.getMonthOfYear(), date.getYear(), settingsService.getSettings().isRestActivated(), filterConfiguration);
+		boolean isRestActivated = settingsService.getSettings().isRestActivated();
+		List<Transaction> transactions = transactionService.getTransactionsForMonthAndYear(helpers.getCurrentAccount(), date.getMonthOfYear(), date.getYear(), isRestActivated, filterConfiguration);
 		Account currentAccount = helpers.getCurrentAccount();
 
+		// the precomputed summaries only match the unfiltered transaction list
+		Budget budget;
+		if(filterConfiguration.isActive())
+		{
+			budget = helpers.getBudget(transactions, currentAccount);
+		}
+		else
+		{
+			budget = monthlySummaryService.getBudget(currentAccount, date.getMonthOfYear(), date.getYear(), isRestActivated);
+		}
+
 		model.addAttribute("transactions", transactions);
 		model.addAttribute("account", currentAccount);
-		model.addAttribute("budget", helpers.getBudget(transactions, currentAccount));
+		model.addAttribute("budget", budget);
 		model.addAttribute("currentDate", date);
 		model.addAttribute("filterConfiguration", filterConfiguration);
 		model.addAttribute("settings", settingsService.getSettings());
@@ -144,12 +168,6 @@ public class TransactionController extends BaseController
 	{
 		DateTime date = helpers.getDateTimeFromCookie(cookieDate);
 
-		// handle repeating transactions
-		if(transaction.getID() != null && isRepeating)
-		{
-			transactionService.deleteTransaction(transaction.getID());
-		}
-
 		TransactionValidator transactionValidator = new TransactionValidator();
 		transactionValidator.validate(transaction, bindingResult);
 
@@ -179,6 +197,13 @@ public class TransactionController extends BaseController
 		repeatingOption = new RepeatingOption(transaction.getDate(), repeatingModifier, repeatingEnd);
 		transaction.setRepeatingOption(repeatingOption);
 
+		// an edited repeating transaction replaces the whole series
+		if(transaction.getID() != null && isRepeating && !bindingResult.hasErrors())
+		{
+			transactionService.replaceRepeatingTransaction(transaction);
+			return "redirect:/transactions";
+		}
+
 		return handleRedirect(model, transaction, bindingResult, date, "transactions/newTransactionRepeating");
 	}
 
@@ -222,12 +247,8 @@ public class TransactionController extends BaseController
 		List<Tag> tags = transaction.getTags();
 		if(tags != null)
 		{
-			transaction.setTags(new ArrayList<>());
-			for(Tag currentTag : tags)
-			{
-				//noinspection ConstantConditions
-				transaction = addTagForTransaction(currentTag.getName(), transaction);
-			}
+			List<String> names = tags.stream().map(Tag::getName).collect(Collectors.toList());
+			transaction.setTags(tagService.resolveTags(names));
 		}
 	}
 
@@ -240,7 +261,7 @@ public class TransactionController extends BaseController
 			return url;
 		}
 
-		transactionService.getRepository().save(transaction);
+		transactionService.saveTransaction(transaction);
 		return "redirect:/transactions";
 	}
 
@@ -283,24 +304,6 @@ public class TransactionController extends BaseController
 		model.addAttribute("settings", settingsService.getSettings());
 	}
 
-	private Transaction addTagForTransaction(String name, Transaction transaction)
-	{
-		TagRepository tagRepository = tagService.getRepository();
-
-		if(tagRepository.findByName(name) == null)
-		{
-			tagRepository.save(new Tag(name));
-		}
-
-		List<Transaction> referringTransactions = tagRepository.findByName(name).getReferringTransactions();
-		if(referringTransactions == null || !referringTransactions.contains(transaction))
-		{
-			transaction.getTags().add(tagRepository.findByName(name));
-		}
-
-		return transaction;
-	}
-
 	@RequestMapping("/transactions/{ID}/highlight")
 	public String highlight(Model model, @PathVariable("ID") Integer ID)
 	{
@@ -308,9 +311,7 @@ public class TransactionController extends BaseController
 		accountService.selectAccount(transaction.getAccount().getID());
 		repeatingTransactionUpdater.updateRepeatingTransactions(transaction.getDate().dayOfMonth().withMaximumValue());
 
-		FilterConfiguration filterConfiguration = FilterConfiguration.DEFAULT;
-		filterConfiguration.setFilterCategories(filterHelpers.getFilterCategories());
-		filterConfiguration.setFilterTags(filterHelpers.getFilterTags());
+		FilterConfiguration filterConfiguration = filterHelpers.getDefaultFilterConfiguration();
 
 		prepareModelTransactions(filterConfiguration, model, transaction.getDate());
 		model.addAttribute("highlightID", ID);
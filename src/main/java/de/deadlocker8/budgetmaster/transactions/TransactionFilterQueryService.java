@@ -0,0 +1,298 @@
+package de.deadlocker8.budgetmaster.transactions;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Executes the same filter as {@link TransactionSpecifications#withDynamicQuery} with a JPQL string that is rendered
+ * only once per filter shape (the combination of flags and which optional filters are set).
+ * All values are bound as typed parameters, so Hibernate can reuse its query plan for every call with the same shape.
+ * The shape also includes whether whole transactions or only their IDs are selected.
+ */
+@Service
+public class TransactionFilterQueryService
+{
+	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+	private final Map<Shape, String> queries = new ConcurrentHashMap<>();
+	private final Counter hitCounter;
+	private final Counter missCounter;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	public TransactionFilterQueryService(MeterRegistry meterRegistry)
+	{
+		this.hitCounter = meterRegistry.counter("budgetmaster.transactions.query.cache", "result", "hit");
+		this.missCounter = meterRegistry.counter("budgetmaster.transactions.query.cache", "result", "miss");
+		Gauge.builder("budgetmaster.transactions.query.cache.size", queries, Map::size).register(meterRegistry);
+	}
+
+	public TransactionFilterQueryService(EntityManager entityManager, MeterRegistry meterRegistry)
+	{
+		this(meterRegistry);
+		this.entityManager = entityManager;
+	}
+
+	public List<Transaction> findAll(DateTime startDate, DateTime endDate, Account account,
+									 boolean isIncome, boolean isExpenditure, boolean isTransfer,
+									 Boolean isRepeating,
+									 List<Integer> categoryIDs,
+									 List<Integer> tagIDs,
+									 String name)
+	{
+		return createQuery(Projection.TRANSACTIONS, Transaction.class, startDate, endDate, account, isIncome, isExpenditure, isTransfer, isRepeating, categoryIDs, tagIDs, name).getResultList();
+	}
+
+	/**
+	 * Returns only the IDs of the transactions {@link #findAll} would return, without loading any entity.
+	 */
+	public List<Integer> findAllIDs(DateTime startDate, DateTime endDate, Account account,
+									boolean isIncome, boolean isExpenditure, boolean isTransfer,
+									Boolean isRepeating,
+									List<Integer> categoryIDs,
+									List<Integer> tagIDs,
+									String name)
+	{
+		return createQuery(Projection.IDS, Integer.class, startDate, endDate, account, isIncome, isExpenditure, isTransfer, isRepeating, categoryIDs, tagIDs, name).getResultList();
+	}
+
+	private <T> TypedQuery<T> createQuery(Projection projection, Class<T> resultClass,
+										  DateTime startDate, DateTime endDate, Account account,
+										  boolean isIncome, boolean isExpenditure, boolean isTransfer,
+										  Boolean isRepeating,
+										  List<Integer> categoryIDs,
+										  List<Integer> tagIDs,
+										  String name)
+	{
+		boolean hasName = name != null && name.length() > 0;
+		Shape shape = new Shape(projection, account != null, isIncome, isExpenditure, isTransfer, isRepeating, getListState(categoryIDs), getListState(tagIDs), hasName);
+
+		TypedQuery<T> query = entityManager.createQuery(getQuery(shape), resultClass);
+		query.setParameter("startDate", startDate);
+		query.setParameter("endDate", endDate);
+		if(account != null)
+		{
+			query.setParameter("account", account);
+		}
+		if(shape.categories == ListState.NOT_EMPTY)
+		{
+			query.setParameter("categoryIDs", categoryIDs);
+		}
+		if(shape.tags == ListState.NOT_EMPTY)
+		{
+			query.setParameter("tagIDs", tagIDs);
+		}
+		if(hasName)
+		{
+			query.setParameter("name", "%" + name.toLowerCase() + "%");
+		}
+
+		return query;
+	}
+
+	/**
+	 * Returns the share of queries whose JPQL was already cached (between 0 and 1).
+	 */
+	public double getHitRate()
+	{
+		double total = hitCounter.count() + missCounter.count();
+		if(total == 0)
+		{
+			return 0;
+		}
+		return hitCounter.count() / total;
+	}
+
+	private String getQuery(Shape shape)
+	{
+		String query = queries.get(shape);
+		if(query != null)
+		{
+			hitCounter.increment();
+			return query;
+		}
+
+		missCounter.increment();
+		query = queries.computeIfAbsent(shape, TransactionFilterQueryService::renderQuery);
+		LOGGER.debug("Rendered transaction query for " + shape + " (hit rate: " + getHitRate() + ")");
+		return query;
+	}
+
+	private static ListState getListState(List<Integer> IDs)
+	{
+		if(IDs == null)
+		{
+			return ListState.NOT_SET;
+		}
+		return IDs.isEmpty() ? ListState.EMPTY : ListState.NOT_EMPTY;
+	}
+
+	private static String renderQuery(Shape shape)
+	{
+		List<String> conditions = new ArrayList<>();
+
+		if(shape.hasAccount)
+		{
+			conditions.add("t.account = :account");
+		}
+
+		if(shape.isIncome && !shape.isExpenditure)
+		{
+			conditions.add("t.amount > 0");
+		}
+
+		if(!shape.isIncome && shape.isExpenditure)
+		{
+			conditions.add("t.amount <= 0");
+		}
+
+		if(shape.isRepeating != null)
+		{
+			conditions.add(shape.isRepeating ? "t.repeatingOption IS NOT NULL" : "t.repeatingOption IS NULL");
+		}
+
+		if(shape.isTransfer)
+		{
+			if(!shape.isIncome && !shape.isExpenditure)
+			{
+				conditions.add("t.transferAccount IS NOT NULL");
+			}
+		}
+		else
+		{
+			conditions.add("t.transferAccount IS NULL");
+		}
+
+		switch(shape.categories)
+		{
+			case EMPTY:
+				conditions.add("1 = 0");
+				break;
+			case NOT_EMPTY:
+				conditions.add("t.category.ID IN :categoryIDs");
+				break;
+		}
+
+		switch(shape.tags)
+		{
+			case EMPTY:
+				conditions.add("1 = 0");
+				break;
+			case NOT_EMPTY:
+				// semi-join, so transactions with several matching tags are only returned once
+				conditions.add("EXISTS (SELECT tag.ID FROM Transaction tagged JOIN tagged.tags tag WHERE tagged = t AND tag.ID IN :tagIDs)");
+				break;
+		}
+
+		if(shape.hasName)
+		{
+			conditions.add("LOWER(t.name) LIKE :name");
+		}
+
+		String filter = conditions.isEmpty() ? "1 = 1" : String.join(" AND ", conditions);
+		if(shape.isTransfer && shape.hasAccount)
+		{
+			filter = "(" + filter + ") OR t.transferAccount = :account";
+		}
+
+		String where = "WHERE t.date BETWEEN :startDate AND :endDate AND (" + filter + ")";
+		if(shape.projection == Projection.IDS)
+		{
+			return "SELECT t.ID FROM Transaction t " + where;
+		}
+		return "SELECT t FROM Transaction t " + where + " ORDER BY t.date DESC";
+	}
+
+	private enum Projection
+	{
+		TRANSACTIONS, IDS
+	}
+
+	private enum ListState
+	{
+		NOT_SET, EMPTY, NOT_EMPTY
+	}
+
+	private static class Shape
+	{
+		private final Projection projection;
+		private final boolean hasAccount;
+		private final boolean isIncome;
+		private final boolean isExpenditure;
+		private final boolean isTransfer;
+		private final Boolean isRepeating;
+		private final ListState categories;
+		private final ListState tags;
+		private final boolean hasName;
+
+		private Shape(Projection projection, boolean hasAccount, boolean isIncome, boolean isExpenditure, boolean isTransfer, Boolean isRepeating, ListState categories, ListState tags, boolean hasName)
+		{
+			this.projection = projection;
+			this.hasAccount = hasAccount;
+			this.isIncome = isIncome;
+			this.isExpenditure = isExpenditure;
+			this.isTransfer = isTransfer;
+			this.isRepeating = isRepeating;
+			this.categories = categories;
+			this.tags = tags;
+			this.hasName = hasName;
+		}
+
+		@Override
+		public boolean equals(Object o)
+		{
+			if(this == o) return true;
+			if(o == null || getClass() != o.getClass()) return false;
+			Shape shape = (Shape) o;
+			return projection == shape.projection &&
+					hasAccount == shape.hasAccount &&
+					isIncome == shape.isIncome &&
+					isExpenditure == shape.isExpenditure &&
+					isTransfer == shape.isTransfer &&
+					Objects.equals(isRepeating, shape.isRepeating) &&
+					categories == shape.categories &&
+					tags == shape.tags &&
+					hasName == shape.hasName;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(projection, hasAccount, isIncome, isExpenditure, isTransfer, isRepeating, categories, tags, hasName);
+		}
+
+		@Override
+		public String toString()
+		{
+			return "Shape{" +
+					"projection=" + projection +
+					", hasAccount=" + hasAccount +
+					", isIncome=" + isIncome +
+					", isExpenditure=" + isExpenditure +
+					", isTransfer=" + isTransfer +
+					", isRepeating=" + isRepeating +
+					", categories=" + categories +
+					", tags=" + tags +
+					", hasName=" + hasName +
+					'}';
+		}
+	}
+}
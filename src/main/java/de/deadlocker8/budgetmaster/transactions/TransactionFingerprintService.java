@@ -0,0 +1,97 @@
+package de.deadlocker8.budgetmaster.transactions;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Calculates the fingerprints of transactions that were created before the fingerprint was introduced.
+ * All transactions are updated in the background after the start. The bank statement import updates the transactions
+ * of its account beforehand, so duplicates are detected even if the background update has not finished yet.
+ * <p>
+ * The version is not changed, because the transactions themselves are not modified.
+ */
+@Service
+public class TransactionFingerprintService
+{
+	private static final int BATCH_SIZE = 500;
+
+	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+	private final TransactionRepository transactionRepository;
+	private final TransactionTemplate transactionTemplate;
+
+	@Autowired
+	public TransactionFingerprintService(TransactionRepository transactionRepository, PlatformTransactionManager transactionManager)
+	{
+		this.transactionRepository = transactionRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void updateMissingFingerprintsInBackground()
+	{
+		Thread thread = new Thread(() -> {
+			try
+			{
+				updateMissingFingerprints(null);
+			}
+			catch(RuntimeException e)
+			{
+				LOGGER.error("Could not calculate missing fingerprints", e);
+			}
+		}, "transaction-fingerprints");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Each batch is written in one database transaction.
+	 *
+	 * @param account only the transactions of this account are updated, all transactions if null
+	 */
+	public void updateMissingFingerprints(Account account)
+	{
+		int numberOfUpdatedTransactions = 0;
+		int numberOfRows;
+		// updated transactions drop out of the query, so the first page is always requested
+		while((numberOfRows = transactionTemplate.execute(status -> updateBatch(account))) > 0)
+		{
+			numberOfUpdatedTransactions += numberOfRows;
+		}
+
+		if(numberOfUpdatedTransactions > 0)
+		{
+			LOGGER.debug("Calculated missing fingerprints of " + numberOfUpdatedTransactions + " transactions");
+		}
+	}
+
+	private int updateBatch(Account account)
+	{
+		List<Object[]> rows;
+		if(account == null)
+		{
+			rows = transactionRepository.findWithoutFingerprint(new PageRequest(0, BATCH_SIZE));
+		}
+		else
+		{
+			rows = transactionRepository.findWithoutFingerprintByAccount(account, new PageRequest(0, BATCH_SIZE));
+		}
+
+		for(Object[] row : rows)
+		{
+			transactionRepository.updateFingerprint((Integer) row[0], Transaction.createFingerprint((DateTime) row[1], (Integer) row[2], (String) row[3]));
+		}
+		return rows.size();
+	}
+}
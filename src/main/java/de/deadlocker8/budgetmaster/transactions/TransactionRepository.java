@@ -4,10 +4,14 @@ import de.deadlocker8.budgetmaster.categories.Category;
 import de.deadlocker8.budgetmaster.tags.Tag;
 import de.deadlocker8.budgetmaster.accounts.Account;
 import org.joda.time.DateTime;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 
@@ -23,14 +27,31 @@ public interface TransactionRepository extends JpaRepository<Transaction, Intege
 
 	List<Transaction> findAllByTagsContaining(Tag tag);
 
-	@Query(value = "SELECT SUM(t.amount) FROM `transaction` as t WHERE t.account_id = ?1 AND t.transfer_account_id IS NULL AND t.date BETWEEN ?2 AND ?3", nativeQuery = true)
-	Integer getRestForNormalAndRepeating(int accountID, String startDate, String endDate);
+	@Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.account.ID = ?1 AND t.transferAccount IS NULL AND t.date BETWEEN ?2 AND ?3")
+	Integer getRestForNormalAndRepeating(int accountID, DateTime startDate, DateTime endDate);
 
-	@Query(value = "SELECT SUM(t.amount) FROM `transaction` as t WHERE t.account_id = ?1 AND t.transfer_account_id IS NOT NULL AND t.date BETWEEN ?2 AND ?3", nativeQuery = true)
-	Integer getRestForTransferSource(int accountID, String startDate, String endDate);
+	@Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.account.ID = ?1 AND t.transferAccount IS NOT NULL AND t.date BETWEEN ?2 AND ?3")
+	Integer getRestForTransferSource(int accountID, DateTime startDate, DateTime endDate);
 
-	@Query(value = "SELECT SUM(t.amount) FROM `transaction` as t WHERE t.transfer_account_id = ?1 AND t.date BETWEEN ?2 AND ?3", nativeQuery = true)
-	Integer getRestForTransferDestination(int accountID, String startDate, String endDate);
+	@Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.transferAccount.ID = ?1 AND t.date BETWEEN ?2 AND ?3")
+	Integer getRestForTransferDestination(int accountID, DateTime startDate, DateTime endDate);
 
 	List<Transaction> findAllByTransferAccount(Account account);
+
+	@Query("SELECT t.ID, a, ta, t.date, t.amount FROM Transaction t JOIN t.account a LEFT JOIN t.transferAccount ta WHERE t.ID > ?1 ORDER BY t.ID ASC")
+	List<Object[]> findSummaryRowsAfterID(Integer ID, Pageable pageable);
+
+	@Query("SELECT t.fingerprint, COUNT(t) FROM Transaction t WHERE t.account = ?1 AND t.fingerprint IN ?2 GROUP BY t.fingerprint")
+	List<Object[]> countByAccountAndFingerprints(Account account, Collection<String> fingerprints);
+
+	@Query("SELECT t.ID, t.date, t.amount, t.name FROM Transaction t WHERE t.fingerprint IS NULL")
+	List<Object[]> findWithoutFingerprint(Pageable pageable);
+
+	@Query("SELECT t.ID, t.date, t.amount, t.name FROM Transaction t WHERE t.account = ?1 AND t.fingerprint IS NULL")
+	List<Object[]> findWithoutFingerprintByAccount(Account account, Pageable pageable);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE Transaction t SET t.fingerprint = ?2 WHERE t.ID = ?1")
+	int updateFingerprint(Integer ID, String fingerprint);
 }
\ No newline at end of file
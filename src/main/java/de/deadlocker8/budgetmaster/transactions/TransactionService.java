@@ -7,18 +7,20 @@ import de.deadlocker8.budgetmaster.categories.CategoryType;
 import de.deadlocker8.budgetmaster.filter.FilterConfiguration;
 import de.deadlocker8.budgetmaster.repeating.RepeatingOptionRepository;
 import de.deadlocker8.budgetmaster.services.Resetable;
+import de.deadlocker8.budgetmaster.summary.MonthlySummaryService;
 import de.deadlocker8.budgetmaster.utils.Strings;
 import de.thecodelabs.utils.util.Localization;
 import org.joda.time.DateTime;
-import org.joda.time.format.ISODateTimeFormat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 public class TransactionService implements Resetable
@@ -27,14 +29,18 @@ public class TransactionService implements Resetable
 	private TransactionRepository transactionRepository;
 	private RepeatingOptionRepository repeatingOptionRepository;
 	private CategoryRepository categoryRepository;
+	private MonthlySummaryService monthlySummaryService;
+	private TransactionFilterQueryService transactionFilterQueryService;
 
 
 	@Autowired
-	public TransactionService(TransactionRepository transactionRepository, RepeatingOptionRepository repeatingOptionRepository, CategoryRepository categoryRepository)
+	public TransactionService(TransactionRepository transactionRepository, RepeatingOptionRepository repeatingOptionRepository, CategoryRepository categoryRepository, MonthlySummaryService monthlySummaryService, TransactionFilterQueryService transactionFilterQueryService)
 	{
 		this.transactionRepository = transactionRepository;
 		this.repeatingOptionRepository = repeatingOptionRepository;
 		this.categoryRepository = categoryRepository;
+		this.monthlySummaryService = monthlySummaryService;
+		this.transactionFilterQueryService = transactionFilterQueryService;
 	}
 
 	public TransactionRepository getRepository()
@@ -90,25 +96,44 @@ public class TransactionService implements Resetable
 	{
 		if(filterConfiguration == null)
 		{
-			filterConfiguration = FilterConfiguration.DEFAULT;
+			filterConfiguration = FilterConfiguration.createDefault();
 		}
 
 		if(account.getType().equals(AccountType.ALL))
 		{
-			Specification<Transaction> spec = TransactionSpecifications.withDynamicQuery(startDate, endDate, null, filterConfiguration.isIncludeIncome(), filterConfiguration.isIncludeExpenditure(), false, filterConfiguration.isIncludeRepeatingAndNotRepeating(), filterConfiguration.getIncludedCategoryIDs(), filterConfiguration.getIncludedTagIDs(), filterConfiguration.getName());
-			return transactionRepository.findAll(spec);
+			return transactionFilterQueryService.findAll(startDate, endDate, null, filterConfiguration.isIncludeIncome(), filterConfiguration.isIncludeExpenditure(), false, filterConfiguration.isIncludeRepeatingAndNotRepeating(), filterConfiguration.getIncludedCategoryIDs(), filterConfiguration.getIncludedTagIDs(), filterConfiguration.getName());
 		}
 
-		Specification<Transaction> spec = TransactionSpecifications.withDynamicQuery(startDate, endDate, account, filterConfiguration.isIncludeIncome(), filterConfiguration.isIncludeExpenditure(), filterConfiguration.isIncludeTransfer(), filterConfiguration.isIncludeRepeatingAndNotRepeating(), filterConfiguration.getIncludedCategoryIDs(), filterConfiguration.getIncludedTagIDs(), filterConfiguration.getName());
-		return transactionRepository.findAll(spec);
+		return transactionFilterQueryService.findAll(startDate, endDate, account, filterConfiguration.isIncludeIncome(), filterConfiguration.isIncludeExpenditure(), filterConfiguration.isIncludeTransfer(), filterConfiguration.isIncludeRepeatingAndNotRepeating(), filterConfiguration.getIncludedCategoryIDs(), filterConfiguration.getIncludedTagIDs(), filterConfiguration.getName());
+	}
+
+	/**
+	 * Returns the IDs of the transactions that are shown for the given account, month and filter (without the rest).
+	 */
+	public List<Integer> getTransactionIDsForMonthAndYear(Account account, int month, int year, FilterConfiguration filterConfiguration)
+	{
+		DateTime startDate = DateTime.now().withYear(year).withMonthOfYear(month).minusMonths(1).dayOfMonth().withMaximumValue();
+		DateTime endDate = DateTime.now().withYear(year).withMonthOfYear(month).dayOfMonth().withMaximumValue();
+
+		if(filterConfiguration == null)
+		{
+			filterConfiguration = FilterConfiguration.createDefault();
+		}
+
+		if(account.getType().equals(AccountType.ALL))
+		{
+			return transactionFilterQueryService.findAllIDs(startDate, endDate, null, filterConfiguration.isIncludeIncome(), filterConfiguration.isIncludeExpenditure(), false, filterConfiguration.isIncludeRepeatingAndNotRepeating(), filterConfiguration.getIncludedCategoryIDs(), filterConfiguration.getIncludedTagIDs(), filterConfiguration.getName());
+		}
+
+		return transactionFilterQueryService.findAllIDs(startDate, endDate, account, filterConfiguration.isIncludeIncome(), filterConfiguration.isIncludeExpenditure(), filterConfiguration.isIncludeTransfer(), filterConfiguration.isIncludeRepeatingAndNotRepeating(), filterConfiguration.getIncludedCategoryIDs(), filterConfiguration.getIncludedTagIDs(), filterConfiguration.getName());
 	}
 
 	private int getRest(Account account, DateTime endDate)
 	{
-		DateTime startDate = DateTime.now().withYear(2000).withMonthOfYear(1).withDayOfMonth(1);
-		Integer restForNormalAndRepeating = transactionRepository.getRestForNormalAndRepeating(account.getID(), ISODateTimeFormat.date().print(startDate), ISODateTimeFormat.date().print(endDate));
-		Integer restForTransferSource = transactionRepository.getRestForTransferSource(account.getID(), ISODateTimeFormat.date().print(startDate), ISODateTimeFormat.date().print(endDate));
-		Integer restForTransferDestination = transactionRepository.getRestForTransferDestination(account.getID(), ISODateTimeFormat.date().print(startDate), ISODateTimeFormat.date().print(endDate));
+		DateTime startDate = DateTime.now().withYear(2000).withMonthOfYear(1).withDayOfMonth(1).withTimeAtStartOfDay();
+		Integer restForNormalAndRepeating = transactionRepository.getRestForNormalAndRepeating(account.getID(), startDate, endDate);
+		Integer restForTransferSource = transactionRepository.getRestForTransferSource(account.getID(), startDate, endDate);
+		Integer restForTransferDestination = transactionRepository.getRestForTransferDestination(account.getID(), startDate, endDate);
 
 		int rest = 0;
 
@@ -131,6 +156,55 @@ public class TransactionService implements Resetable
 		return rest;
 	}
 
+	/**
+	 * Saves a new transaction or updates an existing one.
+	 * Existing transactions are only updated if they were not modified since the given state was loaded.
+	 *
+	 * @throws ObjectOptimisticLockingFailureException if the transaction was modified or deleted in the meantime
+	 */
+	@Transactional
+	public Transaction saveTransaction(Transaction transaction)
+	{
+		if(transaction.getID() != null)
+		{
+			// remove the previous state before the repository merges the new values into it
+			Transaction existingTransaction = transactionRepository.findOne(transaction.getID());
+			checkVersion(existingTransaction, transaction);
+			monthlySummaryService.removeTransaction(existingTransaction);
+		}
+
+		Transaction savedTransaction = transactionRepository.save(transaction);
+		monthlySummaryService.addTransaction(savedTransaction);
+		return savedTransaction;
+	}
+
+	/**
+	 * Replaces the repeating transaction with the ID of the given transaction and all of its repetitions by the given transaction.
+	 * The previous transactions are deleted and the new one is saved in the same database transaction.
+	 *
+	 * @throws ObjectOptimisticLockingFailureException if the transaction was modified or deleted in the meantime
+	 */
+	@Transactional
+	public Transaction replaceRepeatingTransaction(Transaction transaction)
+	{
+		Transaction existingTransaction = transactionRepository.findOne(transaction.getID());
+		checkVersion(existingTransaction, transaction);
+		deleteTransactionInRepo(existingTransaction.getID());
+
+		transaction.setID(null);
+		transaction.setVersion(null);
+		return saveTransaction(transaction);
+	}
+
+	private void checkVersion(Transaction existingTransaction, Transaction transaction)
+	{
+		if(existingTransaction == null || !Objects.equals(existingTransaction.getVersion(), transaction.getVersion()))
+		{
+			throw new ObjectOptimisticLockingFailureException(Transaction.class, transaction.getID());
+		}
+	}
+
+	@Transactional
 	public void deleteTransaction(Integer ID)
 	{
 		if(isDeletable(ID))
@@ -151,10 +225,15 @@ public class TransactionService implements Resetable
 		// handle repeating transactions
 		if(transactionToDelete.getRepeatingOption() == null)
 		{
+			monthlySummaryService.removeTransaction(transactionToDelete);
 			transactionRepository.delete(ID);
 		}
 		else
 		{
+			for(Transaction referringTransaction : transactionToDelete.getRepeatingOption().getReferringTransactions())
+			{
+				monthlySummaryService.removeTransaction(referringTransaction);
+			}
 			repeatingOptionRepository.delete(transactionToDelete.getRepeatingOption().getID());
 		}
 	}
@@ -172,6 +251,7 @@ public class TransactionService implements Resetable
 		{
 			deleteTransactionInRepo(transaction.getID());
 		}
+		monthlySummaryService.deleteAll();
 	}
 
 	public void deleteTransactionsWithAccount(Account account) {
@@ -184,6 +264,8 @@ public class TransactionService implements Resetable
 		{
 			deleteTransactionInRepo(referringTransaction.getID());
 		}
+
+		monthlySummaryService.deleteAllForAccount(account);
 	}
 
 	@Override
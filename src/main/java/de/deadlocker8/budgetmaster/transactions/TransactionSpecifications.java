@@ -6,8 +6,12 @@ import de.deadlocker8.budgetmaster.tags.Tag_;
 import org.joda.time.DateTime;
 import org.springframework.data.jpa.domain.Specification;
 
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -70,19 +74,19 @@ public class TransactionSpecifications
 
 			if(categoryIDs != null)
 			{
-				predicates.add(builder.and(transaction.get(Transaction_.category).get("ID").in(categoryIDs)));
+				predicates.add(createInPredicate(builder, transaction.get(Transaction_.category).<Integer>get("ID"), categoryIDs));
 			}
 
 			if(tagIDs != null)
 			{
-				Join<Transaction, Tag> join = transaction.join(Transaction_.tags);
-				Predicate tagPredicate = builder.disjunction();
-				for(Integer tagID : tagIDs)
-				{
-					tagPredicate.getExpressions().add(builder.equal(join.get(Tag_.ID), tagID));
-				}
-
-				predicates.add(tagPredicate);
+				// semi-join instead of a join, so transactions with several matching tags are only returned once
+				Subquery<Integer> tagSubquery = query.subquery(Integer.class);
+				Root<Transaction> correlatedTransaction = tagSubquery.correlate(transaction);
+				Join<Transaction, Tag> tags = correlatedTransaction.join(Transaction_.tags);
+				tagSubquery.select(tags.get(Tag_.ID));
+				tagSubquery.where(createInPredicate(builder, tags.get(Tag_.ID), tagIDs));
+
+				predicates.add(builder.exists(tagSubquery));
 			}
 
 			if(name != null && name.length() > 0)
@@ -102,4 +106,14 @@ public class TransactionSpecifications
 			return builder.and(dateConstraint, builder.or(builder.and(predicates.toArray(predicatesArray)), transferBackReference));
 		};
 	}
+
+	private static Predicate createInPredicate(CriteriaBuilder builder, Expression<Integer> expression, List<Integer> IDs)
+	{
+		// an empty IN list is invalid SQL for some databases and matches nothing anyway
+		if(IDs.isEmpty())
+		{
+			return builder.disjunction();
+		}
+		return expression.in(IDs);
+	}
 }
@@ -1,23 +1,163 @@
 package de.deadlocker8.budgetmaster.utils;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import de.deadlocker8.budgetmaster.Main;
-import org.springframework.boot.autoconfigure.jdbc.DataSourceBuilder;
+import de.deadlocker8.budgetmaster.metrics.StatementStatisticsListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 
 import javax.sql.DataSource;
 import java.nio.file.Path;
+import java.util.Map;
 
 @Configuration
 public class DatabaseConfiguration
 {
+	private final Logger LOGGER = LoggerFactory.getLogger(this.getClass());
+
+	@Value("${database.type:h2}")
+	private String type;
+
+	// only used for external databases (the embedded H2 database is always stored in the application folder)
+	@Value("${database.url:}")
+	private String url;
+
+	@Value("${database.username:}")
+	private String username;
+
+	@Value("${database.password:}")
+	private String password;
+
+	@Value("${database.pool.maximumPoolSize:10}")
+	private int maximumPoolSize;
+
+	@Value("${database.pool.minimumIdle:2}")
+	private int minimumIdle;
+
+	@Value("${database.pool.connectionTimeout:30000}")
+	private long connectionTimeout;
+
+	@Value("${database.pool.idleTimeout:600000}")
+	private long idleTimeout;
+
+	@Value("${database.pool.maxLifetime:1800000}")
+	private long maxLifetime;
+
+	// in KB
+	@Value("${database.h2.cacheSize:65536}")
+	private int cacheSize;
+
+	@Value("${database.h2.mvStore:true}")
+	private boolean mvStore;
+
+	// in milliseconds
+	@Value("${database.h2.writeDelay:500}")
+	private int writeDelay;
+
+	// number of prepared statements cached per connection
+	@Value("${database.h2.queryCacheSize:32}")
+	private int queryCacheSize;
+
 	@Bean
 	@Primary
 	public DataSource dataSource()
 	{
-		Path applicationSupportFolder = Main.getApplicationSupportFolder();
-		String jdbcString = "jdbc:h2:/" + applicationSupportFolder.toString() + "/" + "budgetmaster;DB_CLOSE_ON_EXIT=TRUE";
-		return DataSourceBuilder.create().username("sa").password("").url(jdbcString).driverClassName("org.h2.Driver").build();
+		DatabaseType databaseType = getDatabaseType();
+
+		HikariConfig config = new HikariConfig();
+		config.setPoolName("BudgetMasterPool");
+		config.setDriverClassName(databaseType.getDriverClassName());
+
+		if(databaseType.isExternal())
+		{
+			config.setJdbcUrl(url);
+			config.setUsername(username);
+			config.setPassword(password);
+		}
+		else
+		{
+			Path applicationSupportFolder = Main.getApplicationSupportFolder();
+			String jdbcString = "jdbc:h2:/" + applicationSupportFolder.toString() + "/" + "budgetmaster;DB_CLOSE_ON_EXIT=TRUE" + getH2Settings();
+			config.setJdbcUrl(jdbcString);
+			config.setUsername("sa");
+			config.setPassword("");
+		}
+		config.setMaximumPoolSize(maximumPoolSize);
+		config.setMinimumIdle(minimumIdle);
+		config.setConnectionTimeout(connectionTimeout);
+		config.setIdleTimeout(idleTimeout);
+		config.setMaxLifetime(maxLifetime);
+
+		logConfiguration(config);
+
+		// counts statements and database time per request (see StatementStatisticsFilter)
+		return ProxyDataSourceBuilder.create(new HikariDataSource(config))
+				.name("BudgetMasterProxy")
+				.listener(new StatementStatisticsListener())
+				.build();
+	}
+
+	@Bean
+	public JpaVendorAdapter jpaVendorAdapter()
+	{
+		final boolean quoteIdentifiers = getDatabaseType().isExternal();
+		return new HibernateJpaVendorAdapter()
+		{
+			@Override
+			public Map<String, Object> getJpaPropertyMap()
+			{
+				Map<String, Object> properties = super.getJpaPropertyMap();
+				// tables and columns like "user" or "key" are reserved words in PostgreSQL and MariaDB
+				// (not enabled for H2, because quoted identifiers would no longer match existing upper case tables)
+				if(quoteIdentifiers)
+				{
+					properties.put("hibernate.globally_quoted_identifiers", "true");
+				}
+				return properties;
+			}
+		};
+	}
+
+	@Bean
+	public FlywayMigrationStrategy flywayMigrationStrategy()
+	{
+		return flyway -> {
+			// each database type has its own migration scripts due to differing id generation and column types
+			flyway.setLocations("classpath:db/migration/" + getDatabaseType().getName());
+			flyway.migrate();
+			LOGGER.info("Database schema version: " + flyway.info().current().getVersion());
+		};
+	}
+
+	public DatabaseType getDatabaseType()
+	{
+		return DatabaseType.fromName(type);
+	}
+
+	private String getH2Settings()
+	{
+		return ";MV_STORE=" + String.valueOf(mvStore).toUpperCase() +
+				";CACHE_SIZE=" + cacheSize +
+				";WRITE_DELAY=" + writeDelay +
+				";QUERY_CACHE_SIZE=" + queryCacheSize;
+	}
+
+	private void logConfiguration(HikariConfig config)
+	{
+		LOGGER.info("Database: " + getDatabaseType().getName() + " (" + config.getJdbcUrl() + ")");
+		LOGGER.info("Database pool: maximumPoolSize=" + config.getMaximumPoolSize() +
+				", minimumIdle=" + config.getMinimumIdle() +
+				", connectionTimeout=" + config.getConnectionTimeout() + "ms" +
+				", idleTimeout=" + config.getIdleTimeout() + "ms" +
+				", maxLifetime=" + config.getMaxLifetime() + "ms");
 	}
 }
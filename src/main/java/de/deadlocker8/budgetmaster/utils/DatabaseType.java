@@ -0,0 +1,47 @@
+package de.deadlocker8.budgetmaster.utils;
+
+public enum DatabaseType
+{
+	H2("h2", "org.h2.Driver", false),
+	POSTGRESQL("postgresql", "org.postgresql.Driver", true),
+	MARIADB("mariadb", "org.mariadb.jdbc.Driver", true);
+
+	private String name;
+	private String driverClassName;
+	private boolean isExternal;
+
+	DatabaseType(String name, String driverClassName, boolean isExternal)
+	{
+		this.name = name;
+		this.driverClassName = driverClassName;
+		this.isExternal = isExternal;
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public String getDriverClassName()
+	{
+		return driverClassName;
+	}
+
+	public boolean isExternal()
+	{
+		return isExternal;
+	}
+
+	public static DatabaseType fromName(String name)
+	{
+		for(DatabaseType type : values())
+		{
+			if(type.getName().equalsIgnoreCase(name))
+			{
+				return type;
+			}
+		}
+
+		throw new IllegalArgumentException("Unknown database type: " + name);
+	}
+}
@@ -0,0 +1,40 @@
+package de.deadlocker8.budgetmaster.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class Hashes
+{
+	private Hashes()
+	{
+	}
+
+	/**
+	 * Returns the SHA-256 of the string representations of all parts as a lowercase hex string.
+	 */
+	public static String sha256(Object... parts)
+	{
+		try
+		{
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			for(Object part : parts)
+			{
+				digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+				// separator, so that ("ab", "c") and ("a", "bc") result in different hashes
+				digest.update((byte) 0);
+			}
+
+			StringBuilder hash = new StringBuilder();
+			for(byte b : digest.digest())
+			{
+				hash.append(String.format("%02x", b));
+			}
+			return hash.toString();
+		}
+		catch(NoSuchAlgorithmException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,36 @@
+-- columns added to settings by older releases (previously repaired on every start by SettingsService)
+ALTER TABLE settings ADD COLUMN IF NOT EXISTS backup_reminder_activated BOOLEAN;
+ALTER TABLE settings ADD COLUMN IF NOT EXISTS last_backup_reminder_date TIMESTAMP;
+ALTER TABLE settings ADD COLUMN IF NOT EXISTS search_items_per_page INTEGER;
+
+UPDATE settings SET backup_reminder_activated = TRUE WHERE backup_reminder_activated IS NULL;
+UPDATE settings SET last_backup_reminder_date = DATEADD('MONTH', -1, CURRENT_TIMESTAMP()) WHERE last_backup_reminder_date IS NULL;
+UPDATE settings SET search_items_per_page = 10 WHERE search_items_per_page IS NULL;
+
+UPDATE account SET is_default = FALSE WHERE is_default IS NULL;
+UPDATE account SET is_selected = FALSE WHERE is_selected IS NULL;
+
+-- may already exist if it was created by Hibernate's schema update
+CREATE TABLE IF NOT EXISTS monthly_summary (
+	id INTEGER NOT NULL,
+	closing_balance INTEGER NOT NULL,
+	expenditure_sum INTEGER NOT NULL,
+	income_sum INTEGER NOT NULL,
+	summary_month INTEGER NOT NULL,
+	summary_year INTEGER NOT NULL,
+	transfer_in_sum INTEGER NOT NULL,
+	transfer_out_sum INTEGER NOT NULL,
+	account_id INTEGER,
+	PRIMARY KEY (id),
+	CONSTRAINT uk_monthly_summary_account_month UNIQUE (account_id, summary_year, summary_month),
+	CONSTRAINT fk_monthly_summary_account FOREIGN KEY (account_id) REFERENCES account (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_account_date ON transaction (account_id, date);
+CREATE INDEX IF NOT EXISTS idx_transaction_transfer_account_date ON transaction (transfer_account_id, date);
+CREATE INDEX IF NOT EXISTS idx_transaction_date ON transaction (date);
+CREATE INDEX IF NOT EXISTS idx_transaction_category ON transaction (category_id);
+CREATE INDEX IF NOT EXISTS idx_transaction_repeating_option ON transaction (repeating_option_id);
+CREATE INDEX IF NOT EXISTS idx_transaction_tags_transaction ON transaction_tags (transaction_id);
+CREATE INDEX IF NOT EXISTS idx_transaction_tags_tag ON transaction_tags (tags_id);
+CREATE INDEX IF NOT EXISTS idx_monthly_summary_month ON monthly_summary (summary_year, summary_month);
@@ -0,0 +1,31 @@
+-- tags are unique regardless of case and surrounding whitespace
+ALTER TABLE tag ADD COLUMN normalized_name VARCHAR(255);
+UPDATE tag SET normalized_name = LOWER(TRIM(name));
+
+-- merge tags that only differ in their spelling into the oldest one
+DELETE FROM transaction_tags WHERE EXISTS (
+	SELECT 1 FROM transaction_tags other
+	JOIN tag other_tag ON other_tag.id = other.tags_id
+	JOIN tag this_tag ON this_tag.id = transaction_tags.tags_id
+	WHERE other.transaction_id = transaction_tags.transaction_id
+	AND other_tag.normalized_name = this_tag.normalized_name
+	AND other_tag.id < this_tag.id
+);
+
+UPDATE transaction_tags SET tags_id = (
+	SELECT MIN(canonical.id) FROM tag duplicate
+	JOIN tag canonical ON canonical.normalized_name = duplicate.normalized_name
+	WHERE duplicate.id = transaction_tags.tags_id
+)
+WHERE EXISTS (
+	SELECT 1 FROM tag duplicate
+	JOIN tag canonical ON canonical.normalized_name = duplicate.normalized_name AND canonical.id < duplicate.id
+	WHERE duplicate.id = transaction_tags.tags_id
+);
+
+DELETE FROM tag WHERE EXISTS (
+	SELECT 1 FROM tag canonical
+	WHERE canonical.normalized_name = tag.normalized_name AND canonical.id < tag.id
+);
+
+ALTER TABLE tag ADD CONSTRAINT uk_tag_normalized_name UNIQUE (normalized_name);
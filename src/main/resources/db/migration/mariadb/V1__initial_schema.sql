@@ -0,0 +1,164 @@
+-- initial schema (identical to the H2 schema, ids are generated by auto increment)
+
+CREATE TABLE account (
+	id INTEGER NOT NULL AUTO_INCREMENT,
+	is_default BIT,
+	is_selected BIT,
+	name VARCHAR(255),
+	type INTEGER,
+	PRIMARY KEY (id),
+	CONSTRAINT uk_account_name UNIQUE (name)
+) ENGINE=InnoDB;
+
+CREATE TABLE category (
+	id INTEGER NOT NULL AUTO_INCREMENT,
+	color VARCHAR(255),
+	name VARCHAR(255),
+	type INTEGER,
+	PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE chart (
+	id INTEGER NOT NULL AUTO_INCREMENT,
+	name VARCHAR(255),
+	script TEXT,
+	type INTEGER,
+	version INTEGER NOT NULL,
+	PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE tag (
+	id INTEGER NOT NULL AUTO_INCREMENT,
+	name VARCHAR(255),
+	PRIMARY KEY (id),
+	CONSTRAINT uk_tag_name UNIQUE (name)
+) ENGINE=InnoDB;
+
+CREATE TABLE repeating_end (
+	type VARCHAR(31) NOT NULL,
+	id INTEGER NOT NULL AUTO_INCREMENT,
+	localization_key VARCHAR(255),
+	PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE repeating_end_afterxtimes (
+	times INTEGER NOT NULL,
+	id INTEGER NOT NULL,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_repeating_end_afterxtimes_id FOREIGN KEY (id) REFERENCES repeating_end (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE repeating_end_date (
+	end_date DATETIME,
+	id INTEGER NOT NULL,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_repeating_end_date_id FOREIGN KEY (id) REFERENCES repeating_end (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE repeating_end_never (
+	id INTEGER NOT NULL,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_repeating_end_never_id FOREIGN KEY (id) REFERENCES repeating_end (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE repeating_modifier (
+	type VARCHAR(31) NOT NULL,
+	id INTEGER NOT NULL AUTO_INCREMENT,
+	localization_key VARCHAR(255),
+	quantity INTEGER,
+	PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE repeating_modifier_days (
+	id INTEGER NOT NULL,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_repeating_modifier_days_id FOREIGN KEY (id) REFERENCES repeating_modifier (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE repeating_modifier_months (
+	id INTEGER NOT NULL,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_repeating_modifier_months_id FOREIGN KEY (id) REFERENCES repeating_modifier (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE repeating_modifier_years (
+	id INTEGER NOT NULL,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_repeating_modifier_years_id FOREIGN KEY (id) REFERENCES repeating_modifier (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE repeating_option (
+	id INTEGER NOT NULL AUTO_INCREMENT,
+	start_date DATETIME,
+	end_option_id INTEGER,
+	modifier_id INTEGER,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_repeating_option_end_option FOREIGN KEY (end_option_id) REFERENCES repeating_end (id),
+	CONSTRAINT fk_repeating_option_modifier FOREIGN KEY (modifier_id) REFERENCES repeating_modifier (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE transaction (
+	id INTEGER NOT NULL AUTO_INCREMENT,
+	amount INTEGER,
+	date DATETIME,
+	description VARCHAR(255),
+	name VARCHAR(255),
+	account_id INTEGER,
+	category_id INTEGER,
+	repeating_option_id INTEGER,
+	transfer_account_id INTEGER,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_transaction_account FOREIGN KEY (account_id) REFERENCES account (id),
+	CONSTRAINT fk_transaction_category FOREIGN KEY (category_id) REFERENCES category (id),
+	CONSTRAINT fk_transaction_repeating_option FOREIGN KEY (repeating_option_id) REFERENCES repeating_option (id),
+	CONSTRAINT fk_transaction_transfer_account FOREIGN KEY (transfer_account_id) REFERENCES account (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE transaction_tags (
+	transaction_id INTEGER NOT NULL,
+	tags_id INTEGER NOT NULL,
+	CONSTRAINT fk_transaction_tags_transaction FOREIGN KEY (transaction_id) REFERENCES transaction (id),
+	CONSTRAINT fk_transaction_tags_tag FOREIGN KEY (tags_id) REFERENCES tag (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE user (
+	id INTEGER NOT NULL AUTO_INCREMENT,
+	name VARCHAR(255),
+	password VARCHAR(255),
+	selected_account_id INTEGER,
+	PRIMARY KEY (id),
+	CONSTRAINT uk_user_name UNIQUE (name),
+	CONSTRAINT fk_user_selected_account FOREIGN KEY (selected_account_id) REFERENCES account (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE report_settings (
+	id INTEGER NOT NULL,
+	date DATETIME,
+	include_budget BIT NOT NULL,
+	include_category_budgets BIT NOT NULL,
+	split_tables BIT NOT NULL,
+	PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE report_column (
+	id INTEGER NOT NULL AUTO_INCREMENT,
+	activated BIT NOT NULL,
+	`key` VARCHAR(255),
+	position INTEGER NOT NULL,
+	referring_settings_id INTEGER,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_report_column_settings FOREIGN KEY (referring_settings_id) REFERENCES report_settings (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE settings (
+	id INTEGER NOT NULL,
+	auto_update_check_enabled BIT NOT NULL,
+	backup_reminder_activated BIT,
+	currency VARCHAR(255),
+	language INTEGER,
+	last_backup_reminder_date DATETIME,
+	rest_activated BIT NOT NULL,
+	search_items_per_page INTEGER,
+	use_dark_theme BIT NOT NULL,
+	PRIMARY KEY (id)
+) ENGINE=InnoDB;
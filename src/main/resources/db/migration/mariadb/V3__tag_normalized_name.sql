@@ -0,0 +1,28 @@
+-- tags are unique regardless of case and surrounding whitespace
+ALTER TABLE tag ADD COLUMN normalized_name VARCHAR(255);
+UPDATE tag SET normalized_name = LOWER(TRIM(name));
+
+-- merge tags that only differ in their spelling into the oldest one
+-- (MariaDB does not allow subqueries on the table that is modified, therefore multi-table deletes are used)
+DELETE this_row FROM transaction_tags this_row
+JOIN tag this_tag ON this_tag.id = this_row.tags_id
+JOIN transaction_tags other ON other.transaction_id = this_row.transaction_id
+JOIN tag other_tag ON other_tag.id = other.tags_id
+WHERE other_tag.normalized_name = this_tag.normalized_name
+AND other_tag.id < this_tag.id;
+
+UPDATE transaction_tags SET tags_id = (
+	SELECT MIN(canonical.id) FROM tag duplicate
+	JOIN tag canonical ON canonical.normalized_name = duplicate.normalized_name
+	WHERE duplicate.id = transaction_tags.tags_id
+)
+WHERE EXISTS (
+	SELECT 1 FROM tag duplicate
+	JOIN tag canonical ON canonical.normalized_name = duplicate.normalized_name AND canonical.id < duplicate.id
+	WHERE duplicate.id = transaction_tags.tags_id
+);
+
+DELETE duplicate FROM tag duplicate
+JOIN tag canonical ON canonical.normalized_name = duplicate.normalized_name AND canonical.id < duplicate.id;
+
+ALTER TABLE tag ADD CONSTRAINT uk_tag_normalized_name UNIQUE (normalized_name);
@@ -0,0 +1,2 @@
+-- the selected account is kept per session and in the user, accounts are not modified on selection anymore
+ALTER TABLE account DROP COLUMN is_selected;
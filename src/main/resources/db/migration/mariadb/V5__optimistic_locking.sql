@@ -0,0 +1,5 @@
+-- version columns for optimistic locking, existing rows start with version 0
+ALTER TABLE account ADD COLUMN version INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE repeating_option ADD COLUMN version INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE transaction ADD COLUMN version INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE settings ADD COLUMN version INTEGER DEFAULT 0 NOT NULL;
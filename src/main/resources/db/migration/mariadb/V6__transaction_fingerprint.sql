@@ -0,0 +1,4 @@
+-- content fingerprint (date, amount and normalized name) for the duplicate detection of imported bank statements,
+-- existing transactions are filled in by the application on the next start
+ALTER TABLE transaction ADD COLUMN fingerprint VARCHAR(32);
+CREATE INDEX idx_transaction_account_fingerprint ON transaction (account_id, fingerprint);
@@ -0,0 +1,166 @@
+-- initial schema (identical to the H2 schema)
+
+CREATE SEQUENCE hibernate_sequence START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE account (
+	id INTEGER NOT NULL,
+	is_default BOOLEAN,
+	is_selected BOOLEAN,
+	name VARCHAR(255),
+	type INTEGER,
+	PRIMARY KEY (id),
+	CONSTRAINT uk_account_name UNIQUE (name)
+);
+
+CREATE TABLE category (
+	id INTEGER NOT NULL,
+	color VARCHAR(255),
+	name VARCHAR(255),
+	type INTEGER,
+	PRIMARY KEY (id)
+);
+
+CREATE TABLE chart (
+	id INTEGER NOT NULL,
+	name VARCHAR(255),
+	script TEXT,
+	type INTEGER,
+	version INTEGER NOT NULL,
+	PRIMARY KEY (id)
+);
+
+CREATE TABLE tag (
+	id INTEGER NOT NULL,
+	name VARCHAR(255),
+	PRIMARY KEY (id),
+	CONSTRAINT uk_tag_name UNIQUE (name)
+);
+
+CREATE TABLE repeating_end (
+	type VARCHAR(31) NOT NULL,
+	id INTEGER NOT NULL,
+	localization_key VARCHAR(255),
+	PRIMARY KEY (id)
+);
+
+CREATE TABLE repeating_end_afterxtimes (
+	times INTEGER NOT NULL,
+	id INTEGER NOT NULL,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_repeating_end_afterxtimes_id FOREIGN KEY (id) REFERENCES repeating_end (id)
+);
+
+CREATE TABLE repeating_end_date (
+	end_date TIMESTAMP,
+	id INTEGER NOT NULL,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_repeating_end_date_id FOREIGN KEY (id) REFERENCES repeating_end (id)
+);
+
+CREATE TABLE repeating_end_never (
+	id INTEGER NOT NULL,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_repeating_end_never_id FOREIGN KEY (id) REFERENCES repeating_end (id)
+);
+
+CREATE TABLE repeating_modifier (
+	type VARCHAR(31) NOT NULL,
+	id INTEGER NOT NULL,
+	localization_key VARCHAR(255),
+	quantity INTEGER,
+	PRIMARY KEY (id)
+);
+
+CREATE TABLE repeating_modifier_days (
+	id INTEGER NOT NULL,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_repeating_modifier_days_id FOREIGN KEY (id) REFERENCES repeating_modifier (id)
+);
+
+CREATE TABLE repeating_modifier_months (
+	id INTEGER NOT NULL,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_repeating_modifier_months_id FOREIGN KEY (id) REFERENCES repeating_modifier (id)
+);
+
+CREATE TABLE repeating_modifier_years (
+	id INTEGER NOT NULL,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_repeating_modifier_years_id FOREIGN KEY (id) REFERENCES repeating_modifier (id)
+);
+
+CREATE TABLE repeating_option (
+	id INTEGER NOT NULL,
+	start_date TIMESTAMP,
+	end_option_id INTEGER,
+	modifier_id INTEGER,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_repeating_option_end_option FOREIGN KEY (end_option_id) REFERENCES repeating_end (id),
+	CONSTRAINT fk_repeating_option_modifier FOREIGN KEY (modifier_id) REFERENCES repeating_modifier (id)
+);
+
+CREATE TABLE transaction (
+	id INTEGER NOT NULL,
+	amount INTEGER,
+	date TIMESTAMP,
+	description VARCHAR(255),
+	name VARCHAR(255),
+	account_id INTEGER,
+	category_id INTEGER,
+	repeating_option_id INTEGER,
+	transfer_account_id INTEGER,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_transaction_account FOREIGN KEY (account_id) REFERENCES account (id),
+	CONSTRAINT fk_transaction_category FOREIGN KEY (category_id) REFERENCES category (id),
+	CONSTRAINT fk_transaction_repeating_option FOREIGN KEY (repeating_option_id) REFERENCES repeating_option (id),
+	CONSTRAINT fk_transaction_transfer_account FOREIGN KEY (transfer_account_id) REFERENCES account (id)
+);
+
+CREATE TABLE transaction_tags (
+	transaction_id INTEGER NOT NULL,
+	tags_id INTEGER NOT NULL,
+	CONSTRAINT fk_transaction_tags_transaction FOREIGN KEY (transaction_id) REFERENCES transaction (id),
+	CONSTRAINT fk_transaction_tags_tag FOREIGN KEY (tags_id) REFERENCES tag (id)
+);
+
+CREATE TABLE "user" (
+	id INTEGER NOT NULL,
+	name VARCHAR(255),
+	password VARCHAR(255),
+	selected_account_id INTEGER,
+	PRIMARY KEY (id),
+	CONSTRAINT uk_user_name UNIQUE (name),
+	CONSTRAINT fk_user_selected_account FOREIGN KEY (selected_account_id) REFERENCES account (id)
+);
+
+CREATE TABLE report_settings (
+	id INTEGER NOT NULL,
+	date TIMESTAMP,
+	include_budget BOOLEAN NOT NULL,
+	include_category_budgets BOOLEAN NOT NULL,
+	split_tables BOOLEAN NOT NULL,
+	PRIMARY KEY (id)
+);
+
+CREATE TABLE report_column (
+	id INTEGER NOT NULL,
+	activated BOOLEAN NOT NULL,
+	key VARCHAR(255),
+	position INTEGER NOT NULL,
+	referring_settings_id INTEGER,
+	PRIMARY KEY (id),
+	CONSTRAINT fk_report_column_settings FOREIGN KEY (referring_settings_id) REFERENCES report_settings (id)
+);
+
+CREATE TABLE settings (
+	id INTEGER NOT NULL,
+	auto_update_check_enabled BOOLEAN NOT NULL,
+	backup_reminder_activated BOOLEAN,
+	currency VARCHAR(255),
+	language INTEGER,
+	last_backup_reminder_date TIMESTAMP,
+	rest_activated BOOLEAN NOT NULL,
+	search_items_per_page INTEGER,
+	use_dark_theme BOOLEAN NOT NULL,
+	PRIMARY KEY (id)
+);
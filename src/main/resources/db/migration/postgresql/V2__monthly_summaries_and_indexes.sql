@@ -0,0 +1,23 @@
+CREATE TABLE monthly_summary (
+	id INTEGER NOT NULL,
+	closing_balance INTEGER NOT NULL,
+	expenditure_sum INTEGER NOT NULL,
+	income_sum INTEGER NOT NULL,
+	summary_month INTEGER NOT NULL,
+	summary_year INTEGER NOT NULL,
+	transfer_in_sum INTEGER NOT NULL,
+	transfer_out_sum INTEGER NOT NULL,
+	account_id INTEGER,
+	PRIMARY KEY (id),
+	CONSTRAINT uk_monthly_summary_account_month UNIQUE (account_id, summary_year, summary_month),
+	CONSTRAINT fk_monthly_summary_account FOREIGN KEY (account_id) REFERENCES account (id)
+);
+
+CREATE INDEX idx_transaction_account_date ON transaction (account_id, date);
+CREATE INDEX idx_transaction_transfer_account_date ON transaction (transfer_account_id, date);
+CREATE INDEX idx_transaction_date ON transaction (date);
+CREATE INDEX idx_transaction_category ON transaction (category_id);
+CREATE INDEX idx_transaction_repeating_option ON transaction (repeating_option_id);
+CREATE INDEX idx_transaction_tags_transaction ON transaction_tags (transaction_id);
+CREATE INDEX idx_transaction_tags_tag ON transaction_tags (tags_id);
+CREATE INDEX idx_monthly_summary_month ON monthly_summary (summary_year, summary_month);
@@ -204,4 +204,31 @@ function setDateRange(startDate, endDate, pickerStartDate, pickerEndDate)
 
     pickerEndDate.setDate(endDate.toDate());
     pickerEndDate.setInputValue();
-}
\ No newline at end of file
+}
+// expands the columnar chart data sent by the server into one object per transaction
+function decodeChartData(chartData)
+{
+    var transactions = [];
+    for(var i = 0; i < chartData.IDs.length; i++)
+    {
+        var transferAccountID = chartData.transferAccountIDs[i];
+        var repeatingOptionID = chartData.repeatingOptionIDs[i];
+
+        transactions.push({
+            ID: chartData.IDs[i],
+            amount: chartData.amounts[i],
+            date: new Date(chartData.dates[i] * 86400000).toISOString().substring(0, 10),
+            account: chartData.accounts[chartData.accountIDs[i]],
+            category: chartData.categories[chartData.categoryIDs[i]],
+            name: chartData.names[i],
+            description: chartData.descriptions[i],
+            tags: chartData.tagIDs[i].map(function(tagID)
+            {
+                return chartData.tags[tagID];
+            }),
+            repeatingOption: repeatingOptionID === null ? null : {ID: repeatingOptionID},
+            transferAccount: transferAccountID === null ? null : chartData.accounts[transferAccountID]
+        });
+    }
+    return transactions;
+}
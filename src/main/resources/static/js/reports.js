@@ -37,5 +37,51 @@ function validateForm()
         positionInput.value = i;
     });
 
-    return true;
+    var form = $('form[name="NewReportSettings"]');
+    form.find('button[type="submit"]').prop('disabled', true);
+    $('#report-progress').removeClass('hidden');
+
+    $.post(form.attr('action'), form.serialize(), function(job)
+    {
+        updateReportJob(form, job);
+    }).fail(function()
+    {
+        finishReportJob(form);
+    });
+
+    // the report is generated in the background and downloaded as soon as it is ready
+    return false;
+}
+
+function updateReportJob(form, job)
+{
+    if(job.status === 'DONE')
+    {
+        finishReportJob(form);
+        window.location.href = form.data('url-download') + job.ID + '/download';
+    }
+    else if(job.status === 'FAILED')
+    {
+        finishReportJob(form);
+        M.toast({html: $('<div>').text(job.errorMessage).html(), classes: 'red'});
+    }
+    else
+    {
+        window.setTimeout(function()
+        {
+            $.get(form.data('url-jobs') + job.ID, function(updatedJob)
+            {
+                updateReportJob(form, updatedJob);
+            }).fail(function()
+            {
+                finishReportJob(form);
+            });
+        }, 1000);
+    }
+}
+
+function finishReportJob(form)
+{
+    form.find('button[type="submit"]').prop('disabled', false);
+    $('#report-progress').addClass('hidden');
 }
\ No newline at end of file
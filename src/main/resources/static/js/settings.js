@@ -11,4 +11,71 @@ $(document).ready(function()
     {
         document.getElementById("form-database-import").submit();
     });
-});
\ No newline at end of file
+});
+$(document).ready(function()
+{
+    var modalImportProgress = $('#modalImportProgress');
+    if(modalImportProgress.length === 0)
+    {
+        return;
+    }
+
+    var url = modalImportProgress.data('url');
+    var csrfData = {};
+    csrfData[modalImportProgress.data('csrf-name')] = modalImportProgress.data('csrf-token');
+
+    $('#button-import-cancel').click(function()
+    {
+        $.post(url + '/cancel', csrfData, updateImportProgress);
+    });
+
+    $('#button-import-resume').click(function()
+    {
+        $.post(url + '/resume', csrfData, function(job)
+        {
+            updateImportProgress(job);
+            pollImportProgress();
+        });
+    });
+
+    function pollImportProgress()
+    {
+        $.get(url, function(job)
+        {
+            if(updateImportProgress(job))
+            {
+                window.setTimeout(pollImportProgress, 1000);
+            }
+        });
+    }
+
+    // returns true as long as the job is not finished
+    function updateImportProgress(job)
+    {
+        var percentage = job.numberOfTransactions === 0 ? 100 : Math.floor(job.numberOfImportedTransactions * 100 / job.numberOfTransactions);
+        $('#import-progress-bar').css('width', percentage + '%');
+
+        var text = job.numberOfImportedTransactions + ' / ' + job.numberOfTransactions;
+        if(job.status === 'CANCELLED')
+        {
+            text = modalImportProgress.data('text-cancelled') + ' (' + text + ')';
+        }
+        else if(job.status === 'DONE')
+        {
+            text = modalImportProgress.data('text-done') + ' (' + text + ')';
+        }
+        if(job.errorMessage)
+        {
+            text += '<br>' + $('<div>').text(job.errorMessage).html();
+        }
+        $('#import-progress-text').html(text);
+
+        var isRunning = job.status === 'QUEUED' || job.status === 'RUNNING';
+        $('#button-import-cancel').toggleClass('hidden', !isRunning);
+        $('#button-import-resume').toggleClass('hidden', !job.resumable);
+        $('#button-import-close').toggleClass('hidden', isRunning);
+        return isRunning;
+    }
+
+    pollImportProgress();
+});
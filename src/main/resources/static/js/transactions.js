@@ -134,6 +134,25 @@ $( document ).ready(function() {
             placeholder: tagsPlaceholder,
             data: initialTags
         });
+
+        // the page only contains the most used tags, all others are requested while typing
+        var chips = M.Chips.getInstance(document.querySelector('.chips-autocomplete'));
+        var tagSuggestionTimeout;
+        $(chips.$input[0]).on('input', function() {
+            var prefix = $(this).val();
+            clearTimeout(tagSuggestionTimeout);
+            tagSuggestionTimeout = setTimeout(function() {
+                $.getJSON(rootURL + '/tags/autocomplete', {prefix: prefix}, function(names) {
+                    var data = {};
+                    for(var i = 0; i < names.length; i++)
+                    {
+                        data[names[i]] = null;
+                    }
+                    chips.autocomplete.updateData(data);
+                    chips.autocomplete.open();
+                });
+            }, 150);
+        });
     }
 
     // prevent form submit on enter (otherwise tag functionality will be hard to use)
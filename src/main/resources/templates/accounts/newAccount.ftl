@@ -20,7 +20,7 @@
                     <form name="NewAccount" action="<@s.url '/accounts/newAccount'/>" method="post">
                         <input type="hidden" name="${_csrf.parameterName}" value="${_csrf.token}"/>
                         <input type="hidden" name="ID" value="<#if account.getID()??>${account.getID()?c}</#if>">
-                        <input type="hidden" name="isSelected" value="<#if account.isSelected()??>${account.isSelected()?c}</#if>">
+                        <input type="hidden" name="version" value="<#if account.getVersion()??>${account.getVersion()?c}</#if>">
                         <input type="hidden" name="isDefault" value="<#if account.isDefault()??>${account.isDefault()?c}</#if>">
 
                         <#-- name -->
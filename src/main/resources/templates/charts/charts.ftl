@@ -26,8 +26,8 @@
                 <div class="center-align"><a href="<@s.url '/charts/manage'/>" class="waves-effect waves-light btn budgetmaster-blue"><i class="material-icons left">edit</i>${locale.getString("home.menu.charts.action.manage")}</a></div>
                 <br>
                 <div class="container">
-                    <form name="NewChartSettings" action="<@s.url '/charts'/>" method="post">
-                        <input type="hidden" name="${_csrf.parameterName}" value="${_csrf.token}"/>
+                    <#-- showing a chart does not change anything, so the chart can be revalidated by the browser and bookmarked -->
+                    <form name="NewChartSettings" action="<@s.url '/charts/show'/>" method="get">
 
                         <div class="row">
                             <div class="s12">
@@ -172,7 +172,7 @@
                     localizedData = JSON.parse('${locale.getString(chart.getName() + ".localization")}');
                 </#if>
 
-                ${chart.getScript()?replace("var transactionData = [];", "var transactionData = ${transactionData};")}
+                ${chart.getScript()?replace("var transactionData = [];", "var transactionData = decodeChartData(${transactionData});")}
             </script>
         </#if>
     </body>
@@ -83,11 +83,12 @@
 <div class="account-navbar center-align">
     <div class="input-field no-margin" id="selectWrapper">
         <select id="selectAccount">
+            <#assign currentAccountID = helpers.getCurrentAccount().getID()>
             <#list helpers.getAllAccounts() as account>
                 <#if (account.getType().name() == "ALL")>
-                    <option <#if account.isSelected()>selected</#if> value="${account.getID()?c}">${locale.getString("account.all")}</option>
+                    <option <#if account.getID() == currentAccountID>selected</#if> value="${account.getID()?c}">${locale.getString("account.all")}</option>
                 <#else>
-                    <option <#if account.isSelected()>selected</#if> value="${account.getID()?c}">${account.getName()}</option>
+                    <option <#if account.getID() == currentAccountID>selected</#if> value="${account.getID()?c}">${account.getName()}</option>
                 </#if>
             </#list>
         </select>
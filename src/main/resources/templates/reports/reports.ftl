@@ -22,7 +22,8 @@
                 <br>
 
                 <div class="container">
-                    <form name="NewReportSettings" action="<@s.url '/reports/generate'/>" method="post" onsubmit="return validateForm()">
+                    <form name="NewReportSettings" action="<@s.url '/reports/generate'/>" method="post" onsubmit="return validateForm()"
+                          data-url-jobs="<@s.url '/reports/jobs/'/>" data-url-download="<@s.url '/reports/'/>">
                         <input type="hidden" name="${_csrf.parameterName}" value="${_csrf.token}"/>
                         <input type="hidden" name="ID" value="${reportSettings.getID()?c}"/>
                         <input type="hidden" name="date" value="${dateService.getLongDateString(currentDate)}"/>
@@ -101,6 +102,14 @@
                                 </button>
                             </div>
                         </div>
+                        <div id="report-progress" class="row hidden">
+                            <div class="col s12 m8 offset-m2 center-align">
+                                <div class="progress">
+                                    <div class="indeterminate"></div>
+                                </div>
+                                ${locale.getString("report.generating")}
+                            </div>
+                        </div>
                     </form>
                 </div>
             </div>
@@ -23,6 +23,7 @@
                     <form name="Settings" action="<@s.url '/settings/save'/>" method="post">
                         <input type="hidden" name="${_csrf.parameterName}" value="${_csrf.token}"/>
                         <input type="hidden" name="ID" value="${settings.getID()?c}">
+                        <input type="hidden" name="version" value="<#if settings.getVersion()??>${settings.getVersion()?c}</#if>">
                         <input type="hidden" name="lastBackupReminderDate" value="${dateService.getLongDateString(settings.getLastBackupReminderDate())}">
 
                         <#-- password -->
@@ -148,6 +149,10 @@
            <@settingsMacros.importDB/>
         </#if>
 
+        <#if importJob??>
+            <@settingsMacros.importProgress importJob/>
+        </#if>
+
         <#if errorImportDatabase??>
             <@settingsMacros.errorImport errorImportDatabase/>
         </#if>
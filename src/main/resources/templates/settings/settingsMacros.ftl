@@ -134,6 +134,25 @@
     </div>
 </#macro>
 
+<#macro importProgress job>
+    <div id="modalImportProgress" class="modal background-color" data-url="<@s.url '/settings/database/import/jobs/' + job.getID()/>"
+         data-csrf-name="${_csrf.parameterName}" data-csrf-token="${_csrf.token}"
+         data-text-cancelled="${locale.getString("info.database.import.cancelled")}" data-text-done="${locale.getString("info.database.import.done")}">
+        <div class="modal-content">
+            <h4>${locale.getString("info.title.database.import.progress")}</h4>
+            <div class="progress">
+                <div id="import-progress-bar" class="determinate" style="width: 0%"></div>
+            </div>
+            <p id="import-progress-text"></p>
+        </div>
+        <div class="modal-footer background-color">
+            <a id="button-import-cancel" class="waves-effect waves-light red btn-flat white-text">${locale.getString("cancel")}</a>
+            <a id="button-import-resume" class="waves-effect waves-light budgetmaster-blue btn-flat white-text hidden">${locale.getString("settings.database.import.resume")}</a>
+            <a href="<@s.url '/settings'/>" id="button-import-close" class="modal-action modal-close waves-effect waves-light green btn-flat white-text hidden">${locale.getString("ok")}</a>
+        </div>
+    </div>
+</#macro>
+
 <#macro update>
     <div id="modelPerformUpdate" class="modal background-color">
         <div class="modal-content">
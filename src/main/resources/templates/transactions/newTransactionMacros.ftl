@@ -167,8 +167,8 @@
     <script>
         tagsPlaceholder = "${locale.getString("tagfield.placeholder")}";
         tagAutoComplete = {
-            <#list helpers.getAllTags() as tag>
-            '${tag.getName()}': null,
+            <#list helpers.getTopTags() as tagName>
+            '${tagName?js_string}': null,
             </#list>
         }
     </script>
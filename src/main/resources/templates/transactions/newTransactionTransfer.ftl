@@ -26,6 +26,7 @@
                     <form name="NewTransaction" action="<@s.url '/transactions/newTransaction/transfer'/>" method="post" onsubmit="return validateForm()">
                         <input type="hidden" name="${_csrf.parameterName}" value="${_csrf.token}"/>
                         <input type="hidden" name="ID" value="<#if transaction.getID()??>${transaction.getID()?c}</#if>">
+                        <input type="hidden" name="version" value="<#if transaction.getVersion()??>${transaction.getVersion()?c}</#if>">
                         <input type="hidden" name="isPayment" value="true">
 
                         <#-- name -->
@@ -0,0 +1,91 @@
+package de.deadlocker8.budgetmaster.unit;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountRepository;
+import de.deadlocker8.budgetmaster.accounts.AccountService;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
+import de.deadlocker8.budgetmaster.authentication.User;
+import de.deadlocker8.budgetmaster.authentication.UserRepository;
+import de.deadlocker8.budgetmaster.services.DataVersionService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@DataJpaTest
+public class AccountServiceTest
+{
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private AccountService accountService;
+	private Account account1;
+	private Account account2;
+
+	@Before
+	public void init()
+	{
+		DataVersionService dataVersionService = new DataVersionService(new ApplicationEventPublisher()
+		{
+			@Override
+			public void publishEvent(ApplicationEvent event)
+			{
+			}
+
+			@Override
+			public void publishEvent(Object event)
+			{
+			}
+		});
+		accountService = new AccountService(accountRepository, null, userRepository, dataVersionService);
+
+		account1 = accountRepository.save(new Account("Account1", AccountType.CUSTOM));
+		account2 = accountRepository.save(new Account("Account2", AccountType.CUSTOM));
+		userRepository.save(new User("Default", "password"));
+	}
+
+	@Test
+	public void test_setAsDefaultAccount()
+	{
+		accountService.setAsDefaultAccount(account1.getID());
+		accountService.setAsDefaultAccount(account2.getID());
+		entityManager.clear();
+
+		assertFalse(accountRepository.findOne(account1.getID()).isDefault());
+		assertTrue(accountRepository.findOne(account2.getID()).isDefault());
+		assertEquals(account2.getID(), accountService.getDefaultAccount().getID());
+	}
+
+	@Test
+	public void test_selectAccount()
+	{
+		accountService.selectAccount(account2.getID());
+		entityManager.clear();
+
+		assertEquals(account2.getID(), accountService.getSelectedAccount().getID());
+		assertEquals(account2.getID(), userRepository.findByName("Default").getSelectedAccount().getID());
+	}
+
+	@Test
+	public void test_getSelectedAccount_fallbackToDefault()
+	{
+		accountService.setAsDefaultAccount(account1.getID());
+		entityManager.clear();
+
+		assertEquals(account1.getID(), accountService.getSelectedAccount().getID());
+	}
+}
@@ -0,0 +1,111 @@
+package de.deadlocker8.budgetmaster.unit;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
+import de.deadlocker8.budgetmaster.categories.Category;
+import de.deadlocker8.budgetmaster.categories.CategoryType;
+import de.deadlocker8.budgetmaster.charts.ChartDataService;
+import de.deadlocker8.budgetmaster.tags.Tag;
+import de.deadlocker8.budgetmaster.transactions.Transaction;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class ChartDataServiceTest
+{
+	private Transaction createTransaction(int ID, int amount, DateTime date, Account account, Category category, Tag... tags)
+	{
+		Transaction transaction = new Transaction();
+		transaction.setID(ID);
+		transaction.setAmount(amount);
+		transaction.setDate(date);
+		transaction.setAccount(account);
+		transaction.setCategory(category);
+		transaction.setName("Transaction " + ID);
+		transaction.setDescription("");
+		transaction.setTags(new ArrayList<>(Arrays.asList(tags)));
+		return transaction;
+	}
+
+	@Test
+	public void test_encode()
+	{
+		Account account1 = new Account("Account1", AccountType.CUSTOM);
+		account1.setID(1);
+		Account account2 = new Account("Account2", AccountType.CUSTOM);
+		account2.setID(2);
+
+		Category category = new Category("Car", "#ff0000", CategoryType.CUSTOM);
+		category.setID(5);
+
+		Tag tag = new Tag("Holiday");
+		tag.setID(7);
+
+		Transaction transaction1 = createTransaction(10, -1500, new DateTime(1970, 1, 2, 12, 0), account1, category, tag);
+		Transaction transaction2 = createTransaction(11, 200, new DateTime(2019, 3, 1, 0, 0), account1, category);
+		transaction2.setTransferAccount(account2);
+
+		JsonObject chartData = new JsonParser().parse(ChartDataService.encode(Arrays.asList(transaction1, transaction2))).getAsJsonObject();
+
+		assertEquals(10, chartData.getAsJsonArray("IDs").get(0).getAsInt());
+		assertEquals(1, chartData.getAsJsonArray("dates").get(0).getAsInt());
+		assertEquals(17956, chartData.getAsJsonArray("dates").get(1).getAsInt());
+		assertEquals(-1500, chartData.getAsJsonArray("amounts").get(0).getAsInt());
+		assertEquals("Transaction 11", chartData.getAsJsonArray("names").get(1).getAsString());
+		assertEquals(5, chartData.getAsJsonArray("categoryIDs").get(1).getAsInt());
+		assertEquals(1, chartData.getAsJsonArray("accountIDs").get(1).getAsInt());
+		assertTrue(chartData.getAsJsonArray("transferAccountIDs").get(0).isJsonNull());
+		assertEquals(2, chartData.getAsJsonArray("transferAccountIDs").get(1).getAsInt());
+		assertTrue(chartData.getAsJsonArray("repeatingOptionIDs").get(0).isJsonNull());
+
+		JsonArray tagIDs = chartData.getAsJsonArray("tagIDs");
+		assertEquals(1, tagIDs.get(0).getAsJsonArray().size());
+		assertEquals(7, tagIDs.get(0).getAsJsonArray().get(0).getAsInt());
+		assertEquals(0, tagIDs.get(1).getAsJsonArray().size());
+
+		// referenced objects are only sent once
+		assertEquals(1, chartData.getAsJsonObject("categories").size());
+		assertEquals("#ff0000", chartData.getAsJsonObject("categories").getAsJsonObject("5").get("color").getAsString());
+		assertEquals(2, chartData.getAsJsonObject("accounts").size());
+		assertEquals("Account2", chartData.getAsJsonObject("accounts").getAsJsonObject("2").get("name").getAsString());
+		assertEquals("Holiday", chartData.getAsJsonObject("tags").getAsJsonObject("7").get("name").getAsString());
+	}
+
+	@Test
+	public void test_encodeEmpty()
+	{
+		JsonObject chartData = new JsonParser().parse(ChartDataService.encode(Collections.emptyList())).getAsJsonObject();
+		assertEquals(0, chartData.getAsJsonArray("IDs").size());
+		assertEquals(0, chartData.getAsJsonObject("categories").size());
+	}
+
+	@Test
+	public void test_encodeHtmlSafe()
+	{
+		Account account = new Account("Account", AccountType.CUSTOM);
+		account.setID(1);
+		Category category = new Category("</script>", "#ff0000", CategoryType.CUSTOM);
+		category.setID(5);
+
+		Transaction transaction = createTransaction(10, -1500, new DateTime(2019, 3, 1, 0, 0), account, category);
+		transaction.setName("</script><script>alert('&')</script>");
+
+		String json = ChartDataService.encode(Collections.singletonList(transaction));
+		assertFalse(json.contains("<"));
+		assertFalse(json.contains(">"));
+		assertTrue(json.contains("\\u003c/script\\u003e"));
+
+		// the escaped values are still read back unchanged
+		JsonObject chartData = new JsonParser().parse(json).getAsJsonObject();
+		assertEquals("</script><script>alert('&')</script>", chartData.getAsJsonArray("names").get(0).getAsString());
+		assertEquals("</script>", chartData.getAsJsonObject("categories").getAsJsonObject("5").get("name").getAsString());
+	}
+}
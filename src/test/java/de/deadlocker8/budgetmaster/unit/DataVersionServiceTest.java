@@ -0,0 +1,102 @@
+package de.deadlocker8.budgetmaster.unit;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
+import de.deadlocker8.budgetmaster.services.DataChangedEvent;
+import de.deadlocker8.budgetmaster.services.DataVersionService;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DataVersionServiceTest
+{
+	private final List<DataChangedEvent> events = new ArrayList<>();
+	private DataVersionService dataVersionService;
+
+	private Account account1;
+	private Account account2;
+	private Account accountAll;
+
+	@Before
+	public void before()
+	{
+		events.clear();
+		dataVersionService = new DataVersionService(new ApplicationEventPublisher()
+		{
+			@Override
+			public void publishEvent(ApplicationEvent event)
+			{
+				publishEvent((Object) event);
+			}
+
+			@Override
+			public void publishEvent(Object event)
+			{
+				events.add((DataChangedEvent) event);
+			}
+		});
+
+		account1 = new Account("Account1", AccountType.CUSTOM);
+		account1.setID(1);
+		account2 = new Account("Account2", AccountType.CUSTOM);
+		account2.setID(2);
+		accountAll = new Account("All", AccountType.ALL);
+		accountAll.setID(3);
+	}
+
+	@Test
+	public void test_accountChanged()
+	{
+		long version1 = dataVersionService.getVersion(account1);
+		long version2 = dataVersionService.getVersion(account2);
+		long versionAll = dataVersionService.getVersion(accountAll);
+
+		dataVersionService.accountsChanged(Collections.singletonList(1));
+
+		assertTrue(dataVersionService.getVersion(account1) > version1);
+		assertEquals(version2, dataVersionService.getVersion(account2));
+		assertTrue(dataVersionService.getVersion(accountAll) > versionAll);
+
+		assertEquals(1, events.size());
+		assertTrue(events.get(0).affects(1));
+		assertFalse(events.get(0).affects(2));
+		assertTrue(events.get(0).affects(null));
+	}
+
+	@Test
+	public void test_allAccountsChanged()
+	{
+		dataVersionService.accountsChanged(Arrays.asList(1, 2));
+		long version1 = dataVersionService.getVersion(account1);
+		long version2 = dataVersionService.getVersion(account2);
+
+		dataVersionService.allAccountsChanged();
+
+		assertTrue(dataVersionService.getVersion(account1) > version1);
+		assertTrue(dataVersionService.getVersion(account2) > version2);
+
+		assertEquals(2, events.size());
+		assertTrue(events.get(1).isAllAccounts());
+		assertTrue(events.get(1).affects(2));
+	}
+
+	@Test
+	public void test_versionIsMonotonic()
+	{
+		dataVersionService.allAccountsChanged();
+		long version = dataVersionService.getVersion(account1);
+
+		// an older change of a single account must not lower the version
+		dataVersionService.accountsChanged(Collections.singletonList(2));
+		assertEquals(version, dataVersionService.getVersion(account1));
+		assertTrue(dataVersionService.getVersion(account2) > version);
+	}
+}
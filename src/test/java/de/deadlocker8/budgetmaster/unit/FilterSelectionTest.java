@@ -0,0 +1,79 @@
+package de.deadlocker8.budgetmaster.unit;
+
+import de.deadlocker8.budgetmaster.filter.FilterConfiguration;
+import de.deadlocker8.budgetmaster.filter.FilterObject;
+import de.deadlocker8.budgetmaster.filter.FilterSelection;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FilterSelectionTest
+{
+	private List<FilterObject> createObjects(FilterObject... objects)
+	{
+		return new ArrayList<>(Arrays.asList(objects));
+	}
+
+	@Test
+	public void test_default_notActive()
+	{
+		List<FilterObject> categories = createObjects(new FilterObject(1, "Car", true), new FilterObject(2, "Food", true));
+		List<FilterObject> tags = createObjects(new FilterObject(5, "Holiday", true));
+
+		FilterConfiguration filterConfiguration = FilterSelection.DEFAULT.toConfiguration(categories, tags);
+
+		assertFalse(filterConfiguration.isActive());
+		assertNull(filterConfiguration.getIncludedCategoryIDs());
+		assertNull(filterConfiguration.getIncludedTagIDs());
+	}
+
+	@Test
+	public void test_roundTrip()
+	{
+		List<FilterObject> categories = createObjects(new FilterObject(1, "Car", true), new FilterObject(2, "Food", false));
+		List<FilterObject> tags = createObjects(new FilterObject(5, "Holiday", false), new FilterObject(6, "Work", true));
+		FilterConfiguration filterConfiguration = new FilterConfiguration(true, false, true, true, true, categories, tags, "abc");
+
+		FilterSelection filterSelection = FilterSelection.fromConfiguration(filterConfiguration);
+		FilterConfiguration result = filterSelection.toConfiguration(categories, tags);
+
+		assertTrue(result.isActive());
+		assertFalse(result.isIncludeExpenditure());
+		assertEquals("abc", result.getName());
+		assertEquals(Arrays.asList(1), result.getIncludedCategoryIDs());
+		assertEquals(Arrays.asList(6), result.getIncludedTagIDs());
+	}
+
+	@Test
+	public void test_newObjectsIncluded()
+	{
+		List<FilterObject> categories = createObjects(new FilterObject(1, "Car", false));
+		FilterConfiguration filterConfiguration = new FilterConfiguration(true, true, true, true, true, categories, createObjects(), "");
+		FilterSelection filterSelection = FilterSelection.fromConfiguration(filterConfiguration);
+
+		List<FilterObject> currentCategories = createObjects(new FilterObject(1, "Car", true), new FilterObject(3, "Rent", true));
+		FilterConfiguration result = filterSelection.toConfiguration(currentCategories, createObjects());
+
+		assertEquals(Arrays.asList(3), result.getIncludedCategoryIDs());
+		assertTrue(filterSelection.isCategoryExcluded(1));
+		assertFalse(filterSelection.isCategoryExcluded(3));
+	}
+
+	@Test
+	public void test_sharedObjectsNotModified()
+	{
+		List<FilterObject> categories = createObjects(new FilterObject(1, "Car", true));
+		FilterConfiguration filterConfiguration = new FilterConfiguration(true, true, true, true, true, createObjects(new FilterObject(1, "Car", false)), createObjects(), "");
+
+		FilterSelection.fromConfiguration(filterConfiguration).toConfiguration(categories, createObjects());
+
+		assertTrue(categories.get(0).isInclude());
+	}
+}
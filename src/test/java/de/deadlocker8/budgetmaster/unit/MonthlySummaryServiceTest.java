@@ -0,0 +1,148 @@
+package de.deadlocker8.budgetmaster.unit;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountRepository;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
+import de.deadlocker8.budgetmaster.categories.Category;
+import de.deadlocker8.budgetmaster.categories.CategoryRepository;
+import de.deadlocker8.budgetmaster.categories.CategoryType;
+import de.deadlocker8.budgetmaster.reports.Budget;
+import de.deadlocker8.budgetmaster.summary.MonthlySummary;
+import de.deadlocker8.budgetmaster.summary.MonthlySummaryRepository;
+import de.deadlocker8.budgetmaster.summary.MonthlySummaryService;
+import de.deadlocker8.budgetmaster.transactions.Transaction;
+import de.deadlocker8.budgetmaster.transactions.TransactionRepository;
+import org.joda.time.DateTime;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@DataJpaTest
+public class MonthlySummaryServiceTest
+{
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private MonthlySummaryRepository monthlySummaryRepository;
+
+	@Autowired
+	private AccountRepository accountRepository;
+	private Account account;
+	private Account account2;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+	private Category category;
+
+	private MonthlySummaryService monthlySummaryService;
+
+	@Before
+	public void init()
+	{
+		monthlySummaryService = new MonthlySummaryService(monthlySummaryRepository, transactionRepository);
+
+		account = accountRepository.save(new Account("TestAccount", AccountType.CUSTOM));
+		account2 = accountRepository.save(new Account("TestAccount2", AccountType.CUSTOM));
+		category = categoryRepository.save(new Category("Category", "#ff0000", CategoryType.CUSTOM));
+	}
+
+	private Transaction createTransaction(Account account, Account transferAccount, int amount, DateTime date)
+	{
+		Transaction transaction = new Transaction();
+		transaction.setName("Test");
+		transaction.setAmount(amount);
+		transaction.setDate(date);
+		transaction.setCategory(category);
+		transaction.setAccount(account);
+		transaction.setTransferAccount(transferAccount);
+		transaction.setTags(new ArrayList<>());
+		return transactionRepository.save(transaction);
+	}
+
+	@Test
+	public void test_addTransaction_updatesSumsAndFollowingClosingBalances()
+	{
+		monthlySummaryService.addTransaction(createTransaction(account, null, 1000, new DateTime(2018, 10, 3, 12, 0)));
+		monthlySummaryService.addTransaction(createTransaction(account, null, -250, new DateTime(2018, 11, 3, 12, 0)));
+		monthlySummaryService.addTransaction(createTransaction(account, null, 500, new DateTime(2018, 10, 20, 12, 0)));
+
+		MonthlySummary october = monthlySummaryRepository.findByAccountAndYearAndMonth(account, 2018, 10);
+		assertEquals(1500, october.getIncomeSum());
+		assertEquals(0, october.getExpenditureSum());
+		assertEquals(1500, october.getClosingBalance());
+
+		MonthlySummary november = monthlySummaryRepository.findByAccountAndYearAndMonth(account, 2018, 11);
+		assertEquals(-250, november.getExpenditureSum());
+		assertEquals(1250, november.getClosingBalance());
+	}
+
+	@Test
+	public void test_removeTransaction()
+	{
+		Transaction transaction = createTransaction(account, null, -300, new DateTime(2018, 10, 3, 12, 0));
+		monthlySummaryService.addTransaction(createTransaction(account, null, 1000, new DateTime(2018, 9, 3, 12, 0)));
+		monthlySummaryService.addTransaction(transaction);
+		monthlySummaryService.removeTransaction(transaction);
+
+		MonthlySummary october = monthlySummaryRepository.findByAccountAndYearAndMonth(account, 2018, 10);
+		assertEquals(0, october.getExpenditureSum());
+		assertEquals(1000, october.getClosingBalance());
+	}
+
+	@Test
+	public void test_transfer()
+	{
+		monthlySummaryService.addTransaction(createTransaction(account, account2, -400, new DateTime(2018, 10, 3, 12, 0)));
+
+		MonthlySummary source = monthlySummaryRepository.findByAccountAndYearAndMonth(account, 2018, 10);
+		assertEquals(-400, source.getTransferOutSum());
+		assertEquals(-400, source.getClosingBalance());
+
+		MonthlySummary destination = monthlySummaryRepository.findByAccountAndYearAndMonth(account2, 2018, 10);
+		assertEquals(400, destination.getTransferInSum());
+		assertEquals(400, destination.getClosingBalance());
+	}
+
+	@Test
+	public void test_rebuild_matchesIncrementalUpdates()
+	{
+		monthlySummaryService.addTransaction(createTransaction(account, null, 1000, new DateTime(2018, 9, 3, 12, 0)));
+		monthlySummaryService.addTransaction(createTransaction(account, account2, -400, new DateTime(2018, 10, 3, 12, 0)));
+		monthlySummaryService.addTransaction(createTransaction(account2, null, -100, new DateTime(2018, 11, 3, 12, 0)));
+
+		Budget expectedBudget = monthlySummaryService.getBudget(account2, 11, 2018, true);
+
+		monthlySummaryService.rebuild();
+
+		assertEquals(4, monthlySummaryRepository.count());
+		assertEquals(300, monthlySummaryRepository.findByAccountAndYearAndMonth(account2, 2018, 11).getClosingBalance());
+
+		Budget budget = monthlySummaryService.getBudget(account2, 11, 2018, true);
+		assertEquals(expectedBudget.getIncomeSum(), budget.getIncomeSum());
+		assertEquals(expectedBudget.getExpenditureSum(), budget.getExpenditureSum());
+		assertEquals(400, budget.getIncomeSum());
+		assertEquals(-100, budget.getExpenditureSum());
+	}
+
+	@Test
+	public void test_getClosingBalanceBefore_allAccounts()
+	{
+		monthlySummaryService.addTransaction(createTransaction(account, null, 1000, new DateTime(2018, 9, 3, 12, 0)));
+		monthlySummaryService.addTransaction(createTransaction(account, account2, -400, new DateTime(2018, 10, 3, 12, 0)));
+		monthlySummaryService.addTransaction(createTransaction(account2, null, -100, new DateTime(2018, 12, 3, 12, 0)));
+
+		Account allAccounts = new Account("All", AccountType.ALL);
+		assertEquals(0, monthlySummaryService.getClosingBalanceBefore(allAccounts, 2018, 9));
+		assertEquals(1000, monthlySummaryService.getClosingBalanceBefore(allAccounts, 2018, 11));
+		assertEquals(900, monthlySummaryService.getClosingBalanceBefore(allAccounts, 2019, 1));
+	}
+}
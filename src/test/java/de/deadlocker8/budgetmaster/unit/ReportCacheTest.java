@@ -0,0 +1,119 @@
+package de.deadlocker8.budgetmaster.unit;
+
+import de.deadlocker8.budgetmaster.reports.ReportCache;
+import de.deadlocker8.budgetmaster.services.DataChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class ReportCacheTest
+{
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private ReportCache reportCache;
+
+	@Before
+	public void before() throws IOException
+	{
+		reportCache = new ReportCache(temporaryFolder.newFolder().toPath(), 25, new SimpleMeterRegistry());
+	}
+
+	@Test
+	public void test_createKey()
+	{
+		String key = ReportCache.createKey("ab", "c", 1);
+		assertTrue(ReportCache.isValidKey(key));
+		assertEquals(key, ReportCache.createKey("ab", "c", 1));
+		assertNotEquals(key, ReportCache.createKey("a", "bc", 1));
+		assertNotEquals(key, ReportCache.createKey("ab", "c", 2));
+
+		assertFalse(ReportCache.isValidKey("../" + key));
+		assertFalse(ReportCache.isValidKey(null));
+	}
+
+	@Test
+	public void test_putAndGet() throws IOException
+	{
+		String key = ReportCache.createKey("report");
+		assertNull(reportCache.get(key));
+
+		reportCache.put(key, 1, "report.pdf", new byte[]{1, 2, 3});
+
+		ReportCache.CachedReport cachedReport = reportCache.get(key);
+		assertNotNull(cachedReport);
+		assertEquals("report.pdf", cachedReport.getFileName());
+		assertEquals(3, cachedReport.getSize());
+		assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(cachedReport.getFile()));
+		assertEquals(3, reportCache.getSize());
+	}
+
+	@Test
+	public void test_evictLeastRecentlyUsed() throws IOException
+	{
+		String key1 = ReportCache.createKey(1);
+		String key2 = ReportCache.createKey(2);
+		String key3 = ReportCache.createKey(3);
+
+		ReportCache.CachedReport report1 = reportCache.put(key1, 1, "1.pdf", new byte[10]);
+		ReportCache.CachedReport report2 = reportCache.put(key2, 1, "2.pdf", new byte[10]);
+
+		// report 1 is now more recently used than report 2
+		assertNotNull(reportCache.get(key1));
+
+		reportCache.put(key3, 1, "3.pdf", new byte[10]);
+
+		assertTrue(reportCache.contains(key1));
+		assertFalse(reportCache.contains(key2));
+		assertTrue(reportCache.contains(key3));
+		assertEquals(2, reportCache.getNumberOfReports());
+		assertEquals(20, reportCache.getSize());
+
+		assertTrue(Files.exists(report1.getFile()));
+		assertFalse(Files.exists(report2.getFile()));
+	}
+
+	@Test
+	public void test_keepReportLargerThanLimit() throws IOException
+	{
+		String key1 = ReportCache.createKey(1);
+		String key2 = ReportCache.createKey(2);
+
+		reportCache.put(key1, 1, "1.pdf", new byte[10]);
+		reportCache.put(key2, 1, "2.pdf", new byte[30]);
+
+		assertFalse(reportCache.contains(key1));
+		assertTrue(reportCache.contains(key2));
+		assertEquals(30, reportCache.getSize());
+	}
+
+	@Test
+	public void test_deleteReportsOfChangedAccounts() throws IOException
+	{
+		String key1 = ReportCache.createKey(1);
+		String key2 = ReportCache.createKey(2);
+		String keyAll = ReportCache.createKey(3);
+
+		reportCache.put(key1, 1, "1.pdf", new byte[1]);
+		reportCache.put(key2, 2, "2.pdf", new byte[1]);
+		reportCache.put(keyAll, null, "all.pdf", new byte[1]);
+
+		reportCache.onDataChanged(new DataChangedEvent(Collections.singleton(1), false, 1));
+		assertFalse(reportCache.contains(key1));
+		assertTrue(reportCache.contains(key2));
+		assertFalse(reportCache.contains(keyAll));
+		assertEquals(1, reportCache.getSize());
+
+		reportCache.onDataChanged(new DataChangedEvent(Collections.emptySet(), true, 2));
+		assertFalse(reportCache.contains(key2));
+		assertEquals(0, reportCache.getSize());
+	}
+}
@@ -0,0 +1,75 @@
+package de.deadlocker8.budgetmaster.unit;
+
+import de.deadlocker8.budgetmaster.settings.Settings;
+import de.deadlocker8.budgetmaster.settings.SettingsRepository;
+import de.deadlocker8.budgetmaster.settings.SettingsService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@DataJpaTest
+public class SettingsServiceTest
+{
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private SettingsRepository settingsRepository;
+
+	private SettingsService settingsService;
+
+	@Before
+	public void init()
+	{
+		settingsService = new SettingsService(settingsRepository);
+		settingsService.createDefaultSettingsIfNotExists();
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	private Settings createSubmittedSettings(String currency, Integer version)
+	{
+		Settings settings = Settings.getDefault();
+		settings.setCurrency(currency);
+		settings.setVersion(version);
+		return settings;
+	}
+
+	@Test
+	public void test_updateSettings()
+	{
+		Integer version = settingsService.getSettings().getVersion();
+		entityManager.clear();
+
+		settingsService.updateSettings(createSubmittedSettings("$", version));
+		entityManager.flush();
+		entityManager.clear();
+
+		Settings settings = settingsService.getSettings();
+		assertEquals("$", settings.getCurrency());
+		assertEquals(1, settings.getVersion() - version);
+		assertEquals(1, settingsRepository.count());
+	}
+
+	@Test(expected = ObjectOptimisticLockingFailureException.class)
+	public void test_updateSettings_outdatedVersion()
+	{
+		Integer version = settingsService.getSettings().getVersion();
+		entityManager.clear();
+
+		settingsService.updateSettings(createSubmittedSettings("$", version));
+		entityManager.flush();
+		entityManager.clear();
+
+		// a second form that was loaded before the first update
+		settingsService.updateSettings(createSubmittedSettings("£", version));
+	}
+}
@@ -0,0 +1,49 @@
+package de.deadlocker8.budgetmaster.unit;
+
+import de.deadlocker8.budgetmaster.metrics.StatementStatistics;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StatementStatisticsTest
+{
+	@After
+	public void after()
+	{
+		StatementStatistics.stop();
+	}
+
+	@Test
+	public void test_notStarted()
+	{
+		assertNull(StatementStatistics.getCurrent());
+	}
+
+	@Test
+	public void test_record()
+	{
+		StatementStatistics statistics = StatementStatistics.start();
+		assertSame(statistics, StatementStatistics.getCurrent());
+
+		statistics.record("select * from tag where name=?", 1, 2);
+		statistics.record("select * from tag where name=?", 1, 3);
+		statistics.record("insert into tag (name, id) values (?, ?)", 10, 4);
+		statistics.record("select * from category", 1, 5);
+
+		assertEquals(13, statistics.getStatementCount());
+		assertEquals(14, statistics.getTotalTimeMillis());
+
+		List<StatementStatistics.StatementEntry> topStatements = statistics.getTopStatements(2);
+		assertEquals(2, topStatements.size());
+		assertEquals("select * from tag where name=?", topStatements.get(0).getSql());
+		assertEquals(2, topStatements.get(0).getCount());
+		assertEquals(5, topStatements.get(0).getTotalTimeMillis());
+		assertEquals("select * from category", topStatements.get(1).getSql());
+
+		StatementStatistics.stop();
+		assertNull(StatementStatistics.getCurrent());
+	}
+}
@@ -0,0 +1,103 @@
+package de.deadlocker8.budgetmaster.unit;
+
+import de.deadlocker8.budgetmaster.tags.Tag;
+import de.deadlocker8.budgetmaster.tags.TagRepository;
+import de.deadlocker8.budgetmaster.tags.TagService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@DataJpaTest
+public class TagServiceTest
+{
+	@Autowired
+	private TagRepository tagRepository;
+
+	private TagService tagService;
+	private Tag existingTag;
+
+	@Before
+	public void init()
+	{
+		tagService = new TagService(tagRepository);
+		existingTag = tagRepository.save(new Tag("existing"));
+	}
+
+	@Test
+	public void test_resolveTags_existingAndNew()
+	{
+		List<Tag> tags = tagService.resolveTags(Arrays.asList("new", "existing", "another"));
+
+		assertEquals(3, tags.size());
+		assertEquals("new", tags.get(0).getName());
+		assertEquals(existingTag, tags.get(1));
+		assertEquals("another", tags.get(2).getName());
+
+		assertEquals(3, tagRepository.count());
+		for(Tag tag : tags)
+		{
+			assertTrue(tag.getID() != null);
+		}
+	}
+
+	@Test
+	public void test_resolveTags_duplicateNames()
+	{
+		List<Tag> tags = tagService.resolveTags(Arrays.asList("existing", "new", "existing", "new"));
+
+		assertEquals(2, tags.size());
+		assertEquals(existingTag, tags.get(0));
+		assertEquals("new", tags.get(1).getName());
+		assertEquals(2, tagRepository.count());
+	}
+
+	@Test
+	public void test_resolveTags_caseInsensitive()
+	{
+		List<Tag> tags = tagService.resolveTags(Arrays.asList(" EXISTING", "New ", "new"));
+
+		assertEquals(2, tags.size());
+		assertEquals(existingTag, tags.get(0));
+		assertEquals("New", tags.get(1).getName());
+		assertEquals("new", tags.get(1).getNormalizedName());
+		assertEquals(2, tagRepository.count());
+	}
+
+	@Test
+	public void test_getAllTagsAsc()
+	{
+		tagRepository.save(new Tag("abc"));
+
+		List<Tag> tags = tagService.getAllTagsAsc();
+		assertEquals(2, tags.size());
+		assertEquals("abc", tags.get(0).getName());
+		assertEquals(existingTag, tags.get(1));
+	}
+
+	@Test
+	public void test_deleteUnusedTags()
+	{
+		tagService.deleteUnusedTags();
+
+		assertEquals(0, tagRepository.count());
+		assertTrue(tagService.getAllTagsAsc().isEmpty());
+	}
+
+	@Test
+	public void test_resolveTags_empty()
+	{
+		assertTrue(tagService.resolveTags(Collections.emptyList()).isEmpty());
+		assertEquals(1, tagRepository.count());
+	}
+}
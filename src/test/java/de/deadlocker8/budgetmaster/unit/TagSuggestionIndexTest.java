@@ -0,0 +1,77 @@
+package de.deadlocker8.budgetmaster.unit;
+
+import de.deadlocker8.budgetmaster.tags.Tag;
+import de.deadlocker8.budgetmaster.tags.TagSuggestionIndex;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TagSuggestionIndexTest
+{
+	private TagSuggestionIndex index;
+
+	@Before
+	public void init()
+	{
+		List<Tag> tags = new ArrayList<>();
+		Map<Integer, Long> usages = new HashMap<>();
+		addTag(tags, usages, 1, "Food", 10);
+		addTag(tags, usages, 2, "fuel", 25);
+		addTag(tags, usages, 3, "Furniture", 0);
+		addTag(tags, usages, 4, "Holiday", 3);
+		addTag(tags, usages, 5, "Fun", 10);
+
+		index = new TagSuggestionIndex(tags, usages);
+	}
+
+	private void addTag(List<Tag> tags, Map<Integer, Long> usages, int ID, String name, long usage)
+	{
+		Tag tag = new Tag(name);
+		tag.setID(ID);
+		tags.add(tag);
+		if(usage > 0)
+		{
+			usages.put(ID, usage);
+		}
+	}
+
+	@Test
+	public void test_prefix_rankedByUsage()
+	{
+		assertEquals(Arrays.asList("fuel", "Fun", "Furniture"), index.getSuggestions("fu", 10));
+	}
+
+	@Test
+	public void test_prefix_caseInsensitive()
+	{
+		assertEquals(Arrays.asList("Food"), index.getSuggestions(" FOO", 10));
+	}
+
+	@Test
+	public void test_prefix_limit()
+	{
+		assertEquals(Arrays.asList("fuel", "Food"), index.getSuggestions("f", 2));
+	}
+
+	@Test
+	public void test_prefix_noMatch()
+	{
+		assertTrue(index.getSuggestions("x", 10).isEmpty());
+		assertTrue(index.getSuggestions("zzz", 10).isEmpty());
+	}
+
+	@Test
+	public void test_emptyPrefix_mostUsed()
+	{
+		assertEquals(Arrays.asList("fuel", "Food", "Fun"), index.getSuggestions("", 3));
+		assertEquals(5, index.getSuggestions(null, 10).size());
+	}
+}
@@ -0,0 +1,197 @@
+package de.deadlocker8.budgetmaster.unit;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountRepository;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
+import de.deadlocker8.budgetmaster.categories.Category;
+import de.deadlocker8.budgetmaster.categories.CategoryRepository;
+import de.deadlocker8.budgetmaster.categories.CategoryType;
+import de.deadlocker8.budgetmaster.search.Search;
+import de.deadlocker8.budgetmaster.services.DataVersionService;
+import de.deadlocker8.budgetmaster.summary.MonthlySummaryRepository;
+import de.deadlocker8.budgetmaster.summary.MonthlySummaryService;
+import de.deadlocker8.budgetmaster.tags.Tag;
+import de.deadlocker8.budgetmaster.tags.TagRepository;
+import de.deadlocker8.budgetmaster.tags.TagService;
+import de.deadlocker8.budgetmaster.transactions.Transaction;
+import de.deadlocker8.budgetmaster.transactions.TransactionBulkEditService;
+import de.deadlocker8.budgetmaster.transactions.TransactionChangeSet;
+import de.deadlocker8.budgetmaster.transactions.TransactionRepository;
+import org.joda.time.DateTime;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@DataJpaTest
+public class TransactionBulkEditServiceTest
+{
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private TagRepository tagRepository;
+
+	@Autowired
+	private MonthlySummaryRepository monthlySummaryRepository;
+
+	private TransactionBulkEditService bulkEditService;
+
+	private Account account1;
+	private Account account2;
+	private Category category1;
+	private Category category2;
+	private Tag tag;
+
+	private Transaction transaction1;
+	private Transaction transaction2;
+	private Transaction transfer;
+
+	@Before
+	public void init()
+	{
+		DataVersionService dataVersionService = new DataVersionService(new ApplicationEventPublisher()
+		{
+			@Override
+			public void publishEvent(ApplicationEvent event)
+			{
+			}
+
+			@Override
+			public void publishEvent(Object event)
+			{
+			}
+		});
+		MonthlySummaryService monthlySummaryService = new MonthlySummaryService(monthlySummaryRepository, transactionRepository);
+		bulkEditService = new TransactionBulkEditService(entityManager, new TagService(tagRepository), monthlySummaryService, dataVersionService);
+
+		account1 = accountRepository.save(new Account("Account1", AccountType.CUSTOM));
+		account2 = accountRepository.save(new Account("Account2", AccountType.CUSTOM));
+		category1 = categoryRepository.save(new Category("Category1", "#ff0000", CategoryType.CUSTOM));
+		category2 = categoryRepository.save(new Category("Category2", "#00ff00", CategoryType.CUSTOM));
+		tag = tagRepository.save(new Tag("Existing"));
+
+		transaction1 = createTransaction("Amazon", -1000, account1, null, tag);
+		transaction2 = createTransaction("Amazon Marketplace", -250, account1, null);
+		transfer = createTransaction("Transfer", -500, account1, account2);
+		monthlySummaryService.rebuild();
+
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	private Transaction createTransaction(String name, int amount, Account account, Account transferAccount, Tag... tags)
+	{
+		Transaction transaction = new Transaction();
+		transaction.setName(name);
+		transaction.setDescription("");
+		transaction.setAmount(amount);
+		transaction.setDate(new DateTime(2018, 10, 3, 12, 0, 0, 0));
+		transaction.setCategory(category1);
+		transaction.setAccount(account);
+		transaction.setTransferAccount(transferAccount);
+		transaction.setTags(new ArrayList<>(Arrays.asList(tags)));
+		return transactionRepository.save(transaction);
+	}
+
+	private List<String> getTagNames(Transaction transaction)
+	{
+		return transaction.getTags().stream().map(Tag::getName).sorted().collect(Collectors.toList());
+	}
+
+	@Test
+	public void test_categoryDescriptionAndTags()
+	{
+		TransactionChangeSet changeSet = new TransactionChangeSet();
+		changeSet.setCategory(category2);
+		changeSet.setDescription("Online shopping");
+		changeSet.setAddedTags(Arrays.asList("Shopping", "existing"));
+		changeSet.setRemovedTags(Collections.singletonList("EXISTING "));
+
+		int numberOfChangedTransactions = bulkEditService.apply(Arrays.asList(transaction1.getID(), transaction2.getID()), changeSet);
+		assertEquals(2, numberOfChangedTransactions);
+
+		Transaction changedTransaction1 = transactionRepository.findOne(transaction1.getID());
+		assertEquals(category2, changedTransaction1.getCategory());
+		assertEquals("Online shopping", changedTransaction1.getDescription());
+		assertEquals(Collections.singletonList("Shopping"), getTagNames(changedTransaction1));
+		assertEquals(transaction1.getVersion() + 1, (int) changedTransaction1.getVersion());
+
+		Transaction changedTransaction2 = transactionRepository.findOne(transaction2.getID());
+		assertEquals(category2, changedTransaction2.getCategory());
+		assertEquals(Collections.singletonList("Shopping"), getTagNames(changedTransaction2));
+
+		// not selected
+		Transaction unchangedTransfer = transactionRepository.findOne(transfer.getID());
+		assertEquals(category1, unchangedTransfer.getCategory());
+		assertEquals(transfer.getVersion(), unchangedTransfer.getVersion());
+	}
+
+	@Test
+	public void test_addTagTwice()
+	{
+		TransactionChangeSet changeSet = new TransactionChangeSet();
+		changeSet.setAddedTags(Collections.singletonList("Existing"));
+
+		assertEquals(1, bulkEditService.apply(Collections.singletonList(transaction1.getID()), changeSet));
+		assertEquals(Collections.singletonList("Existing"), getTagNames(transactionRepository.findOne(transaction1.getID())));
+	}
+
+	@Test
+	public void test_moveToAccount()
+	{
+		TransactionChangeSet changeSet = new TransactionChangeSet();
+		changeSet.setAccount(account2);
+
+		// the transfer would be a transfer to its own account
+		int numberOfChangedTransactions = bulkEditService.apply(Arrays.asList(transaction1.getID(), transaction2.getID(), transfer.getID()), changeSet);
+		assertEquals(2, numberOfChangedTransactions);
+
+		assertEquals(account2, transactionRepository.findOne(transaction1.getID()).getAccount());
+		assertEquals(account2, transactionRepository.findOne(transaction2.getID()).getAccount());
+		assertEquals(account1, transactionRepository.findOne(transfer.getID()).getAccount());
+
+		// summaries are rebuilt from the moved transactions
+		assertEquals(-500, monthlySummaryRepository.findByAccountAndYearAndMonth(account1, 2018, 10).getClosingBalance());
+		assertEquals(-1250 + 500, monthlySummaryRepository.findByAccountAndYearAndMonth(account2, 2018, 10).getClosingBalance());
+	}
+
+	@Test
+	public void test_findIDs()
+	{
+		List<Integer> IDs = bulkEditService.findIDs(new Search("amazon", true, false, false, true, 0));
+		assertEquals(2, IDs.size());
+		assertTrue(IDs.containsAll(Arrays.asList(transaction1.getID(), transaction2.getID())));
+	}
+
+	@Test
+	public void test_reassignCategory()
+	{
+		assertEquals(3, bulkEditService.reassignCategory(category1, category2));
+		assertEquals(0, (long) transactionRepository.countByCategory(category1));
+		assertEquals(3, (long) transactionRepository.countByCategory(category2));
+	}
+}
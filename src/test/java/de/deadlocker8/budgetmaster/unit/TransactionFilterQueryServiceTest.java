@@ -0,0 +1,167 @@
+package de.deadlocker8.budgetmaster.unit;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountRepository;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
+import de.deadlocker8.budgetmaster.categories.Category;
+import de.deadlocker8.budgetmaster.categories.CategoryRepository;
+import de.deadlocker8.budgetmaster.categories.CategoryType;
+import de.deadlocker8.budgetmaster.repeating.RepeatingOption;
+import de.deadlocker8.budgetmaster.repeating.RepeatingOptionRepository;
+import de.deadlocker8.budgetmaster.repeating.endoption.RepeatingEndAfterXTimes;
+import de.deadlocker8.budgetmaster.repeating.modifier.RepeatingModifierDays;
+import de.deadlocker8.budgetmaster.tags.Tag;
+import de.deadlocker8.budgetmaster.tags.TagRepository;
+import de.deadlocker8.budgetmaster.transactions.Transaction;
+import de.deadlocker8.budgetmaster.transactions.TransactionFilterQueryService;
+import de.deadlocker8.budgetmaster.transactions.TransactionRepository;
+import de.deadlocker8.budgetmaster.transactions.TransactionSpecifications;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.joda.time.DateTime;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@DataJpaTest
+public class TransactionFilterQueryServiceTest
+{
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+	private Category category1;
+	private Category category2;
+
+	@Autowired
+	private AccountRepository accountRepository;
+	private Account account;
+
+	@Autowired
+	private TagRepository tagRepository;
+	private Tag tag1;
+	private Tag tag2;
+
+	@Autowired
+	private RepeatingOptionRepository repeatingOptionRepository;
+
+	private TransactionFilterQueryService queryService;
+
+	private DateTime startDate = new DateTime(2018, 1, 1, 12, 0, 0, 0);
+	private DateTime endDate = new DateTime(2018, 12, 31, 12, 0, 0, 0);
+
+	@Before
+	public void init()
+	{
+		queryService = new TransactionFilterQueryService(entityManager, new SimpleMeterRegistry());
+
+		account = accountRepository.save(new Account("TestAccount", AccountType.CUSTOM));
+		Account account2 = accountRepository.save(new Account("TestAccount2", AccountType.CUSTOM));
+
+		category1 = categoryRepository.save(new Category("Category1", "#ff0000", CategoryType.CUSTOM));
+		category2 = categoryRepository.save(new Category("Category2", "#ff0000", CategoryType.CUSTOM));
+
+		tag1 = tagRepository.save(new Tag("MyAwesomeTag"));
+		tag2 = tagRepository.save(new Tag("TagMaster_2"));
+
+		RepeatingOption repeatingOption = new RepeatingOption();
+		repeatingOption.setModifier(new RepeatingModifierDays(10));
+		repeatingOption.setStartDate(new DateTime(2018, 3, 13, 12, 0, 0, 0));
+		repeatingOption.setEndOption(new RepeatingEndAfterXTimes(2));
+		repeatingOption = repeatingOptionRepository.save(repeatingOption);
+
+		createTransaction("Income", 200, category1, account, null, null, tag1, tag2);
+		createTransaction("Expenditure", -525, category2, account, null, null);
+		createTransaction("Repeating", -12300, category1, account, null, repeatingOption, tag2);
+		createTransaction("Transfer", -500, category2, account, account2, null);
+		createTransaction("Incoming transfer", -700, category2, account2, account, null, tag1);
+		createTransaction("Other account", 100, category1, account2, null, null, tag1);
+	}
+
+	private void createTransaction(String name, int amount, Category category, Account account, Account transferAccount, RepeatingOption repeatingOption, Tag... tags)
+	{
+		Transaction transaction = new Transaction();
+		transaction.setName(name);
+		transaction.setAmount(amount);
+		transaction.setDate(new DateTime(2018, 10, 3, 12, 0, 0, 0));
+		transaction.setCategory(category);
+		transaction.setAccount(account);
+		transaction.setTransferAccount(transferAccount);
+		transaction.setRepeatingOption(repeatingOption);
+		transaction.setTags(new ArrayList<>(Arrays.asList(tags)));
+		transactionRepository.save(transaction);
+	}
+
+	@Test
+	public void test_sameResultsAsSpecification()
+	{
+		List<List<Integer>> categoryFilters = Arrays.asList(null, Collections.emptyList(), Collections.singletonList(category1.getID()));
+		List<List<Integer>> tagFilters = Arrays.asList(null, Collections.emptyList(), Arrays.asList(tag1.getID(), tag2.getID()));
+		List<Boolean> repeatingFilters = Arrays.asList(null, true, false);
+		List<Account> accounts = Arrays.asList(null, account);
+
+		for(int flags = 0; flags < 8; flags++)
+		{
+			boolean isIncome = (flags & 1) != 0;
+			boolean isExpenditure = (flags & 2) != 0;
+			boolean isTransfer = (flags & 4) != 0;
+
+			for(Account currentAccount : accounts)
+			{
+				if(currentAccount == null && isTransfer)
+				{
+					// transfers are never requested for all accounts
+					continue;
+				}
+
+				for(Boolean isRepeating : repeatingFilters)
+				{
+					for(List<Integer> categoryIDs : categoryFilters)
+					{
+						for(List<Integer> tagIDs : tagFilters)
+						{
+							for(String name : Arrays.asList(null, "", "EXP"))
+							{
+								List<Transaction> expected = transactionRepository.findAll(TransactionSpecifications.withDynamicQuery(startDate, endDate, currentAccount, isIncome, isExpenditure, isTransfer, isRepeating, categoryIDs, tagIDs, name));
+								List<Transaction> actual = queryService.findAll(startDate, endDate, currentAccount, isIncome, isExpenditure, isTransfer, isRepeating, categoryIDs, tagIDs, name);
+
+								assertEquals(expected.size(), actual.size());
+								assertTrue(expected.containsAll(actual));
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void test_cacheHitRate()
+	{
+		List<Integer> tagIDs = Collections.singletonList(tag1.getID());
+
+		assertEquals(2, queryService.findAll(startDate, endDate, account, true, true, true, null, null, tagIDs, null).size());
+		assertEquals(0, queryService.getHitRate(), 0.001);
+
+		// different IDs and dates, but the same shape
+		List<Integer> otherTagIDs = Arrays.asList(tag1.getID(), tag2.getID());
+		assertEquals(3, queryService.findAll(startDate.minusYears(1), endDate, account, true, true, true, null, null, otherTagIDs, null).size());
+		assertEquals(0.5, queryService.getHitRate(), 0.001);
+	}
+}
@@ -0,0 +1,106 @@
+package de.deadlocker8.budgetmaster.unit;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountRepository;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
+import de.deadlocker8.budgetmaster.categories.Category;
+import de.deadlocker8.budgetmaster.categories.CategoryRepository;
+import de.deadlocker8.budgetmaster.categories.CategoryType;
+import de.deadlocker8.budgetmaster.transactions.Transaction;
+import de.deadlocker8.budgetmaster.transactions.TransactionRepository;
+import org.joda.time.DateTime;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Runs the rest queries against H2 in PostgreSQL compatibility mode with quoted identifiers,
+ * which is how the schema is accessed on external databases.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:postgresql_standin;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"flyway.enabled=false",
+		"spring.jpa.properties.hibernate.globally_quoted_identifiers=true"
+})
+public class TransactionRestQueryTest
+{
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private AccountRepository accountRepository;
+	private Account account;
+	private Account account2;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+	private Category category;
+
+	private DateTime startDate = new DateTime(2000, 1, 1, 0, 0);
+	private DateTime endDate = new DateTime(2018, 10, 31, 23, 59);
+
+	@Before
+	public void init()
+	{
+		account = accountRepository.save(new Account("TestAccount", AccountType.CUSTOM));
+		account2 = accountRepository.save(new Account("TestAccount2", AccountType.CUSTOM));
+		category = categoryRepository.save(new Category("Category", "#ff0000", CategoryType.CUSTOM));
+
+		createTransaction(account, null, 1000, new DateTime(2018, 9, 3, 12, 0));
+		createTransaction(account, null, -200, new DateTime(2018, 10, 3, 12, 0));
+		createTransaction(account, null, 5000, new DateTime(2018, 11, 3, 12, 0));
+		createTransaction(account, account2, -300, new DateTime(2018, 10, 5, 12, 0));
+	}
+
+	private void createTransaction(Account account, Account transferAccount, int amount, DateTime date)
+	{
+		Transaction transaction = new Transaction();
+		transaction.setName("Test");
+		transaction.setAmount(amount);
+		transaction.setDate(date);
+		transaction.setCategory(category);
+		transaction.setAccount(account);
+		transaction.setTransferAccount(transferAccount);
+		transaction.setTags(new ArrayList<>());
+		transactionRepository.save(transaction);
+	}
+
+	@Test
+	public void test_restForNormalAndRepeating()
+	{
+		assertEquals(Integer.valueOf(800), transactionRepository.getRestForNormalAndRepeating(account.getID(), startDate, endDate));
+	}
+
+	@Test
+	public void test_restForTransferSource()
+	{
+		assertEquals(Integer.valueOf(-300), transactionRepository.getRestForTransferSource(account.getID(), startDate, endDate));
+	}
+
+	@Test
+	public void test_restForTransferDestination()
+	{
+		assertEquals(Integer.valueOf(-300), transactionRepository.getRestForTransferDestination(account2.getID(), startDate, endDate));
+	}
+
+	@Test
+	public void test_rest_noTransactions()
+	{
+		assertNull(transactionRepository.getRestForNormalAndRepeating(account2.getID(), startDate, endDate));
+	}
+}
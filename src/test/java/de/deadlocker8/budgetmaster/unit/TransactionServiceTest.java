@@ -0,0 +1,202 @@
+package de.deadlocker8.budgetmaster.unit;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountRepository;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
+import de.deadlocker8.budgetmaster.categories.Category;
+import de.deadlocker8.budgetmaster.categories.CategoryRepository;
+import de.deadlocker8.budgetmaster.categories.CategoryType;
+import de.deadlocker8.budgetmaster.repeating.RepeatingOption;
+import de.deadlocker8.budgetmaster.repeating.RepeatingOptionRepository;
+import de.deadlocker8.budgetmaster.repeating.endoption.RepeatingEndAfterXTimes;
+import de.deadlocker8.budgetmaster.repeating.modifier.RepeatingModifierDays;
+import de.deadlocker8.budgetmaster.summary.MonthlySummaryRepository;
+import de.deadlocker8.budgetmaster.summary.MonthlySummaryService;
+import de.deadlocker8.budgetmaster.transactions.Transaction;
+import de.deadlocker8.budgetmaster.transactions.TransactionFilterQueryService;
+import de.deadlocker8.budgetmaster.transactions.TransactionRepository;
+import de.deadlocker8.budgetmaster.transactions.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.joda.time.DateTime;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@DataJpaTest
+public class TransactionServiceTest
+{
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private RepeatingOptionRepository repeatingOptionRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private MonthlySummaryRepository monthlySummaryRepository;
+
+	private TransactionService transactionService;
+
+	private Account account;
+	private Category category;
+
+	@Before
+	public void init()
+	{
+		MonthlySummaryService monthlySummaryService = new MonthlySummaryService(monthlySummaryRepository, transactionRepository);
+		TransactionFilterQueryService transactionFilterQueryService = new TransactionFilterQueryService(entityManager.getEntityManager(), new SimpleMeterRegistry());
+		transactionService = new TransactionService(transactionRepository, repeatingOptionRepository, categoryRepository, monthlySummaryService, transactionFilterQueryService);
+
+		account = accountRepository.save(new Account("Account", AccountType.CUSTOM));
+		category = categoryRepository.save(new Category("Category", "#ff0000", CategoryType.CUSTOM));
+	}
+
+	private Transaction createSubmittedTransaction(Integer ID, Integer version, int amount, RepeatingOption repeatingOption)
+	{
+		Transaction transaction = new Transaction();
+		transaction.setID(ID);
+		transaction.setVersion(version);
+		transaction.setName("Rent");
+		transaction.setDescription("");
+		transaction.setAmount(amount);
+		transaction.setDate(new DateTime(2018, 10, 3, 12, 0));
+		transaction.setCategory(category);
+		transaction.setAccount(account);
+		transaction.setRepeatingOption(repeatingOption);
+		transaction.setTags(new ArrayList<>());
+		return transaction;
+	}
+
+	private Transaction saveAndReload(Transaction transaction)
+	{
+		Integer ID = transactionService.saveTransaction(transaction).getID();
+		entityManager.flush();
+		entityManager.clear();
+		return transactionRepository.findOne(ID);
+	}
+
+	private int getClosingBalance()
+	{
+		return monthlySummaryRepository.findByAccountAndYearAndMonth(account, 2018, 10).getClosingBalance();
+	}
+
+	@Test
+	public void test_saveTransaction_outdatedVersion()
+	{
+		Transaction transaction = saveAndReload(createSubmittedTransaction(null, null, -1000, null));
+		Integer loadedVersion = transaction.getVersion();
+
+		Transaction editedTransaction = saveAndReload(createSubmittedTransaction(transaction.getID(), loadedVersion, -2000, null));
+		assertEquals(1, editedTransaction.getVersion() - loadedVersion);
+
+		// a second form that was loaded before the first edit
+		try
+		{
+			transactionService.saveTransaction(createSubmittedTransaction(transaction.getID(), loadedVersion, -5000, null));
+			fail("Outdated version was saved");
+		}
+		catch(ObjectOptimisticLockingFailureException e)
+		{
+			// expected
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		Transaction savedTransaction = transactionRepository.findOne(transaction.getID());
+		assertEquals(-2000, (int) savedTransaction.getAmount());
+		assertEquals(editedTransaction.getVersion(), savedTransaction.getVersion());
+		assertEquals(-2000, getClosingBalance());
+	}
+
+	@Test
+	public void test_saveTransaction_missingVersion()
+	{
+		Transaction transaction = saveAndReload(createSubmittedTransaction(null, null, -1000, null));
+
+		try
+		{
+			transactionService.saveTransaction(createSubmittedTransaction(transaction.getID(), null, -5000, null));
+			fail("Transaction without version was saved");
+		}
+		catch(ObjectOptimisticLockingFailureException e)
+		{
+			// expected
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		// neither updated nor saved as a new transaction
+		assertEquals(1, transactionRepository.count());
+		assertEquals(-1000, (int) transactionRepository.findOne(transaction.getID()).getAmount());
+		assertEquals(-1000, getClosingBalance());
+	}
+
+	@Test
+	public void test_replaceRepeatingTransaction()
+	{
+		RepeatingOption repeatingOption = repeatingOptionRepository.save(new RepeatingOption(new DateTime(2018, 10, 3, 12, 0), new RepeatingModifierDays(10), new RepeatingEndAfterXTimes(2)));
+		Transaction transaction = saveAndReload(createSubmittedTransaction(null, null, -1000, repeatingOption));
+		saveAndReload(createSubmittedTransaction(null, null, -1000, repeatingOption));
+
+		RepeatingOption newRepeatingOption = new RepeatingOption(new DateTime(2018, 10, 3, 12, 0), new RepeatingModifierDays(7), new RepeatingEndAfterXTimes(1));
+		transactionService.replaceRepeatingTransaction(createSubmittedTransaction(transaction.getID(), transaction.getVersion(), -3000, newRepeatingOption));
+		entityManager.flush();
+		entityManager.clear();
+
+		assertNull(repeatingOptionRepository.findOne(repeatingOption.getID()));
+		assertEquals(1, repeatingOptionRepository.count());
+		assertEquals(1, transactionRepository.count());
+		assertEquals(-3000, (int) transactionRepository.findAll().get(0).getAmount());
+		assertEquals(-3000, getClosingBalance());
+	}
+
+	@Test
+	public void test_replaceRepeatingTransaction_outdatedVersion()
+	{
+		RepeatingOption repeatingOption = repeatingOptionRepository.save(new RepeatingOption(new DateTime(2018, 10, 3, 12, 0), new RepeatingModifierDays(10), new RepeatingEndAfterXTimes(2)));
+		Transaction transaction = saveAndReload(createSubmittedTransaction(null, null, -1000, repeatingOption));
+		saveAndReload(createSubmittedTransaction(null, null, -1000, repeatingOption));
+		Integer loadedVersion = transaction.getVersion();
+
+		// edited in the meantime
+		saveAndReload(createSubmittedTransaction(transaction.getID(), loadedVersion, -1500, transactionRepository.findOne(transaction.getID()).getRepeatingOption()));
+
+		try
+		{
+			RepeatingOption newRepeatingOption = new RepeatingOption(new DateTime(2018, 10, 3, 12, 0), new RepeatingModifierDays(7), new RepeatingEndAfterXTimes(1));
+			transactionService.replaceRepeatingTransaction(createSubmittedTransaction(transaction.getID(), loadedVersion, -3000, newRepeatingOption));
+			fail("Outdated version was replaced");
+		}
+		catch(ObjectOptimisticLockingFailureException e)
+		{
+			// expected
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		// the previous series is kept
+		assertNotNull(repeatingOptionRepository.findOne(repeatingOption.getID()));
+		assertEquals(1, repeatingOptionRepository.count());
+		assertEquals(2, transactionRepository.count());
+		assertEquals(-1500, (int) transactionRepository.findOne(transaction.getID()).getAmount());
+		assertEquals(-2500, getClosingBalance());
+	}
+}
@@ -28,6 +28,7 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -361,6 +362,37 @@ public class TransactionSpecificationsTest
 		assertFalse(results.contains(transferTransaction));
 	}
 
+	@Test
+	public void getByMultipleTags_noDuplicates()
+	{
+		ArrayList<Tag> tags = new ArrayList<>();
+		tags.add(tag1);
+		tags.add(tag2);
+		transaction1.setTags(tags);
+		transaction1 = transactionRepository.save(transaction1);
+
+		List<Integer> tagIDs = new ArrayList<>();
+		tagIDs.add(tag1.getID());
+		tagIDs.add(tag2.getID());
+
+		Specification spec = TransactionSpecifications.withDynamicQuery(startDate, DateTime.now(), account, true, true, true, null, null, tagIDs, null);
+
+		List<Transaction> results = transactionRepository.findAll(spec);
+		assertEquals(2, results.size());
+		assertTrue(results.contains(transaction1));
+		assertTrue(results.contains(repeatingTransaction));
+	}
+
+	@Test
+	public void getByEmptyCategoriesAndTags()
+	{
+		Specification spec = TransactionSpecifications.withDynamicQuery(startDate, DateTime.now(), account, true, true, true, null, new ArrayList<>(), null, null);
+		assertTrue(transactionRepository.findAll(spec).isEmpty());
+
+		spec = TransactionSpecifications.withDynamicQuery(startDate, DateTime.now(), account, true, true, true, null, null, new ArrayList<>(), null);
+		assertTrue(transactionRepository.findAll(spec).isEmpty());
+	}
+
 	@Test
 	public void getRepeatingExpenditureByCategoryAndTagsAndName()
 	{
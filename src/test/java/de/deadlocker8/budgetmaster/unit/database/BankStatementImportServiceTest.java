@@ -0,0 +1,174 @@
+package de.deadlocker8.budgetmaster.unit.database;
+
+import de.deadlocker8.budgetmaster.accounts.Account;
+import de.deadlocker8.budgetmaster.accounts.AccountRepository;
+import de.deadlocker8.budgetmaster.accounts.AccountType;
+import de.deadlocker8.budgetmaster.categories.Category;
+import de.deadlocker8.budgetmaster.categories.CategoryRepository;
+import de.deadlocker8.budgetmaster.categories.CategoryType;
+import de.deadlocker8.budgetmaster.database.bankstatement.BankStatementColumnMapping;
+import de.deadlocker8.budgetmaster.database.bankstatement.BankStatementImportResult;
+import de.deadlocker8.budgetmaster.database.bankstatement.BankStatementImportService;
+import de.deadlocker8.budgetmaster.services.ImportService;
+import de.deadlocker8.budgetmaster.summary.MonthlySummaryRepository;
+import de.deadlocker8.budgetmaster.summary.MonthlySummaryService;
+import de.deadlocker8.budgetmaster.tags.TagRepository;
+import de.deadlocker8.budgetmaster.tags.TagService;
+import de.deadlocker8.budgetmaster.transactions.Transaction;
+import de.deadlocker8.budgetmaster.transactions.TransactionFingerprintService;
+import de.deadlocker8.budgetmaster.transactions.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.joda.time.DateTime;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@DataJpaTest
+public class BankStatementImportServiceTest
+{
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private TagRepository tagRepository;
+
+	@Autowired
+	private MonthlySummaryRepository monthlySummaryRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private BankStatementImportService bankStatementImportService;
+
+	private Account account;
+	private Account otherAccount;
+
+	@Before
+	public void init()
+	{
+		ImportService importService = new ImportService(categoryRepository, transactionRepository, new TagService(tagRepository), new SimpleMeterRegistry());
+		MonthlySummaryService monthlySummaryService = new MonthlySummaryService(monthlySummaryRepository, transactionRepository);
+		bankStatementImportService = new BankStatementImportService(importService, transactionRepository, categoryRepository, monthlySummaryService, new TransactionFingerprintService(transactionRepository, transactionManager));
+
+		categoryRepository.save(new Category("No Category", "#FFFFFF", CategoryType.NONE));
+		account = accountRepository.save(new Account("Account", AccountType.CUSTOM));
+		otherAccount = accountRepository.save(new Account("Other Account", AccountType.CUSTOM));
+	}
+
+	private BankStatementImportResult importStatement(String statement, Account account) throws IOException
+	{
+		return bankStatementImportService.importStatement(new ByteArrayInputStream(statement.getBytes(StandardCharsets.UTF_8)), new BankStatementColumnMapping(), account);
+	}
+
+	@Test
+	public void test_import() throws IOException
+	{
+		String statement = "Date;Amount;Name\n" +
+				"03.10.2018;-2,80;Ticket\n" +
+				"03.10.2018;-2,80;Ticket\n" +
+				"04.10.2018;1500,00;Salary\n";
+
+		BankStatementImportResult result = importStatement(statement, account);
+		assertEquals(3, result.getNumberOfRows());
+		assertEquals(3, result.getNumberOfImportedTransactions());
+		assertEquals(3, transactionRepository.findAllByAccount(account).size());
+
+		Transaction transaction = transactionRepository.findAllByAccount(account).get(0);
+		assertEquals(CategoryType.NONE, transaction.getCategory().getType());
+		assertEquals(Transaction.createFingerprint(transaction.getDate(), transaction.getAmount(), transaction.getName()), transaction.getFingerprint());
+
+		assertEquals(1500 * 100 - 560, monthlySummaryRepository.findByAccountAndYearAndMonth(account, 2018, 10).getClosingBalance());
+	}
+
+	@Test
+	public void test_skipAlreadyImportedRows() throws IOException
+	{
+		// created manually with a different spelling
+		Transaction transaction = new Transaction();
+		transaction.setName("  ticket ");
+		transaction.setDescription("");
+		transaction.setAmount(-280);
+		transaction.setDate(new DateTime(2018, 10, 3, 12, 0));
+		transaction.setCategory(categoryRepository.findByType(CategoryType.NONE));
+		transaction.setAccount(account);
+		transaction.setTags(new ArrayList<>());
+		transactionRepository.save(transaction);
+
+		String statement = "Date;Amount;Name\n" +
+				"03.10.2018;-2,80;Ticket\n" +
+				"03.10.2018;-2,80;Ticket\n";
+
+		BankStatementImportResult result = importStatement(statement, account);
+		assertEquals(2, result.getNumberOfRows());
+		assertEquals(1, result.getNumberOfImportedTransactions());
+		assertEquals(1, result.getNumberOfDuplicates());
+
+		// the same statement again
+		result = importStatement(statement, account);
+		assertEquals(0, result.getNumberOfImportedTransactions());
+		assertEquals(2, transactionRepository.findAllByAccount(account).size());
+
+		// duplicates are only detected within the same account
+		result = importStatement(statement, otherAccount);
+		assertEquals(2, result.getNumberOfImportedTransactions());
+	}
+
+	@Test
+	public void test_skipTransactionsWithoutFingerprint() throws IOException
+	{
+		// created before the fingerprint was introduced
+		Transaction transaction = new Transaction();
+		transaction.setName("Ticket");
+		transaction.setDescription("");
+		transaction.setAmount(-280);
+		transaction.setDate(new DateTime(2018, 10, 3, 12, 0));
+		transaction.setCategory(categoryRepository.findByType(CategoryType.NONE));
+		transaction.setAccount(account);
+		transaction.setTags(new ArrayList<>());
+		transaction = transactionRepository.save(transaction);
+		transactionRepository.updateFingerprint(transaction.getID(), null);
+
+		String statement = "Date;Amount;Name\n" +
+				"03.10.2018;-2,80;Ticket\n";
+
+		BankStatementImportResult result = importStatement(statement, account);
+		assertEquals(0, result.getNumberOfImportedTransactions());
+		assertEquals(1, result.getNumberOfDuplicates());
+	}
+
+	@Test
+	public void test_multipleBatches() throws IOException
+	{
+		StringBuilder statement = new StringBuilder("Date;Amount;Name\n");
+		for(int i = 0; i < ImportService.BATCH_SIZE + 10; i++)
+		{
+			statement.append("03.10.2018;-1,00;Coffee\n");
+		}
+
+		assertEquals(ImportService.BATCH_SIZE + 10, importStatement(statement.toString(), account).getNumberOfImportedTransactions());
+
+		// one more row than before
+		statement.append("03.10.2018;-1,00;Coffee\n");
+		BankStatementImportResult result = importStatement(statement.toString(), account);
+		assertEquals(1, result.getNumberOfImportedTransactions());
+		assertEquals(ImportService.BATCH_SIZE + 10, result.getNumberOfDuplicates());
+	}
+}
@@ -0,0 +1,75 @@
+package de.deadlocker8.budgetmaster.unit.database;
+
+import de.deadlocker8.budgetmaster.database.bankstatement.BankStatementColumnMapping;
+import de.deadlocker8.budgetmaster.database.bankstatement.BankStatementReader;
+import de.deadlocker8.budgetmaster.database.bankstatement.BankStatementRow;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class BankStatementReaderTest
+{
+	@Test
+	public void test_customMapping() throws IOException
+	{
+		String statement = "\uFEFFDate;Amount;Name;Purpose\r\n" +
+				"03.10.2018;-1.234,56;Amazon;\"Order 123; \"\"Books\"\"\"\r\n" +
+				"\r\n" +
+				"04.10.2018;\"12,5\";\"Employer\nInc.\";Salary\r\n" +
+				"05.10.2018;3,00-;Bakery;";
+
+		BankStatementColumnMapping mapping = new BankStatementColumnMapping();
+		mapping.setDescriptionColumn(3);
+
+		try(BankStatementReader reader = new BankStatementReader(new StringReader(statement), mapping))
+		{
+			BankStatementRow row = reader.readRow();
+			assertEquals(new DateTime(2018, 10, 3, 0, 0), row.getDate());
+			assertEquals(-123456, row.getAmount());
+			assertEquals("Amazon", row.getName());
+			assertEquals("Order 123; \"Books\"", row.getDescription());
+			assertEquals(2, row.getLineNumber());
+
+			row = reader.readRow();
+			assertEquals(1250, row.getAmount());
+			assertEquals("Employer\nInc.", row.getName());
+			assertEquals(4, row.getLineNumber());
+
+			row = reader.readRow();
+			assertEquals(-300, row.getAmount());
+			assertEquals("", row.getDescription());
+			assertEquals(6, row.getLineNumber());
+
+			assertNull(reader.readRow());
+		}
+	}
+
+	@Test
+	public void test_camtMapping() throws IOException
+	{
+		String statement = "\"Auftragskonto\";\"Buchungstag\";\"Valutadatum\";\"Buchungstext\";\"Verwendungszweck\";\"Glaeubiger ID\";\"Mandatsreferenz\";\"Kundenreferenz (End-to-End)\";\"Sammlerreferenz\";\"Lastschrift Ursprungsbetrag\";\"Auslagenersatz Ruecklastschrift\";\"Beguenstigter/Zahlungspflichtiger\";\"Kontonummer/IBAN\";\"BIC (SWIFT-Code)\";\"Betrag\";\"Waehrung\";\"Info\"\n" +
+				"\"DE00123\";\"30.09.18\";\"30.09.18\";\"FOLGELASTSCHRIFT\";\"Strom September\";\"\";\"\";\"\";\"\";\"\";\"\";\"Stadtwerke\";\"DE00456\";\"ABCDEF\";\"-45,00\";\"EUR\";\"Umsatz gebucht\"\n" +
+				"\"DE00123\";\"30.09.18\";\"30.09.18\";\"ENTGELTABSCHLUSS\";\"Kontofuehrung\";\"\";\"\";\"\";\"\";\"\";\"\";\"\";\"\";\"\";\"-4,95\";\"EUR\";\"Umsatz gebucht\"\n";
+
+		try(BankStatementReader reader = new BankStatementReader(new StringReader(statement), BankStatementColumnMapping.createCamt()))
+		{
+			BankStatementRow row = reader.readRow();
+			assertEquals(new DateTime(2018, 9, 30, 0, 0), row.getDate());
+			assertEquals(-4500, row.getAmount());
+			assertEquals("Stadtwerke", row.getName());
+			assertEquals("Strom September", row.getDescription());
+
+			// no payee
+			row = reader.readRow();
+			assertEquals(-495, row.getAmount());
+			assertEquals("ENTGELTABSCHLUSS", row.getName());
+
+			assertNull(reader.readRow());
+		}
+	}
+}
@@ -8,11 +8,14 @@ import de.deadlocker8.budgetmaster.categories.CategoryType;
 import de.deadlocker8.budgetmaster.database.Database;
 import de.deadlocker8.budgetmaster.database.accountmatches.AccountMatch;
 import de.deadlocker8.budgetmaster.database.accountmatches.AccountMatchList;
+import de.deadlocker8.budgetmaster.services.ImportProgressListener;
 import de.deadlocker8.budgetmaster.services.ImportService;
 import de.deadlocker8.budgetmaster.tags.Tag;
 import de.deadlocker8.budgetmaster.tags.TagRepository;
+import de.deadlocker8.budgetmaster.tags.TagService;
 import de.deadlocker8.budgetmaster.transactions.Transaction;
 import de.deadlocker8.budgetmaster.transactions.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.joda.time.DateTime;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -27,9 +30,13 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(SpringJUnit4ClassRunner.class)
 public class DatabaseImportTest
@@ -278,19 +285,19 @@ public class DatabaseImportTest
 				}
 
 				@Override
-				public Integer getRestForNormalAndRepeating(int accountID, String startDate, String endDate)
+				public Integer getRestForNormalAndRepeating(int accountID, DateTime startDate, DateTime endDate)
 				{
 					return null;
 				}
 
 				@Override
-				public Integer getRestForTransferSource(int accountID, String startDate, String endDate)
+				public Integer getRestForTransferSource(int accountID, DateTime startDate, DateTime endDate)
 				{
 					return null;
 				}
 
 				@Override
-				public Integer getRestForTransferDestination(int accountID, String startDate, String endDate)
+				public Integer getRestForTransferDestination(int accountID, DateTime startDate, DateTime endDate)
 				{
 					return null;
 				}
@@ -301,6 +308,36 @@ public class DatabaseImportTest
 					return null;
 				}
 
+				@Override
+				public List<Object[]> findSummaryRowsAfterID(Integer ID, Pageable pageable)
+				{
+					return null;
+				}
+
+				@Override
+				public List<Object[]> countByAccountAndFingerprints(Account account, Collection<String> fingerprints)
+				{
+					return null;
+				}
+
+				@Override
+				public List<Object[]> findWithoutFingerprint(Pageable pageable)
+				{
+					return null;
+				}
+
+				@Override
+				public List<Object[]> findWithoutFingerprintByAccount(Account account, Pageable pageable)
+				{
+					return null;
+				}
+
+				@Override
+				public int updateFingerprint(Integer ID, String fingerprint)
+				{
+					return 0;
+				}
+
 				@Override
 				public List<Transaction> findAll()
 				{
@@ -458,6 +495,18 @@ public class DatabaseImportTest
 					return null;
 				}
 
+				@Override
+				public List<Tag> findAllByNormalizedNameIn(Collection<String> normalizedNames)
+				{
+					return null;
+				}
+
+				@Override
+				public List<Tag> findAllUnused()
+				{
+					return null;
+				}
+
 				@Override
 				public List<Tag> findAllByOrderByNameAsc()
 				{
@@ -613,7 +662,7 @@ public class DatabaseImportTest
 		@Bean
 		public ImportService getImportService()
 		{
-			return new ImportService(getCategoryRepository(), getTransactionRepository(), getTagRepository());
+			return new ImportService(getCategoryRepository(), getTransactionRepository(), new TagService(getTagRepository()), new SimpleMeterRegistry());
 		}
 	}
 
@@ -826,4 +875,85 @@ public class DatabaseImportTest
 		assertEquals(expectedTransaction1, resultTransactions.get(0));
 		assertEquals(expectedTransaction2, resultTransactions.get(1));
 	}
-}
\ No newline at end of file
+
+	private static class RecordingProgressListener implements ImportProgressListener
+	{
+		private final int numberOfImportedTransactions;
+		private final boolean cancelled;
+		private final List<String> phases = new ArrayList<>();
+		private final List<Integer> checkpoints = new ArrayList<>();
+
+		private RecordingProgressListener(int numberOfImportedTransactions, boolean cancelled)
+		{
+			this.numberOfImportedTransactions = numberOfImportedTransactions;
+			this.cancelled = cancelled;
+		}
+
+		@Override
+		public void phaseStarted(String phase)
+		{
+			phases.add(phase);
+		}
+
+		@Override
+		public int getNumberOfImportedTransactions()
+		{
+			return numberOfImportedTransactions;
+		}
+
+		@Override
+		public void transactionsImported(int numberOfImportedTransactions, int numberOfTransactions)
+		{
+			checkpoints.add(numberOfImportedTransactions);
+		}
+
+		@Override
+		public boolean isCancelled()
+		{
+			return cancelled;
+		}
+	}
+
+	private Database createDatabaseWithTransactions(int numberOfTransactions)
+	{
+		List<Transaction> transactions = new ArrayList<>();
+		for(int i = 0; i < numberOfTransactions; i++)
+		{
+			Transaction transaction = new Transaction();
+			transaction.setName("Transaction_" + i);
+			transaction.setAmount(100);
+			transaction.setDate(new DateTime(2018, 10, 3, 12, 0, 0, 0));
+			transaction.setTags(new ArrayList<>());
+			transactions.add(transaction);
+		}
+		return new Database(new ArrayList<>(), new ArrayList<>(), transactions);
+	}
+
+	@Test
+	public void test_importDatabase_checkpoints()
+	{
+		RecordingProgressListener listener = new RecordingProgressListener(0, false);
+		importService.importDatabase(createDatabaseWithTransactions(ImportService.BATCH_SIZE + 1), new AccountMatchList(new ArrayList<>()), listener);
+
+		assertEquals(Arrays.asList("categories", "accounts", "transactions"), listener.phases);
+		assertEquals(Arrays.asList(ImportService.BATCH_SIZE, ImportService.BATCH_SIZE + 1), listener.checkpoints);
+	}
+
+	@Test
+	public void test_importDatabase_resume()
+	{
+		RecordingProgressListener listener = new RecordingProgressListener(ImportService.BATCH_SIZE, false);
+		importService.importDatabase(createDatabaseWithTransactions(ImportService.BATCH_SIZE + 1), new AccountMatchList(new ArrayList<>()), listener);
+
+		assertEquals(Collections.singletonList(ImportService.BATCH_SIZE + 1), listener.checkpoints);
+	}
+
+	@Test
+	public void test_importDatabase_cancelled()
+	{
+		RecordingProgressListener listener = new RecordingProgressListener(0, true);
+		importService.importDatabase(createDatabaseWithTransactions(3), new AccountMatchList(new ArrayList<>()), listener);
+
+		assertTrue(listener.checkpoints.isEmpty());
+	}
+}
@@ -0,0 +1,170 @@
+package de.deadlocker8.budgetmaster.unit.database;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import de.deadlocker8.budgetmaster.categories.Category;
+import de.deadlocker8.budgetmaster.categories.CategoryType;
+import de.deadlocker8.budgetmaster.database.Database;
+import de.deadlocker8.budgetmaster.database.DatabaseManifest;
+import de.deadlocker8.budgetmaster.database.DatabaseParser;
+import de.deadlocker8.budgetmaster.database.DatabaseParser_v3;
+import de.deadlocker8.budgetmaster.database.legacy.LegacyParser;
+import de.thecodelabs.utils.util.Localization;
+import de.thecodelabs.utils.util.Localization.LocalizationDelegate;
+import org.joda.time.DateTime;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class DatabaseParserTest
+{
+	private static final Category categoryNone = new Category("NONE", "#CCCCCC", CategoryType.NONE);
+
+	@Before
+	public void before()
+	{
+		Localization.setDelegate(new LocalizationDelegate()
+		{
+			@Override
+			public Locale getLocale()
+			{
+				return Locale.ENGLISH;
+			}
+
+			@Override
+			public String getBaseResource()
+			{
+				return "languages/";
+			}
+		});
+		Localization.load();
+	}
+
+	private String readResource(String name) throws IOException, URISyntaxException
+	{
+		return new String(Files.readAllBytes(Paths.get(getClass().getClassLoader().getResource(name).toURI())));
+	}
+
+	private void assertSameDatabase(Database expected, Database actual)
+	{
+		assertEquals(expected.getCategories(), actual.getCategories());
+		assertEquals(expected.getAccounts(), actual.getAccounts());
+		assertEquals(expected.getTransactions().size(), actual.getTransactions().size());
+		for(int i = 0; i < expected.getTransactions().size(); i++)
+		{
+			assertEquals(expected.getTransactions().get(i).toString(), actual.getTransactions().get(i).toString());
+		}
+	}
+
+	/**
+	 * Moves TYPE and VERSION to the end of the root object.
+	 */
+	private String moveHeaderToEnd(String json)
+	{
+		JsonObject root = new JsonParser().parse(json).getAsJsonObject();
+		JsonObject reordered = new JsonObject();
+		for(Map.Entry<String, JsonElement> entry : root.entrySet())
+		{
+			if(!entry.getKey().equals("TYPE") && !entry.getKey().equals("VERSION"))
+			{
+				reordered.add(entry.getKey(), entry.getValue());
+			}
+		}
+		reordered.add("VERSION", root.get("VERSION"));
+		reordered.add("TYPE", root.get("TYPE"));
+		return reordered.toString();
+	}
+
+	@Test
+	public void test_v3()
+	{
+		try
+		{
+			String json = readResource("DatabaseParser_v3Test.json");
+			DatabaseParser parser = new DatabaseParser(json, categoryNone);
+			Database database = parser.parseDatabaseFromJSON();
+
+			assertEquals(3, parser.getVersion());
+			assertSameDatabase(new DatabaseParser_v3(json).parseDatabaseFromJSON(), database);
+			assertSameDatabase(database, new DatabaseParser(moveHeaderToEnd(json), categoryNone).parseDatabaseFromJSON());
+		}
+		catch(IOException | URISyntaxException e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	@Test
+	public void test_legacy()
+	{
+		try
+		{
+			String json = readResource("LegacyParserTest.json");
+			DatabaseParser parser = new DatabaseParser(json, categoryNone);
+			Database database = parser.parseDatabaseFromJSON();
+
+			assertEquals(2, parser.getVersion());
+			assertSameDatabase(new LegacyParser(json, categoryNone).parseDatabaseFromJSON(), database);
+			assertSameDatabase(database, new DatabaseParser(moveHeaderToEnd(json), categoryNone).parseDatabaseFromJSON());
+		}
+		catch(IOException | URISyntaxException e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	@Test
+	public void test_manifest()
+	{
+		try
+		{
+			String json = readResource("DatabaseParser_v3Test.json");
+			Database database = new DatabaseParser(json, categoryNone).parseDatabaseFromJSON();
+
+			DatabaseManifest manifest = new DatabaseParser(moveHeaderToEnd(json), categoryNone).parseManifest("import.json", DateTime.now());
+			assertEquals(3, manifest.getVersion());
+			assertEquals(database.getAccounts().size(), manifest.getAccounts().size());
+			for(int i = 0; i < database.getAccounts().size(); i++)
+			{
+				assertEquals(database.getAccounts().get(i).getID(), manifest.getAccounts().get(i).getID());
+				assertEquals(database.getAccounts().get(i).getName(), manifest.getAccounts().get(i).getName());
+			}
+			assertEquals(database.getCategories().size(), manifest.getNumberOfCategories());
+			assertEquals(database.getTransactions().size(), manifest.getNumberOfTransactions());
+
+			json = readResource("LegacyParserTest.json");
+			database = new DatabaseParser(json, categoryNone).parseDatabaseFromJSON();
+
+			manifest = new DatabaseParser(json, categoryNone).parseManifest("import.json", DateTime.now());
+			assertEquals(2, manifest.getVersion());
+			assertEquals(1, manifest.getAccounts().size());
+			assertEquals(database.getAccounts().get(0).getName(), manifest.getAccounts().get(0).getName());
+			assertEquals(database.getTransactions().size(), manifest.getNumberOfTransactions());
+		}
+		catch(IOException | URISyntaxException e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_manifest_wrongType()
+	{
+		new DatabaseParser("{\"TYPE\": \"SOMETHING_ELSE\", \"VERSION\": 3, \"categories\": []}", categoryNone).parseManifest("import.json", DateTime.now());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_wrongType()
+	{
+		new DatabaseParser("{\"TYPE\": \"SOMETHING_ELSE\", \"VERSION\": 3, \"categories\": []}", categoryNone).parseDatabaseFromJSON();
+	}
+}
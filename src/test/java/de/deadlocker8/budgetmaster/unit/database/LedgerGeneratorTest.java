@@ -0,0 +1,102 @@
+package de.deadlocker8.budgetmaster.unit.database;
+
+import de.deadlocker8.budgetmaster.database.Database;
+import de.deadlocker8.budgetmaster.database.DatabaseParser_v3;
+import de.deadlocker8.budgetmaster.database.generator.LedgerGenerator;
+import de.deadlocker8.budgetmaster.database.generator.LedgerGeneratorSettings;
+import de.deadlocker8.budgetmaster.database.generator.LedgerGeneratorSettingsBuilder;
+import de.deadlocker8.budgetmaster.transactions.Transaction;
+import de.thecodelabs.utils.util.Localization;
+import de.thecodelabs.utils.util.Localization.LocalizationDelegate;
+import org.joda.time.DateTime;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class LedgerGeneratorTest
+{
+	private LedgerGeneratorSettings settings;
+
+	@Before
+	public void before()
+	{
+		Localization.setDelegate(new LocalizationDelegate()
+		{
+			@Override
+			public Locale getLocale()
+			{
+				return Locale.ENGLISH;
+			}
+
+			@Override
+			public String getBaseResource()
+			{
+				return "languages/";
+			}
+		});
+		Localization.load();
+
+		settings = new LedgerGeneratorSettingsBuilder()
+				.setNumberOfAccounts(3)
+				.setNumberOfCategories(5)
+				.setNumberOfTags(10)
+				.setNumberOfTransactions(500)
+				.setNumberOfRepeatingOptions(20)
+				.setTransferPercentage(10)
+				.setStartDate(new DateTime(2015, 1, 1, 0, 0))
+				.setEndDate(new DateTime(2018, 12, 31, 0, 0))
+				.createLedgerGeneratorSettings();
+	}
+
+	@Test
+	public void test_generateDatabase()
+	{
+		Database database = new LedgerGenerator(settings).generateDatabase();
+
+		// custom categories + NONE + REST
+		assertEquals(7, database.getCategories().size());
+		assertEquals(3, database.getAccounts().size());
+		assertEquals(500, database.getTransactions().size());
+		assertEquals(20, database.getTransactions().stream().filter(Transaction::isRepeating).count());
+
+		for(Transaction transaction : database.getTransactions())
+		{
+			assertFalse(transaction.getDate().isBefore(settings.getStartDate()));
+			assertFalse(transaction.getDate().isAfter(settings.getEndDate()));
+			if(transaction.isTransfer())
+			{
+				assertNotEquals(transaction.getAccount(), transaction.getTransferAccount());
+			}
+		}
+	}
+
+	@Test
+	public void test_writeJSON_isParsable() throws IOException
+	{
+		StringWriter writer = new StringWriter();
+		new LedgerGenerator(settings).writeJSON(writer);
+
+		Database parsedDatabase = new DatabaseParser_v3(writer.toString()).parseDatabaseFromJSON();
+		Database generatedDatabase = new LedgerGenerator(settings).generateDatabase();
+
+		assertEquals(generatedDatabase.getCategories().size(), parsedDatabase.getCategories().size());
+		assertEquals(generatedDatabase.getAccounts().size(), parsedDatabase.getAccounts().size());
+		assertEquals(generatedDatabase.getTransactions().size(), parsedDatabase.getTransactions().size());
+
+		for(int i = 0; i < generatedDatabase.getTransactions().size(); i++)
+		{
+			Transaction generated = generatedDatabase.getTransactions().get(i);
+			Transaction parsed = parsedDatabase.getTransactions().get(i);
+			assertEquals(generated.getAmount(), parsed.getAmount());
+			assertEquals(generated.getDate(), parsed.getDate());
+			assertEquals(generated.getAccount().getID(), parsed.getAccount().getID());
+			assertEquals(generated.isRepeating(), parsed.isRepeating());
+			assertEquals(generated.getTags().size(), parsed.getTags().size());
+		}
+	}
+}